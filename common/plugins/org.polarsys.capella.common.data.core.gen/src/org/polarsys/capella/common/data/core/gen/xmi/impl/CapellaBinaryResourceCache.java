@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.common.data.core.gen.xmi.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.polarsys.capella.common.bundle.FeatureHelper;
+
+/**
+ * Opt-in binary cache of Capella XMI resources.<br>
+ * When a resource is saved, its contents are also written with the binary encoding of {@link BinaryResourceImpl} to a
+ * cache file, along with the digest of the saved XMI content and the version of the metamodels. When the resource is
+ * loaded again, the cache file is read instead of parsing the XMI if the digest of the XMI file and the versions are
+ * still the same. The XMI remains the reference: any mismatch or error while reading the cache falls back to XMI
+ * parsing.<br>
+ * Cache files are kept in the state location of this plug-in, or in the folder given by {@link #FOLDER_PROPERTY}, so
+ * that they do not end up in projects and version control. The cache is disabled by default, and can be enabled with
+ * the {@link #ENABLED_PROPERTY} system property.
+ */
+public final class CapellaBinaryResourceCache {
+
+  /**
+   * System property allowing to enable the binary cache of resources.
+   */
+  public static final String ENABLED_PROPERTY = "capella.resources.binaryCache"; //$NON-NLS-1$
+
+  /**
+   * System property allowing to choose the folder of the cache files.
+   */
+  public static final String FOLDER_PROPERTY = "capella.resources.binaryCache.folder"; //$NON-NLS-1$
+
+  /**
+   * Load option telling {@link #doLoad(XMLResource, InputStream, Map)} that the input stream is a cache file.
+   */
+  private static final String OPTION_LOAD_FROM_CACHE = "CAPELLA_LOAD_FROM_BINARY_CACHE"; //$NON-NLS-1$
+
+  /**
+   * The version of the format of cache files, to increase on each change of the format.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+  private static final String CACHE_FILE_EXTENSION = ".bin"; //$NON-NLS-1$
+
+  private static final int BUFFER_SIZE = 0x10000;
+
+  private CapellaBinaryResourceCache() {
+    // To hide the implicit public one
+  }
+
+  /**
+   * @return whether the binary cache of resources is enabled
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(ENABLED_PROPERTY);
+  }
+
+  /**
+   * Load the given resource from its cache file if it is valid.
+   * @param resource
+   *          a non-null resource which is not loaded
+   * @param options
+   *          the potentially null load options
+   * @return whether the resource has been loaded from its cache file, otherwise it must be loaded from its XMI
+   */
+  public static boolean load(XMLResource resource, Map<?, ?> options) {
+    if (!isEnabled() || resource.isLoaded()) {
+      return false;
+    }
+    File cacheFile = getCacheFile(resource.getURI());
+    if (cacheFile == null || !cacheFile.isFile()) {
+      return false;
+    }
+    URIConverter converter = getURIConverter(resource);
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(cacheFile.toPath()), BUFFER_SIZE))) {
+      if (!isValid(input, resource, converter)) {
+        return false;
+      }
+      Map<Object, Object> cacheOptions = new HashMap<>();
+      if (options != null) {
+        cacheOptions.putAll(options);
+      }
+      cacheOptions.put(OPTION_LOAD_FROM_CACHE, Boolean.TRUE);
+      resource.load(input, cacheOptions);
+
+    } catch (IOException | RuntimeException e) {
+      log(IStatus.WARNING, "Cannot load " + resource.getURI() + " from its binary cache, loading its XMI", e); //$NON-NLS-1$ //$NON-NLS-2$
+      resource.unload();
+      return false;
+    }
+    setTimeStamp(resource, converter);
+    return true;
+  }
+
+  /**
+   * Load the contents of the given resource from the given stream, if it is a cache file.
+   * @param resource
+   *          a non-null resource being loaded
+   * @param inputStream
+   *          a non-null input stream
+   * @param options
+   *          the potentially null load options
+   * @return whether the contents have been loaded, otherwise the input stream must be parsed as XMI
+   * @throws IOException
+   *           if the cache file cannot be read
+   */
+  public static boolean doLoad(XMLResource resource, InputStream inputStream, Map<?, ?> options) throws IOException {
+    if (options == null || !Boolean.TRUE.equals(options.get(OPTION_LOAD_FROM_CACHE))) {
+      return false;
+    }
+    BinaryResourceImpl.EObjectInputStream input = new BinaryResourceImpl.EObjectInputStream(inputStream,
+        Collections.emptyMap());
+    input.loadResource(resource);
+    return true;
+  }
+
+  /**
+   * Return the stream on which the given resource must be saved as XMI, so that its digest is computed.
+   * @param resource
+   *          a non-null resource being saved
+   * @param outputStream
+   *          the non-null stream on which the resource is saved
+   * @return a non-null stream, to pass to {@link #endSave(XMLResource, OutputStream)} once saved
+   */
+  public static OutputStream startSave(XMLResource resource, OutputStream outputStream) {
+    if (!isEnabled() || getCacheFile(resource.getURI()) == null) {
+      return outputStream;
+    }
+    return new DigestOutputStream(outputStream, createDigest());
+  }
+
+  /**
+   * Write the cache file of the given resource once saved as XMI.<br>
+   * Errors are logged but never thrown: the XMI is saved anyway.
+   * @param resource
+   *          a non-null resource which has been saved
+   * @param outputStream
+   *          the non-null stream returned by {@link #startSave(XMLResource, OutputStream)}
+   */
+  public static void endSave(XMLResource resource, OutputStream outputStream) {
+    if (!(outputStream instanceof DigestOutputStream)) {
+      return;
+    }
+    File cacheFile = getCacheFile(resource.getURI());
+    try {
+      if (!resource.getEObjectToExtensionMap().isEmpty()) {
+        // Unknown features recorded while loading the XMI can't be encoded in the cache
+        Files.deleteIfExists(cacheFile.toPath());
+        return;
+      }
+      byte[] digest = ((DigestOutputStream) outputStream).getMessageDigest().digest();
+      File folder = cacheFile.getParentFile();
+      folder.mkdirs();
+      // Write a temporary file first, so that a cache file is never partially written
+      File temporaryFile = File.createTempFile(cacheFile.getName(), null, folder);
+      try {
+        try (DataOutputStream output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temporaryFile.toPath()), BUFFER_SIZE))) {
+          output.writeInt(FORMAT_VERSION);
+          output.writeUTF(String.valueOf(FeatureHelper.getCapellaVersion(true)));
+          Set<String> nsURIs = getNsURIs(resource);
+          output.writeInt(nsURIs.size());
+          for (String nsURI : nsURIs) {
+            output.writeUTF(nsURI);
+          }
+          output.writeInt(digest.length);
+          output.write(digest);
+          BinaryResourceImpl.EObjectOutputStream eObjectOutput = new BinaryResourceImpl.EObjectOutputStream(output,
+              Collections.emptyMap());
+          eObjectOutput.saveResource(resource);
+          eObjectOutput.flush();
+        }
+        Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporaryFile.toPath());
+      }
+
+    } catch (IOException | RuntimeException e) {
+      log(IStatus.WARNING, "Cannot write the binary cache of " + resource.getURI(), e); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Return the cache file of the resource at the given URI
+   * @param uri
+   *          a non-null URI
+   * @return the cache file, or null if resources at this URI are not cached
+   */
+  public static File getCacheFile(URI uri) {
+    if (!uri.isFile() && !uri.isPlatformResource()) {
+      return null;
+    }
+    File folder = getCacheFolder();
+    if (folder == null) {
+      return null;
+    }
+    StringBuilder name = new StringBuilder(uri.trimFileExtension().lastSegment()).append('-');
+    for (byte b : createDigest().digest(uri.toString().getBytes(StandardCharsets.UTF_8))) {
+      name.append(String.format("%02x", b)); //$NON-NLS-1$
+    }
+    return new File(folder, name.append(CACHE_FILE_EXTENSION).toString());
+  }
+
+  /**
+   * @return the potentially null folder of the cache files
+   */
+  private static File getCacheFolder() {
+    String folder = System.getProperty(FOLDER_PROPERTY);
+    if (folder != null) {
+      return new File(folder);
+    }
+    Bundle bundle = FrameworkUtil.getBundle(CapellaBinaryResourceCache.class);
+    if (bundle == null || !Platform.isRunning()) {
+      return null;
+    }
+    return Platform.getStateLocation(bundle).toFile();
+  }
+
+  /**
+   * Read the header of the given cache file and return whether it matches the XMI of the given resource and the
+   * current metamodels
+   */
+  private static boolean isValid(DataInputStream input, XMLResource resource, URIConverter converter)
+      throws IOException {
+    if (input.readInt() != FORMAT_VERSION
+        || !String.valueOf(FeatureHelper.getCapellaVersion(true)).equals(input.readUTF())) {
+      return false;
+    }
+    EPackage.Registry registry = getPackageRegistry(resource);
+    int nsURIs = input.readInt();
+    for (int i = 0; i < nsURIs; i++) {
+      if (registry.getEPackage(input.readUTF()) == null) {
+        return false;
+      }
+    }
+    byte[] digest = new byte[input.readInt()];
+    input.readFully(digest);
+    return MessageDigest.isEqual(digest, getDigest(resource.getURI(), converter));
+  }
+
+  /**
+   * Return the digest of the content at the given URI
+   */
+  private static byte[] getDigest(URI uri, URIConverter converter) throws IOException {
+    MessageDigest digest = createDigest();
+    try (InputStream input = new DigestInputStream(converter.createInputStream(uri), digest)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (input.read(buffer) != -1) {
+        // Only compute the digest
+      }
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Return the namespace URIs of the metamodels of the elements of the given resource
+   */
+  private static Set<String> getNsURIs(XMLResource resource) {
+    Set<EPackage> packages = Collections.newSetFromMap(new HashMap<EPackage, Boolean>());
+    for (TreeIterator<EObject> it = resource.getAllContents(); it.hasNext();) {
+      packages.add(it.next().eClass().getEPackage());
+    }
+    Set<String> result = new TreeSet<>();
+    for (EPackage ePackage : packages) {
+      result.add(ePackage.getNsURI());
+    }
+    return result;
+  }
+
+  private static void setTimeStamp(XMLResource resource, URIConverter converter) {
+    Map<String, ?> attributes = converter.getAttributes(resource.getURI(),
+        Collections.singletonMap(URIConverter.OPTION_REQUESTED_ATTRIBUTES,
+            Collections.singleton(URIConverter.ATTRIBUTE_TIME_STAMP)));
+    Object timeStamp = attributes.get(URIConverter.ATTRIBUTE_TIME_STAMP);
+    if (timeStamp instanceof Long) {
+      resource.setTimeStamp((Long) timeStamp);
+    }
+  }
+
+  private static URIConverter getURIConverter(XMLResource resource) {
+    ResourceSet resourceSet = resource.getResourceSet();
+    return resourceSet != null ? resourceSet.getURIConverter() : new ExtensibleURIConverterImpl();
+  }
+
+  private static EPackage.Registry getPackageRegistry(XMLResource resource) {
+    ResourceSet resourceSet = resource.getResourceSet();
+    return resourceSet != null ? resourceSet.getPackageRegistry() : EPackage.Registry.INSTANCE;
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void log(int severity, String message, Exception exception) {
+    Bundle bundle = FrameworkUtil.getBundle(CapellaBinaryResourceCache.class);
+    if (bundle != null) {
+      Platform.getLog(bundle).log(new Status(severity, bundle.getSymbolicName(), message, exception));
+    }
+  }
+}
@@ -20,6 +20,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -87,13 +89,86 @@ public class EObjectExt extends EcoreUtil2 {
    * @return
    */
   public static List<EObject> getReferencers(EObject eObjectRef, EClass metaClass, EReference eRef) {
-    List<EObject> returnedList = new ArrayList<EObject>();
-    for (EObject anObject : getReferencers(eObjectRef, eRef)) {
-      if (anObject.eClass().equals(metaClass) || anObject.eClass().getEAllSuperTypes().contains(metaClass)) {
-        returnedList.add(anObject);
+    return streamReferencers(eObjectRef, eRef, metaClass).collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  /**
+   * This method streams the distinct Objects of metaClass 'metaClass' who have a EReference 'eRef' toward the Object
+   * 'eObjectRef', in the order of the inverse references of the semantic cross referencer. No intermediate list is
+   * built, so that callers looking for the first or any matching referencer stop as soon as it is found.
+   * 
+   * @param eObjectRef
+   *          : EObject
+   * @param eRef
+   *          : EReference relation (if null, all references are considered)
+   * @param metaClass
+   *          : EClass (if null, all referencers are considered)
+   * @return the stream of referencing elements, empty if the element does not belong to a semantic editing domain
+   */
+  public static Stream<EObject> streamReferencers(EObject eObjectRef, EReference eRef, EClass metaClass) {
+    TransactionalEditingDomain domain = TransactionHelper.getEditingDomain(eObjectRef);
+    if (domain instanceof SemanticEditingDomain) {
+      return streamReferencers(eObjectRef, eRef, metaClass, (SemanticEditingDomain) domain, false);
+    }
+    return Stream.empty();
+  }
+
+  /**
+   * This method retrieves the set of Objects of metaClass 'metaClass' who have a EReference 'eRef' toward the Object
+   * 'eObjectRef'. The set keeps the order of the inverse references of the semantic cross referencer.
+   * 
+   * @param eObjectRef
+   *          : EObject
+   * @param eRef
+   *          : EReference relation (if null, all references are considered)
+   * @param metaClass
+   *          : EClass (if null, all referencers are considered)
+   * @return The set of referencing elements
+   */
+  public static Set<EObject> getReferencerSet(EObject eObjectRef, EReference eRef, EClass metaClass) {
+    return streamReferencers(eObjectRef, eRef, metaClass).collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * This method streams the distinct Objects of metaClass 'metaClass' who have a EReference 'eRef' toward the Object
+   * 'eObjectRef'.
+   * 
+   * @param eObjectRef
+   *          : EObject
+   * @param eRef
+   *          : EReference relation (if null, all references are considered)
+   * @param metaClass
+   *          : EClass (if null, all referencers are considered)
+   * @param editingDomain
+   *          : SemanticEditingDomain
+   * @param ignoreDerivedFeature
+   *          : whether derived feature is ignored while finding referencing objects
+   * @return the stream of referencing elements
+   */
+  public static Stream<EObject> streamReferencers(EObject eObjectRef, EReference eRef, EClass metaClass,
+      SemanticEditingDomain editingDomain, boolean ignoreDerivedFeature) {
+    SiriusCrossReferenceAdapter crossReferencer = editingDomain.getCrossReferencer();
+    Stream<Setting> settings;
+    if (eRef == null) {
+      settings = crossReferencer.getInverseReferences(eObjectRef, crossReferencer.isResolveProxyEnabled()).stream();
+      if (ignoreDerivedFeature) {
+        settings = settings.filter(setting -> !setting.getEStructuralFeature().isDerived());
+      }
+
+    } else {
+      if (ignoreDerivedFeature && eRef.isDerived()) {
+        return Stream.empty();
       }
+      settings = crossReferencer.getInverseReferences(eObjectRef, eRef, crossReferencer.isResolveProxyEnabled())
+          .stream();
     }
-    return returnedList;
+
+    Stream<EObject> referencers = settings.map(Setting::getEObject);
+    if (metaClass != null) {
+      referencers = referencers.filter(metaClass::isInstance);
+    }
+    // Set-backed, linear whatever the number of inverse references
+    return referencers.distinct();
   }
 
   /**
@@ -145,33 +220,8 @@ public class EObjectExt extends EcoreUtil2 {
    */
   public static <T extends EObject> List<T> getReferencers(EObject eObjectRef, EReference eRef,
       SemanticEditingDomain editingDomain, boolean ignoreDerivedFeature) {
-    List<T> result = new ArrayList<T>();
-
-    SiriusCrossReferenceAdapter crossReferencer = editingDomain.getCrossReferencer();
-    if (eRef == null) {
-      Collection<Setting> inverseReferences = crossReferencer.getInverseReferences(eObjectRef,
-          editingDomain.getCrossReferencer().isResolveProxyEnabled());
-      for (Setting setting : inverseReferences) {
-        if (ignoreDerivedFeature && setting.getEStructuralFeature().isDerived())
-          continue;
-        if (!result.contains(setting.getEObject())) {
-          result.add((T) setting.getEObject());
-        }
-      }
-
-    } else {
-      if (ignoreDerivedFeature && eRef.isDerived())
-        return result;
-      Collection<Setting> inverseReferences = crossReferencer.getInverseReferences(eObjectRef, eRef,
-          editingDomain.getCrossReferencer().isResolveProxyEnabled());
-      for (Setting setting : inverseReferences) {
-        if (!result.contains(setting.getEObject())) {
-          result.add((T) setting.getEObject());
-        }
-      }
-    }
-
-    return result;
+    return (List) streamReferencers(eObjectRef, eRef, null, editingDomain, ignoreDerivedFeature)
+        .collect(Collectors.toCollection(ArrayList::new));
   }
 
   /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 THALES GLOBAL SERVICES.
+ * Copyright (c) 2019, 2023 THALES GLOBAL SERVICES.
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,129 +12,220 @@
  *******************************************************************************/
 package org.polarsys.capella.common.helpers.cache;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-
+import java.util.function.Supplier;
+
+/**
+ * Results of {@link CachedFunction} and {@link CachedBiFunction} are stored in one segment per function, so that the
+ * entries of a function can be removed at once and that statistics are available for each function. A segment is
+ * dropped as soon as it holds no entry, while the statistics of its function are kept.<br>
+ * Results of other functions, often method references or lambdas created on each call, are stored in a single shared
+ * segment keyed by the function and the parameter, and their statistics are summed under {@link #FUNCTIONS}.
+ */
 public class Cache {
 
-  private Map<Object, Object> cachedResult = new ConcurrentHashMap<>();
+  /**
+   * The key of the shared segment and statistics of the functions which are neither a {@link CachedFunction} nor a
+   * {@link CachedBiFunction}.
+   */
+  public static final Object FUNCTIONS = Function.class;
+
+  private final Map<Object, CacheSegment> segments = new ConcurrentHashMap<>();
+
+  private final Map<Object, Counters> counters = new ConcurrentHashMap<>();
+
+  private final int maximumSize;
+
+  /**
+   * The number of entries over all the segments, maintained only for a bounded cache.
+   */
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * Create an unbounded cache.
+   */
+  public Cache() {
+    this(0);
+  }
 
   /**
-   * 
+   * Create a cache holding at most <code>maximumSize</code> entries over all the functions. When the bound is reached,
+   * the least recently accessed entry of the function having the most entries is evicted.
+   *
+   * @param maximumSize
+   *          the maximum number of entries, or a value lower or equal to 0 for an unbounded cache
+   */
+  public Cache(int maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   *
    * @param <P> type of parameter
    * @param <R> type of result
    * @param function
    * @param parameter
    * @return cached result of function
-   * 
+   *
    * Warning : It's recommended to use a CachedFunction instead and call {@link #get(CachedFunction, Object) }
    */
-  @SuppressWarnings("unchecked")
   public <P, R> R get(Function<P, R> function, P parameter) {
-
-    Couple<Function<P, R>, P> key = new Couple<>(function, parameter);
-    Object resultObject = cachedResult.get(key);
-    if (resultObject == null) {
-      R result = function.apply(parameter);
-      Optional<R> encapsulatedResult;
-
-      if (result instanceof List<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableList((List<?>) result));
-      } else if (result instanceof Set<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableSet((Set<?>) result));
-      } else if (result instanceof Map<?, ?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableMap((Map<?, ?>) result));
-      } else {
-        encapsulatedResult = Optional.ofNullable(result);
-      }
-      cachedResult.put(key, encapsulatedResult);
-
-      return result;
+    if (function instanceof CachedFunction<?, ?>) {
+      return get((CachedFunction<P, R>) function, parameter);
     }
-    Optional<R> result = (Optional<R>) resultObject;
-
-    return result.orElse(null);
-
+    return get(FUNCTIONS, new Couple<>(function, parameter), () -> function.apply(parameter));
   }
 
-  @SuppressWarnings("unchecked")
   public <P, R> R get(CachedFunction<P, R> function, P parameter) {
+    return get(function, parameter, () -> function.withoutCache(parameter));
+  }
 
-    Couple<Function<P, R>, P> key = new Couple<>(function, parameter);
-    Object resultObject = cachedResult.get(key);
-    if (resultObject == null) {
-      R result = function.withoutCache(parameter);
-      Optional<R> encapsulatedResult;
-
-      if (result instanceof List<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableList((List<?>) result));
-      } else if (result instanceof Set<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableSet((Set<?>) result));
-      } else if (result instanceof Map<?, ?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableMap((Map<?, ?>) result));
-      } else {
-        encapsulatedResult = Optional.ofNullable(result);
-      }
-      cachedResult.put(key, encapsulatedResult);
-
-      return result;
-    }
-    Optional<R> result = (Optional<R>) resultObject;
-
-    return result.orElse(null);
-
+  public <P1, P2, R> R get(CachedBiFunction<P1, P2, R> function, P1 parameter1, P2 parameter2) {
+    return get(function, new Couple<>(parameter1, parameter2), () -> function.withoutCache(parameter1, parameter2));
   }
 
   @SuppressWarnings("unchecked")
-  public <P1, P2, R> R get(CachedBiFunction<P1, P2, R> function, P1 parameter1, P2 parameter2) {
+  private <R> R get(Object function, Object key, Supplier<R> computation) {
+    Counters functionCounters = counters.computeIfAbsent(function, f -> new Counters());
+    CacheSegment segment = segments.get(function);
+    Optional<R> result = segment == null ? null : (Optional<R>) segment.get(key);
+    if (result != null) {
+      functionCounters.hitCount.increment();
+      return result.orElse(null);
+    }
+    functionCounters.missCount.increment();
+    long start = System.nanoTime();
+    R computed = computation.get();
+    functionCounters.computeTime.add(System.nanoTime() - start);
+
+    boolean[] added = new boolean[1];
+    // Adding the entry and dropping an empty segment are exclusive
+    segments.compute(function, (f, existing) -> {
+      CacheSegment target = existing == null ? new CacheSegment(maximumSize > 0) : existing;
+      // Keep the entry computed concurrently by another caller, if any
+      added[0] = target.put(key, computed) != null;
+      return target;
+    });
+    if (added[0] && maximumSize > 0 && size.incrementAndGet() > maximumSize) {
+      evict();
+    }
+    // Only the cached value is wrapped into an unmodifiable view, the caller computing it gets the result itself
+    return computed;
+  }
 
-    Triplet<BiFunction<P1, P2, R>, P1, P2> key = new Triplet<>(function, parameter1, parameter2);
-    Object resultObject = cachedResult.get(key);
-    if (resultObject == null) {
-      R result = function.withoutCache(parameter1, parameter2);
-      Optional<R> encapsulatedResult;
-
-      if (result instanceof List<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableList((List<?>) result));
-      } else if (result instanceof Set<?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableSet((Set<?>) result));
-      } else if (result instanceof Map<?, ?>) {
-        encapsulatedResult = (Optional<R>) Optional.of(Collections.unmodifiableMap((Map<?, ?>) result));
-      } else {
-        encapsulatedResult = Optional.ofNullable(result);
+  /**
+   * Evict the least recently accessed entry of the largest segment.
+   */
+  private void evict() {
+    Object largest = null;
+    int largestSize = 0;
+    for (Map.Entry<Object, CacheSegment> entry : segments.entrySet()) {
+      int segmentSize = entry.getValue().size();
+      if (segmentSize > largestSize) {
+        largest = entry.getKey();
+        largestSize = segmentSize;
       }
-      cachedResult.put(key, encapsulatedResult);
+    }
+    if (largest != null) {
+      segments.computeIfPresent(largest, (f, segment) -> {
+        if (segment.evictEldest()) {
+          size.decrementAndGet();
+        }
+        return segment.isEmpty() ? null : segment;
+      });
+    }
+  }
 
-      return result;
+  /**
+   * @return the number of entries in this cache.
+   */
+  public int size() {
+    int result = 0;
+    for (CacheSegment segment : segments.values()) {
+      result += segment.size();
     }
-    Optional<R> result = (Optional<R>) resultObject;
+    return result;
+  }
 
-    return result.orElse(null);
+  /**
+   * @param function
+   * @return the statistics of the given function.
+   */
+  public CacheStatistics getStatistics(Object function) {
+    Counters functionCounters = counters.get(function);
+    if (functionCounters == null) {
+      return CacheStatistics.EMPTY;
+    }
+    CacheSegment segment = segments.get(function);
+    return functionCounters.toStatistics(segment == null ? 0 : segment.size());
+  }
 
+  /**
+   * @return the statistics of all the functions known to this cache.
+   */
+  public Map<Object, CacheStatistics> getStatistics() {
+    Map<Object, CacheStatistics> statistics = new HashMap<>();
+    counters.keySet().forEach(function -> statistics.put(function, getStatistics(function)));
+    return statistics;
   }
 
+  /**
+   * Removes all the functions from this cache, along with their statistics.
+   */
   public void clearCache() {
-    cachedResult.clear();
+    clearResults();
+    counters.clear();
+  }
+
+  /**
+   * Removes all the cached results, keeping the statistics of the functions.
+   */
+  public void clearResults() {
+    for (Object function : segments.keySet()) {
+      clearSegment(function);
+    }
   }
 
+  /**
+   * Removes the cached results of the given function, keeping its statistics.
+   */
   public <T, R> void clearCache(CachedFunction<T, R> f) {
-	  List<Object> toBeRemoved =cachedResult.keySet().stream().filter(key -> key instanceof Couple).filter(couple -> ((Couple)couple).getFirst() == f).collect(Collectors.toList()) ;
-	  for(Object keyToBeRemoved : toBeRemoved) {
-		  cachedResult.remove(keyToBeRemoved);
-	  }
+    clearSegment(f);
   }
 
+  /**
+   * Removes the cached results of the given function, keeping its statistics.
+   */
   public <T1, T2, R> void clearCache(CachedBiFunction<T1, T2, R> f) {
-	  List<Object> toBeRemoved =cachedResult.keySet().stream().filter(key -> key instanceof Triplet).filter(triplet -> ((Triplet)triplet).getFirst() == f).collect(Collectors.toList()) ;
-	  for(Object keyToBeRemoved : toBeRemoved) {
-		  cachedResult.remove(keyToBeRemoved);
-	  }
+    clearSegment(f);
+  }
+
+  private void clearSegment(Object function) {
+    segments.computeIfPresent(function, (f, segment) -> {
+      size.addAndGet(-segment.size());
+      return null;
+    });
+  }
+
+  /**
+   * The hit, miss and compute time counters of a function.
+   */
+  private static class Counters {
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder computeTime = new LongAdder();
+
+    CacheStatistics toStatistics(int size) {
+      return new CacheStatistics(hitCount.sum(), missCount.sum(), size, computeTime.sum());
+    }
   }
 }
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.helpers.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cached results of one function. The bound of the cache is enforced by the {@link Cache} over all its segments.
+ */
+class CacheSegment {
+
+  /**
+   * Key used for a <code>null</code> parameter, as concurrent maps do not accept <code>null</code> keys.
+   */
+  private static final Object NULL_KEY = new Object();
+
+  private final Map<Object, Optional<?>> cachedResult;
+
+  /**
+   * @param bounded
+   *          whether entries may be evicted, in which case they are kept in access order
+   */
+  CacheSegment(boolean bounded) {
+    if (bounded) {
+      cachedResult = Collections.synchronizedMap(new LinkedHashMap<Object, Optional<?>>(16, 0.75f, true));
+    } else {
+      cachedResult = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * @param key
+   * @return the cached result of the given key, <code>null</code> if missing.
+   */
+  Optional<?> get(Object key) {
+    return cachedResult.get(key == null ? NULL_KEY : key);
+  }
+
+  /**
+   * @param key
+   * @param result
+   * @return the stored result, or <code>null</code> if the key was already cached
+   */
+  <R> Optional<R> put(Object key, R result) {
+    Optional<R> encapsulated = encapsulate(result);
+    return cachedResult.putIfAbsent(key == null ? NULL_KEY : key, encapsulated) == null ? encapsulated : null;
+  }
+
+  /**
+   * Remove the least recently accessed entry.
+   *
+   * @return whether an entry has been removed
+   */
+  boolean evictEldest() {
+    synchronized (cachedResult) {
+      Iterator<Object> keys = cachedResult.keySet().iterator();
+      if (keys.hasNext()) {
+        keys.next();
+        keys.remove();
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Wrap collections into unmodifiable views, so that the callers getting a cached entry cannot alter it.
+   */
+  @SuppressWarnings("unchecked")
+  private static <R> Optional<R> encapsulate(R result) {
+    if (result instanceof List<?>) {
+      return (Optional<R>) Optional.of(Collections.unmodifiableList((List<?>) result));
+    } else if (result instanceof Set<?>) {
+      return (Optional<R>) Optional.of(Collections.unmodifiableSet((Set<?>) result));
+    } else if (result instanceof Map<?, ?>) {
+      return (Optional<R>) Optional.of(Collections.unmodifiableMap((Map<?, ?>) result));
+    }
+    return Optional.ofNullable(result);
+  }
+
+  int size() {
+    return cachedResult.size();
+  }
+
+  boolean isEmpty() {
+    return cachedResult.isEmpty();
+  }
+}
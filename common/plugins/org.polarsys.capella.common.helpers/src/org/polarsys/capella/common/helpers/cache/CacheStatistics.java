@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.helpers.cache;
+
+/**
+ * Snapshot of the statistics of the cached results of a function.
+ */
+public final class CacheStatistics {
+
+  public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0, 0);
+
+  private final long hitCount;
+
+  private final long missCount;
+
+  private final long size;
+
+  private final long computeTime;
+
+  public CacheStatistics(long hitCount, long missCount, long size, long computeTime) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.size = size;
+    this.computeTime = computeTime;
+  }
+
+  /**
+   * @return the number of calls answered from the cache.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the number of calls that had to compute the result.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return the ratio of calls answered from the cache, or 0 if the function has not been called.
+   */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * @return the number of results currently held in the cache.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * @return the total time, in nanoseconds, spent computing the results on misses. Nested cached calls are included.
+   */
+  public long getComputeTime() {
+    return computeTime;
+  }
+
+  /**
+   * @param other
+   * @return the sum of these statistics and the given ones.
+   */
+  public CacheStatistics add(CacheStatistics other) {
+    return new CacheStatistics(hitCount + other.hitCount, missCount + other.missCount, size + other.size,
+        computeTime + other.computeTime);
+  }
+
+  @Override
+  public String toString() {
+    return "hits=" + hitCount + ", misses=" + missCount + ", size=" + size + ", computeTime=" + computeTime / 1000000 //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        + "ms"; //$NON-NLS-1$
+  }
+}
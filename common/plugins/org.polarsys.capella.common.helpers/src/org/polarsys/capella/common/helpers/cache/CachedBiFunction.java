@@ -42,4 +42,11 @@ public interface CachedBiFunction<T1, T2, R> extends BiFunction<T1, T2, R> {
     ModelCache.clearCache(this);
   }
 
+  /**
+   * @return the hit, miss, size and compute time statistics of this function.
+   */
+  default CacheStatistics getStatistics() {
+    return ModelCache.getStatistics(this);
+  }
+
 }
\ No newline at end of file
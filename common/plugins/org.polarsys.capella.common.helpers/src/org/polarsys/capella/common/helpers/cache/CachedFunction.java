@@ -40,4 +40,11 @@ public interface CachedFunction<T, R> extends Function<T, R> {
     ModelCache.clearCache(this);
   }
 
+  /**
+   * @return the hit, miss, size and compute time statistics of this function.
+   */
+  default CacheStatistics getStatistics() {
+    return ModelCache.getStatistics(this);
+  }
+
 }
\ No newline at end of file
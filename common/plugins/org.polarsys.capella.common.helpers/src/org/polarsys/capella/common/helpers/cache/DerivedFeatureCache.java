@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.helpers.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * Opt-in memoization of the values of derived features.<br>
+ * A memoized feature keeps the value computed for an element in a {@link ScopedCache} of the editing domain of the
+ * element. The value is removed as soon as the element, its contents or one of the elements the value has been computed
+ * from (the traces or involvements it is derived from for instance) changes, or when a reference is set to or unset
+ * from one of them. Repeated reads of the feature are then a lookup until the next change of these elements.<br>
+ * Memoization is disabled by default, and can be enabled with the {@link #ENABLED_PROPERTY} system property or by
+ * {@link #enable()}. When disabled, values are computed on each call.
+ */
+public final class DerivedFeatureCache {
+
+  /**
+   * System property allowing to enable the memoization of derived features.
+   */
+  public static final String ENABLED_PROPERTY = "capella.derivedfeatures.memoized"; //$NON-NLS-1$
+
+  private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  /**
+   * Caches of the memoized features, by feature.
+   */
+  private static final Map<EStructuralFeature, ScopedCache<EObject, Object>> caches = new ConcurrentHashMap<>();
+
+  private DerivedFeatureCache() {
+    // To hide the implicit public one
+  }
+
+  /**
+   * Memoize the given function computing the value of a derived feature.
+   *
+   * @param feature
+   *          the derived feature
+   * @param function
+   *          the function computing the value of the feature of an element
+   * @param dependencies
+   *          the function returning the elements the value of the feature of an element is computed from, the element
+   *          itself excluded
+   * @return the function returning the memoized value of the feature if enabled, or computing it otherwise
+   */
+  @SuppressWarnings("unchecked")
+  public static <T extends EObject> Function<EObject, Object> memoize(EStructuralFeature feature,
+      Function<T, ?> function, Function<T, ? extends Collection<?>> dependencies) {
+    ScopedCache<EObject, Object> cache = new ScopedCache<>(element -> function.apply((T) element),
+        element -> getDependencies(element, dependencies.apply((T) element)));
+    caches.put(feature, cache);
+    return element -> enabled ? cache.get(element) : function.apply((T) element);
+  }
+
+  private static Collection<Object> getDependencies(EObject element, Collection<?> dependencies) {
+    Collection<Object> result = new ArrayList<>(dependencies.size() + 1);
+    result.add(element);
+    result.addAll(dependencies);
+    return result;
+  }
+
+  /**
+   * Enable the memoization of derived features.
+   */
+  public static void enable() {
+    enabled = true;
+  }
+
+  /**
+   * Disable the memoization of derived features and remove all the memoized values.
+   */
+  public static void disable() {
+    enabled = false;
+    clear();
+  }
+
+  /**
+   * @return true if the memoization of derived features is enabled.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Remove all the memoized values.
+   */
+  public static void clear() {
+    caches.values().forEach(ScopedCache::clear);
+  }
+
+  /**
+   * @param feature
+   * @return the statistics of the given memoized feature, or <code>null</code> if the feature is not memoized.
+   */
+  public static CacheStatistics getStatistics(EStructuralFeature feature) {
+    ScopedCache<EObject, Object> cache = caches.get(feature);
+    return cache != null ? cache.getStatistics() : null;
+  }
+}
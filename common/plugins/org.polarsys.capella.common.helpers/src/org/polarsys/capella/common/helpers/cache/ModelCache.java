@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 THALES GLOBAL SERVICES.
+ * Copyright (c) 2019, 2023 THALES GLOBAL SERVICES.
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -13,6 +13,7 @@
 
 package org.polarsys.capella.common.helpers.cache;
 
+import java.util.Map;
 import java.util.function.Function;
 
 public class ModelCache {
@@ -46,10 +47,15 @@ public class ModelCache {
    * 
    * @param function
    * @param parameter
-   * @return If enabled, return the cached result if any or apply the function to the given parameter and cache the
-   *         result before returning it.
+   * @return If the parameter is a semantic element, return the result from the {@link ScopedModelCache} of its editing
+   *         domain, copied if it is a collection. Otherwise if enabled, return the cached result if any or apply the
+   *         function to the given parameter and cache the result before returning it.
    */
   static <P, R> R getOrApply(CachedFunction<P, R> function, P parameter) {
+    ScopedModelCache scope = ScopedModelCache.getScope(parameter);
+    if (scope != null) {
+      return ScopedModelCache.copy(scope.getCache().get(function, parameter));
+    }
     if (enabled) {
       return cache.get(function, parameter);
     }
@@ -60,10 +66,15 @@ public class ModelCache {
    * 
    * @param function
    * @param parameter
-   * @return If enabled, return the cached result if any or apply the function to the given parameter and cache the
-   *         result before returning it.
+   * @return If the parameters are semantic elements, return the result from the {@link ScopedModelCache} of their
+   *         editing domain, copied if it is a collection. Otherwise if enabled, return the cached result if any or
+   *         apply the function to the given parameters and cache the result before returning it.
    */
   static <P1, P2, R> R getOrApply(CachedBiFunction<P1, P2, R> function, P1 parameter1, P2 parameter2) {
+    ScopedModelCache scope = ScopedModelCache.getScope(parameter1, parameter2);
+    if (scope != null) {
+      return ScopedModelCache.copy(scope.getCache().get(function, parameter1, parameter2));
+    }
     if (enabled) {
       return cache.get(function, parameter1, parameter2);
     }
@@ -79,7 +90,7 @@ public class ModelCache {
   }
 
   /**
-   * Disable the cache and remove all the entries from it.
+   * Disable the cache and remove all the entries from it. Scoped caches are not affected.
    */
   public static void disable() {
     enabled = false;
@@ -96,10 +107,34 @@ public class ModelCache {
   }
 
   /**
-   * Removes all entries from this cache. The cache will be empty after this call returns.
+   * @return the statistics of the given function, summed over the global cache and the scoped caches.
+   */
+  public static <T, R> CacheStatistics getStatistics(CachedFunction<T, R> function) {
+    return cache.getStatistics(function).add(ScopedModelCache.getStatisticsAll(function));
+  }
+
+  /**
+   * @return the statistics of the given function, summed over the global cache and the scoped caches.
+   */
+  public static <T1, T2, R> CacheStatistics getStatistics(CachedBiFunction<T1, T2, R> function) {
+    return cache.getStatistics(function).add(ScopedModelCache.getStatisticsAll(function));
+  }
+
+  /**
+   * @return the statistics of all the cached functions, summed over the global cache and the scoped caches.
+   */
+  public static Map<Object, CacheStatistics> getStatistics() {
+    Map<Object, CacheStatistics> statistics = ScopedModelCache.getStatisticsAll();
+    cache.getStatistics().forEach((function, value) -> statistics.merge(function, value, CacheStatistics::add));
+    return statistics;
+  }
+
+  /**
+   * Removes all entries from this cache and from the scoped caches. The caches will be empty after this call returns.
    */
   public static void clearCache() {
     cache.clearCache();
+    ScopedModelCache.clearAll();
   }
 
   /**
@@ -107,6 +142,7 @@ public class ModelCache {
    */
   public static <T, R> void clearCache(CachedFunction<T, R> e) {
     cache.clearCache(e);
+    ScopedModelCache.clearAll(e);
   }
 
   /**
@@ -114,5 +150,6 @@ public class ModelCache {
    */
   public static <T1, T2, R> void clearCache(CachedBiFunction<T1, T2, R> e) {
     cache.clearCache(e);
+    ScopedModelCache.clearAll(e);
   }
 }
@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.helpers.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.polarsys.capella.common.platform.sirius.ted.DataNotifier;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticEditingDomain;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticResourceSet;
+
+/**
+ * A cache of values computed from a key, whose entries are kept per editing domain.<br>
+ * The entries of a key which is an element of a {@link SemanticResourceSet} are held by a segment attached to the
+ * resource set, so that they live as long as the editing domain. Other keys (detached elements, plain values) go to a
+ * segment held by the cache itself. Keys are weakly referenced unless specified otherwise, so that an entry does not
+ * retain its key once the model does not reference it anymore.<br>
+ * When a dependency function is given, each entry records the elements it has been computed from. Any change of one of
+ * these elements or of their contents, as well as any reference set to or unset from one of them, notified through the
+ * {@link DataNotifier} of the editing domain, removes the entry, while the other entries are kept. As notifications are received while the transaction is running, such
+ * entries are never stale. Keys outside of a semantic editing domain can't be followed, their values are then computed
+ * on each call.
+ * 
+ * @param <K>
+ *          the type of the keys
+ * @param <V>
+ *          the type of the values
+ */
+public class ScopedCache<K, V> {
+
+  private final Function<? super K, ? extends V> loader;
+
+  private final Function<? super K, ? extends Collection<?>> dependencies;
+
+  private final boolean weakKeys;
+
+  private final Segment unscopedSegment;
+
+  /**
+   * All the living segments, weakly referenced so that a disposed editing domain is not retained.
+   */
+  private final Set<Segment> segments = Collections
+      .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Segment, Boolean>()));
+
+  private final AtomicLong hitCount = new AtomicLong();
+
+  private final AtomicLong missCount = new AtomicLong();
+
+  private final AtomicLong computeTime = new AtomicLong();
+
+  /**
+   * Create a weakly keyed cache whose entries are only removed explicitly.
+   *
+   * @param loader
+   *          the function computing the value of a key
+   */
+  public ScopedCache(Function<? super K, ? extends V> loader) {
+    this(loader, null, true);
+  }
+
+  /**
+   * Create a weakly keyed cache whose entries are removed when one of their dependencies changes.
+   *
+   * @param loader
+   *          the function computing the value of a key
+   * @param dependencies
+   *          the function returning the elements the value of a key is computed from
+   */
+  public ScopedCache(Function<? super K, ? extends V> loader, Function<? super K, ? extends Collection<?>> dependencies) {
+    this(loader, dependencies, true);
+  }
+
+  /**
+   * @param loader
+   *          the function computing the value of a key
+   * @param dependencies
+   *          the function returning the elements the value of a key is computed from, or <code>null</code> if entries
+   *          are only removed explicitly
+   * @param weakKeys
+   *          whether keys are weakly referenced. Keys which are created for a lookup (lists for instance) must be
+   *          strongly referenced.
+   */
+  public ScopedCache(Function<? super K, ? extends V> loader, Function<? super K, ? extends Collection<?>> dependencies,
+      boolean weakKeys) {
+    this.loader = loader;
+    this.dependencies = dependencies;
+    this.weakKeys = weakKeys;
+    this.unscopedSegment = new Segment(null);
+    segments.add(unscopedSegment);
+  }
+
+  /**
+   * @param key
+   * @return the value of the given key, computed by the loader of the cache if missing.
+   */
+  public V get(K key) {
+    return get(key, loader);
+  }
+
+  /**
+   * @param key
+   * @param keyLoader
+   *          the function computing the value of the key if missing
+   * @return the value of the given key
+   */
+  public V get(K key, Function<? super K, ? extends V> keyLoader) {
+    Segment segment = getSegment(key, true);
+    if (segment != null) {
+      synchronized (segment) {
+        V value = segment.entries.get(key);
+        if (value != null) {
+          hitCount.incrementAndGet();
+          return value;
+        }
+      }
+    }
+    missCount.incrementAndGet();
+    long start = System.nanoTime();
+    V value = keyLoader.apply(key);
+    Collection<?> keyDependencies = segment != null && dependencies != null ? dependencies.apply(key) : null;
+    computeTime.addAndGet(System.nanoTime() - start);
+    if (segment != null && value != null) {
+      synchronized (segment) {
+        V existing = segment.entries.putIfAbsent(key, value);
+        if (existing != null) {
+          return existing;
+        }
+        segment.addDependencies(key, keyDependencies);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * @param key
+   * @return the value of the given key, or <code>null</code> if missing. Statistics are not updated.
+   */
+  public V peek(K key) {
+    Segment segment = getSegment(key, false);
+    if (segment == null) {
+      return null;
+    }
+    synchronized (segment) {
+      return segment.entries.get(key);
+    }
+  }
+
+  /**
+   * Set the value of the given key, replacing the existing one.
+   *
+   * @param key
+   * @param value
+   */
+  public void put(K key, V value) {
+    Segment segment = getSegment(key, true);
+    if (segment != null) {
+      synchronized (segment) {
+        segment.entries.put(key, value);
+        if (dependencies != null) {
+          segment.addDependencies(key, dependencies.apply(key));
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove the entry of the given key.
+   *
+   * @param key
+   */
+  public void invalidate(K key) {
+    Segment segment = getSegment(key, false);
+    if (segment != null) {
+      synchronized (segment) {
+        segment.entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Remove all the entries of all the editing domains.
+   */
+  public void clear() {
+    for (Segment segment : getSegments()) {
+      synchronized (segment) {
+        segment.entries.clear();
+        segment.dependents.clear();
+      }
+    }
+  }
+
+  /**
+   * @return the number of entries, over all the editing domains.
+   */
+  public long size() {
+    long size = 0;
+    for (Segment segment : getSegments()) {
+      synchronized (segment) {
+        size += segment.entries.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the statistics of the cache, over all the editing domains.
+   */
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(hitCount.get(), missCount.get(), size(), computeTime.get());
+  }
+
+  /**
+   * Reset the hit, miss and compute time counters.
+   */
+  public void resetStatistics() {
+    hitCount.set(0);
+    missCount.set(0);
+    computeTime.set(0);
+  }
+
+  private List<Segment> getSegments() {
+    synchronized (segments) {
+      return new ArrayList<>(segments);
+    }
+  }
+
+  /**
+   * Retrieve the segment holding the entry of the given key.
+   *
+   * @param key
+   * @param create
+   *          whether the segment of the editing domain of the key must be created if missing
+   * @return <code>null</code> if the entry of the key can't be cached
+   */
+  protected Segment getSegment(Object key, boolean create) {
+    ResourceSet resourceSet = null;
+    if (key instanceof EObject) {
+      Resource resource = ((EObject) key).eResource();
+      resourceSet = resource != null ? resource.getResourceSet() : null;
+    }
+    if (!(resourceSet instanceof SemanticResourceSet)
+        || !(((SemanticResourceSet) resourceSet).getEditingDomain() instanceof SemanticEditingDomain)) {
+      // Changes of unscoped keys are not notified
+      return dependencies == null ? unscopedSegment : null;
+    }
+    Segment segment = (Segment) EcoreUtil.getExistingAdapter(resourceSet, this);
+    if (segment != null || !create) {
+      return segment;
+    }
+    synchronized (resourceSet) {
+      segment = (Segment) EcoreUtil.getExistingAdapter(resourceSet, this);
+      if (segment == null) {
+        segment = new Segment((SemanticEditingDomain) ((SemanticResourceSet) resourceSet).getEditingDomain());
+        resourceSet.eAdapters().add(segment);
+        segments.add(segment);
+      }
+      return segment;
+    }
+  }
+
+  /**
+   * The entries of an editing domain, attached to its resource set.
+   */
+  protected class Segment extends AdapterImpl {
+
+    private final Map<K, V> entries = weakKeys ? new WeakHashMap<>() : new HashMap<>();
+
+    /**
+     * Keys whose entry depends on an element, by element.
+     */
+    private final Map<Object, Set<K>> dependents = new WeakHashMap<>();
+
+    private final DataNotifier dataNotifier;
+
+    private final Adapter semanticChangeListener = new AdapterImpl() {
+      @Override
+      public void notifyChanged(Notification notification) {
+        if (!notification.isTouch() && notification.getEventType() != Notification.REMOVING_ADAPTER) {
+          invalidateDependents(notification);
+        }
+      }
+    };
+
+    Segment(SemanticEditingDomain editingDomain) {
+      dataNotifier = editingDomain != null && dependencies != null ? editingDomain.getDataNotifier() : null;
+      if (dataNotifier != null) {
+        dataNotifier.addAdapter(EObject.class, semanticChangeListener);
+      }
+    }
+
+    void addDependencies(K key, Collection<?> keyDependencies) {
+      if (keyDependencies != null) {
+        for (Object dependency : keyDependencies) {
+          dependents.computeIfAbsent(dependency, d -> Collections.newSetFromMap(new WeakHashMap<>())).add(key);
+        }
+      }
+    }
+
+    /**
+     * Remove the entries depending on the notifier of the notification, on one of its containers or on an added or
+     * removed element.
+     */
+    synchronized void invalidateDependents(Notification notification) {
+      if (dependents.isEmpty()) {
+        return;
+      }
+      Object notifier = notification.getNotifier();
+      if (notifier instanceof EObject) {
+        for (EObject element = (EObject) notifier; element != null; element = element.eContainer()) {
+          invalidateDependents(element);
+        }
+      }
+      invalidateValueDependents(notification.getOldValue());
+      invalidateValueDependents(notification.getNewValue());
+    }
+
+    private void invalidateValueDependents(Object value) {
+      if (value instanceof Collection<?>) {
+        for (Object element : (Collection<?>) value) {
+          invalidateDependents(element);
+        }
+      } else if (value != null) {
+        invalidateDependents(value);
+      }
+    }
+
+    private void invalidateDependents(Object dependency) {
+      Set<K> keys = dependents.remove(dependency);
+      if (keys != null) {
+        for (K key : keys) {
+          entries.remove(key);
+        }
+      }
+    }
+
+    @Override
+    public void unsetTarget(Notifier oldTarget) {
+      super.unsetTarget(oldTarget);
+      if (dataNotifier != null) {
+        dataNotifier.remove(semanticChangeListener);
+      }
+      synchronized (this) {
+        entries.clear();
+        dependents.clear();
+      }
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+      return type == ScopedCache.this;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.helpers.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.sirius.common.tools.api.util.SiriusCrossReferenceAdapter;
+import org.polarsys.capella.common.platform.sirius.ted.DataNotifier;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticEditingDomain;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticResourceSet;
+
+/**
+ * A cache of {@link CachedFunction} and {@link CachedBiFunction} results that lives as long as the semantic resource
+ * set it is attached to.<br>
+ * Unlike the global {@link ModelCache} bracket, it does not need to be enabled around each operation: every change of a
+ * semantic element notified through the {@link DataNotifier} of the editing domain (attributes included, as cached
+ * functions may depend on names), as well as every change of the roots of a resource or of the resources of the
+ * resource set, clears it. As notifications are received while the transaction is running, results computed inside a
+ * write transaction are never stale. Changes done on non semantic elements (diagrams for instance) do not invalidate
+ * it, so results are kept warm across diagram refreshes.<br>
+ * Only semantic elements are used as scope: results of functions applied on other objects go through the global
+ * {@link ModelCache}. Collections are returned as copies, so that callers may modify them as if the function had been
+ * called directly.<br>
+ * Scoped caches are disabled by default, and can be enabled with the {@link #ENABLED_PROPERTY} system property or by
+ * {@link #enable()}. When disabled, cached functions only use the global {@link ModelCache}.
+ */
+public class ScopedModelCache extends AdapterImpl {
+
+  /**
+   * System property defining the maximum number of entries of a scoped cache, over all the functions.
+   */
+  public static final String MAXIMUM_SIZE_PROPERTY = "capella.modelcache.maximumSize"; //$NON-NLS-1$
+
+  /**
+   * System property allowing to enable scoped caches.
+   */
+  public static final String ENABLED_PROPERTY = "capella.modelcache.scoped"; //$NON-NLS-1$
+
+  private static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+  private static volatile boolean scopedCacheEnabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  /**
+   * All the living scopes, weakly referenced so that a disposed editing domain is not retained.
+   */
+  private static final Set<ScopedModelCache> scopes = Collections
+      .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<ScopedModelCache, Boolean>()));
+
+  private final Cache cache = new Cache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+
+  private final SiriusCrossReferenceAdapter semanticCrossReferencer;
+
+  private final DataNotifier dataNotifier;
+
+  private final Adapter semanticChangeListener = new AdapterImpl() {
+    @Override
+    public void notifyChanged(Notification notification) {
+      if (notification.isTouch() || notification.getEventType() == Notification.REMOVING_ADAPTER) {
+        return;
+      }
+      Object notifier = notification.getNotifier();
+      if (isSemanticElement(notifier) || (notifier instanceof Resource
+          && notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS)) {
+        cache.clearResults();
+      }
+    }
+  };
+
+  protected ScopedModelCache(SemanticEditingDomain editingDomain) {
+    semanticCrossReferencer = editingDomain.getCrossReferencer();
+    dataNotifier = editingDomain.getDataNotifier();
+    if (dataNotifier != null) {
+      dataNotifier.addAdapter(EObject.class, semanticChangeListener);
+    }
+  }
+
+  /**
+   * @return the cache of this scope.
+   */
+  public Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * @param object
+   * @return whether the given object is a semantic element, i.e. an element followed by the semantic cross referencer.
+   */
+  protected boolean isSemanticElement(Object object) {
+    return semanticCrossReferencer != null && object instanceof EObject
+        && ((EObject) object).eAdapters().contains(semanticCrossReferencer);
+  }
+
+  /**
+   * Return a copy of the given result if it is a collection, so that the cached value can't be altered by the caller.
+   *
+   * @param result
+   * @return a modifiable copy of the given collection, or the given result itself
+   */
+  @SuppressWarnings("unchecked")
+  static <R> R copy(R result) {
+    if (result instanceof List<?>) {
+      return (R) new ArrayList<>((List<?>) result);
+    } else if (result instanceof Set<?>) {
+      return (R) new LinkedHashSet<>((Set<?>) result);
+    } else if (result instanceof Map<?, ?>) {
+      return (R) new LinkedHashMap<>((Map<?, ?>) result);
+    }
+    return result;
+  }
+
+  /**
+   * @see org.eclipse.emf.common.notify.impl.AdapterImpl#notifyChanged(org.eclipse.emf.common.notify.Notification)
+   */
+  @Override
+  public void notifyChanged(Notification notification) {
+    if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES
+        && !notification.isTouch()) {
+      cache.clearResults();
+    }
+  }
+
+  /**
+   * @see org.eclipse.emf.common.notify.impl.AdapterImpl#unsetTarget(org.eclipse.emf.common.notify.Notifier)
+   */
+  @Override
+  public void unsetTarget(Notifier oldTarget) {
+    super.unsetTarget(oldTarget);
+    if (dataNotifier != null) {
+      dataNotifier.remove(semanticChangeListener);
+    }
+    cache.clearCache();
+  }
+
+  @Override
+  public boolean isAdapterForType(Object type) {
+    return type == ScopedModelCache.class;
+  }
+
+  /**
+   * Retrieve the scope of the given parameter.
+   *
+   * @param parameter
+   * @return the scoped cache of the editing domain of the given parameter, or <code>null</code> if the parameter is not
+   *         a semantic element of a {@link SemanticEditingDomain}.
+   */
+  public static ScopedModelCache getScope(Object parameter) {
+    if (!scopedCacheEnabled || !(parameter instanceof EObject)) {
+      return null;
+    }
+    Resource resource = ((EObject) parameter).eResource();
+    if (resource == null || !(resource.getResourceSet() instanceof SemanticResourceSet)) {
+      return null;
+    }
+    ScopedModelCache scope = getScope((SemanticResourceSet) resource.getResourceSet());
+    if (scope != null && scope.isSemanticElement(parameter)) {
+      return scope;
+    }
+    return null;
+  }
+
+  /**
+   * Retrieve the common scope of the given parameters.
+   *
+   * @param parameter1
+   * @param parameter2
+   * @return the scope of the parameters, or <code>null</code> if one of them is a non semantic element, or if they
+   *         belong to different editing domains.
+   */
+  public static ScopedModelCache getScope(Object parameter1, Object parameter2) {
+    if (!(parameter1 instanceof EObject)) {
+      return getScope(parameter2);
+    }
+    ScopedModelCache scope = getScope(parameter1);
+    if (scope != null && parameter2 instanceof EObject && getScope(parameter2) != scope) {
+      return null;
+    }
+    return scope;
+  }
+
+  /**
+   * Retrieve or create the scope of the given resource set.
+   *
+   * @param resourceSet
+   * @return <code>null</code> if the editing domain of the resource set is not a {@link SemanticEditingDomain}.
+   */
+  public static ScopedModelCache getScope(SemanticResourceSet resourceSet) {
+    ScopedModelCache scope = (ScopedModelCache) EcoreUtil.getExistingAdapter(resourceSet, ScopedModelCache.class);
+    if (scope != null || !(resourceSet.getEditingDomain() instanceof SemanticEditingDomain)) {
+      return scope;
+    }
+    synchronized (resourceSet) {
+      scope = (ScopedModelCache) EcoreUtil.getExistingAdapter(resourceSet, ScopedModelCache.class);
+      if (scope == null) {
+        scope = new ScopedModelCache((SemanticEditingDomain) resourceSet.getEditingDomain());
+        resourceSet.eAdapters().add(scope);
+        scopes.add(scope);
+      }
+      return scope;
+    }
+  }
+
+  /**
+   * Enable scoped caches.
+   */
+  public static void enable() {
+    scopedCacheEnabled = true;
+  }
+
+  /**
+   * Disable scoped caches and remove all their entries.
+   */
+  public static void disable() {
+    scopedCacheEnabled = false;
+    clearAll();
+  }
+
+  /**
+   * @return true if scoped caches are enabled.
+   */
+  public static boolean isEnabled() {
+    return scopedCacheEnabled;
+  }
+
+  /**
+   * Remove all the entries of all the scoped caches.
+   */
+  public static void clearAll() {
+    for (ScopedModelCache scope : getScopes()) {
+      scope.cache.clearResults();
+    }
+  }
+
+  /**
+   * Remove all the entries of the given function from all the scoped caches.
+   */
+  public static <T, R> void clearAll(CachedFunction<T, R> function) {
+    for (ScopedModelCache scope : getScopes()) {
+      scope.cache.clearCache(function);
+    }
+  }
+
+  /**
+   * Remove all the entries of the given function from all the scoped caches.
+   */
+  public static <T1, T2, R> void clearAll(CachedBiFunction<T1, T2, R> function) {
+    for (ScopedModelCache scope : getScopes()) {
+      scope.cache.clearCache(function);
+    }
+  }
+
+  /**
+   * @return the statistics of the given function, summed over all the scoped caches.
+   */
+  public static CacheStatistics getStatisticsAll(Object function) {
+    CacheStatistics statistics = CacheStatistics.EMPTY;
+    for (ScopedModelCache scope : getScopes()) {
+      statistics = statistics.add(scope.cache.getStatistics(function));
+    }
+    return statistics;
+  }
+
+  /**
+   * @return the statistics of all the functions, summed over all the scoped caches.
+   */
+  public static Map<Object, CacheStatistics> getStatisticsAll() {
+    Map<Object, CacheStatistics> statistics = new HashMap<>();
+    for (ScopedModelCache scope : getScopes()) {
+      scope.cache.getStatistics().forEach((function, value) -> statistics.merge(function, value, CacheStatistics::add));
+    }
+    return statistics;
+  }
+
+  private static List<ScopedModelCache> getScopes() {
+    synchronized (scopes) {
+      return new ArrayList<>(scopes);
+    }
+  }
+}
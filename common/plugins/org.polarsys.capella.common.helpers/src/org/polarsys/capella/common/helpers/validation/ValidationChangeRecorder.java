@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.common.helpers.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListener;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.sirius.common.tools.api.util.SiriusCrossReferenceAdapter;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticEditingDomain;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticResourceSet;
+
+/**
+ * Records the semantic elements modified since they were last validated, so that a validation can be restricted to
+ * them.<br>
+ * Changes are collected from the transactions committed on the editing domain, so that commands as well as their undo
+ * and redo are taken into account. Elements added to the model are recorded with their whole sub-tree, and the elements
+ * referenced by an added or removed sub-tree are recorded as well, since their validation may depend on it (e.g. a
+ * function allocated by a new allocation).<br>
+ * A recorder is attached to the semantic resource set and lives as long as it. It only starts recording once it is
+ * created, so a first complete validation of a sub-tree is required before it can be revalidated incrementally (see
+ * {@link #isValidated(EObject)}).
+ */
+public class ValidationChangeRecorder extends AdapterImpl {
+
+  private final SemanticEditingDomain editingDomain;
+
+  /**
+   * Modified elements, in modification order.
+   */
+  private final Set<EObject> modifiedElements = new LinkedHashSet<>();
+
+  /**
+   * Roots of the sub-trees completely validated since this recorder was created.
+   */
+  private final Set<EObject> validatedRoots = new LinkedHashSet<>();
+
+  private final ResourceSetListener listener = new ResourceSetListenerImpl(NotificationFilter.NOT_TOUCH) {
+    @Override
+    public void resourceSetChanged(ResourceSetChangeEvent event) {
+      record(event.getNotifications());
+    }
+  };
+
+  protected ValidationChangeRecorder(SemanticEditingDomain editingDomain) {
+    this.editingDomain = editingDomain;
+    editingDomain.addResourceSetListener(listener);
+  }
+
+  /**
+   * @param notifications
+   *          notifications of a committed transaction
+   */
+  protected void record(List<Notification> notifications) {
+    synchronized (modifiedElements) {
+      for (Notification notification : notifications) {
+        Object notifier = notification.getNotifier();
+        if (isSemanticElement(notifier)) {
+          modifiedElements.add((EObject) notifier);
+          if (notification.getFeature() instanceof EReference) {
+            boolean containment = ((EReference) notification.getFeature()).isContainment();
+            recordValue(notification.getOldValue(), containment);
+            recordValue(notification.getNewValue(), containment);
+          }
+        } else if (notifier instanceof Resource
+            && notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+          recordValue(notification.getOldValue(), true);
+          recordValue(notification.getNewValue(), true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Record the old or new value of a reference.
+   * @param value
+   *          an element, a list of elements or <code>null</code>
+   * @param contained
+   *          whether the value has been added to or removed from the model, in which case the elements referenced by
+   *          its sub-tree are recorded as well, along with the sub-tree itself if it has been added
+   */
+  private void recordValue(Object value, boolean contained) {
+    if (value instanceof EObject) {
+      EObject element = (EObject) value;
+      if (isSemanticElement(element)) {
+        modifiedElements.add(element);
+      }
+      if (contained) {
+        recordReferencedElements(element);
+        for (Iterator<EObject> contents = element.eAllContents(); contents.hasNext();) {
+          EObject content = contents.next();
+          if (isSemanticElement(content)) {
+            modifiedElements.add(content);
+          }
+          recordReferencedElements(content);
+        }
+      }
+    } else if (value instanceof Collection<?>) {
+      for (Object element : (Collection<?>) value) {
+        recordValue(element, contained);
+      }
+    }
+  }
+
+  /**
+   * Record the semantic elements referenced by the given element through its non derived, non containment references.
+   * @param element
+   */
+  private void recordReferencedElements(EObject element) {
+    for (EReference reference : element.eClass().getEAllReferences()) {
+      if (!reference.isContainment() && !reference.isContainer() && !reference.isDerived()
+          && element.eIsSet(reference)) {
+        Object value = element.eGet(reference, false);
+        if (value instanceof Collection<?>) {
+          for (Object target : (Collection<?>) value) {
+            if (isSemanticElement(target)) {
+              modifiedElements.add((EObject) target);
+            }
+          }
+        } else if (isSemanticElement(value)) {
+          modifiedElements.add((EObject) value);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param object
+   * @return whether the given object is a semantic element, i.e. an element followed by the semantic cross referencer.
+   */
+  protected boolean isSemanticElement(Object object) {
+    SiriusCrossReferenceAdapter crossReferencer = editingDomain.getCrossReferencer();
+    return crossReferencer != null && object instanceof EObject
+        && ((EObject) object).eAdapters().contains(crossReferencer);
+  }
+
+  /**
+   * @param element
+   * @return whether the element is in a sub-tree completely validated since this recorder was created.
+   */
+  public boolean isValidated(EObject element) {
+    synchronized (modifiedElements) {
+      for (EObject root : validatedRoots) {
+        if (EcoreUtil.isAncestor(root, element)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Notify that the sub-trees of the given roots have been completely validated. The modifications recorded inside
+   * them are forgotten.
+   * @param roots
+   */
+  public void validated(Collection<? extends EObject> roots) {
+    synchronized (modifiedElements) {
+      modifiedElements.removeIf(element -> EcoreUtil.isAncestor(roots, element));
+      validatedRoots.addAll(roots);
+    }
+  }
+
+  /**
+   * Retrieve the elements to revalidate in the sub-trees of the given roots, and forget them: the elements modified
+   * since the last validation, the elements referencing them and their containers. Elements that are no longer in the
+   * model are ignored.
+   * @param roots
+   * @return the elements to revalidate, in modification order
+   */
+  public Collection<EObject> consumeModifiedElements(Collection<? extends EObject> roots) {
+    Collection<EObject> modified = new ArrayList<>();
+    synchronized (modifiedElements) {
+      for (Iterator<EObject> elements = modifiedElements.iterator(); elements.hasNext();) {
+        EObject element = elements.next();
+        if (element.eResource() == null) {
+          elements.remove();
+        } else if (EcoreUtil.isAncestor(roots, element)) {
+          modified.add(element);
+          elements.remove();
+        }
+      }
+    }
+
+    Set<EObject> result = new LinkedHashSet<>(modified);
+    SiriusCrossReferenceAdapter crossReferencer = editingDomain.getCrossReferencer();
+    for (EObject element : modified) {
+      if (element.eContainer() != null && EcoreUtil.isAncestor(roots, element.eContainer())) {
+        result.add(element.eContainer());
+      }
+      if (crossReferencer != null) {
+        for (Setting setting : crossReferencer.getInverseReferences(element, false)) {
+          EObject referencer = setting.getEObject();
+          if (referencer.eResource() != null && EcoreUtil.isAncestor(roots, referencer)) {
+            result.add(referencer);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Record the given elements as modified again, e.g. when their revalidation has been canceled.
+   * @param elements
+   */
+  public void modified(Collection<? extends EObject> elements) {
+    synchronized (modifiedElements) {
+      modifiedElements.addAll(elements);
+    }
+  }
+
+  /**
+   * @see org.eclipse.emf.common.notify.impl.AdapterImpl#unsetTarget(org.eclipse.emf.common.notify.Notifier)
+   */
+  @Override
+  public void unsetTarget(Notifier oldTarget) {
+    super.unsetTarget(oldTarget);
+    editingDomain.removeResourceSetListener(listener);
+    synchronized (modifiedElements) {
+      modifiedElements.clear();
+      validatedRoots.clear();
+    }
+  }
+
+  @Override
+  public boolean isAdapterForType(Object type) {
+    return type == ValidationChangeRecorder.class;
+  }
+
+  /**
+   * Retrieve or create the recorder of the given element.
+   * @param element
+   * @return <code>null</code> if the element does not belong to a {@link SemanticEditingDomain}.
+   */
+  public static ValidationChangeRecorder getRecorder(EObject element) {
+    Resource resource = element.eResource();
+    if (resource == null || !(resource.getResourceSet() instanceof SemanticResourceSet)) {
+      return null;
+    }
+    SemanticResourceSet resourceSet = (SemanticResourceSet) resource.getResourceSet();
+    if (!(resourceSet.getEditingDomain() instanceof SemanticEditingDomain)) {
+      return null;
+    }
+    synchronized (resourceSet) {
+      ValidationChangeRecorder recorder = (ValidationChangeRecorder) EcoreUtil.getExistingAdapter(resourceSet,
+          ValidationChangeRecorder.class);
+      if (recorder == null) {
+        recorder = new ValidationChangeRecorder((SemanticEditingDomain) resourceSet.getEditingDomain());
+        resourceSet.eAdapters().add(recorder);
+      }
+      return recorder;
+    }
+  }
+}
@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.polarsys.capella.common.libraries.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +32,7 @@ import org.eclipse.emf.ecore.xmi.XMLSave;
 import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache;
 import org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaXMLSaveImpl;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
 import org.eclipse.emf.ecore.xmi.impl.XMLSaveImpl;
@@ -206,6 +210,48 @@ public class LibrariesResourceImpl extends XMIResourceImpl {
   protected Notification setLoaded(boolean isLoaded) {
 		return super.setLoaded(isLoaded);
 	}
+
+	/**
+	 * <!-- begin-user-doc -->
+	 * <!-- end-user-doc -->
+	 * 
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#load(java.util.Map)
+	 * @generated
+	 */
+	@Override
+	public void load(Map<?, ?> options) throws IOException {
+		if (!CapellaBinaryResourceCache.load(this, options)) {
+			super.load(options);
+		}
+	}
+
+	/**
+	 * <!-- begin-user-doc -->
+	 * <!-- end-user-doc -->
+	 * 
+	 * @see org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doLoad(java.io.InputStream, java.util.Map)
+	 * @generated
+	 */
+	@Override
+	public void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		if (!CapellaBinaryResourceCache.doLoad(this, inputStream, options)) {
+			super.doLoad(inputStream, options);
+		}
+	}
+
+	/**
+	 * <!-- begin-user-doc -->
+	 * <!-- end-user-doc -->
+	 * 
+	 * @see org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doSave(java.io.OutputStream, java.util.Map)
+	 * @generated
+	 */
+	@Override
+	public void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		OutputStream savedStream = CapellaBinaryResourceCache.startSave(this, outputStream);
+		super.doSave(savedStream, options);
+		CapellaBinaryResourceCache.endSave(this, savedStream);
+	}
   //end-capella-code
 
 } //LibrariesResourceImpl
\ No newline at end of file
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.common.model.helpers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.polarsys.capella.common.mdsofa.common.helper.EcoreHelper;
+
+/**
+ * Computes the values of the derived features implemented by the helper framework, as called by the generated getters.
+ * <br>
+ * Each EClass has a table of the functions computing its derived features, indexed by feature id. The table is built
+ * the first time a derived feature of the EClass is requested: the {@link IHelper} of the EClass is retrieved once from
+ * the adapter manager, as well as the helper annotation of each feature. Afterwards, a derived value only costs an
+ * array access.<br>
+ * Helpers may also register a direct function for a feature they implement, bypassing the dispatch of their
+ * {@link IHelper#getValue(EObject, EStructuralFeature, EAnnotation)}. Such a function is used for all the EClasses
+ * having the feature, so it must only be registered by the helper handling the feature for all of them.<br>
+ * {@link IDerivedFeatureBackend}s may replace the helpers for the elements they handle, for instance for the models of
+ * some sessions.
+ */
+public final class DerivedFeatureDispatcher {
+
+  /**
+   * Direct functions, by feature.
+   */
+  private static final Map<EStructuralFeature, Function<EObject, Object>> functions = new ConcurrentHashMap<>();
+
+  /**
+   * Tables of functions indexed by feature id, by EClass.
+   */
+  private static final Map<EClass, Function<EObject, Object>[]> tables = new ConcurrentHashMap<>();
+
+  /**
+   * Alternative backends, asked before the helpers.
+   */
+  private static final CopyOnWriteArrayList<IDerivedFeatureBackend> backends = new CopyOnWriteArrayList<>();
+
+  private DerivedFeatureDispatcher() {
+    // Static helper
+  }
+
+  /**
+   * Register the function computing the value of the given derived feature, for all the EClasses having it.
+   *
+   * @param feature
+   * @param function
+   */
+  public static void register(EStructuralFeature feature, Function<EObject, Object> function) {
+    functions.put(feature, function);
+    // Tables built before the registration use the helper for this feature
+    tables.clear();
+  }
+
+  /**
+   * Register a backend computing the derived features of the elements it handles, instead of the helpers.
+   *
+   * @param backend
+   */
+  public static void addBackend(IDerivedFeatureBackend backend) {
+    backends.addIfAbsent(backend);
+  }
+
+  /**
+   * @param backend
+   */
+  public static void removeBackend(IDerivedFeatureBackend backend) {
+    backends.remove(backend);
+  }
+
+  /**
+   * Get the value of the given derived feature of the given object.
+   *
+   * @param object
+   * @param feature
+   * @return <code>null</code> if no value is returned
+   * @throws HelperNotFoundException
+   *           if no helper is registered for the root package of the EClass of the object
+   */
+  public static Object getValue(EObject object, EStructuralFeature feature) {
+    if (!backends.isEmpty()) {
+      for (IDerivedFeatureBackend backend : backends) {
+        if (backend.isHandled(object, feature)) {
+          return backend.getValue(object, feature);
+        }
+      }
+    }
+    if (object instanceof IAdaptable) {
+      // The helper may depend on the instance
+      IHelper helper = (IHelper) ((IAdaptable) object).getAdapter(IHelper.class);
+      if (helper != null) {
+        return helper.getValue(object, feature, getAnnotation(feature));
+      }
+    }
+    EClass eClass = object.eClass();
+    Function<EObject, Object>[] table = tables.get(eClass);
+    if (table == null) {
+      // Helpers are registered by root package, the one of the object is thus the one of its EClass
+      IHelper helper = getHelper(object);
+      if (helper == null) {
+        // Not cached, the helper may be contributed later
+        return throwHelperNotFound(object);
+      }
+      table = createTable(eClass, helper);
+      tables.put(eClass, table);
+    }
+    int featureID = eClass.getFeatureID(feature);
+    Function<EObject, Object> function = featureID >= 0 ? table[featureID] : null;
+    if (function == null) {
+      // Not a feature of the EClass, let the helper decide
+      function = createFunction(getHelper(object), feature);
+    }
+    return function.apply(object);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<EObject, Object>[] createTable(EClass eClass, IHelper helper) {
+    Function<EObject, Object>[] table = new Function[eClass.getFeatureCount()];
+    for (int featureID = 0; featureID < table.length; featureID++) {
+      EStructuralFeature feature = eClass.getEStructuralFeature(featureID);
+      if (feature.isDerived() && getAnnotation(feature) != null) {
+        Function<EObject, Object> function = functions.get(feature);
+        table[featureID] = function != null ? function : createFunction(helper, feature);
+      }
+    }
+    return table;
+  }
+
+  private static Function<EObject, Object> createFunction(IHelper helper, EStructuralFeature feature) {
+    if (helper == null) {
+      return DerivedFeatureDispatcher::throwHelperNotFound;
+    }
+    EAnnotation annotation = getAnnotation(feature);
+    return object -> helper.getValue(object, feature, annotation);
+  }
+
+  private static IHelper getHelper(EObject object) {
+    return (IHelper) Platform.getAdapterManager().getAdapter(object, IHelper.class);
+  }
+
+  private static EAnnotation getAnnotation(EStructuralFeature feature) {
+    return feature.getEAnnotation(IModelConstants.HELPER_ANNOTATION_SOURCE);
+  }
+
+  private static Object throwHelperNotFound(EObject object) {
+    EPackage rootPackage = EcoreHelper.getRootPackage(object.eClass().getEPackage());
+    throw new HelperNotFoundException("No helper retrieved for nsURI " + rootPackage.getNsURI()); //$NON-NLS-1$
+  }
+}
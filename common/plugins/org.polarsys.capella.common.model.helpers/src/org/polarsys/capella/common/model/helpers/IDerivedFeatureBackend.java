@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.common.model.helpers;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * An alternative engine computing the values of derived features, instead of the {@link IHelper}s.<br>
+ * Backends are registered in the {@link DerivedFeatureDispatcher}, and may only handle the elements of some models.
+ */
+public interface IDerivedFeatureBackend {
+  /**
+   * @param object
+   * @param feature
+   * @return whether the value of the given derived feature of the given object is computed by this backend.
+   */
+  boolean isHandled(EObject object, EStructuralFeature feature);
+
+  /**
+   * Get the value of the given derived feature of the given object.
+   * @param object
+   * @param feature
+   * @return a collection for a many-valued feature, the value or <code>null</code> otherwise.
+   */
+  Object getValue(EObject object, EStructuralFeature feature);
+}
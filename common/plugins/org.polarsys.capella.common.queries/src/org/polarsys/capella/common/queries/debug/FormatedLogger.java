@@ -20,6 +20,14 @@ public class FormatedLogger {
   private static int indentStep = 0;
   private static boolean indentMustBeDone = false;
 
+  /**
+   * @return whether the messages of the given debug group are logged. Callers shall check it before building costly
+   *         messages.
+   */
+  public static boolean isActive(Integer debugGroup) {
+    return Log.ACTIVE_DEBUG_GROUPS.contains(debugGroup);
+  }
+
   public static void addTextLn(Object text, Integer debugGroup) {
     if (Log.ACTIVE_DEBUG_GROUPS.contains(debugGroup)) {
       indent(debugGroup);
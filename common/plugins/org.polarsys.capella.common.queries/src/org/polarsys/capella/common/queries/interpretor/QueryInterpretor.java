@@ -14,12 +14,14 @@ package org.polarsys.capella.common.queries.interpretor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Hashtable;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.CoreException;
@@ -51,12 +53,24 @@ public class QueryInterpretor {
       .subscribe(IReportManagerDefaultComponents.MODEL);
   private static final NoneValue NONE_VALUE = new NoneValue();
 
-  private static int queryIdCounter = 0;
-  private static Hashtable<IQuery, Integer> queryToId = new Hashtable<IQuery, Integer>();
-  private static Hashtable<String, IConfigurationElement> identifier2QueryDef = null;
-  private static Hashtable<String, Set<IQueryFilter>> identifier2QueryFilters = null;
-  private static Hashtable<String, IQuery> identifier2Query = null;
-  private static Hashtable<String, String> queryIdentifier2ExtendedQueryIdentifier = null;
+  private static final AtomicInteger queryIdCounter = new AtomicInteger();
+  private static final Map<IQuery, Integer> queryToId = new ConcurrentHashMap<>();
+  private static final Map<String, IConfigurationElement> identifier2QueryDef = new ConcurrentHashMap<>();
+  private static final Map<String, Set<IQueryFilter>> identifier2QueryFilters = new ConcurrentHashMap<>();
+  private static final Map<String, IQuery> identifier2Query = new ConcurrentHashMap<>();
+  private static final Map<String, String> queryIdentifier2ExtendedQueryIdentifier = new ConcurrentHashMap<>();
+
+  /**
+   * Queries executed for a query identifier, including the extended and extending ones, computed once.
+   */
+  private static final Map<String, Set<IQuery>> identifier2QuerySet = new ConcurrentHashMap<>();
+
+  /**
+   * Filters of the queries executed for a query identifier, computed once.
+   */
+  private static final Map<String, Set<IQueryFilter>> identifier2AllFilters = new ConcurrentHashMap<>();
+
+  private static volatile boolean loaded = false;
 
   /**
    * Execute a query whose semantics is defined by one or more extension points. The result is a set of non-redundant
@@ -78,13 +92,17 @@ public class QueryInterpretor {
     }
 
     IPrivateQueryContext theContext = (IPrivateQueryContext) context;
-    if (theContext.getExecutionLevel() == 0) {
-      FormatedLogger.addTextLn("QUERY CALL : " + queryIdentifier, Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+    // Trace messages are only built when the debug group is active, as they print the semantic object
+    boolean trace = FormatedLogger.isActive(Log.QUERY_INTERPRETOR);
+    if (trace) {
+      if (theContext.getExecutionLevel() == 0) {
+        FormatedLogger.addTextLn("QUERY CALL : " + queryIdentifier, Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+      }
+      FormatedLogger.addTextLn("QueryInterpretor.executeQuery(" + queryIdentifier + ", " + semanticsObj + ")", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+          Log.QUERY_INTERPRETOR);
+      FormatedLogger.addTextLn("{", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+      FormatedLogger.incIndent(Log.QUERY_INTERPRETOR);
     }
-    FormatedLogger.addTextLn("QueryInterpretor.executeQuery(" + queryIdentifier + ", " + semanticsObj + ")", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-        Log.QUERY_INTERPRETOR);
-    FormatedLogger.addTextLn("{", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
-    FormatedLogger.incIndent(Log.QUERY_INTERPRETOR);
 
     Collection<Object> subResult = new LinkedHashSet<Object>();
 
@@ -93,16 +111,20 @@ public class QueryInterpretor {
       Integer queryId = queryToId.get(query);
       List<Object> res = theContext.getResultFromCache(queryId, semanticsObj);
       if (res == null) {
-        FormatedLogger.addTextLn("execute " + query.getIdentifier() + " {", Log.QUERY_INTERPRETOR); //$NON-NLS-1$ //$NON-NLS-2$
-        FormatedLogger.incIndent(Log.QUERY_INTERPRETOR);
+        if (trace) {
+          FormatedLogger.addTextLn("execute " + query.getIdentifier() + " {", Log.QUERY_INTERPRETOR); //$NON-NLS-1$ //$NON-NLS-2$
+          FormatedLogger.incIndent(Log.QUERY_INTERPRETOR);
+        }
         theContext.incCallLevel();
         res = query.execute(semanticsObj, theContext);
         theContext.decCallLevel();
         theContext.addInCache(queryId, semanticsObj, res);
-        FormatedLogger.decIndent(Log.QUERY_INTERPRETOR);
-        FormatedLogger.addTextLn("}", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+        if (trace) {
+          FormatedLogger.decIndent(Log.QUERY_INTERPRETOR);
+          FormatedLogger.addTextLn("}", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+        }
 
-      } else {
+      } else if (trace) {
         FormatedLogger.addTextLn(
             "retrieve from cache for " + query.getIdentifier() + "[" + queryId + "]" + " " + semanticsObj, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
             Log.QUERY_INTERPRETOR);
@@ -113,8 +135,10 @@ public class QueryInterpretor {
       }
     }
 
-    FormatedLogger.decIndent(Log.QUERY_INTERPRETOR);
-    FormatedLogger.addTextLn("}", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+    if (trace) {
+      FormatedLogger.decIndent(Log.QUERY_INTERPRETOR);
+      FormatedLogger.addTextLn("}", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+    }
     List<Object> result = new ArrayList<Object>(subResult);
 
     if (theContext.getExecutionLevel() == 0) {
@@ -123,7 +147,9 @@ public class QueryInterpretor {
       for (IQueryFilter filter : filters) {
         result = executeFilter(result, filter, context);
       }
-      FormatedLogger.addTextLn("Filtering ...", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+      if (trace) {
+        FormatedLogger.addTextLn("Filtering ...", Log.QUERY_INTERPRETOR); //$NON-NLS-1$
+      }
     }
     return (List<T>) result;
   }
@@ -131,8 +157,10 @@ public class QueryInterpretor {
   public static <T> List<T> executeQuery(String queryIdentifier, Object semanticsObject, IQueryContext context,
       IQueryFilter filter) {
     Set<IQueryFilter> filters = getFilters(queryIdentifier);
-    if (filter != null)
+    if (filter != null) {
+      filters = new HashSet<IQueryFilter>(filters);
       filters.add(filter);
+    }
     return executeQuery(queryIdentifier, semanticsObject, context, filters);
   }
 
@@ -153,21 +181,29 @@ public class QueryInterpretor {
 
   public static <T> List<T> executeQuery(String queryIdentifier, IQueryContext context, IQueryFilter filter) {
     Set<IQueryFilter> filters = getFilters(queryIdentifier);
-    if (filter != null)
+    if (filter != null) {
+      filters = new HashSet<IQueryFilter>(filters);
       filters.add(filter);
+    }
     return executeQuery(queryIdentifier, NONE_VALUE, context, filters);
   }
 
+  /**
+   * @return the filters of the queries executed for the given query identifier. The returned set is shared and can't be
+   *         modified.
+   */
   public static Set<IQueryFilter> getFilters(String queryIdentifier) {
-    if (identifier2QueryFilters == null) {
-      loadQueries();
-    }
-    Set<IQueryFilter> result = new HashSet<IQueryFilter>();
-    for (IQuery query : getQuerySetForQueryIdentifier(queryIdentifier)) {
-      Set<IQueryFilter> filters = identifier2QueryFilters.get(query.getIdentifier());
-      if (filters != null) {
-        result.addAll(filters);
+    Set<IQueryFilter> result = identifier2AllFilters.get(queryIdentifier);
+    if (result == null) {
+      Set<IQueryFilter> filters = new HashSet<IQueryFilter>();
+      for (IQuery query : getQuerySetForQueryIdentifier(queryIdentifier)) {
+        Set<IQueryFilter> queryFilters = identifier2QueryFilters.get(query.getIdentifier());
+        if (queryFilters != null) {
+          filters.addAll(queryFilters);
+        }
       }
+      result = filters.isEmpty() ? Collections.<IQueryFilter> emptySet() : Collections.unmodifiableSet(filters);
+      identifier2AllFilters.put(queryIdentifier, result);
     }
     return result;
   }
@@ -187,8 +223,17 @@ public class QueryInterpretor {
   }
 
   private static Set<IQuery> getQuerySetForQueryIdentifier(String queryIdentifier) {
-    Set<IQuery> res = new HashSet<IQuery>();
-    if (identifier2QueryDef == null) {
+    Set<IQuery> result = identifier2QuerySet.get(queryIdentifier);
+    if (result == null) {
+      result = Collections.unmodifiableSet(createQuerySet(queryIdentifier));
+      identifier2QuerySet.put(queryIdentifier, result);
+    }
+    return result;
+  }
+
+  private static Set<IQuery> createQuerySet(String queryIdentifier) {
+    Set<IQuery> res = new LinkedHashSet<IQuery>();
+    if (!loaded) {
       loadQueries();
     }
     if (!identifier2QueryDef.containsKey(queryIdentifier)) {
@@ -221,8 +266,12 @@ public class QueryInterpretor {
           query = (IQuery) queryDef.createExecutableExtension("algorithm"); //$NON-NLS-1$
           query.setIdentifier(queryIdentifier);
           query.setExtendedQueryIdentifier(queryIdentifier2ExtendedQueryIdentifier.get(queryIdentifier));
-          identifier2Query.put(queryIdentifier, query);
-          queryToId.put(query, Integer.valueOf(queryIdCounter++));
+          IQuery existingQuery = identifier2Query.putIfAbsent(queryIdentifier, query);
+          if (existingQuery != null) {
+            // Created meanwhile by another thread
+            return existingQuery;
+          }
+          queryToId.put(query, Integer.valueOf(queryIdCounter.getAndIncrement()));
         }
       } catch (CoreException exception) {
         exception.printStackTrace();
@@ -231,13 +280,10 @@ public class QueryInterpretor {
     return query;
   }
 
-  private static void loadQueries() {
-    // initialize tables
-    identifier2QueryDef = new Hashtable<String, IConfigurationElement>();
-    identifier2QueryFilters = new Hashtable<String, Set<IQueryFilter>>();
-    identifier2Query = new Hashtable<String, IQuery>();
-    queryIdentifier2ExtendedQueryIdentifier = new Hashtable<String, String>();
-    
+  private static synchronized void loadQueries() {
+    if (loaded) {
+      return;
+    }
     // load all the extensions
     IExtensionRegistry registry = Platform.getExtensionRegistry();
     IConfigurationElement[] querySpecifications = registry
@@ -287,6 +333,7 @@ public class QueryInterpretor {
         ((AbstractQuery) extendedQuery).addExtendingQueryIdentifier(entry.getKey());
       }
     }
+    loaded = true;
   }
 
   /** Returns true if a query exists for the given identifier */
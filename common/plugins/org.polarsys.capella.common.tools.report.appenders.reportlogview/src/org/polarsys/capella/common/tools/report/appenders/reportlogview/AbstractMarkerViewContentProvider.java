@@ -18,9 +18,6 @@ import java.util.Collection;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -71,13 +68,7 @@ abstract class AbstractMarkerViewContentProvider implements ITreeContentProvider
    * Deletes all markers that this content provider knows about.
    */
   public void clear(){
-    for (IMarker marker : helper.findMarkers((IResource) viewer.getInput())) {
-      try {
-        marker.delete();
-      } catch (CoreException e) {
-        MarkerViewPlugin.getDefault().getLog().log(new Status(IStatus.ERROR, MarkerViewPlugin.PLUGIN_ID, e.getLocalizedMessage(), e));
-      }
-    }
+    LightMarkerRegistry.getInstance().deleteMarkers(helper.findMarkers((IResource) viewer.getInput()));
     viewerRefresh.refresh();
   }
 
@@ -14,7 +14,10 @@
 package org.polarsys.capella.common.tools.report.appenders.reportlogview;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -103,7 +106,16 @@ class CanonicalContentProvider extends AbstractMarkerViewContentProvider impleme
     markers.remove(marker);
     viewerRefresh.refresh();
   }
-  
-  
+
+  /**
+   * Markers are removed at once, rather than searched one by one.
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void markersDeleted(Collection<IMarker> deleted) {
+    Set<IMarker> deletedSet = new HashSet<IMarker>(deleted);
+    markers.removeAll(deletedSet);
+    viewerRefresh.refresh();
+  }
 
 }
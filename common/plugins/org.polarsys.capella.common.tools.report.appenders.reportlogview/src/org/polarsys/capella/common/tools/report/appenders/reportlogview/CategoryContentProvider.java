@@ -14,7 +14,9 @@
 package org.polarsys.capella.common.tools.report.appenders.reportlogview;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -198,4 +200,21 @@ class CategoryContentProvider extends AbstractMarkerViewContentProvider implemen
     }
   }
 
+  /**
+   * Markers are removed at once, rather than searched one by one.
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void markersDeleted(Collection<IMarker> deleted) {
+    Set<IMarker> deletedSet = new HashSet<IMarker>(deleted);
+    for (List<IMarker> children : markers.values()) {
+      if (children != null) {
+        children.removeAll(deletedSet);
+      }
+    }
+    ecoreMarkers.removeAll(deletedSet);
+    messages.removeAll(deletedSet);
+    viewerRefresh.refresh();
+  }
+
 }
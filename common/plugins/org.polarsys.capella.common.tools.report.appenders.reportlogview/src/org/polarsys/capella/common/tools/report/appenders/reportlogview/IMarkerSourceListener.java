@@ -13,6 +13,8 @@
 
 package org.polarsys.capella.common.tools.report.appenders.reportlogview;
 
+import java.util.Collection;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
 
@@ -34,6 +36,26 @@ public interface IMarkerSourceListener {
    * @param marker
    */
   public void markerDeleted(IMarker marker);
+
+  /**
+   * Markers were added at once, e.g. by a validation.
+   * @param markers
+   */
+  public default void markersAdded(Collection<IMarker> markers) {
+    for (IMarker marker : markers) {
+      markerAdded(marker);
+    }
+  }
+
+  /**
+   * Markers were deleted at once.
+   * @param markers
+   */
+  public default void markersDeleted(Collection<IMarker> markers) {
+    for (IMarker marker : markers) {
+      markerDeleted(marker);
+    }
+  }
   
   /**
    * Currently unused.
@@ -16,9 +16,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
@@ -42,23 +48,43 @@ import org.polarsys.capella.common.mdsofa.common.constant.ICommonConstants;
  * - All marker attributes have to be set upon creation with the help of a callback argument (see createMarker() below).
  * <br>
  * This class is thread safe.<br>
- * Listeners are notified on the thread that created/deleted a marker.
+ * Listeners are notified on the thread that created/deleted a marker, without holding any lock of the registry.
+ * Markers created or deleted between {@link #beginBatch()} and {@link #endBatch()} are notified at once at the end of
+ * the batch (see {@link IMarkerSourceListener#markersAdded(Collection)}).<br>
+ * Markers are indexed by the elements of their diagnostic, their rule and their severity, so that the markers of an
+ * element or of a rule can be retrieved or deleted without going through all the markers.
  */
 public class LightMarkerRegistry implements IMarkerSource {
 
   private static final LightMarkerRegistry _instance = new LightMarkerRegistry();
 
-  private List<IMarker> _registry = Collections.synchronizedList(new ArrayList<IMarker>());
+  /**
+   * Markers by registration order.
+   */
+  private final ConcurrentNavigableMap<Long, IMarker> _registry = new ConcurrentSkipListMap<Long, IMarker>();
+
+  private final AtomicLong _sequence = new AtomicLong();
+
+  private final Map<Object, Set<IMarker>> _markersByElement = new ConcurrentHashMap<Object, Set<IMarker>>();
+
+  private final Map<String, Set<IMarker>> _markersByRule = new ConcurrentHashMap<String, Set<IMarker>>();
+
+  private final Map<Integer, Set<IMarker>> _markersBySeverity = new ConcurrentHashMap<Integer, Set<IMarker>>();
+
+  /**
+   * The batch in progress on the current thread, if any.
+   */
+  private final ThreadLocal<Batch> _batch = new ThreadLocal<Batch>();
 
   /**
    * Legacy content provider style observers
    **/
-  List<IContentProvider> legacyObservers = Collections.synchronizedList(new ArrayList<IContentProvider>());
+  List<IContentProvider> legacyObservers = new CopyOnWriteArrayList<IContentProvider>();
 
   /**
    * Listeners
    */
-  List<IMarkerSourceListener> listeners = Collections.synchronizedList(new ArrayList<IMarkerSourceListener>());
+  List<IMarkerSourceListener> listeners = new CopyOnWriteArrayList<IMarkerSourceListener>();
 
   /**
    * Get the global instance. This method is thread safe.
@@ -95,21 +121,83 @@ public class LightMarkerRegistry implements IMarkerSource {
   }
 
   protected void notifyRegistryChanged(IMarker oldValue, IMarker newValue) {
-    List<IContentProvider> oldObservers = getObservers();
-    synchronized (oldObservers) {
-      for (IContentProvider observer : oldObservers) {
-        observer.inputChanged(null, oldValue, newValue);
+    Batch batch = _batch.get();
+    if (batch != null) {
+      batch.changed(oldValue, newValue);
+      return;
+    }
+    for (IContentProvider observer : getObservers()) {
+      observer.inputChanged(null, oldValue, newValue);
+    }
+    if ((oldValue == null) && (newValue != null)) {
+      for (IMarkerSourceListener listener : listeners) {
+        listener.markerAdded(newValue);
+      }
+    } else if ((oldValue != null) && (newValue == null)) {
+      for (IMarkerSourceListener listener : listeners) {
+        listener.markerDeleted(oldValue);
       }
     }
-    synchronized (listeners) {
-      if ((oldValue == null) && (newValue != null)) {
-        for (IMarkerSourceListener listener : listeners) {
-          listener.markerAdded(newValue);
-        }
-      } else if ((oldValue != null) && (newValue == null)) {
-        for (IMarkerSourceListener listener : listeners) {
-          listener.markerDeleted(oldValue);
-        }
+  }
+
+  /**
+   * Notify that markers have been added at once.
+   */
+  protected void notifyMarkersAdded(Collection<IMarker> markers) {
+    for (IContentProvider observer : getObservers()) {
+      for (IMarker marker : markers) {
+        observer.inputChanged(null, null, marker);
+      }
+    }
+    for (IMarkerSourceListener listener : listeners) {
+      listener.markersAdded(markers);
+    }
+  }
+
+  /**
+   * Notify that markers have been deleted at once.
+   */
+  protected void notifyMarkersDeleted(Collection<IMarker> markers) {
+    for (IContentProvider observer : getObservers()) {
+      for (IMarker marker : markers) {
+        observer.inputChanged(null, marker, null);
+      }
+    }
+    for (IMarkerSourceListener listener : listeners) {
+      listener.markersDeleted(markers);
+    }
+  }
+
+  /**
+   * Start a batch on the current thread: the creations and deletions of markers are notified at once by
+   * {@link #endBatch()}. Batches can be nested, notifications are sent at the end of the outermost one. Each call must
+   * be followed by a call to {@link #endBatch()}, typically in a finally block.
+   */
+  public void beginBatch() {
+    Batch batch = _batch.get();
+    if (batch == null) {
+      batch = new Batch();
+      _batch.set(batch);
+    }
+    batch.depth++;
+  }
+
+  /**
+   * End a batch started by {@link #beginBatch()} on the current thread.
+   */
+  public void endBatch() {
+    Batch batch = _batch.get();
+    if (batch == null) {
+      return;
+    }
+    batch.depth--;
+    if (batch.depth == 0) {
+      _batch.remove();
+      if (!batch.deleted.isEmpty()) {
+        notifyMarkersDeleted(Collections.unmodifiableCollection(batch.deleted));
+      }
+      if (!batch.added.isEmpty()) {
+        notifyMarkersAdded(Collections.unmodifiableCollection(batch.added));
       }
     }
   }
@@ -156,35 +244,205 @@ public class LightMarkerRegistry implements IMarkerSource {
       modification.modify(marker);
     }
 
-    _registry.add(marker);
+    register(marker);
     notifyRegistryChanged(null, marker);
     return marker;
   }
 
+  /**
+   * Create a marker of a specific type for each of the given diagnostics. Listeners are notified once about all of
+   * them.
+   * 
+   * @param fileResource
+   *          the resource to which to attach the markers
+   * @param diagnostics
+   *          the diagnostics that back the message, severity and elements of the markers
+   * @param markerType
+   * @return the created markers
+   */
+  public List<IMarker> createMarkers(IResource fileResource, Collection<? extends Diagnostic> diagnostics,
+      String markerType) {
+    List<IMarker> markers = new ArrayList<IMarker>(diagnostics.size());
+    beginBatch();
+    try {
+      for (Diagnostic diagnostic : diagnostics) {
+        markers.add(createMarker(fileResource, diagnostic, markerType));
+      }
+    } finally {
+      endBatch();
+    }
+    return markers;
+  }
+
   public boolean hasMarkers() {
     return !_registry.isEmpty();
   }
 
   /**
-   * Returns an unmodifiable view of markers stored by this IMarkerSource. Deleting a marker in this view while
-   * iterating over its contents will throw a ConcurrentModificationException.
+   * Returns an unmodifiable view of markers stored by this IMarkerSource, in creation order. The view can be iterated
+   * while markers are created or deleted: the iteration may or may not reflect these changes.
    */
   public Collection<IMarker> getMarkers() {
-    return Collections.unmodifiableCollection(_registry);
+    return Collections.unmodifiableCollection(_registry.values());
+  }
+
+  /**
+   * @param element
+   * @return the markers whose diagnostic data contains the given element.
+   */
+  public Collection<IMarker> getMarkersByElement(Object element) {
+    return getIndexedMarkers(_markersByElement, element);
+  }
+
+  /**
+   * @param ruleId
+   *          a qualified rule id (see {@link MarkerViewHelper#getRuleID(IMarker, boolean)})
+   * @return the markers produced by the given rule.
+   */
+  public Collection<IMarker> getMarkersByRule(String ruleId) {
+    return getIndexedMarkers(_markersByRule, ruleId);
+  }
+
+  /**
+   * @param severity
+   *          one of the IMarker severities
+   * @return the markers of the given severity.
+   */
+  public Collection<IMarker> getMarkersBySeverity(int severity) {
+    return getIndexedMarkers(_markersBySeverity, Integer.valueOf(severity));
+  }
+
+  private <K> Collection<IMarker> getIndexedMarkers(Map<K, Set<IMarker>> index, K key) {
+    Set<IMarker> markers = key == null ? null : index.get(key);
+    if (markers == null) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<IMarker>(markers);
   }
 
   public void purgeMarkers() {
-    Iterator<IMarker> markers = _registry.iterator();
-    while (markers.hasNext()) {
-      IMarker marker = markers.next();
+    List<IMarker> purgeable = new ArrayList<IMarker>();
+    for (IMarker marker : _registry.values()) {
       if (isPurgeable(marker)) {
+        purgeable.add(marker);
+      }
+    }
+    if (!purgeable.isEmpty()) {
+      deleteMarkers(purgeable);
+    }
+  }
+
+  /**
+   * Delete the given markers. Listeners are notified once about all of them.
+   * 
+   * @param markers
+   */
+  public void deleteMarkers(Collection<? extends IMarker> markers) {
+    beginBatch();
+    try {
+      for (IMarker marker : markers) {
         try {
-          markers.remove();
           marker.delete();
-        } catch (Exception e) {
-          // Nothing here
+        } catch (CoreException e) {
+          MarkerViewPlugin.getDefault().getLog()
+              .log(new Status(e.getStatus().getSeverity(), MarkerViewPlugin.PLUGIN_ID, e.getMessage(), e));
         }
       }
+    } finally {
+      endBatch();
+    }
+  }
+
+  /**
+   * Delete the markers of the given type that are related to one of the given elements, keeping the other ones. This
+   * allows to replace the results of a validation restricted to some elements.
+   * 
+   * @param markerType
+   *          the type of the markers to delete
+   * @param elements
+   *          the elements whose markers are deleted
+   */
+  public void deleteMarkers(String markerType, Collection<? extends EObject> elements) {
+    Set<IMarker> markers = new LinkedHashSet<IMarker>();
+    for (EObject element : elements) {
+      for (IMarker marker : getMarkersByElement(element)) {
+        if (marker instanceof LightMarker && markerType.equals(((LightMarker) marker).type)) {
+          markers.add(marker);
+        }
+      }
+    }
+    deleteMarkers(markers);
+  }
+
+  /**
+   * Add a marker to the registry and to the indexes.
+   */
+  private void register(LightMarker marker) {
+    marker.sequence = _sequence.incrementAndGet();
+    marker.ruleId = MarkerViewHelper.getRuleID(marker, true);
+    marker.severity = Integer.valueOf(marker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO));
+    _registry.put(Long.valueOf(marker.sequence), marker);
+    for (Object data : marker.diagnostic.getData()) {
+      if (data instanceof EObject) {
+        addToIndex(_markersByElement, data, marker);
+      }
+    }
+    addToIndex(_markersByRule, marker.ruleId, marker);
+    addToIndex(_markersBySeverity, marker.severity, marker);
+  }
+
+  /**
+   * Remove a marker from the registry and from the indexes.
+   * @return whether the marker was in the registry
+   */
+  private boolean unregister(LightMarker marker) {
+    if (!_registry.remove(Long.valueOf(marker.sequence), marker)) {
+      return false;
+    }
+    for (Object data : marker.diagnostic.getData()) {
+      if (data instanceof EObject) {
+        removeFromIndex(_markersByElement, data, marker);
+      }
+    }
+    removeFromIndex(_markersByRule, marker.ruleId, marker);
+    removeFromIndex(_markersBySeverity, marker.severity, marker);
+    return true;
+  }
+
+  private <K> void addToIndex(Map<K, Set<IMarker>> index, K key, IMarker marker) {
+    if (key != null) {
+      index.compute(key, (k, markers) -> {
+        Set<IMarker> result = markers == null ? ConcurrentHashMap.<IMarker> newKeySet() : markers;
+        result.add(marker);
+        return result;
+      });
+    }
+  }
+
+  private <K> void removeFromIndex(Map<K, Set<IMarker>> index, K key, IMarker marker) {
+    if (key != null) {
+      index.computeIfPresent(key, (k, markers) -> {
+        markers.remove(marker);
+        return markers.isEmpty() ? null : markers;
+      });
+    }
+  }
+
+  /**
+   * Notifications of a batch in progress on a thread.
+   */
+  private static class Batch {
+    int depth;
+    final Set<IMarker> added = new LinkedHashSet<IMarker>();
+    final Set<IMarker> deleted = new LinkedHashSet<IMarker>();
+
+    void changed(IMarker oldValue, IMarker newValue) {
+      if ((oldValue == null) && (newValue != null)) {
+        added.add(newValue);
+      } else if ((oldValue != null) && (newValue == null) && !added.remove(oldValue)) {
+        // A marker created and deleted in the same batch is not notified at all
+        deleted.add(oldValue);
+      }
     }
   }
 
@@ -210,6 +468,11 @@ public class LightMarkerRegistry implements IMarkerSource {
     IResource resource;
     private Diagnostic diagnostic;
 
+    // Registration order and index keys, set when the marker is added to the registry
+    long sequence;
+    String ruleId;
+    Integer severity;
+
     public LightMarker(IResource resource, String markerType, Diagnostic diagnostic) {
       attributes = new HashMap<String, Object>();
       this.resource = resource;
@@ -254,8 +517,9 @@ public class LightMarkerRegistry implements IMarkerSource {
      */
     @SuppressWarnings("synthetic-access")
     public void delete() throws CoreException {
-      _registry.remove(this);
-      notifyRegistryChanged(this, null);
+      if (unregister(this)) {
+        notifyRegistryChanged(this, null);
+      }
     }
 
     /**
@@ -263,7 +527,7 @@ public class LightMarkerRegistry implements IMarkerSource {
      */
     @SuppressWarnings("synthetic-access")
     public boolean exists() {
-      return _registry.contains(this);
+      return _registry.get(Long.valueOf(sequence)) == this;
     }
 
     /**
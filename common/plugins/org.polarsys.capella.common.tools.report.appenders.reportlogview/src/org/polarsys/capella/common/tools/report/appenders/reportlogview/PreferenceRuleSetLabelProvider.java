@@ -14,6 +14,8 @@
 package org.polarsys.capella.common.tools.report.appenders.reportlogview;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -165,4 +167,20 @@ public class PreferenceRuleSetLabelProvider extends AbstractMarkerViewContentPro
     viewerRefresh.refresh();
   }
 
+  /**
+   * Markers are removed at once, rather than searched one by one.
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void markersDeleted(Collection<IMarker> deleted) {
+    Set<IMarker> deletedSet = new HashSet<IMarker>(deleted);
+    for (List<IMarker> children : markers.values()) {
+      if (children != null) {
+        children.removeAll(deletedSet);
+      }
+    }
+    messages.removeAll(deletedSet);
+    viewerRefresh.refresh();
+  }
+
 }
@@ -16,8 +16,10 @@ package org.polarsys.capella.common.tools.report.appenders.reportlogview;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -126,5 +128,19 @@ class SeverityContentProvider extends AbstractMarkerViewContentProvider implemen
         break;
       }
     }
-  }  
+  }
+
+  /**
+   * Markers are removed at once, rather than searched one by one.
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void markersDeleted(Collection<IMarker> deleted) {
+    Set<IMarker> deletedSet = new HashSet<IMarker>(deleted);
+    for (List<IMarker> levelMarkers : markers.values()) {
+      levelMarkers.removeAll(deletedSet);
+    }
+    viewerRefresh.refresh();
+  }
+
 }
@@ -19,9 +19,6 @@ import java.util.List;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.validation.service.IConstraintDescriptor;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -32,9 +29,9 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.handlers.HandlerUtil;
 
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.IMarkerSource;
+import org.polarsys.capella.common.tools.report.appenders.reportlogview.LightMarkerRegistry;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.MarkerView;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.MarkerViewHelper;
-import org.polarsys.capella.common.tools.report.appenders.reportlogview.MarkerViewPlugin;
 
 /**
  * Delete all constraint markers for a given constraint id.
@@ -60,13 +57,7 @@ public class DeleteConstraintMarkersHandler extends AbstractViewHandler {
           }
         }
       }
-      for (IMarker m : delete) {
-        try {
-          m.delete();
-        } catch (CoreException e) {
-          MarkerViewPlugin.getDefault().getLog().log(new Status(IStatus.ERROR, MarkerViewPlugin.PLUGIN_ID, e.getMessage(), e));
-        }
-      }
+      LightMarkerRegistry.getInstance().deleteMarkers(delete);
     }
 
     return null;
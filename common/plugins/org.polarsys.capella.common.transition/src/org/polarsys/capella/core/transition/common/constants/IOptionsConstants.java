@@ -29,4 +29,8 @@ public class IOptionsConstants {
   
   public static final String IS_DRY_RUN = "isDryRun";
 
+  public static final String TRANSPOSER_PARALLEL = "transposer.parallel";
+
+  public static final Boolean TRANSPOSER_PARALLEL__DEFAULT = Boolean.FALSE;
+
 }
@@ -121,6 +121,7 @@ public interface ITransitionConstants {
   String TRANSPOSER_MAPPING = "TRANSPOSER_MAPPING";
   String TRANSPOSER_APPLY_IS_COMPLETE = "TRANSPOSER_APPLY_IS_COMPLETE";
   String TRANSPOSER_APPLY_REQUIRED = "TRANSPOSER_APPLY_REQUIRED";
+  String TRANSPOSER_PREPARED_TRANSFORMATIONS = "TRANSPOSER_PREPARED_TRANSFORMATIONS";
 
   String SCOPE_SOURCES = "SCOPE_SOURCES";
 
@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -312,6 +313,7 @@ public abstract class AbstractRule implements IRule<EObject>, IRuleScope, IRuleT
 
   public void apply(EObject element, IContext context) throws Exception {
 
+    Collection<EObject> preparedElements = takePreparedTransformation(element, context);
     Boolean isComplete = ((Boolean) context.get(ITransitionConstants.TRANSPOSER_APPLY_IS_COMPLETE));
     boolean isCompleteRule = isComplete == null ? true : isComplete.booleanValue();
     if (!isCompleteRule) {
@@ -326,7 +328,11 @@ public abstract class AbstractRule implements IRule<EObject>, IRuleScope, IRuleT
           IStatus transformRequired = transformRequired(element, context);
 
           if (transformRequired.isOK()) {
-            for (EObject result : transformElement(element, context)) {
+            Collection<EObject> results = preparedElements;
+            if (results == null) {
+              results = transformElement(element, context);
+            }
+            for (EObject result : results) {
               postTransformElement(element, result, context);
 
               if (isValidTargetElement(element, result, context)) {
@@ -366,6 +372,68 @@ public abstract class AbstractRule implements IRule<EObject>, IRuleScope, IRuleT
 
   }
 
+  /**
+   * ------------ Concurrent transformation ------------
+   * (elements of an independent layer can be transformed by several threads, their rules are then applied in order)
+   */
+
+  /**
+   * Returns whether transformElement can be called concurrently with other transformations, ahead of apply.
+   * It must then only read the models and the context, and only create detached elements.
+   */
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
+  /**
+   * Transform the element ahead of apply, which uses the prepared elements if the element is to be transformed.
+   * Can be called by several threads.
+   */
+  public void prepareTransformation(EObject element, IContext context) {
+    Map<EObject, PreparedTransformation> preparedTransformations = getPreparedTransformations(context);
+    if (preparedTransformations != null) {
+      try {
+        preparedTransformations.put(element, new PreparedTransformation(this, transformElement(element, context)));
+      } catch (RuntimeException e) {
+        // The element is transformed again by apply, which reports the error
+      }
+    }
+  }
+
+  /**
+   * Returns and forgets the elements prepared by this rule for the given element, if any.
+   */
+  protected Collection<EObject> takePreparedTransformation(EObject element, IContext context) {
+    Map<EObject, PreparedTransformation> preparedTransformations = getPreparedTransformations(context);
+    if (preparedTransformations != null) {
+      PreparedTransformation preparedTransformation = preparedTransformations.remove(element);
+      if ((preparedTransformation != null) && (preparedTransformation.rule == this)) {
+        return preparedTransformation.elements;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<EObject, PreparedTransformation> getPreparedTransformations(IContext context) {
+    return (Map<EObject, PreparedTransformation>) context.get(ITransitionConstants.TRANSPOSER_PREPARED_TRANSFORMATIONS);
+  }
+
+  /**
+   * Elements transformed by a rule ahead of its apply.
+   */
+  private static class PreparedTransformation {
+
+    private final AbstractRule rule;
+
+    private final Collection<EObject> elements;
+
+    PreparedTransformation(AbstractRule rule, Collection<EObject> elements) {
+      this.rule = rule;
+      this.elements = elements;
+    }
+  }
+
   /**
    * @param element
    * @param result
@@ -14,11 +14,17 @@
 package org.polarsys.capella.core.transition.common.transposer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
 
 import org.polarsys.capella.core.transition.common.constants.ITransitionConstants;
+import org.polarsys.capella.core.transition.common.rules.AbstractRule;
 import org.polarsys.capella.core.transition.common.transposer.current.GenericRulesHandler;
 import org.polarsys.kitalpha.transposer.rules.handler.exceptions.mappings.purposes.NonExistingPurposeException;
+import org.polarsys.kitalpha.transposer.rules.handler.exceptions.possibilities.MappingPossibilityResolutionException;
 import org.polarsys.kitalpha.transposer.rules.handler.exceptions.rules.RuleExecutionException;
+import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IContext;
+import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IRule;
+import org.polarsys.kitalpha.transposer.rules.handler.rules.common.MappingPossibility;
 import org.polarsys.kitalpha.transposer.rules.handler.rules.runtime.RuntimePurpose;
 
 /**
@@ -49,6 +55,29 @@ public class ExtendedRulesHandler extends GenericRulesHandler {
     return super.apply(object, complete, monitor);
   }
 
+  /**
+   * Transform the object ahead of its apply, if the rule to apply supports it.
+   * Can be called by several threads, while no rule is applied.
+   * 
+   * @see AbstractRule#prepareTransformation(EObject, IContext)
+   */
+  public void prepare(Object object, boolean complete) throws MappingPossibilityResolutionException {
+    MappingPossibility applicablePossibility = getApplicablePossibility(object);
+    if ((applicablePossibility == null) || !(object instanceof EObject)) {
+      return;
+    }
+    IRule<?> rule = applicablePossibility.getCompleteRule();
+    if (!complete && (applicablePossibility.getIncompleteRule() != null)) {
+      rule = applicablePossibility.getIncompleteRule();
+    }
+    if (rule instanceof AbstractRule) {
+      AbstractRule abstractRule = (AbstractRule) rule;
+      if (abstractRule.isConcurrentTransformation((EObject) object, getContext())) {
+        abstractRule.prepareTransformation((EObject) object, getContext());
+      }
+    }
+  }
+
   @Override
   protected RuntimePurpose createRuntimePurpose(String purpose, String mappingId) {
     return ExtendedPurposeRegistry.getInstance().getRegisteredPurpose(purpose, mappingId);
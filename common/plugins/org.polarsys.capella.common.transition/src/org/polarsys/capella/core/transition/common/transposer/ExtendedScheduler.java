@@ -100,6 +100,11 @@ public class ExtendedScheduler implements IScheduler {
    */
   private Set<LinkedList<Edge<?>>> foundCycles;
 
+  /**
+   * Independent layers of vertices computed by the topological sort.
+   */
+  private List<Set<Vertex<?>>> layers;
+
   /**
    * Default Constructor.
    */
@@ -215,6 +220,14 @@ public class ExtendedScheduler implements IScheduler {
     return scheduleResult;
   }
 
+  /**
+   * @return the successive sets of vertices that depend only on vertices of the previous sets. Rules of vertices of
+   *         the same layer can be resolved and transformed independently.
+   */
+  public List<Set<Vertex<?>>> getLayers() {
+    return layers;
+  }
+
   /**
    * @return the visited
    */
@@ -291,6 +304,7 @@ public class ExtendedScheduler implements IScheduler {
     backTracks = new HashSet<Edge<?>>();
     foundCycles = new HashSet<LinkedList<Edge<?>>>();
     scheduleResult = new LinkedList<ITransposerTask<Vertex<?>>>();
+    layers = new ArrayList<Set<Vertex<?>>>();
   }
 
   @Override
@@ -300,6 +314,7 @@ public class ExtendedScheduler implements IScheduler {
     backTracks = null;
     foundCycles = null;
     scheduleResult = null;
+    layers = null;
   }
 
   /**
@@ -350,15 +365,27 @@ public class ExtendedScheduler implements IScheduler {
     HashSet<Vertex<?>> vertices = new HashSet<Vertex<?>>();
     vertices.addAll(model.getVertices());
     try {
-      setTopologicalSorter(new ExtendedTopologicalSorter(vertices, backTracks));
+      setTopologicalSorter(createTopologicalSorter(vertices, backTracks));
       getTopologicalSorter().sort(monitor);
       scheduleResult = getTopologicalSorter().getWork(monitor);
+      layers = new ArrayList<Set<Vertex<?>>>(getTopologicalSorter().getLayers());
       getTopologicalSorter().dispose();
     } catch (TransitionException e) {
       e.printStackTrace();
     }
   }
 
+  /**
+   * Create the sorter of the vertices, which may add backtracks to break the remaining cycles.
+   * 
+   * @param vertices
+   * @param backtracks
+   * @return a {@link KahnTopologicalSorter} by default
+   */
+  protected ExtendedTopologicalSorter createTopologicalSorter(Set<Vertex<?>> vertices, Set<Edge<?>> backtracks) {
+    return new KahnTopologicalSorter(vertices, backtracks);
+  }
+
   /**
    * Mark a vertex as visited.
    * 
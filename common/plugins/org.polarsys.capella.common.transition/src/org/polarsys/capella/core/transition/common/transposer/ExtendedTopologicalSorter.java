@@ -44,6 +44,7 @@ public class ExtendedTopologicalSorter {
   protected Set<Edge<?>> backtracks;
   protected Set<Vertex<?>> model;
   protected LinkedHashSet<Vertex<?>> sortedModel;
+  protected List<Set<Vertex<?>>> layers = new ArrayList<Set<Vertex<?>>>();
 
   /**
    * @return the backtracks
@@ -66,6 +67,14 @@ public class ExtendedTopologicalSorter {
     return sortedModel;
   }
 
+  /**
+   * @return the successive sets of vertices that depend only on vertices of the previous sets, in the order of the
+   *         sortedModel
+   */
+  public List<Set<Vertex<?>>> getLayers() {
+    return layers;
+  }
+
   /**
    * 
    */
@@ -73,10 +82,12 @@ public class ExtendedTopologicalSorter {
     backtracks.clear();
     model.clear();
     sortedModel.clear();
+    layers.clear();
 
     backtracks = null;
     model = null;
     sortedModel = null;
+    layers = null;
 
   }
 
@@ -203,6 +214,7 @@ public class ExtendedTopologicalSorter {
 
       toSort.removeAll(independants);
       sorted.addAll(independants);
+      layers.add(independants);
     }
 
     return sorted;
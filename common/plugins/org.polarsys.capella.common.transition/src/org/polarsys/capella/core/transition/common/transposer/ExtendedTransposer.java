@@ -16,14 +16,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.polarsys.capella.core.transition.common.constants.IOptionsConstants;
+import org.polarsys.capella.core.transition.common.constants.ITransitionConstants;
 import org.polarsys.capella.core.transition.common.exception.TransitionException;
+import org.polarsys.capella.core.transition.common.handlers.options.OptionsHandlerHelper;
 import org.polarsys.kitalpha.cadence.core.api.parameter.GenericParameter;
 import org.polarsys.kitalpha.cadence.core.api.parameter.WorkflowActivityParameter;
 import org.polarsys.kitalpha.transposer.TransposerCorePlugin;
@@ -34,6 +40,7 @@ import org.polarsys.kitalpha.transposer.api.TransposerConfiguration;
 import org.polarsys.kitalpha.transposer.generic.GenericTransposer;
 import org.polarsys.kitalpha.transposer.rules.handler.api.IRulesHandler;
 import org.polarsys.kitalpha.transposer.rules.handler.exceptions.mappings.purposes.NonExistingPurposeException;
+import org.polarsys.kitalpha.transposer.rules.handler.exceptions.possibilities.MappingPossibilityResolutionException;
 import org.polarsys.kitalpha.transposer.rules.handler.exceptions.rules.RuleExecutionException;
 import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IContext;
 import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IDomainHelper;
@@ -44,6 +51,11 @@ import org.polarsys.kitalpha.transposer.scheduler.api.ITransposerTask;
  */
 public class ExtendedTransposer extends GenericTransposer {
 
+  /**
+   * Minimal number of tasks of a layer for its elements to be transformed concurrently.
+   */
+  protected static final int PARALLEL_LAYER_THRESHOLD = 64;
+
   protected ExtendedCadenceLauncher extendedCadenceLauncher;
 
   protected HashMap<IProgressMonitor, IStatus> statuses;
@@ -134,18 +146,41 @@ public class ExtendedTransposer extends GenericTransposer {
         monitor.beginTask("Transposer Tasks Execution", scheduledTasks.size()); //$NON-NLS-1$
       }
 
-      for (ITransposerTask<Vertex<?>> scheduledTask : scheduledTasks) {
-        Vertex<?> v = scheduledTask.getTaskContent();
-        try {
-          getRulesHandler().apply(v.getContent(), scheduledTask.isCompletelyTransposable(), monitor);
-          checkCancel(monitor);
-        } catch (RuleExecutionException e) {
-          TransposerCorePlugin.getDefault().logError(TransposerCorePlugin.PLUGIN_ID,
-              RuleExecutionException.class.getSimpleName() + " on " + e.getMessage(), e.getCause()); //$NON-NLS-1$
-        }
+      // In parallel mode, the elements of a layer are resolved and transformed concurrently before its first task.
+      // Rules are still applied one at a time and in order, as they attach the elements into the target model.
+      Map<Vertex<?>, Integer> layerIndexes = isParallel() ? getLayerIndexes() : null;
+      IContext rulesContext = (layerIndexes != null) ? ((ExtendedRulesHandler) getRulesHandler()).getContext() : null;
+      if (rulesContext != null) {
+        rulesContext.put(ITransitionConstants.TRANSPOSER_PREPARED_TRANSFORMATIONS, new ConcurrentHashMap<>());
+      }
 
-        if (monitor != null) {
-          monitor.worked(1);
+      try {
+        List<ITransposerTask<Vertex<?>>> tasks = new ArrayList<ITransposerTask<Vertex<?>>>(scheduledTasks);
+        int preparedTasks = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+          ITransposerTask<Vertex<?>> scheduledTask = tasks.get(i);
+          Vertex<?> v = scheduledTask.getTaskContent();
+          if ((layerIndexes != null) && (i >= preparedTasks)) {
+            preparedTasks = getLayerEnd(tasks, i, layerIndexes);
+            if ((preparedTasks - i) >= PARALLEL_LAYER_THRESHOLD) {
+              prepareTransformations(tasks.subList(i, preparedTasks));
+            }
+          }
+          try {
+            getRulesHandler().apply(v.getContent(), scheduledTask.isCompletelyTransposable(), monitor);
+            checkCancel(monitor);
+          } catch (RuleExecutionException e) {
+            TransposerCorePlugin.getDefault().logError(TransposerCorePlugin.PLUGIN_ID,
+                RuleExecutionException.class.getSimpleName() + " on " + e.getMessage(), e.getCause()); //$NON-NLS-1$
+          }
+
+          if (monitor != null) {
+            monitor.worked(1);
+          }
+        }
+      } finally {
+        if (rulesContext != null) {
+          rulesContext.put(ITransitionConstants.TRANSPOSER_PREPARED_TRANSFORMATIONS, null);
         }
       }
 
@@ -166,6 +201,69 @@ public class ExtendedTransposer extends GenericTransposer {
     }
   }
 
+  /**
+   * @return whether independent vertices are resolved and transformed concurrently, according to the
+   *         {@link IOptionsConstants#TRANSPOSER_PARALLEL} option
+   */
+  protected boolean isParallel() {
+    IContext context = getContext();
+    return OptionsHandlerHelper.getInstance(context).getBooleanValue(context,
+        (String) context.get(ITransitionConstants.OPTIONS_SCOPE), IOptionsConstants.TRANSPOSER_PARALLEL,
+        IOptionsConstants.TRANSPOSER_PARALLEL__DEFAULT.booleanValue());
+  }
+
+  /**
+   * @return the index of the layer of each scheduled vertex, or null if the scheduler doesn't compute layers
+   */
+  protected Map<Vertex<?>, Integer> getLayerIndexes() {
+    if (!(getScheduler() instanceof ExtendedScheduler) || !(getRulesHandler() instanceof ExtendedRulesHandler)) {
+      return null;
+    }
+    Map<Vertex<?>, Integer> result = new HashMap<Vertex<?>, Integer>();
+    List<Set<Vertex<?>>> layers = ((ExtendedScheduler) getScheduler()).getLayers();
+    for (int i = 0; i < layers.size(); i++) {
+      for (Vertex<?> vertex : layers.get(i)) {
+        result.put(vertex, Integer.valueOf(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the index following the consecutive tasks, from the given one, whose vertices belong to the same layer
+   */
+  protected int getLayerEnd(List<ITransposerTask<Vertex<?>>> tasks, int start, Map<Vertex<?>, Integer> layerIndexes) {
+    Integer layer = layerIndexes.get(tasks.get(start).getTaskContent());
+    int end = start + 1;
+    while ((layer != null) && (end < tasks.size()) && layer.equals(layerIndexes.get(tasks.get(end).getTaskContent()))) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * Resolve the rules of the given tasks and transform their elements concurrently, ahead of the rules being applied
+   * by the transposer. The vertices of a layer are independent and no rule is applied meanwhile, so that workers only
+   * read the models and the context. Errors are reported when the rules are applied.
+   * 
+   * @param tasks
+   */
+  protected void prepareTransformations(List<ITransposerTask<Vertex<?>>> tasks) {
+    ExtendedRulesHandler rulesHandler = (ExtendedRulesHandler) getRulesHandler();
+    // Only the first task of a vertex can transform its element
+    Map<Object, Boolean> objects = new LinkedHashMap<Object, Boolean>();
+    for (ITransposerTask<Vertex<?>> task : tasks) {
+      objects.putIfAbsent(task.getTaskContent().getContent(), Boolean.valueOf(task.isCompletelyTransposable()));
+    }
+    objects.entrySet().parallelStream().forEach(entry -> {
+      try {
+        rulesHandler.prepare(entry.getKey(), entry.getValue().booleanValue());
+      } catch (MappingPossibilityResolutionException e) {
+        // Reported by apply
+      }
+    });
+  }
+
   /**
    * @param monitor
    */
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.transition.common.transposer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.polarsys.capella.core.transition.common.exception.TransitionException;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Edge;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Vertex;
+
+/**
+ * Topological sort based on the number of remaining dependencies of each vertex (Kahn's algorithm), in a time linear in
+ * the size of the graph.<br>
+ * It sorts the vertices by the same layers than {@link ExtendedTopologicalSorter}: a vertex belongs to the layer
+ * following the one of the last vertex it depends on, backtracks being ignored. When all the remaining vertices are in
+ * cycles, edges are added to the backtracks with the same rules, and only the vertices of these edges are checked
+ * again.
+ */
+public class KahnTopologicalSorter extends ExtendedTopologicalSorter {
+
+  /**
+   * A non backtracked edge between two vertices to sort.
+   */
+  private static class Dependency {
+    final Vertex<?> source;
+    final Edge<?> edge;
+
+    Dependency(Vertex<?> source, Edge<?> edge) {
+      this.source = source;
+      this.edge = edge;
+    }
+  }
+
+  /**
+   * Number of dependencies to vertices not sorted yet, by vertex.
+   */
+  private Map<Vertex<?>, int[]> dependencyCounts;
+
+  /**
+   * Dependencies to a vertex, by vertex.
+   */
+  private Map<Vertex<?>, List<Dependency>> dependents;
+
+  /**
+   * Vertices not sorted yet.
+   */
+  private Set<Vertex<?>> remaining;
+
+  /**
+   * @param toSort
+   * @param backtracks
+   */
+  public KahnTopologicalSorter(Set<Vertex<?>> toSort, Set<Edge<?>> backtracks) {
+    super(toSort, backtracks);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LinkedHashSet<Vertex<?>> sort(IProgressMonitor monitor) {
+    if (monitor != null) {
+      monitor.subTask("Topological sort"); //$NON-NLS-1$
+    }
+    dependencyCounts = new HashMap<>();
+    dependents = new HashMap<>();
+    remaining = new HashSet<>(model);
+    sortedModel = new LinkedHashSet<>();
+    layers = new ArrayList<>();
+
+    List<Vertex<?>> layer = new ArrayList<>();
+    for (Vertex<?> vertex : model) {
+      int count = 0;
+      for (Edge<?> edge : vertex.getOutgoingEdges()) {
+        Vertex<?> target = edge.getTarget();
+        if (!backtracks.contains(edge) && remaining.contains(target)) {
+          count++;
+          dependents.computeIfAbsent(target, key -> new ArrayList<>()).add(new Dependency(vertex, edge));
+        }
+      }
+      dependencyCounts.put(vertex, new int[] { count });
+      if (count == 0) {
+        layer.add(vertex);
+      }
+    }
+
+    while (!remaining.isEmpty()) {
+      if (layer.isEmpty()) {
+        layer = breakCycles();
+      }
+      // Not removeAll: on a set, it iterates the set whenever it is not larger than the given list
+      for (Vertex<?> vertex : layer) {
+        remaining.remove(vertex);
+      }
+      sortedModel.addAll(layer);
+      layers.add(new LinkedHashSet<>(layer));
+
+      List<Vertex<?>> nextLayer = new ArrayList<>();
+      for (Vertex<?> vertex : layer) {
+        for (Dependency dependency : dependents.getOrDefault(vertex, Collections.emptyList())) {
+          // Edges turned into backtracks have already been discounted
+          if (!backtracks.contains(dependency.edge) && release(dependency.source)) {
+            nextLayer.add(dependency.source);
+          }
+        }
+      }
+      layer = nextLayer;
+    }
+
+    dependencyCounts = null;
+    dependents = null;
+    remaining = null;
+    return getSortedModel();
+  }
+
+  /**
+   * Decrement the number of dependencies of the vertex.
+   *
+   * @return whether the vertex does not depend on a vertex to sort anymore
+   */
+  private boolean release(Vertex<?> vertex) {
+    int[] count = dependencyCounts.get(vertex);
+    count[0]--;
+    return count[0] == 0;
+  }
+
+  /**
+   * Add backtracks among the edges between remaining vertices, until some vertex does not depend on a remaining vertex
+   * anymore. Non critical edges of vertices having several of them are preferred, as in
+   * {@link ExtendedTopologicalSorter}.
+   *
+   * @return the vertices which do not depend on a remaining vertex anymore
+   */
+  private List<Vertex<?>> breakCycles() {
+    List<Vertex<?>> layer = new ArrayList<>();
+    while (layer.isEmpty()) {
+      List<Dependency> nonBacktrackedEdges = new ArrayList<>();
+      List<Dependency> edgesToBreak = new ArrayList<>();
+      for (Vertex<?> vertex : remaining) {
+        List<Dependency> breakables = new ArrayList<>();
+        for (Edge<?> edge : vertex.getOutgoingEdges()) {
+          if (remaining.contains(edge.getTarget()) && !edge.isCritical() && !backtracks.contains(edge)) {
+            breakables.add(new Dependency(vertex, edge));
+          }
+        }
+        if (breakables.size() > 1) {
+          edgesToBreak.addAll(breakables);
+        } else {
+          nonBacktrackedEdges.addAll(breakables);
+        }
+      }
+
+      List<Dependency> broken = edgesToBreak.isEmpty() ? nonBacktrackedEdges : edgesToBreak;
+      if (broken.isEmpty()) {
+        // Only critical edges remain
+        throw new TransitionException(
+            new Status(IStatus.ERROR, "Transposer cycle exception", "Transposer cycle exception")); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+      for (Dependency dependency : broken) {
+        backtracks.add(dependency.edge);
+        if (release(dependency.source)) {
+          layer.add(dependency.source);
+        }
+      }
+    }
+    return layer;
+  }
+}
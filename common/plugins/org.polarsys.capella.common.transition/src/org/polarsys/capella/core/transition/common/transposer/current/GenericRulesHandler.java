@@ -14,11 +14,10 @@
 package org.polarsys.capella.core.transition.common.transposer.current;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -35,15 +34,16 @@ import org.polarsys.kitalpha.transposer.rules.handler.rules.common.MappingPossib
 import org.polarsys.kitalpha.transposer.rules.handler.rules.runtime.RuntimePurpose;
 
 /**
- * Creation of _runtimePurpose is externalized into createRuntimePurpose
+ * Creation of _runtimePurpose is externalized into createRuntimePurpose.
+ * Resolved possibilities are cached in concurrent collections, so that they can be resolved by several threads.
  */
 public class GenericRulesHandler implements IRulesHandler {
 
   public GenericRulesHandler(String purpose, String mappingId) throws NonExistingPurposeException {
     _context = null;
     _runtimePurpose = null;
-    _knownObjects = new HashMap();
-    _knownObjectsWithoutApplicablePossibitity = new HashSet();
+    _knownObjects = new ConcurrentHashMap();
+    _knownObjectsWithoutApplicablePossibitity = ConcurrentHashMap.newKeySet();
     init(purpose, mappingId);
   }
 
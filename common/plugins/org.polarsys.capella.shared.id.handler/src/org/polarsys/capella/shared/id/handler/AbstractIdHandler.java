@@ -31,6 +31,10 @@ public abstract class AbstractIdHandler implements IIdHandler {
    * {@inheritDoc}
    */
   public EObject getEObject(String id, IScope scope) {
+    IdIndex index = scope instanceof IIdIndexProvider ? ((IIdIndexProvider) scope).getIdIndex() : null;
+    if (index != null) {
+      return index.getEObject(id, scope);
+    }
     for (Resource resource : scope.getResources()) {
       EObject obj = resource.getEObject(id);
       if (null != obj) return obj;
@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.shared.id.handler;
+
+/**
+ * Implemented by resource set adapters and {@link IScope}s able to provide an up to date {@link IdIndex}. The index is
+ * shared by all the scopes and id handlers working on the same resource set.
+ */
+public interface IIdIndexProvider {
+
+  /**
+   * @return the index, <code>null</code> if not available.
+   */
+  IdIndex getIdIndex();
+}
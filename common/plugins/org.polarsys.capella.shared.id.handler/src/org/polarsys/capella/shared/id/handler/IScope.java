@@ -24,4 +24,12 @@ public interface IScope {
    * @return
    */
   List<Resource> getResources();
+
+  /**
+   * @param resource
+   * @return whether the given resource belongs to this scope
+   */
+  default boolean contains(Resource resource) {
+    return resource != null && getResources().contains(resource);
+  }
 }
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.shared.id.handler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A map from identifiers (as given by the ID attribute of the element EClass) to elements.<br>
+ * A resource covered by the index is indexed the first time a lookup involves it, then its entries are maintained by
+ * the owner of the index (see {@link IIdIndexProvider}), which invalidates them when the resource is loaded, unloaded
+ * or removed. Hits are always checked against the current state of the element, so an index lagging behind the model
+ * never returns a wrong element.
+ */
+public class IdIndex {
+
+  private final Map<String, Entry> idToEntry = new ConcurrentHashMap<>();
+
+  /**
+   * The identifiers of the indexed resources.
+   */
+  private final Map<Resource, Set<String>> resourceIds = new ConcurrentHashMap<>();
+
+  private final Predicate<Resource> coveredResources;
+
+  /**
+   * An index covering all resources.
+   */
+  public IdIndex() {
+    this(resource -> true);
+  }
+
+  /**
+   * @param coveredResources
+   *          the resources whose elements are maintained by the owner of the index
+   */
+  public IdIndex(Predicate<Resource> coveredResources) {
+    this.coveredResources = coveredResources;
+  }
+
+  /**
+   * Register the given element under its current identifier, if its resource is indexed.
+   * @param object
+   */
+  public void index(EObject object) {
+    String id = EcoreUtil.getID(object);
+    if (id != null) {
+      put(id, object);
+    }
+  }
+
+  /**
+   * Unregister the given element, if it is still the one registered under its current identifier.
+   * @param object
+   */
+  public void unindex(EObject object) {
+    String id = EcoreUtil.getID(object);
+    if (id != null) {
+      remove(id, object);
+    }
+  }
+
+  /**
+   * Update the index when the identifier of the given element has changed.
+   * @param object
+   * @param oldId
+   * @param newId
+   */
+  public void reindex(EObject object, String oldId, String newId) {
+    if (oldId != null) {
+      remove(oldId, object);
+    }
+    if (newId != null) {
+      put(newId, object);
+    }
+  }
+
+  /**
+   * Unregister the elements registered with the given resource, unless they have been moved to another indexed resource
+   * since. The resource will be indexed again by the next lookup involving it.
+   * @param resource
+   */
+  public void invalidate(Resource resource) {
+    Set<String> ids = resourceIds.remove(resource);
+    if (ids == null) {
+      return;
+    }
+    for (String id : ids) {
+      Entry entry = idToEntry.get(id);
+      if (entry != null && entry.resource == resource) {
+        Resource current = entry.object.eIsProxy() ? null : entry.object.eResource();
+        Set<String> currentIds = current != null && current != resource ? resourceIds.get(current) : null;
+        if (currentIds == null) {
+          idToEntry.remove(id, entry);
+        } else if (idToEntry.replace(id, entry, new Entry(entry.object, current))) {
+          currentIds.add(id);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param id
+   * @param scope
+   * @return the element with the given identifier within the resources of the given scope, <code>null</code> if none.
+   *         The covered resources of the scope are looked up in the index, the other ones are probed.
+   */
+  public EObject getEObject(String id, IScope scope) {
+    if (id == null) {
+      return null;
+    }
+    List<Resource> resources = scope.getResources();
+    List<Resource> uncoveredResources = new ArrayList<>();
+    for (Resource resource : resources) {
+      if (coveredResources.test(resource)) {
+        indexResource(resource);
+      } else {
+        uncoveredResources.add(resource);
+      }
+    }
+    EObject object = getEObject(id);
+    if (object != null && scope.contains(object.eResource())) {
+      return object;
+    }
+    // The identifier belongs to another scope, or is a URI fragment path rather than an identifier
+    List<Resource> probedResources = object != null || isFragmentPath(id) ? resources : uncoveredResources;
+    for (Resource resource : probedResources) {
+      EObject result = resource.getEObject(id);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param id
+   * @return the element registered under the given identifier within the indexed resources, <code>null</code> if none
+   *         or if the registered element has been detached or renamed since.
+   */
+  public EObject getEObject(String id) {
+    if (id == null) {
+      return null;
+    }
+    Entry entry = idToEntry.get(id);
+    if (entry == null) {
+      return null;
+    }
+    EObject object = entry.object;
+    if (object.eResource() == null || !id.equals(EcoreUtil.getID(object))) {
+      remove(id, object);
+      return null;
+    }
+    return object;
+  }
+
+  /**
+   * @param resource
+   * @return whether the given resource is indexed
+   */
+  public boolean isIndexed(Resource resource) {
+    return resourceIds.containsKey(resource);
+  }
+
+  /**
+   * @return the number of indexed elements
+   */
+  public int size() {
+    return idToEntry.size();
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    idToEntry.clear();
+    resourceIds.clear();
+  }
+
+  /**
+   * Index the elements of the given resource if not indexed yet. Containment proxies are not resolved, the elements of
+   * fragments are indexed with their own resource.
+   */
+  private void indexResource(Resource resource) {
+    if (resourceIds.containsKey(resource) || !resource.isLoaded()) {
+      return;
+    }
+    synchronized (this) {
+      if (!resourceIds.containsKey(resource)) {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        for (Iterator<EObject> contents = EcoreUtil.getAllProperContents(resource, false); contents.hasNext();) {
+          EObject object = contents.next();
+          String id = EcoreUtil.getID(object);
+          if (id != null) {
+            idToEntry.put(id, new Entry(object, resource));
+            ids.add(id);
+          }
+        }
+        resourceIds.put(resource, ids);
+      }
+    }
+  }
+
+  private void put(String id, EObject object) {
+    Resource resource = object.eResource();
+    Set<String> ids = resource != null ? resourceIds.get(resource) : null;
+    if (ids != null) {
+      idToEntry.put(id, new Entry(object, resource));
+      ids.add(id);
+    }
+  }
+
+  private void remove(String id, EObject object) {
+    Entry entry = idToEntry.get(id);
+    if (entry != null && entry.object == object && idToEntry.remove(id, entry) && entry.resource != null) {
+      Set<String> ids = resourceIds.get(entry.resource);
+      if (ids != null) {
+        ids.remove(id);
+      }
+    }
+  }
+
+  private boolean isFragmentPath(String id) {
+    return id.startsWith("/"); //$NON-NLS-1$
+  }
+
+  /**
+   * @param set
+   * @return the index maintained by an adapter of the given resource set, <code>null</code> if none.
+   */
+  public static IdIndex getIdIndex(ResourceSet set) {
+    if (set != null) {
+      for (Adapter adapter : set.eAdapters()) {
+        if (adapter instanceof IIdIndexProvider) {
+          IdIndex index = ((IIdIndexProvider) adapter).getIdIndex();
+          if (index != null) {
+            return index;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * An indexed element, with the resource it was registered with.
+   */
+  private static final class Entry {
+
+    private final EObject object;
+
+    private final Resource resource;
+
+    Entry(EObject object, Resource resource) {
+      this.object = object;
+      this.resource = resource;
+    }
+  }
+}
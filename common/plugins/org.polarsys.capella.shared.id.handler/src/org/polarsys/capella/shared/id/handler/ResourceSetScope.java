@@ -18,7 +18,7 @@ import java.util.List;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 
-public class ResourceSetScope implements IScope {
+public class ResourceSetScope implements IScope, IIdIndexProvider {
 
   private ResourceSet _set;
 
@@ -31,4 +31,14 @@ public class ResourceSetScope implements IScope {
     return _set.getResources();
   }
 
+  @Override
+  public boolean contains(Resource resource) {
+    return resource != null && resource.getResourceSet() == _set;
+  }
+
+  @Override
+  public IdIndex getIdIndex() {
+    return IdIndex.getIdIndex(_set);
+  }
+
 }
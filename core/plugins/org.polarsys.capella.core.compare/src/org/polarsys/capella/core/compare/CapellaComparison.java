@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.compare;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.emf.diffmerge.diffdata.impl.EComparisonImpl;
+import org.eclipse.emf.diffmerge.generic.api.IDiffPolicy;
+import org.eclipse.emf.diffmerge.generic.api.IMatchPolicy;
+import org.eclipse.emf.diffmerge.generic.api.IMergePolicy;
+import org.eclipse.emf.diffmerge.generic.api.Role;
+import org.eclipse.emf.diffmerge.generic.api.scopes.IEditableTreeDataScope;
+import org.eclipse.emf.diffmerge.generic.api.scopes.ITreeDataScope;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * A comparison of Capella models which, with a {@link CapellaMatchPolicy}, memoizes the match IDs
+ * computed while matching and computes the ones of the different scopes in parallel.
+ */
+public class CapellaComparison extends EComparisonImpl {
+
+  /**
+   * Constructor
+   * @param targetScope_p a non-null scope
+   * @param referenceScope_p a non-null scope
+   * @param ancestorScope_p an optional scope
+   */
+  public CapellaComparison(IEditableTreeDataScope<EObject> targetScope_p,
+      IEditableTreeDataScope<EObject> referenceScope_p, IEditableTreeDataScope<EObject> ancestorScope_p) {
+    super(targetScope_p, referenceScope_p, ancestorScope_p);
+  }
+
+  /**
+   * @see org.eclipse.emf.diffmerge.generic.api.IComparison#compute(IMatchPolicy, IDiffPolicy, IMergePolicy, IProgressMonitor)
+   */
+  @Override
+  public IStatus compute(IMatchPolicy<EObject> matchPolicy_p, IDiffPolicy<EObject> diffPolicy_p,
+      IMergePolicy<EObject> mergePolicy_p, IProgressMonitor monitor_p) {
+    if (!(matchPolicy_p instanceof CapellaMatchPolicy)) {
+      return super.compute(matchPolicy_p, diffPolicy_p, mergePolicy_p, monitor_p);
+    }
+    CapellaMatchPolicy policy = (CapellaMatchPolicy) matchPolicy_p;
+    List<ITreeDataScope<EObject>> scopes = new ArrayList<ITreeDataScope<EObject>>();
+    for (Role role : Role.values()) {
+      ITreeDataScope<EObject> scope = getScope(role);
+      if (scope != null) {
+        scopes.add(scope);
+      }
+    }
+    policy.beginComparison(scopes);
+    try {
+      return super.compute(matchPolicy_p, diffPolicy_p, mergePolicy_p, monitor_p);
+    } finally {
+      policy.endComparison();
+    }
+  }
+
+}
@@ -23,24 +23,30 @@ import static org.eclipse.emf.diffmerge.impl.policies.ConfigurableMatchPolicy.Ma
 import static org.polarsys.capella.core.compare.CapellaMatchPolicy.CRITERION_INTRINSIC_ID_SID;
 import static org.polarsys.capella.core.compare.CapellaMatchPolicy.CRITERION_SEMANTICS_P2L;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.emf.diffmerge.diffdata.EComparison;
 import org.eclipse.emf.diffmerge.generic.api.IDiffPolicy;
 import org.eclipse.emf.diffmerge.generic.api.IMatchPolicy;
 import org.eclipse.emf.diffmerge.generic.api.IMergePolicy;
 import org.eclipse.emf.diffmerge.generic.api.config.IComparisonConfigurator;
+import org.eclipse.emf.diffmerge.generic.api.scopes.IEditableTreeDataScope;
 import org.eclipse.emf.diffmerge.impl.policies.ComparisonConfigurator;
 import org.eclipse.emf.diffmerge.ui.sirius.SiriusComparisonMethod;
 import org.eclipse.emf.diffmerge.ui.specification.IComparisonMethodFactory;
 import org.eclipse.emf.diffmerge.ui.specification.IModelScopeDefinition;
 import org.eclipse.emf.diffmerge.ui.viewers.IDifferenceCategoryProvider;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.polarsys.capella.common.ef.ExecutionManager;
 import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.core.compare.CapellaScopeFactory.CapellaScopeDefinition;
 
 
 /**
@@ -92,6 +98,30 @@ public class CapellaComparisonMethod extends SiriusComparisonMethod {
       IModelScopeDefinition rightScopeDef, IModelScopeDefinition ancestorScopeDef,
       IComparisonMethodFactory<EObject> factory) {
     super(leftScopeDef, rightScopeDef, ancestorScopeDef, factory);
+    if (FragmentComparisonHelper.isFragmentAware())
+      leaveOutUnchangedFragments(leftScopeDef, rightScopeDef, ancestorScopeDef);
+  }
+  
+  /**
+   * Leave the fragments which are identical in all the given scopes out of them,
+   * if all of them are Capella scopes on files
+   * @param scopeDefs non-null scope definitions, except the ancestor one which is optional
+   */
+  protected void leaveOutUnchangedFragments(IModelScopeDefinition... scopeDefs) {
+    List<CapellaScopeDefinition> capellaScopeDefs = new ArrayList<CapellaScopeDefinition>();
+    List<URI> uris = new ArrayList<URI>();
+    for (IModelScopeDefinition scopeDef : scopeDefs) {
+      if (scopeDef == null)
+        continue;
+      if (!(scopeDef instanceof CapellaScopeDefinition) || !(scopeDef.getEntrypoint() instanceof URI))
+        return;
+      capellaScopeDefs.add((CapellaScopeDefinition)scopeDef);
+      uris.add((URI)scopeDef.getEntrypoint());
+    }
+    List<Map<URI, String>> unchangedFragments = FragmentComparisonHelper.getUnchangedFragments(uris);
+    for (int i = 0; i < capellaScopeDefs.size(); i++) {
+      capellaScopeDefs.get(i).setUnchangedFragments(unchangedFragments.get(i));
+    }
   }
   
   /**
@@ -108,6 +138,15 @@ public class CapellaComparisonMethod extends SiriusComparisonMethod {
     return result;
   }
   
+  /**
+   * @see org.eclipse.emf.diffmerge.ui.specification.ext.DefaultComparisonMethod#createComparison(IEditableTreeDataScope, IEditableTreeDataScope, IEditableTreeDataScope)
+   */
+  @Override
+  public EComparison createComparison(IEditableTreeDataScope<EObject> targetScope,
+      IEditableTreeDataScope<EObject> referenceScope, IEditableTreeDataScope<EObject> ancestorScope) {
+    return new CapellaComparison(targetScope, referenceScope, ancestorScope);
+  }
+  
   /**
    * @see org.eclipse.emf.diffmerge.ui.specification.ext.DefaultComparisonMethod#createEditingDomain()
    */
@@ -49,4 +49,21 @@ public class CapellaDiffPolicy extends SiriusDiffPolicy {
     return result;
   }
   
+  /**
+   * Elements of the fragments left out of fragment-aware comparisons are out of the scopes and have
+   * a different URI in each compared model: they are considered equal if they have the same id in the
+   * same fragment.
+   * @see org.eclipse.emf.diffmerge.generic.impl.policies.GenericDiffPolicy#considerEqualOutOfScope(java.lang.Object, java.lang.Object, java.lang.Object, org.eclipse.emf.diffmerge.generic.api.scopes.ITreeDataScope, org.eclipse.emf.diffmerge.generic.api.scopes.ITreeDataScope)
+   */
+  @Override
+  public boolean considerEqualOutOfScope(EObject value1_p, EObject value2_p, Object reference_p,
+      ITreeDataScope<EObject> scope1_p, ITreeDataScope<EObject> scope2_p) {
+    if (scope1_p instanceof CapellaScope && scope2_p instanceof CapellaScope) {
+      String id1 = ((CapellaScope)scope1_p).getUnchangedFragmentElementID(value1_p);
+      if (id1 != null)
+        return id1.equals(((CapellaScope)scope2_p).getUnchangedFragmentElementID(value2_p));
+    }
+    return super.considerEqualOutOfScope(value1_p, value2_p, reference_p, scope1_p, scope2_p);
+  }
+  
 }
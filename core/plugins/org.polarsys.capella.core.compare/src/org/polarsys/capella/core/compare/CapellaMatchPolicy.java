@@ -14,8 +14,13 @@ package org.polarsys.capella.core.compare;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.emf.diffmerge.generic.api.scopes.ITreeDataScope;
 import org.eclipse.emf.diffmerge.sirius.SiriusMatchPolicy;
@@ -23,6 +28,8 @@ import org.eclipse.emf.diffmerge.structures.common.comparable.ComparableTreeMap;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.polarsys.capella.common.data.modellingcore.AbstractNamedElement;
 import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
@@ -164,6 +171,16 @@ public class CapellaMatchPolicy extends SiriusMatchPolicy {
    * typically because instances have automatically-generated names.
    */
   private static Collection<EClass> UNSIGNIFICANT_NAMEDELEMENT_SUBTYPES = null;
+  
+  /** The value memoized for elements without ID, name or qualifier */
+  private static final Object NO_VALUE = new Object();
+  
+  /**
+   * The memo of the match IDs, names and root qualifiers computed during the current
+   * comparison, or null outside comparisons
+   */
+  private volatile ComparisonMemo _memo = null;
+  
   /**
    * Default constructor
    */
@@ -181,6 +198,103 @@ public class CapellaMatchPolicy extends SiriusMatchPolicy {
   }
   
   /**
+   * Start a comparison of the given scopes: until the end of the comparison, the match IDs,
+   * names and root qualifiers computed by this policy are memoized, since the ones of ancestors
+   * and exchange ends are otherwise computed again for each element that depends on them.
+   * The match IDs of all the elements of the scopes are then computed, in parallel if the scopes
+   * belong to different resource sets, as these are independent read-only traversals.
+   * @param scopes_p a non-null collection of non-null scopes
+   * @see #endComparison()
+   */
+  public void beginComparison(Collection<? extends ITreeDataScope<EObject>> scopes_p) {
+    _memo = new ComparisonMemo();
+    if (areIndependent(scopes_p)) {
+      scopes_p.parallelStream().forEach(this::computeMatchIDs);
+    } else {
+      scopes_p.forEach(this::computeMatchIDs);
+    }
+  }
+  
+  /**
+   * End the current comparison and release the memoized values, so that later calls
+   * reflect the changes of the models
+   * @see #beginComparison(Collection)
+   */
+  public void endComparison() {
+    _memo = null;
+  }
+  
+  /**
+   * Return whether the given scopes can be traversed concurrently, i.e., whether
+   * their elements belong to different resource sets
+   * @param scopes_p a non-null collection of non-null scopes
+   */
+  protected boolean areIndependent(Collection<? extends ITreeDataScope<EObject>> scopes_p) {
+    Set<ResourceSet> resourceSets = new HashSet<ResourceSet>();
+    for (ITreeDataScope<EObject> scope : scopes_p) {
+      Set<ResourceSet> scopeResourceSets = new HashSet<ResourceSet>();
+      for (EObject root : scope.getRoots()) {
+        Resource resource = root.eResource();
+        if (resource == null || resource.getResourceSet() == null) {
+          return false;
+        }
+        scopeResourceSets.add(resource.getResourceSet());
+      }
+      for (ResourceSet resourceSet : scopeResourceSets) {
+        if (!resourceSets.add(resourceSet)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+  
+  /**
+   * Compute the match IDs of all the elements of the given scope
+   * @param scope_p a non-null scope
+   */
+  protected void computeMatchIDs(ITreeDataScope<EObject> scope_p) {
+    Iterator<EObject> it = scope_p.getAllContents();
+    while (it.hasNext()) {
+      getMatchID(it.next(), scope_p);
+    }
+  }
+  
+  /**
+   * Return the value memoized for the given element in the given scope, computing it if needed.
+   * Values are only memoized during comparisons.
+   * @param values_p the non-null memoized values of a kind
+   * @param element_p a non-null element
+   * @param scope_p a non-null scope that covers element_p
+   * @param computation_p a non-null computation of the value
+   * @return a potentially null string
+   */
+  private String memoize(Map<ITreeDataScope<EObject>, Map<EObject, Object>> values_p,
+      EObject element_p, ITreeDataScope<EObject> scope_p, Supplier<String> computation_p) {
+    Map<EObject, Object> scopeValues = values_p.computeIfAbsent(
+        scope_p, s -> new ConcurrentHashMap<EObject, Object>());
+    Object value = scopeValues.get(element_p);
+    if (value == null) {
+      // Computations are recursive, so they are not run within the map
+      String computed = computation_p.get();
+      value = computed != null ? computed : NO_VALUE;
+      scopeValues.put(element_p, value);
+    }
+    return value == NO_VALUE ? null : (String) value;
+  }
+  
+  /**
+   * @see org.eclipse.emf.diffmerge.impl.policies.ConfigurableMatchPolicy#getMatchID(org.eclipse.emf.ecore.EObject, org.eclipse.emf.diffmerge.generic.api.scopes.ITreeDataScope)
+   */
+  @Override
+  public String getMatchID(EObject element_p, ITreeDataScope<EObject> scope_p) {
+    ComparisonMemo memo = _memo;
+    if (memo == null) {
+      return super.getMatchID(element_p, scope_p);
+    }
+    return memoize(memo.matchIDs, element_p, scope_p, () -> super.getMatchID(element_p, scope_p));
+  }
+  
   /**
    * @see org.eclipse.emf.diffmerge.sirius.SiriusMatchPolicy#getAvailableFineGrainedCriteria()
    */
@@ -342,6 +456,21 @@ public class CapellaMatchPolicy extends SiriusMatchPolicy {
    */
   @Override
   protected String getName(EObject element_p, ITreeDataScope<EObject> scope_p) {
+    ComparisonMemo memo = _memo;
+    if (memo == null) {
+      return computeName(element_p, scope_p);
+    }
+    return memoize(memo.names, element_p, scope_p, () -> computeName(element_p, scope_p));
+  }
+  
+  /**
+   * Compute the name of the given element
+   * @param element_p a non-null element
+   * @param scope_p a non-null scope that covers element_p
+   * @return a potentially null string
+   * @see #getName(EObject, ITreeDataScope)
+   */
+  private String computeName(EObject element_p, ITreeDataScope<EObject> scope_p) {
     String result = null;
     if (element_p instanceof AbstractNamedElement &&
         !isInstanceOf(element_p, getUnsignificantNamedElementSubtypes())) {
@@ -487,6 +616,23 @@ public class CapellaMatchPolicy extends SiriusMatchPolicy {
   @Override
   protected String getStructureBasedRootQualifier(EObject element_p,
       ITreeDataScope<EObject> scope_p) {
+    ComparisonMemo memo = _memo;
+    if (memo == null) {
+      return computeStructureBasedRootQualifier(element_p, scope_p);
+    }
+    return memoize(memo.rootQualifiers, element_p, scope_p,
+        () -> computeStructureBasedRootQualifier(element_p, scope_p));
+  }
+  
+  /**
+   * Compute the structure-based qualifier of the given root
+   * @param element_p a non-null element
+   * @param scope_p a non-null scope that covers element_p
+   * @return a potentially null string
+   * @see #getStructureBasedRootQualifier(EObject, ITreeDataScope)
+   */
+  private String computeStructureBasedRootQualifier(EObject element_p,
+      ITreeDataScope<EObject> scope_p) {
     String result = null;
     if (useFineGrainedCriterion(CRITERION_SEMANTICS_P2L) &&
         isMainCapellaRoot(element_p, scope_p)) {
@@ -953,4 +1099,20 @@ public class CapellaMatchPolicy extends SiriusMatchPolicy {
   public CapellaMatchPolicy copy() {
     return new CapellaMatchPolicy(this);
   }
+  
+  /**
+   * The values computed during a comparison, by scope and element.
+   * Each scope is traversed by a single thread, but the scopes may be traversed concurrently.
+   */
+  private static class ComparisonMemo {
+    /** The match IDs */
+    final Map<ITreeDataScope<EObject>, Map<EObject, Object>> matchIDs =
+        new ConcurrentHashMap<ITreeDataScope<EObject>, Map<EObject, Object>>();
+    /** The names */
+    final Map<ITreeDataScope<EObject>, Map<EObject, Object>> names =
+        new ConcurrentHashMap<ITreeDataScope<EObject>, Map<EObject, Object>>();
+    /** The structure-based root qualifiers */
+    final Map<ITreeDataScope<EObject>, Map<EObject, Object>> rootQualifiers =
+        new ConcurrentHashMap<ITreeDataScope<EObject>, Map<EObject, Object>>();
+  }
 }
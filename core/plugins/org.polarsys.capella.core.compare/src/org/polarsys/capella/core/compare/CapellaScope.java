@@ -16,7 +16,9 @@ import static org.eclipse.emf.diffmerge.EMFDiffMergePlugin.getDefault;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
@@ -34,9 +36,11 @@ import org.eclipse.emf.diffmerge.ui.util.MiscUtil;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
@@ -59,6 +63,13 @@ public class CapellaScope extends SiriusScope {
   /** Whether Capella version compatibility must be checked or ignored */
   protected boolean _ignoreCapellaVersions;
   
+  /**
+   * The URIs of the fragments left out of the scope because they are identical in all the
+   * compared models, with their paths relative to the main resource, or null if all fragments
+   * are in the scope
+   */
+  protected Map<URI, String> _unchangedFragments;
+  
   
   /**
    * Constructor
@@ -261,6 +272,121 @@ public class CapellaScope extends SiriusScope {
     return result;
   }
   
+  /**
+   * Leave the given fragments and their contents out of this scope. They are not loaded unless
+   * they are referenced by elements of the scope, and their elements are then identified by
+   * {@link #getUnchangedFragmentElementID(EObject)}.
+   * This must be called before the scope is loaded.
+   * @param uris a non-null map from URIs of fragments to their paths relative to the main resource
+   * @see FragmentComparisonHelper
+   */
+  public void setUnchangedFragments(Map<URI, String> uris) {
+    _unchangedFragments = uris.isEmpty()? null: new HashMap<URI, String>(uris);
+  }
+  
+  /**
+   * Return whether the given element belongs to a fragment left out of this scope
+   * @param element a non-null element, potentially a proxy
+   */
+  protected boolean isInUnchangedFragment(EObject element) {
+    URI uri = getResourceURI(element);
+    return uri != null && isUnchangedFragment(uri);
+  }
+  
+  /**
+   * Return the URI of the resource of the given element
+   * @param element a non-null element, potentially a proxy
+   * @return a potentially null URI
+   */
+  protected URI getResourceURI(EObject element) {
+    if (element.eIsProxy())
+      return ((InternalEObject)element).eProxyURI().trimFragment();
+    Resource resource = element.eResource();
+    return resource != null? resource.getURI(): null;
+  }
+  
+  /**
+   * Return whether the given URI is the one of a fragment left out of this scope
+   * @param uri a non-null resource URI
+   */
+  protected boolean isUnchangedFragment(URI uri) {
+    return getUnchangedFragmentPath(uri) != null;
+  }
+  
+  /**
+   * Return the path relative to the main resource of the fragment left out of this scope at the given URI
+   * @param uri a non-null resource URI
+   * @return a potentially null path, null if the URI is not the one of a fragment left out of this scope
+   */
+  protected String getUnchangedFragmentPath(URI uri) {
+    Map<URI, String> unchangedFragments = _unchangedFragments;
+    if (unchangedFragments == null)
+      return null;
+    String result = unchangedFragments.get(uri);
+    if (result == null && _resourceSet != null)
+      result = unchangedFragments.get(_resourceSet.getURIConverter().normalize(uri));
+    return result;
+  }
+  
+  /**
+   * Return an identifier of the given element of a fragment left out of this scope, which is the same
+   * in all the compared models: the path of the fragment relative to the main resource and the id
+   * of the element in the fragment.
+   * Such elements are out of the scope, so they are identified by this identifier rather than by their
+   * URI, which differs from one compared model to the other.
+   * @param element a non-null element, potentially a proxy
+   * @return a potentially null identifier, null if the element does not belong to a fragment left out of this scope
+   */
+  public String getUnchangedFragmentElementID(EObject element) {
+    URI resourceURI = getResourceURI(element);
+    String path = resourceURI != null? getUnchangedFragmentPath(resourceURI): null;
+    if (path == null)
+      return null;
+    return path + '#' + EcoreUtil.getURI(element).fragment();
+  }
+  
+  /**
+   * @see org.eclipse.emf.diffmerge.impl.scopes.FragmentedModelScope#getContents(org.eclipse.emf.ecore.EObject)
+   */
+  @Override
+  public List<EObject> getContents(EObject element) {
+    if (_unchangedFragments != null && hasUnchangedFragment(element)) {
+      // Get the contents without resolving the roots of the unchanged fragments
+      List<EObject> result = new ArrayList<EObject>();
+      for (EReference containment : element.eClass().getEAllContainments()) {
+        if (containment.isDerived())
+          continue;
+        if (containment.isMany()) {
+          List<?> values = (List<?>)element.eGet(containment);
+          InternalEList<?> internalValues = (InternalEList<?>)values;
+          for (int i = 0; i < values.size(); i++) {
+            if (!isInUnchangedFragment((EObject)internalValues.basicGet(i)))
+              result.add((EObject)values.get(i));
+          }
+        } else {
+          EObject value = (EObject)element.eGet(containment, false);
+          if (value != null && !isInUnchangedFragment(value))
+            result.add((EObject)element.eGet(containment));
+        }
+      }
+      return result;
+    }
+    return super.getContents(element);
+  }
+  
+  /**
+   * Return whether the given element directly contains the root of a fragment left out of this scope
+   * @param element a non-null element
+   */
+  protected boolean hasUnchangedFragment(EObject element) {
+    Resource resource = element.eResource();
+    for (EObject child : ((InternalEList<EObject>)element.eContents()).basicList()) {
+      if ((child.eIsProxy() || child.eResource() != resource) && isInUnchangedFragment(child))
+        return true;
+    }
+    return false;
+  }
+  
   /**
    * Return the Eclipse file that holds the given resource, if any.
    * If the file is outside the workspace, create a link to it in a dedicated Eclipse project.
@@ -334,9 +460,11 @@ public class CapellaScope extends SiriusScope {
   protected List<Resource> getRelevantReferencedResources(EObject element) {
     // Filter out metamodels because of Sirius bug that adds eMDE.ecore to the models
     // referenced by DAnalysis (DAnalysis_Models)
+    // Also filter out the fragments left out of the scope
     List<Resource> result = super.getRelevantReferencedResources(element);
     for (Resource resource : new ArrayList<Resource>(result)) {
-      if (EcorePackage.eNAME.equals(resource.getURI().fileExtension()))
+      if (EcorePackage.eNAME.equals(resource.getURI().fileExtension()) ||
+          isUnchangedFragment(resource.getURI()))
         result.remove(resource);
     }
     return result;
@@ -14,6 +14,7 @@ package org.polarsys.capella.core.compare;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.diffmerge.api.scopes.IEditableModelScope;
@@ -36,6 +37,8 @@ public class CapellaScopeFactory extends SiriusScopeDefinitionFactory {
    * A scope definition for Capella.
    */
   public static class CapellaScopeDefinition extends SiriusScopeDefinition {
+    /** The URIs of the fragments to leave out of the scopes with their relative paths, if any */
+    protected Map<URI, String> _unchangedFragments;
     /**
      * Constructor
      * @param uri_p a non-null URI
@@ -50,14 +53,28 @@ public class CapellaScopeFactory extends SiriusScopeDefinitionFactory {
      */
     @Override
     protected IEditableModelScope createScopeOnEditingDomain(EditingDomain domain) {
-      return new CapellaScope(getEntrypoint(), domain, !isEditable());
+      CapellaScope result = new CapellaScope(getEntrypoint(), domain, !isEditable());
+      if (_unchangedFragments != null)
+        result.setUnchangedFragments(_unchangedFragments);
+      return result;
     }
     /**
      * @see org.eclipse.emf.diffmerge.ui.specification.ext.URIScopeDefinition#createScopeOnResourceSet(org.eclipse.emf.ecore.resource.ResourceSet)
      */
     @Override
     protected IEditableModelScope createScopeOnResourceSet(ResourceSet resourceSet) {
-      return new CapellaScope(getEntrypoint(), resourceSet, !isEditable());
+      CapellaScope result = new CapellaScope(getEntrypoint(), resourceSet, !isEditable());
+      if (_unchangedFragments != null)
+        result.setUnchangedFragments(_unchangedFragments);
+      return result;
+    }
+    /**
+     * Leave the given fragments out of the scopes created from now on
+     * @param uris_p a potentially null map from URIs of fragments to their paths relative to the main resource
+     * @see CapellaScope#setUnchangedFragments(Map)
+     */
+    public void setUnchangedFragments(Map<URI, String> uris_p) {
+      _unchangedFragments = uris_p;
     }
     
     /**
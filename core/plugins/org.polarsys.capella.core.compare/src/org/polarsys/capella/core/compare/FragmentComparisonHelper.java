@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.compare;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.emf.common.util.URI;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+
+/**
+ * Finds the fragments of models which are identical in all the compared models, so that a
+ * fragment-aware comparison can leave them out of the comparison scopes.<br>
+ * The fragments of a model are the ones reachable from its main resource through relative references.
+ * Fragments are compared through a digest of their contents. A fragment is only considered unchanged
+ * if all the fragments it references, such as its own sub-fragments, are unchanged too: otherwise,
+ * the changed sub-fragments would not be reachable from the scope.
+ */
+public final class FragmentComparisonHelper {
+
+  /** The system property enabling the fragment-aware comparison mode */
+  public static final String FRAGMENT_AWARE_PROPERTY = "capella.compare.fragmentAware"; //$NON-NLS-1$
+
+  /** The algorithm of the digests of fragments */
+  private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+  /** The file extensions of fragments */
+  private static final List<String> FRAGMENT_FILE_EXTENSIONS = Arrays.asList(
+      CapellaResourceHelper.CAPELLA_FRAGMENT_FILE_EXTENSION, CapellaResourceHelper.AIRD_FRAGMENT_FILE_EXTENSION);
+
+  /** The references to model resources in the contents of a resource */
+  private static final Pattern RESOURCE_REFERENCE = Pattern.compile(
+      "([^\"'\\s#]+\\.(?:" + CapellaResourceHelper.CAPELLA_FRAGMENT_FILE_EXTENSION + '|' //$NON-NLS-1$
+          + CapellaResourceHelper.AIRD_FRAGMENT_FILE_EXTENSION + '|'
+          + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION + '|'
+          + CapellaResourceHelper.AIRD_FILE_EXTENSION + "))#"); //$NON-NLS-1$
+
+  private FragmentComparisonHelper() {
+    // To hide the implicit public one
+  }
+
+  /**
+   * @return whether comparisons leave out the fragments which are identical in all the compared models.
+   */
+  public static boolean isFragmentAware() {
+    return Boolean.getBoolean(FRAGMENT_AWARE_PROPERTY);
+  }
+
+  /**
+   * Return, for each of the given main resources, the URIs of its fragments which are identical for
+   * all the given main resources, with their paths relative to the folder of the main resource
+   * @param mainResourceURIs a non-null list of URIs of the main resources of the compared models
+   * @return a non-null list of non-null maps from URI to relative path, in the order of the given URIs.
+   *         Maps are empty if a model is not stored in files.
+   */
+  public static List<Map<URI, String>> getUnchangedFragments(List<URI> mainResourceURIs) {
+    List<Map<URI, String>> result = new ArrayList<Map<URI, String>>(mainResourceURIs.size());
+    List<File> mainFiles = new ArrayList<File>(mainResourceURIs.size());
+    for (URI uri : mainResourceURIs) {
+      File file = toFile(uri);
+      if (file == null || !file.isFile()) {
+        for (int i = 0; i < mainResourceURIs.size(); i++) {
+          result.add(Collections.<URI, String> emptyMap());
+        }
+        return result;
+      }
+      mainFiles.add(file);
+    }
+    Set<String> unchangedPaths = getUnchangedFragmentPaths(mainFiles);
+    for (URI uri : mainResourceURIs) {
+      Map<URI, String> uris = new HashMap<URI, String>();
+      URI folderURI = uri.trimSegments(1);
+      for (String path : unchangedPaths) {
+        uris.put(folderURI.appendSegments(path.split("/")), path); //$NON-NLS-1$
+      }
+      result.add(uris);
+    }
+    return result;
+  }
+
+  /**
+   * Return the paths, relative to the folders of the given main resources, of the fragments of the models which are
+   * identical in all the models and only reference such fragments
+   * @param mainFiles a non-null, non-empty list of files of the main resources of the models
+   * @return a non-null set of paths with '/' separators
+   */
+  public static Set<String> getUnchangedFragmentPaths(List<File> mainFiles) {
+    List<Map<String, File>> fragments = new ArrayList<Map<String, File>>(mainFiles.size());
+    for (File mainFile : mainFiles) {
+      fragments.add(getFragments(mainFile));
+    }
+    Set<String> result = new HashSet<String>();
+    Map<String, Set<String>> references = new HashMap<String, Set<String>>();
+    for (String path : fragments.get(0).keySet()) {
+      byte[] content = getIdenticalContent(path, fragments);
+      if (content != null) {
+        result.add(path);
+        Set<String> referencedFragments = new HashSet<String>();
+        for (String referencedPath : getReferencedPaths(path, content)) {
+          if (isFragment(referencedPath)) {
+            referencedFragments.add(referencedPath);
+          }
+        }
+        references.put(path, referencedFragments);
+      }
+    }
+    // Keep only the fragments whose referenced fragments are all unchanged
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      Iterator<String> it = result.iterator();
+      while (it.hasNext()) {
+        String path = it.next();
+        for (String referencedPath : references.get(path)) {
+          if (!result.contains(referencedPath)) {
+            it.remove();
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Return the content of the fragment at the given path if it is identical in all the given sets of fragments
+   * @param path a non-null relative path
+   * @param fragments a non-null list of fragments by relative path
+   * @return a potentially null content
+   */
+  private static byte[] getIdenticalContent(String path, List<Map<String, File>> fragments) {
+    byte[] result = null;
+    byte[] digest = null;
+    try {
+      for (Map<String, File> folderFragments : fragments) {
+        File file = folderFragments.get(path);
+        if (file == null) {
+          return null;
+        }
+        byte[] content = Files.readAllBytes(file.toPath());
+        byte[] contentDigest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content);
+        if (digest == null) {
+          digest = contentDigest;
+          result = content;
+        } else if (!MessageDigest.isEqual(digest, contentDigest)) {
+          return null;
+        }
+      }
+    } catch (IOException e) {
+      // Consider the fragment as changed
+      return null;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    return result;
+  }
+
+  /**
+   * Return the fragments of the model of the given main resource, that is the fragments under its folder which are
+   * reachable from it
+   * @param mainFile a non-null file of a main resource
+   * @return a non-null map of the fragments by path relative to the folder of the main resource
+   */
+  private static Map<String, File> getFragments(File mainFile) {
+    Map<String, File> result = new HashMap<String, File>();
+    Path root = mainFile.getParentFile().toPath();
+    Set<String> visited = new HashSet<String>();
+    LinkedList<String> toVisit = new LinkedList<String>();
+    toVisit.add(toRelativePath(root, mainFile.toPath()));
+    try {
+      while (!toVisit.isEmpty()) {
+        String path = toVisit.removeFirst();
+        if (!visited.add(path)) {
+          continue;
+        }
+        File file = root.resolve(URI.decode(path)).toFile();
+        if (!file.isFile()) {
+          // Missing resource, left to the comparison
+          continue;
+        }
+        if (isFragment(path)) {
+          result.put(path, file);
+        }
+        for (String referencedPath : getReferencedPaths(path, Files.readAllBytes(file.toPath()))) {
+          // Only the resources of the model, under its folder
+          if (!referencedPath.startsWith("../") && URI.createURI(referencedPath).isRelative()) { //$NON-NLS-1$
+            toVisit.add(referencedPath);
+          }
+        }
+      }
+    } catch (IOException e) {
+      // Consider that there is no fragment
+      result.clear();
+    }
+    return result;
+  }
+
+  /**
+   * Return whether the resource at the given path is a fragment
+   * @param path a non-null path
+   */
+  private static boolean isFragment(String path) {
+    return FRAGMENT_FILE_EXTENSIONS.contains(URI.createURI(path).fileExtension());
+  }
+
+  /**
+   * Return the paths of the model resources referenced in the given content of a resource
+   * @param path a non-null relative path of the resource
+   * @param content a non-null content of the resource
+   * @return a non-null set of paths relative to the folder of the main resource, or absolute URIs for the resources
+   *         of other models
+   */
+  private static Set<String> getReferencedPaths(String path, byte[] content) {
+    Set<String> result = new HashSet<String>();
+    URI resourceURI = URI.createURI(path);
+    Matcher matcher = RESOURCE_REFERENCE.matcher(new String(content, StandardCharsets.UTF_8));
+    while (matcher.find()) {
+      URI referenceURI = URI.createURI(matcher.group(1));
+      if (referenceURI.isRelative()) {
+        URI resolved = referenceURI.resolve(URI.createURI("root:/" + resourceURI)); //$NON-NLS-1$
+        result.add(resolved.path().substring(1));
+      } else {
+        // A resource of another model
+        result.add(referenceURI.toString());
+      }
+    }
+    return result;
+  }
+
+  private static String toRelativePath(Path root, Path path) {
+    StringBuilder builder = new StringBuilder();
+    for (Path segment : root.relativize(path)) {
+      if (builder.length() > 0) {
+        builder.append('/');
+      }
+      builder.append(URI.encodeSegment(segment.toString(), false));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Return the file at the given URI, if any
+   * @param uri a non-null URI
+   * @return a potentially null file
+   */
+  private static File toFile(URI uri) {
+    if (uri.isFile()) {
+      return new File(uri.toFileString());
+    }
+    if (uri.isPlatformResource()) {
+      IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(uri.toPlatformString(true));
+      IPath location = resource != null ? resource.getLocation() : null;
+      return location != null ? location.toFile() : null;
+    }
+    return null;
+  }
+
+}
@@ -48,10 +48,51 @@ import org.polarsys.capella.common.data.behavior.AbstractBehavior;
 import org.polarsys.capella.common.data.helpers.activity.delegates.ActivityNodeHelper;
 import org.polarsys.capella.common.data.helpers.modellingcore.delegates.AbstractTypeHelper;
 import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
+import org.polarsys.capella.common.helpers.cache.DerivedFeatureCache;
+import org.polarsys.capella.common.model.helpers.DerivedFeatureDispatcher;
 
 public class AbstractFunctionHelper {
   private static AbstractFunctionHelper instance;
 
+  static {
+    // Features only implemented here, computed without the dispatch of the helpers.
+    // Features derived from traces or involvements are memoized when enabled.
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__ALLOCATION_BLOCKS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__ALLOCATION_BLOCKS,
+            (AbstractFunction element) -> getInstance().getAllocationBlocks(element),
+            AbstractFunction::getComponentFunctionalAllocations));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__COMPONENT_FUNCTIONAL_ALLOCATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__COMPONENT_FUNCTIONAL_ALLOCATIONS,
+            (AbstractFunction element) -> getInstance().getComponentFunctionalAllocations(element),
+            AbstractFunction::getIncomingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__OUT_FUNCTION_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__OUT_FUNCTION_REALIZATIONS,
+            (AbstractFunction element) -> getInstance().getOutFunctionRealizations(element),
+            AbstractFunction::getOutgoingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__IN_FUNCTION_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__IN_FUNCTION_REALIZATIONS,
+            (AbstractFunction element) -> getInstance().getInFunctionRealizations(element),
+            AbstractFunction::getIncomingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_CAPABILITIES,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_CAPABILITIES,
+            (AbstractFunction element) -> getInstance().getInvolvingCapabilities(element),
+            AbstractFunction::getInvolvingInvolvements));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_CAPABILITY_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_CAPABILITY_REALIZATIONS,
+            (AbstractFunction element) -> getInstance().getInvolvingCapabilityRealizations(element),
+            AbstractFunction::getInvolvingInvolvements));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_FUNCTIONAL_CHAINS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.ABSTRACT_FUNCTION__INVOLVING_FUNCTIONAL_CHAINS,
+            (AbstractFunction element) -> getInstance().getInvolvingFunctionalChains(element),
+            AbstractFunction::getInvolvingInvolvements));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__LINKED_FUNCTION_SPECIFICATION,
+        element -> getInstance().getLinkedFunctionSpecification((AbstractFunction) element));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__LINKED_STATE_MACHINE,
+        element -> getInstance().getLinkedStateMachine((AbstractFunction) element));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.ABSTRACT_FUNCTION__SUB_FUNCTIONS,
+        element -> getInstance().getSubFunctions((AbstractFunction) element));
+  }
+
   private AbstractFunctionHelper() {
     // do nothing
   }
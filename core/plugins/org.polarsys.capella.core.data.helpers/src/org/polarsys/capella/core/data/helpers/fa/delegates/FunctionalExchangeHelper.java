@@ -39,10 +39,51 @@ import org.polarsys.capella.common.data.helpers.modellingcore.delegates.Abstract
 import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
 import org.polarsys.capella.common.data.modellingcore.TraceableElement;
 import org.polarsys.capella.common.helpers.EObjectExt;
+import org.polarsys.capella.common.helpers.cache.DerivedFeatureCache;
+import org.polarsys.capella.common.model.helpers.DerivedFeatureDispatcher;
 
 public class FunctionalExchangeHelper {
   private static FunctionalExchangeHelper instance;
 
+  static {
+    // Features only implemented here, computed without the dispatch of the helpers.
+    // Features derived from traces or involvements are memoized when enabled.
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INVOLVING_FUNCTIONAL_CHAINS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INVOLVING_FUNCTIONAL_CHAINS,
+            (FunctionalExchange element) -> getInstance().getInvolvingFunctionalChains(element),
+            FunctionalExchange::getInvolvingInvolvements));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__ALLOCATING_COMPONENT_EXCHANGES,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__ALLOCATING_COMPONENT_EXCHANGES,
+            (FunctionalExchange element) -> getInstance().getAllocatingComponentExchanges(element),
+            FunctionalExchange::getIncomingComponentExchangeFunctionalExchangeRealizations));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INCOMING_COMPONENT_EXCHANGE_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INCOMING_COMPONENT_EXCHANGE_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+            (FunctionalExchange element) -> getInstance().getIncomingComponentExchangeFunctionalExchangeRealizations(element),
+            FunctionalExchange::getIncomingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INCOMING_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__INCOMING_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+            (FunctionalExchange element) -> getInstance().getIncomingFunctionalExchangeRealizations(element),
+            FunctionalExchange::getIncomingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__OUTGOING_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__OUTGOING_FUNCTIONAL_EXCHANGE_REALIZATIONS,
+            (FunctionalExchange element) -> getInstance().getOutgoingFunctionalExchangeRealizations(element),
+            FunctionalExchange::getOutgoingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__SOURCE_FUNCTION_OUTPUT_PORT,
+        element -> getInstance().getSourceFunctionOutputPort((FunctionalExchange) element));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__TARGET_FUNCTION_INPUT_PORT,
+        element -> getInstance().getTargetFunctionInputPort((FunctionalExchange) element));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__REALIZED_FUNCTIONAL_EXCHANGES,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__REALIZED_FUNCTIONAL_EXCHANGES,
+            (FunctionalExchange element) -> getInstance().getRealizedFunctionalExchanges(element),
+            FunctionalExchange::getOutgoingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__REALIZING_FUNCTIONAL_EXCHANGES,
+        DerivedFeatureCache.memoize(FaPackage.Literals.FUNCTIONAL_EXCHANGE__REALIZING_FUNCTIONAL_EXCHANGES,
+            (FunctionalExchange element) -> getInstance().getRealizingFunctionalExchanges(element),
+            FunctionalExchange::getIncomingTraces));
+    DerivedFeatureDispatcher.register(FaPackage.Literals.FUNCTIONAL_EXCHANGE__CATEGORIES,
+        element -> getInstance().getCategories((FunctionalExchange) element));
+  }
+
   private FunctionalExchangeHelper() {
     // do nothing
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 THALES GLOBAL SERVICES.
+ * Copyright (c) 2006, 2023 THALES GLOBAL SERVICES.
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -28,6 +28,7 @@ import org.polarsys.capella.common.data.activity.InputPin;
 import org.polarsys.capella.common.data.activity.OutputPin;
 import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
 import org.polarsys.capella.common.helpers.EcoreUtil2;
+import org.polarsys.capella.common.helpers.cache.CachedFunction;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
 import org.polarsys.capella.core.data.cs.Component;
@@ -52,6 +53,16 @@ import org.polarsys.capella.core.data.pa.PhysicalFunction;
  */
 public class FunctionExt {
 
+	/**
+	 * Cached version of {@link #getAllOutgoingExchanges(AbstractFunction)}.
+	 */
+	public static final CachedFunction<AbstractFunction, List<FunctionalExchange>> getAllOutgoingExchanges_cached = FunctionExt::getAllOutgoingExchanges;
+
+	/**
+	 * Cached version of {@link #getAllIncomingExchanges(AbstractFunction)}.
+	 */
+	public static final CachedFunction<AbstractFunction, List<FunctionalExchange>> getAllIncomingExchanges_cached = FunctionExt::getAllIncomingExchanges;
+
 	/**
 	 * @param fct
 	 * @return
@@ -219,7 +230,7 @@ public class FunctionExt {
 		List<FunctionalExchange> result = getOutGoingExchange(function);
 
 		for (AbstractFunction abstractFunction : function.getOwnedFunctions()) {
-			List<FunctionalExchange> outgoings = getCache(FunctionExt::getAllOutgoingExchanges, abstractFunction);
+			List<FunctionalExchange> outgoings = getAllOutgoingExchanges_cached.get(abstractFunction);
 			for (FunctionalExchange activityEdge : outgoings) {
 				// If the functional exchange of the sub-function goes out of
 				// the scope of the function
@@ -245,7 +256,7 @@ public class FunctionExt {
 		List<FunctionalExchange> result = getIncomingExchange(function);
 
 		for (AbstractFunction abstractFunction : function.getOwnedFunctions()) {
-			List<FunctionalExchange> incomings = getCache(FunctionExt::getAllIncomingExchanges, abstractFunction);
+			List<FunctionalExchange> incomings = getAllIncomingExchanges_cached.get(abstractFunction);
 			for (FunctionalExchange activityEdge : incomings) {
 				// If the functional exchange of the sub-function goes out of
 				// the scope of the function
@@ -266,8 +277,8 @@ public class FunctionExt {
 	 */
 	public static List<FunctionalExchange> getAllExchanges(AbstractFunction function) {
 		List<FunctionalExchange> result = new BasicEList<>();
-    result.addAll(getCache(FunctionExt::getAllIncomingExchanges, function));
-    result.addAll(getCache(FunctionExt::getAllOutgoingExchanges, function));
+    result.addAll(getAllIncomingExchanges_cached.get(function));
+    result.addAll(getAllOutgoingExchanges_cached.get(function));
 		return result;
 	}
 
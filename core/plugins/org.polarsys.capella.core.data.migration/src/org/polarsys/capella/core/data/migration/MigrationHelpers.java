@@ -23,9 +23,13 @@ import java.util.Set;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EFactory;
 import org.eclipse.emf.ecore.EObject;
@@ -42,6 +46,8 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
 import org.polarsys.capella.common.ef.ExecutionManager;
 import org.polarsys.capella.common.mdsofa.common.helper.ExtensionPointHelper;
+import org.polarsys.capella.common.tools.report.util.IReportManagerDefaultComponents;
+import org.polarsys.capella.common.tools.report.util.LogExt;
 import org.polarsys.capella.core.data.migration.context.MigrationContext;
 import org.polarsys.capella.core.data.migration.contribution.BackupResourceContribution;
 import org.polarsys.capella.core.data.migration.contribution.IMigrationContribution;
@@ -115,6 +121,77 @@ public class MigrationHelpers implements IMigrationContribution {
    */
   public void trigger(IResource resource, Shell shell, boolean runInJob, boolean skipConfirmation, boolean backupModel,
       boolean checkVersion, String[] kinds) {
+    MigrationContext context = new MigrationContext();
+    context.setName(NLS.bind(Messages.MigrationAction_Title, resource.getName()));
+    context.setShell(shell);
+    context.setSkipConfirmation(skipConfirmation);
+    context.setBackupModel(backupModel);
+
+    // Run the commands in jobs or not
+    new MigrationJobScheduler().run(getRunnables(resource, kinds), context, runInJob, checkVersion);
+  }
+
+  /**
+   * Migrate the given resource in the calling thread, without any user interface: neither a workbench nor a shell is
+   * required, no confirmation is asked, and the migration stops at the first runnable which fails.
+   *
+   * @param resource
+   * @param backupModel
+   *          whether the model is backed up or not
+   * @param checkVersion
+   *          whether resource version is checked
+   * @param kinds
+   *          migration kinds
+   * @param monitor
+   * @return the status of the migration
+   */
+  public IStatus migrate(IResource resource, boolean backupModel, boolean checkVersion, String[] kinds,
+      IProgressMonitor monitor) {
+    MigrationContext context = new MigrationContext();
+    context.setName(NLS.bind(Messages.MigrationAction_Title, resource.getName()));
+    context.setSkipConfirmation(true);
+    context.setBackupModel(backupModel);
+
+    LinkedList<AbstractMigrationRunnable> runnables = getRunnables(resource, kinds);
+    SubMonitor subMonitor = SubMonitor.convert(monitor, context.getName(), runnables.size() + 1);
+    IStatus status = Status.OK_STATUS;
+    try {
+      for (AbstractMigrationRunnable runnable : runnables) {
+        context.setProgressMonitor(subMonitor.split(1));
+        status = runnable.run(context, checkVersion);
+        if (status == null) {
+          status = Status.OK_STATUS;
+        } else if (!status.isOK()) {
+          break;
+        }
+      }
+      if (status.isOK()) {
+        try {
+          resource.getProject().refreshLocal(IResource.DEPTH_INFINITE, subMonitor.split(1));
+        } catch (CoreException exception) {
+          status = new Status(IStatus.ERROR, Activator.PLUGIN_ID, exception.getMessage(), exception);
+        }
+      }
+    } catch (OperationCanceledException exception) {
+      status = Status.CANCEL_STATUS;
+
+    } finally {
+      dispose(context);
+    }
+
+    if (status.isOK()) {
+      LogExt.log(IReportManagerDefaultComponents.MODEL, new Status(IStatus.INFO, Activator.PLUGIN_ID,
+          NLS.bind(Messages.MigrationAction_MigrationOK, context.getName())));
+    } else {
+      LogExt.log(IReportManagerDefaultComponents.MODEL, status);
+    }
+    return status;
+  }
+
+  /**
+   * Return the runnables migrating the files of the given resource, for the given kinds of migrations.
+   */
+  private LinkedList<AbstractMigrationRunnable> getRunnables(IResource resource, String[] kinds) {
     Collection<AbstractMigrationContributor> currentContributors = new LinkedList<AbstractMigrationContributor>();
 
     // Retrieve all extensions for the selected kind of migrations
@@ -141,12 +218,6 @@ public class MigrationHelpers implements IMigrationContribution {
       validMigrationCandidates.addAll(migrableFiles);
     }
 
-    MigrationContext context = new MigrationContext();
-    context.setName(NLS.bind(Messages.MigrationAction_Title, resource.getName()));
-    context.setShell(shell);
-    context.setSkipConfirmation(skipConfirmation);
-    context.setBackupModel(backupModel);
-
     // Retrieve all commands that will need to be run to perform the
     // migration
     LinkedList<AbstractMigrationRunnable> runnables = new LinkedList<AbstractMigrationRunnable>();
@@ -158,9 +229,7 @@ public class MigrationHelpers implements IMigrationContribution {
         }
       }
     }
-
-    // Run the commands in jobs or not
-    new MigrationJobScheduler().run(runnables, context, runInJob, checkVersion);
+    return runnables;
   }
 
   private Collection<IResource> extractMigrationCandidates(IResource resource) {
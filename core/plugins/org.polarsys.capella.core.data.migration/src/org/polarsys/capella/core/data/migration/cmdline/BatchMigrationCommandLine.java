@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.data.migration.cmdline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.polarsys.capella.core.commandline.core.CommandLineArgumentHelper;
+import org.polarsys.capella.core.commandline.core.CommandLineException;
+import org.polarsys.capella.core.commandline.core.DefaultCommandLine;
+import org.polarsys.capella.core.data.migration.cmdline.BatchMigrationReport.ProjectStatus;
+
+/**
+ * <p>
+ * Implementation of Command in order to migrate many Capella projects concurrently, without any user interface.<br/>
+ * Each project is migrated by the migration command line in a Capella process of its own, once the projects it
+ * references are migrated. The status of each project is streamed into a report, and the projects already migrated
+ * according to this report are skipped.
+ * </p>
+ * <p>
+ * Example: <br/>
+ * <em>CapellaInstallationPath</em>/capellac.exe -nosplash <br/>
+ * -application org.polarsys.capella.core.commandline.core <br/>
+ * -appid org.polarsys.capella.migration.batch <br/>
+ * -import D:/models <br/>
+ * -workers 4 <br/>
+ * -report D:/models/migration-report.jsonl <br/>
+ * </p>
+ */
+public class BatchMigrationCommandLine extends DefaultCommandLine {
+
+  /**
+   * The number of projects migrated concurrently.
+   */
+  public static final String WORKERS = "-workers"; //$NON-NLS-1$
+
+  /**
+   * The report file.
+   */
+  public static final String REPORT = "-report"; //$NON-NLS-1$
+
+  private static final String DEFAULT_REPORT = "migration-report.jsonl"; //$NON-NLS-1$
+
+  private static final String LOG_FOLDER = "migration-logs"; //$NON-NLS-1$
+
+  private List<String> arguments = Collections.emptyList();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void parseContext(IApplicationContext context) throws CommandLineException {
+    super.parseContext(context);
+    String[] args = CommandLineArgumentHelper.parseContext(context);
+    if (args != null) {
+      arguments = Arrays.asList(args);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void prepare(IApplicationContext context) throws CommandLineException {
+    // Projects are imported by the migration processes, in workspaces of their own
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void checkArgs(IApplicationContext context) throws CommandLineException {
+    if (argHelper.getImportProjects() == null) {
+      logErrorAndThrowException("The projects to migrate must be given with the -import parameter"); //$NON-NLS-1$
+    }
+    if (!ProcessProjectMigrator.getCurrentLauncher().isPresent()) {
+      logErrorAndThrowException("The Capella launcher is unknown"); //$NON-NLS-1$
+    }
+    getWorkers();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean execute(IApplicationContext context) throws CommandLineException {
+    File report = getReport();
+    File logFolder = new File(report.getAbsoluteFile().getParentFile(), LOG_FOLDER);
+    List<String> launcher = Collections.singletonList(ProcessProjectMigrator.getCurrentLauncher().get());
+    BatchMigrationEngine engine = new BatchMigrationEngine(getWorkers(), report,
+        new ProcessProjectMigrator(launcher, logFolder, argHelper.isBackupNeeded()));
+
+    try {
+      Map<String, ProjectStatus> result = engine.run(getProjectFolders());
+      for (Map.Entry<String, ProjectStatus> entry : result.entrySet()) {
+        if (entry.getValue() == ProjectStatus.FAILED || entry.getValue() == ProjectStatus.BLOCKED) {
+          logError("Error during migration of " + entry.getKey()); //$NON-NLS-1$
+        }
+      }
+      logInfo("Migration report: " + report.getAbsolutePath()); //$NON-NLS-1$
+
+    } catch (IOException exception) {
+      logErrorAndThrowException(exception.getMessage());
+
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      logErrorAndThrowException("Batch migration interrupted"); //$NON-NLS-1$
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void postExecute(IApplicationContext context) throws CommandLineException {
+    // Migrated projects are not in the workspace
+  }
+
+  /**
+   * Return the folders of the projects to migrate: the imported folders which are project folders, and the project
+   * folders in the other ones.
+   */
+  protected List<File> getProjectFolders() {
+    List<File> result = new ArrayList<>();
+    for (String path : toList(argHelper.getImportProjects())) {
+      File folder = new File(path);
+      if (BatchMigrationEngine.isProjectFolder(folder)) {
+        result.add(folder);
+      } else if (folder.isDirectory()) {
+        File[] children = folder.listFiles(BatchMigrationEngine::isProjectFolder);
+        if (children != null) {
+          Arrays.sort(children);
+          result.addAll(Arrays.asList(children));
+        }
+      } else {
+        logError("No project in " + path); //$NON-NLS-1$
+      }
+    }
+    return result;
+  }
+
+  protected File getReport() {
+    return new File(getArgument(REPORT).orElse(DEFAULT_REPORT));
+  }
+
+  protected int getWorkers() throws CommandLineException {
+    Optional<String> workers = getArgument(WORKERS);
+    if (!workers.isPresent()) {
+      return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+    try {
+      return Integer.parseInt(workers.get());
+    } catch (NumberFormatException exception) {
+      logErrorAndThrowException("Invalid number of workers: " + workers.get()); //$NON-NLS-1$
+      return 1;
+    }
+  }
+
+  /**
+   * Return the value of the given parameter of the command line, if any.
+   */
+  protected Optional<String> getArgument(String parameter) {
+    int index = arguments.indexOf(parameter);
+    if (index >= 0 && index + 1 < arguments.size()) {
+      return Optional.of(arguments.get(index + 1));
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public void printHelp() {
+    super.printHelp();
+    printArgumentsFromTable("batchMigrationParameters", false, Collections.emptyList()); //$NON-NLS-1$
+  }
+
+  @Override
+  public void compliancyCheck(IFile modeller) throws CommandLineException {
+    // No check for compliancy for Migration command line since it's done already in Migration command
+  }
+}
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.data.migration.cmdline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.core.runtime.IStatus;
+import org.polarsys.capella.core.data.migration.cmdline.BatchMigrationReport.ProjectStatus;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Migrates many projects concurrently, without any user interface.<br>
+ * A project is migrated once the projects it references (i.e. its libraries) are migrated, independent projects are
+ * migrated concurrently by a given number of workers. The status of each project is streamed into a
+ * {@link BatchMigrationReport}, and the projects already migrated according to this report are skipped, so that an
+ * interrupted batch migration can be resumed.
+ */
+public class BatchMigrationEngine {
+
+  /**
+   * Migrates a project. Called by the workers of the batch migration.
+   */
+  @FunctionalInterface
+  public interface ProjectMigrator {
+
+    /**
+     * @param projectFolder
+     *          the folder of the project
+     * @param projectName
+     *          the name of the project
+     * @param referencedFolders
+     *          the folders of the projects referenced by the project, directly or not, which are part of the batch
+     *          migration
+     * @return the status of the migration
+     */
+    IStatus migrate(File projectFolder, String projectName, List<File> referencedFolders) throws InterruptedException;
+  }
+
+  private static final String PROJECT_DESCRIPTION = ".project"; //$NON-NLS-1$
+
+  private final int workers;
+
+  private final File reportFile;
+
+  private final String version;
+
+  private final ProjectMigrator migrator;
+
+  /**
+   * @param workers
+   *          the number of projects migrated concurrently
+   * @param reportFile
+   *          the report file, the projects already migrated to the current version according to it are skipped
+   * @param migrator
+   *          the migrator of a project
+   */
+  public BatchMigrationEngine(int workers, File reportFile, ProjectMigrator migrator) {
+    this(workers, reportFile, BatchMigrationReport.getCurrentVersion(), migrator);
+  }
+
+  /**
+   * @param workers
+   *          the number of projects migrated concurrently
+   * @param reportFile
+   *          the report file, the projects already migrated to the given version according to it are skipped
+   * @param version
+   *          the version the projects are migrated to
+   * @param migrator
+   *          the migrator of a project
+   */
+  public BatchMigrationEngine(int workers, File reportFile, String version, ProjectMigrator migrator) {
+    this.workers = Math.max(1, workers);
+    this.reportFile = reportFile;
+    this.version = version;
+    this.migrator = migrator;
+  }
+
+  /**
+   * @param folder
+   *          a folder
+   * @return whether the given folder is a project folder
+   */
+  public static boolean isProjectFolder(File folder) {
+    return new File(folder, PROJECT_DESCRIPTION).isFile();
+  }
+
+  /**
+   * Migrate the given projects.
+   *
+   * @param projectFolders
+   *          the folders of the projects
+   * @return the final status of each project, by project name
+   */
+  public Map<String, ProjectStatus> run(Collection<File> projectFolders) throws IOException, InterruptedException {
+    Map<String, BatchProject> projects = new LinkedHashMap<>();
+    for (File folder : projectFolders) {
+      BatchProject project = readProject(folder);
+      projects.put(project.name, project);
+    }
+    Set<String> migratedProjects = BatchMigrationReport.getMigratedProjects(reportFile, version);
+
+    Map<String, CompletableFuture<ProjectStatus>> futures = new LinkedHashMap<>();
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try (BatchMigrationReport report = new BatchMigrationReport(reportFile, projects.size(), version)) {
+      for (BatchProject project : projects.values()) {
+        schedule(project, projects, migratedProjects, futures, new HashSet<>(), executor, report);
+      }
+      try {
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).get();
+      } catch (InterruptedException exception) {
+        // Interrupt the running migrations
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        throw exception;
+      } catch (ExecutionException exception) {
+        throw new IOException(exception.getCause());
+      }
+
+    } finally {
+      executor.shutdown();
+    }
+
+    Map<String, ProjectStatus> result = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<ProjectStatus>> entry : futures.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().join());
+    }
+    return result;
+  }
+
+  /**
+   * Schedule the migration of the given project after the migration of the projects it references.
+   */
+  private CompletableFuture<ProjectStatus> schedule(BatchProject project, Map<String, BatchProject> projects,
+      Set<String> migratedProjects, Map<String, CompletableFuture<ProjectStatus>> futures, Set<String> visiting,
+      ExecutorService executor, BatchMigrationReport report) throws IOException {
+    CompletableFuture<ProjectStatus> future = futures.get(project.name);
+    if (future != null) {
+      return future;
+    }
+
+    if (migratedProjects.contains(project.name)) {
+      report.log(project.name, ProjectStatus.SKIPPED, -1, null);
+      future = CompletableFuture.completedFuture(ProjectStatus.SKIPPED);
+
+    } else {
+      visiting.add(project.name);
+      List<CompletableFuture<ProjectStatus>> references = new ArrayList<>();
+      for (String reference : project.references) {
+        // References to projects out of the batch, or cyclic references, are ignored
+        BatchProject referencedProject = projects.get(reference);
+        if (referencedProject != null && !visiting.contains(reference)) {
+          references.add(
+              schedule(referencedProject, projects, migratedProjects, futures, visiting, executor, report));
+        }
+      }
+      visiting.remove(project.name);
+
+      future = CompletableFuture.allOf(references.toArray(new CompletableFuture[0]))
+          .thenApplyAsync(ignored -> migrate(project, getReferencedFolders(project, projects), references, report),
+              executor);
+    }
+    futures.put(project.name, future);
+    return future;
+  }
+
+  /**
+   * Return the folders of the projects of the batch referenced by the given project, directly or not.
+   */
+  private List<File> getReferencedFolders(BatchProject project, Map<String, BatchProject> projects) {
+    Set<String> visited = new HashSet<>();
+    visited.add(project.name);
+    List<File> result = new ArrayList<>();
+    LinkedList<BatchProject> queue = new LinkedList<>();
+    queue.add(project);
+    while (!queue.isEmpty()) {
+      for (String reference : queue.removeFirst().references) {
+        BatchProject referencedProject = projects.get(reference);
+        if (referencedProject != null && visited.add(reference)) {
+          result.add(referencedProject.folder);
+          queue.add(referencedProject);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Migrate the given project. Called on workers.
+   */
+  private ProjectStatus migrate(BatchProject project, List<File> referencedFolders,
+      List<CompletableFuture<ProjectStatus>> references, BatchMigrationReport report) {
+    try {
+      for (CompletableFuture<ProjectStatus> reference : references) {
+        ProjectStatus status = reference.join();
+        if (status == ProjectStatus.FAILED || status == ProjectStatus.BLOCKED) {
+          report.log(project.name, ProjectStatus.BLOCKED, -1, null);
+          return ProjectStatus.BLOCKED;
+        }
+      }
+
+      report.log(project.name, ProjectStatus.STARTED, -1, null);
+      long start = System.currentTimeMillis();
+      ProjectStatus result;
+      String message = null;
+      try {
+        IStatus status = migrator.migrate(project.folder, project.name, referencedFolders);
+        result = status.matches(IStatus.ERROR | IStatus.CANCEL) ? ProjectStatus.FAILED : ProjectStatus.MIGRATED;
+        if (!status.isOK()) {
+          message = status.getMessage();
+        }
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        result = ProjectStatus.FAILED;
+        message = "Interrupted"; //$NON-NLS-1$
+      } catch (RuntimeException exception) {
+        result = ProjectStatus.FAILED;
+        message = exception.toString();
+      }
+      report.log(project.name, result, System.currentTimeMillis() - start, message);
+      return result;
+
+    } catch (IOException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Read the name and the referenced projects of the project in the given folder.
+   */
+  private BatchProject readProject(File folder) throws IOException {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      // Do not resolve external data
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      Document document = factory.newDocumentBuilder().parse(new File(folder, PROJECT_DESCRIPTION));
+
+      List<Node> names = getChildren(document.getDocumentElement(), "name"); //$NON-NLS-1$
+      if (names.isEmpty()) {
+        throw new IOException("No project name in " + folder); //$NON-NLS-1$
+      }
+      BatchProject project = new BatchProject(folder, names.get(0).getTextContent().trim());
+      for (Node projects : getChildren(document.getDocumentElement(), "projects")) { //$NON-NLS-1$
+        for (Node reference : getChildren(projects, "project")) { //$NON-NLS-1$
+          project.references.add(reference.getTextContent().trim());
+        }
+      }
+      return project;
+
+    } catch (ParserConfigurationException | SAXException exception) {
+      throw new IOException("Invalid project description in " + folder, exception); //$NON-NLS-1$
+    }
+  }
+
+  private List<Node> getChildren(Node node, String name) {
+    List<Node> result = new ArrayList<>();
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      if (name.equals(children.item(i).getNodeName())) {
+        result.add(children.item(i));
+      }
+    }
+    return result;
+  }
+
+  private static class BatchProject {
+
+    private final File folder;
+
+    private final String name;
+
+    private final List<String> references = new ArrayList<>();
+
+    BatchProject(File folder, String name) {
+      this.folder = folder;
+      this.name = name;
+    }
+  }
+}
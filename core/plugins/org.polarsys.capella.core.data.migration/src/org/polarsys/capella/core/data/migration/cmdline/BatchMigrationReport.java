@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.data.migration.cmdline;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.polarsys.capella.core.af.integration.CapellaMetadataProvider;
+
+/**
+ * Machine-readable report of a batch migration.<br>
+ * Each change of the status of a project is appended to the report as soon as it happens, as a JSON object on its own
+ * line. As the report is kept from one batch migration to the next one, the projects already migrated by a previous
+ * batch migration can be read from it. Each line records the version the project is migrated to, so that the
+ * migrations recorded by another release of Capella are not taken into account.
+ */
+public class BatchMigrationReport implements Closeable {
+
+  /**
+   * The status of a project during a batch migration.
+   */
+  public enum ProjectStatus {
+    /** The migration of the project has started */
+    STARTED,
+    /** The project has been migrated */
+    MIGRATED,
+    /** The migration of the project has failed */
+    FAILED,
+    /** The project has not been migrated, as the migration of a project it references has failed */
+    BLOCKED,
+    /** The project has not been migrated, as a previous batch migration has migrated it */
+    SKIPPED
+  }
+
+  private static final Pattern PROJECT = Pattern.compile("\"project\":\"((?:[^\"\\\\]|\\\\.)*)\""); //$NON-NLS-1$
+
+  private static final Pattern STATUS = Pattern.compile("\"status\":\"([A-Z]+)\""); //$NON-NLS-1$
+
+  private static final Pattern VERSION = Pattern.compile("\"version\":\"((?:[^\"\\\\]|\\\\.)*)\""); //$NON-NLS-1$
+
+  private final Writer writer;
+
+  private final int total;
+
+  private final String version;
+
+  private int completed;
+
+  /**
+   * Open the given report, keeping its previous content.
+   *
+   * @param file
+   *          the report file
+   * @param total
+   *          the number of projects of the batch migration
+   * @param version
+   *          the version the projects are migrated to
+   */
+  public BatchMigrationReport(File file, int total, String version) throws IOException {
+    File folder = file.getAbsoluteFile().getParentFile();
+    if (folder != null) {
+      Files.createDirectories(folder.toPath());
+    }
+    this.writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+    this.total = total;
+    this.version = version;
+  }
+
+  /**
+   * @return the current version of Capella, the version the projects are migrated to
+   */
+  public static String getCurrentVersion() {
+    return CapellaMetadataProvider.getCurrentVersion().toString();
+  }
+
+  /**
+   * Return the projects migrated to the given version by the batch migrations recorded in the given report.<br>
+   * The last status of a project is the one taken into account: a project which has been started but not reported as
+   * migrated, for instance because the batch migration has been interrupted, is not returned. The lines of another
+   * version, or without version, are ignored.
+   *
+   * @param file
+   *          the report file
+   * @param version
+   *          the version the projects are migrated to
+   * @return the names of the migrated projects
+   */
+  public static Set<String> getMigratedProjects(File file, String version) throws IOException {
+    Map<String, String> statuses = new HashMap<>();
+    if (file.isFile()) {
+      for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+        Matcher project = PROJECT.matcher(line);
+        Matcher status = STATUS.matcher(line);
+        Matcher lineVersion = VERSION.matcher(line);
+        // A truncated line has no status
+        if (project.find() && status.find() && lineVersion.find() && version.equals(unescape(lineVersion.group(1)))) {
+          statuses.put(unescape(project.group(1)), status.group(1));
+        }
+      }
+    }
+    return statuses.entrySet().stream()
+        .filter(entry -> ProjectStatus.MIGRATED.name().equals(entry.getValue())
+            || ProjectStatus.SKIPPED.name().equals(entry.getValue()))
+        .map(Map.Entry::getKey).collect(Collectors.toSet());
+  }
+
+  /**
+   * Append the given status of the given project to the report.
+   *
+   * @param project
+   *          the project name
+   * @param status
+   *          the status of the project
+   * @param duration
+   *          the duration of the migration of the project in milliseconds, or a negative value if irrelevant
+   * @param message
+   *          a message, may be <code>null</code>
+   */
+  public synchronized void log(String project, ProjectStatus status, long duration, String message)
+      throws IOException {
+    if (status != ProjectStatus.STARTED) {
+      completed++;
+    }
+    StringBuilder line = new StringBuilder();
+    line.append("{\"time\":\"").append(Instant.now()).append('"'); //$NON-NLS-1$
+    line.append(",\"version\":\"").append(escape(version)).append('"'); //$NON-NLS-1$
+    line.append(",\"project\":\"").append(escape(project)).append('"'); //$NON-NLS-1$
+    line.append(",\"status\":\"").append(status.name()).append('"'); //$NON-NLS-1$
+    line.append(",\"completed\":").append(completed); //$NON-NLS-1$
+    line.append(",\"total\":").append(total); //$NON-NLS-1$
+    if (duration >= 0) {
+      line.append(",\"durationMs\":").append(duration); //$NON-NLS-1$
+    }
+    if (message != null) {
+      line.append(",\"message\":\"").append(escape(message)).append('"'); //$NON-NLS-1$
+    }
+    line.append('}').append(System.lineSeparator());
+    writer.write(line.toString());
+    writer.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    writer.close();
+  }
+
+  private static String escape(String value) {
+    StringBuilder result = new StringBuilder();
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        result.append('\\').append(c);
+      } else if (c < 0x20) {
+        result.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+      } else {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+
+  private static String unescape(String value) {
+    StringBuilder result = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        if (next == 'u' && i + 4 < value.length()) {
+          result.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+          i += 4;
+        } else {
+          result.append(next);
+        }
+      } else {
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.data.migration.cmdline;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.polarsys.capella.core.commandline.core.CommandLineException;
+import org.polarsys.capella.core.data.migration.MigrationConstants;
+import org.polarsys.capella.core.data.migration.MigrationHelpers;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+
+/**
+ * <p>
+ * Implementation of Command in order to migrate one or many Capella models without any user interface.<br/>
+ * Unlike {@link MigrationCommandLine}, neither a workbench nor a shell is created: the migration contributions are run
+ * in the thread of the command line. The projects referenced by the migrated ones (i.e. their libraries) are given
+ * with the -import parameter, but only the projects given with the -input parameter are migrated.
+ * </p>
+ * <p>
+ * Example: <br/>
+ * <em>CapellaInstallationPath</em>/capellac.exe -nosplash <br/>
+ * -application org.polarsys.capella.core.commandline.core <br/>
+ * -appid org.polarsys.capella.migration.headless <br/>
+ * -import "D:/model/sysmodel|D:/model/library" <br/>
+ * -input sysmodel <br/>
+ * </p>
+ */
+public class HeadlessMigrationCommandLine extends MigrationCommandLine {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean execute(IApplicationContext context) throws CommandLineException {
+    Set<IProject> capellaProjects = getProjectsFromInput().stream().filter(CapellaResourceHelper::isCapellaProject)
+        .collect(Collectors.toSet());
+    for (IProject project : capellaProjects) {
+      try {
+        IStatus status = MigrationHelpers.getInstance().migrate(project, argHelper.isBackupNeeded(), false,
+            MigrationConstants.DEFAULT_KIND_ORDER, new NullProgressMonitor());
+        if (!status.isOK()) {
+          logStatus(status);
+        }
+        if (status.matches(IStatus.ERROR | IStatus.CANCEL)) {
+          logError("Error during migration of " + project.getName()); //$NON-NLS-1$
+        }
+      } catch (Exception e) {
+        logError("Error during migration of " + project.getName() + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+    }
+    return true;
+  }
+}
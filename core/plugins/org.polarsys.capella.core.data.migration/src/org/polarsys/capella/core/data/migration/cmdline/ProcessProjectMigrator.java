@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.data.migration.cmdline;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.polarsys.capella.core.commandline.core.CommandLineConstants;
+import org.polarsys.capella.core.data.migration.Activator;
+
+/**
+ * Migrates a project with the headless migration command line, in a Capella process of its own.<br>
+ * Migration contributions are shared by all the migrations of a Capella process, hence projects are migrated
+ * concurrently by separate processes. Each process imports the project and the projects it references (i.e. its
+ * libraries) in a temporary workspace, and migrates the project in its folder. The output of the process is kept in a
+ * log file per project.
+ */
+public class ProcessProjectMigrator implements BatchMigrationEngine.ProjectMigrator {
+
+  /**
+   * The id of the command line application.
+   */
+  public static final String APPLICATION_ID = "org.polarsys.capella.core.commandline.core"; //$NON-NLS-1$
+
+  /**
+   * The id of the headless migration command line.
+   */
+  public static final String MIGRATION_ID = "org.polarsys.capella.migration.headless"; //$NON-NLS-1$
+
+  /**
+   * An error line of the command line log, see CommandLineConsoleAppender.
+   */
+  private static final Pattern ERROR = Pattern.compile("^\\S+ \\S+ (?:ERROR|FATAL) (.*)$"); //$NON-NLS-1$
+
+  private final List<String> launcher;
+
+  private final File logFolder;
+
+  private final boolean backup;
+
+  /**
+   * @param launcher
+   *          the command launching Capella
+   * @param logFolder
+   *          the folder of the log files
+   * @param backup
+   *          whether the projects are backed up during the migration
+   */
+  public ProcessProjectMigrator(List<String> launcher, File logFolder, boolean backup) {
+    this.launcher = launcher;
+    this.logFolder = logFolder;
+    this.backup = backup;
+  }
+
+  /**
+   * @return the command launching the current Capella installation, if known
+   */
+  public static Optional<String> getCurrentLauncher() {
+    return Optional.ofNullable(System.getProperty("eclipse.launcher")); //$NON-NLS-1$
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public IStatus migrate(File projectFolder, String projectName, List<File> referencedFolders)
+      throws InterruptedException {
+    Path workspace = null;
+    try {
+      Files.createDirectories(logFolder.toPath());
+      File logFile = new File(logFolder, projectName + ".log"); //$NON-NLS-1$
+      workspace = Files.createTempDirectory("migration"); //$NON-NLS-1$
+
+      List<String> command = new ArrayList<>(launcher);
+      command.add("-nosplash"); //$NON-NLS-1$
+      command.add(CommandLineConstants.DATA);
+      command.add(workspace.toString());
+      command.add("-application"); //$NON-NLS-1$
+      command.add(APPLICATION_ID);
+      command.add(CommandLineConstants.ID);
+      command.add(MIGRATION_ID);
+      command.add(CommandLineConstants.IMPORT);
+      StringBuilder folders = new StringBuilder(projectFolder.getAbsolutePath());
+      for (File referencedFolder : referencedFolders) {
+        folders.append('|').append(referencedFolder.getAbsolutePath());
+      }
+      command.add(folders.toString());
+      command.add(CommandLineConstants.INPUT);
+      command.add(projectName);
+      if (backup) {
+        command.add(CommandLineConstants.BACKUP);
+      }
+
+      Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile).start();
+      int exitCode;
+      try {
+        exitCode = process.waitFor();
+      } catch (InterruptedException exception) {
+        process.destroyForcibly();
+        throw exception;
+      }
+      if (exitCode != 0) {
+        return new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+            "Migration process exited with code " + exitCode + ", see " + logFile); //$NON-NLS-1$ //$NON-NLS-2$
+      }
+      // The migration command line logs the errors but always exits normally
+      Optional<String> error = getFirstError(logFile);
+      if (error.isPresent()) {
+        return new Status(IStatus.ERROR, Activator.PLUGIN_ID, error.get());
+      }
+      return Status.OK_STATUS;
+
+    } catch (IOException exception) {
+      return new Status(IStatus.ERROR, Activator.PLUGIN_ID, exception.getMessage(), exception);
+
+    } finally {
+      if (workspace != null) {
+        delete(workspace);
+      }
+    }
+  }
+
+  private Optional<String> getFirstError(File logFile) throws IOException {
+    // Malformed input is replaced rather than rejected by the reader
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(Files.newInputStream(logFile.toPath()), Charset.defaultCharset()))) {
+      return reader.lines().map(ERROR::matcher).filter(Matcher::matches).map(matcher -> matcher.group(1))
+          .findFirst();
+    }
+  }
+
+  private void delete(Path folder) {
+    try (Stream<Path> paths = Files.walk(folder)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException exception) {
+      // The temporary workspace is left
+    }
+  }
+}
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.diagram.helpers;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -212,7 +210,7 @@ public class ContextualDiagramHelper {
 
         for (Component component : BlockArchitectureExt.getAllComponents(architecture)) {
           if (multiPart && !isOA) {
-            result.addAll(getCache(ComponentExt::getRepresentingParts, component));
+            result.addAll(ComponentExt.getRepresentingParts_cached.get(component));
           } else {
             result.add(component);
           }
@@ -19,9 +19,11 @@ import java.util.List;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.polarsys.capella.common.libraries.IModel;
 import org.polarsys.capella.core.libraries.model.CapellaModel;
+import org.polarsys.capella.shared.id.handler.IIdIndexProvider;
 import org.polarsys.capella.shared.id.handler.IScope;
+import org.polarsys.capella.shared.id.handler.IdIndex;
 
-public class ScopeModelWrapper implements IScope {
+public class ScopeModelWrapper implements IScope, IIdIndexProvider {
 
   IModel _model;
 
@@ -36,4 +38,12 @@ public class ScopeModelWrapper implements IScope {
     }
     return Collections.emptyList();
   }
+
+  @Override
+  public IdIndex getIdIndex() {
+    if (_model instanceof CapellaModel) {
+      return IdIndex.getIdIndex(((CapellaModel) _model).getEditingDomain().getResourceSet());
+    }
+    return null;
+  }
 }
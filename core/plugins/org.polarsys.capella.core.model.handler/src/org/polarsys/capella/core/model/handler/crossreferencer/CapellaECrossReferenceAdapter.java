@@ -18,20 +18,27 @@ import java.util.Collection;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.impl.ENotificationImpl;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
 import org.eclipse.emf.edit.domain.EditingDomain;
 import org.eclipse.sirius.common.tools.api.util.SiriusCrossReferenceAdapter;
 import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.shared.id.handler.IIdIndexProvider;
+import org.polarsys.capella.shared.id.handler.IdIndex;
 
 /**
- * An {@link ECrossReferenceAdapter} that only takes capella resources into account.
+ * An {@link ECrossReferenceAdapter} that only takes capella resources into account.<br>
+ * It also maintains an {@link IdIndex} of the capella resources, shared by all the scopes and id handlers working on
+ * its resource set. A resource is indexed lazily by the first lookup involving it, and invalidated when it is loaded,
+ * unloaded or removed from the resource set.
  */
-public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter {
+public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter implements IIdIndexProvider {
 
   class CapellaInverseCrossReferencer extends InverseCrossReferencer {
     /**
@@ -56,6 +63,8 @@ public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter {
 
   WeakReference<EditingDomain> _editingDomain;
 
+  private final IdIndex idIndex = new IdIndex(this::retainResource);
+
   public CapellaECrossReferenceAdapter(EditingDomain editingDomain) {
     super();
     _editingDomain = new WeakReference<EditingDomain>(editingDomain);
@@ -101,6 +110,54 @@ public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter {
     super.addAdapter(notifier);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public IdIndex getIdIndex() {
+    return idIndex;
+  }
+
+  /**
+   * @see org.eclipse.emf.ecore.util.ECrossReferenceAdapter#setTarget(org.eclipse.emf.ecore.EObject)
+   */
+  @Override
+  protected void setTarget(EObject target) {
+    super.setTarget(target);
+    idIndex.index(target);
+  }
+
+  /**
+   * @see org.eclipse.emf.ecore.util.ECrossReferenceAdapter#unsetTarget(org.eclipse.emf.ecore.EObject)
+   */
+  @Override
+  protected void unsetTarget(EObject target) {
+    super.unsetTarget(target);
+    // As for the cross referencer maps, the remove notification can come after the add one when moving an element,
+    // keep it indexed as long as it is still attached somewhere.
+    if (target.eResource() == null) {
+      idIndex.unindex(target);
+    }
+  }
+
+  /**
+   * Drop the index entries of the resources removed from the resource set.
+   */
+  protected void invalidateRemovedResources(Notification notification) {
+    int eventType = notification.getEventType();
+    if (eventType == Notification.REMOVE || eventType == Notification.SET) {
+      if (notification.getOldValue() instanceof Resource) {
+        idIndex.invalidate((Resource) notification.getOldValue());
+      }
+    } else if (eventType == Notification.REMOVE_MANY) {
+      for (Object value : (Collection<?>) notification.getOldValue()) {
+        if (value instanceof Resource) {
+          idIndex.invalidate((Resource) value);
+        }
+      }
+    }
+  }
+
   @Override
   protected InverseCrossReferencer createInverseCrossReferencer() {
     return new CapellaInverseCrossReferencer();
@@ -199,6 +256,8 @@ public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter {
         // Override completely the super selfAdapt method to avoid keeping proxies in memory.
         handleSomething = true;
         Object notifier = notification.getNotifier();
+        // No remove notification is sent for the unloaded elements, and the loaded ones are indexed by the next lookup
+        idIndex.invalidate((Resource) notifier);
         if (notification.getNewBooleanValue()) {
           unloadedResources.remove(notifier);
           for (Notifier child : ((Resource) notifier).getContents()) {
@@ -238,6 +297,15 @@ public class CapellaECrossReferenceAdapter extends SiriusCrossReferenceAdapter {
       if (handleResourceContentNotification(notification)) {
         return; // Stop here as already handled.
       }
+    } else if (notifier instanceof ResourceSet) {
+      if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+        invalidateRemovedResources(notification);
+      }
+    } else if (notifier instanceof EObject) {
+      Object feature = notification.getFeature();
+      if (feature instanceof EAttribute && ((EAttribute) feature).isID()) {
+        idIndex.reindex((EObject) notifier, notification.getOldStringValue(), notification.getNewStringValue());
+      }
     }
     super.selfAdapt(notification);
   }
@@ -18,12 +18,14 @@ import java.util.stream.Collectors;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.shared.id.handler.IIdIndexProvider;
 import org.polarsys.capella.shared.id.handler.IScope;
+import org.polarsys.capella.shared.id.handler.IdIndex;
 
 /**
  * A scope browsing only semantic resources on the given resource set
  */
-public class SemanticResourcesScope implements IScope {
+public class SemanticResourcesScope implements IScope, IIdIndexProvider {
 
   private ResourceSet _set;
 
@@ -37,4 +39,17 @@ public class SemanticResourcesScope implements IScope {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public boolean contains(Resource resource) {
+    return resource != null && resource.getResourceSet() == _set && CapellaResourceHelper.isCapellaResource(resource);
+  }
+
+  /**
+   * The index of the semantic cross referencer only covers semantic resources.
+   */
+  @Override
+  public IdIndex getIdIndex() {
+    return IdIndex.getIdIndex(_set);
+  }
+
 }
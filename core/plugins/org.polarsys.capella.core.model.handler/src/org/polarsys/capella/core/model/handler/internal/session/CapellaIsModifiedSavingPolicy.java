@@ -33,6 +33,11 @@ public class CapellaIsModifiedSavingPolicy extends IsModifiedSavingPolicy {
     @Override
     public Collection<Resource> save(final Iterable<Resource> allResources, final Map<?, ?> options, IProgressMonitor monitor) {
         CapellaSavingPolicyHelper.checkUnsaveableFiles(allResources);
+        if (ParallelResourceSaver.isEnabled()) {
+            return ParallelResourceSaver.save(allResources,
+                    resource -> resource.isModified() && !ResourceSetSync.isReadOnly(resource), options, monitor,
+                    otherResources -> super.save(otherResources, options, monitor));
+        }
         return super.save(allResources, options, monitor);
     }
 
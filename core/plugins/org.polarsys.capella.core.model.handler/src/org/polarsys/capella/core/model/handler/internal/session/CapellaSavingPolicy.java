@@ -36,6 +36,10 @@ public class CapellaSavingPolicy extends SavingPolicyImpl {
 
         CapellaSavingPolicyHelper.checkUnsaveableFiles(allResources);
 
+        if (ParallelResourceSaver.isEnabled()) {
+            return ParallelResourceSaver.save(allResources, resource -> hasDifferentSerialization(resource, options),
+                    options, monitor, otherResources -> super.save(otherResources, options, monitor));
+        }
         return super.save(allResources, options, monitor);
     }
 
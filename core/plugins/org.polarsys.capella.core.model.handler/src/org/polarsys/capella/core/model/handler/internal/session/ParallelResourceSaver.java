@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.model.handler.internal.session;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.polarsys.capella.common.helpers.EcoreUtil2;
+import org.polarsys.capella.core.model.handler.ModelHandlerPlugin;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+
+/**
+ * Saves the semantic resources of a session on worker threads, before the saving policy saves the other ones.<br>
+ * Each resource is streamed into a temporary file next to its file, without keeping the whole document in memory. The
+ * temporary file is then compared with the file: if the bytes are the same, the file is left untouched, otherwise the
+ * temporary file atomically replaces it.<br>
+ * Resources which are not stored in local files, and resources whose save failed on a worker, are saved by the saving
+ * policy. The parallel save is disabled by default, and can be enabled with the {@link #ENABLED_PROPERTY} system
+ * property.
+ */
+public final class ParallelResourceSaver {
+
+    /**
+     * System property enabling the parallel save of semantic resources.
+     */
+    public static final String ENABLED_PROPERTY = "capella.save.parallel"; //$NON-NLS-1$
+
+    /**
+     * System property defining the number of threads used by the parallel save.
+     */
+    public static final String THREADS_PROPERTY = "capella.save.parallel.threads"; //$NON-NLS-1$
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".saving"; //$NON-NLS-1$
+
+    private static final int BUFFER_SIZE = 0x10000;
+
+    /**
+     * The outcome of the save of a resource on a worker.
+     */
+    private enum Outcome {
+        REPLACED, UNCHANGED, FAILED
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ParallelResourceSaver() {
+    }
+
+    /**
+     * @return whether semantic resources are saved in parallel
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Save the given resources which must be saved: the semantic ones in parallel, then the other ones with the given
+     * function.
+     *
+     * @param allResources
+     *            the resources of the session
+     * @param mustBeSaved
+     *            whether a resource must be saved
+     * @param options
+     *            the save options
+     * @param monitor
+     *            a progress monitor
+     * @param saveOtherResources
+     *            the function saving the resources which have not been saved in parallel, and returning the saved ones
+     * @return the saved resources
+     */
+    public static Collection<Resource> save(Iterable<Resource> allResources, Predicate<Resource> mustBeSaved,
+            Map<?, ?> options, IProgressMonitor monitor,
+            Function<Iterable<Resource>, Collection<Resource>> saveOtherResources) {
+        Map<Resource, File> files = new LinkedHashMap<>();
+        for (Resource resource : allResources) {
+            if (CapellaResourceHelper.isCapellaResource(resource) && mustBeSaved.test(resource)) {
+                File file = getFile(resource);
+                if (null != file) {
+                    files.put(resource, file);
+                }
+            }
+        }
+        Set<Resource> saved = new HashSet<>(saveInParallel(files, options, monitor));
+
+        List<Resource> otherResources = new ArrayList<>();
+        for (Resource resource : allResources) {
+            if (!saved.contains(resource)) {
+                otherResources.add(resource);
+            }
+        }
+        Collection<Resource> result = new ArrayList<>(saved);
+        result.addAll(saveOtherResources.apply(otherResources));
+        return result;
+    }
+
+    /**
+     * Save the given resources in parallel.<br>
+     * The calling thread keeps the notifications and the modification status of the resources: notifications are
+     * disabled while the workers save them, and the modification status is updated once all of them are saved.
+     *
+     * @param files
+     *            the resources to save, with their files
+     * @return the saved resources, the ones whose serialization is unchanged included
+     */
+    private static Collection<Resource> saveInParallel(Map<Resource, File> files, Map<?, ?> options,
+            IProgressMonitor monitor) {
+        if (files.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Resource> resources = new ArrayList<>(files.keySet());
+        Map<Resource, Map<?, ?>> saveOptions = new HashMap<>();
+        Map<Resource, Boolean> deliver = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            saveOptions.put(resource, getSaveOptions(resource, options));
+            deliver.put(resource, resource.eDeliver());
+            resource.eSetDeliver(false);
+        }
+
+        List<Outcome> outcomes;
+        ForkJoinPool pool = new ForkJoinPool(
+                Math.max(1, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors())));
+        try {
+            outcomes = pool.submit(() -> resources.parallelStream()
+                    .map(resource -> save(resource, files.get(resource), saveOptions.get(resource)))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            outcomes = Collections.nCopies(resources.size(), Outcome.FAILED);
+        } catch (ExecutionException exception) {
+            log(exception);
+            outcomes = Collections.nCopies(resources.size(), Outcome.FAILED);
+        } finally {
+            pool.shutdown();
+        }
+
+        Collection<Resource> result = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i++) {
+            Resource resource = resources.get(i);
+            resource.eSetDeliver(deliver.get(resource));
+            Outcome outcome = outcomes.get(i);
+            if (Outcome.FAILED == outcome) {
+                // Left to the saving policy
+                resource.setModified(true);
+            } else {
+                if (Outcome.REPLACED == outcome) {
+                    resource.setTimeStamp(files.get(resource).lastModified());
+                    refresh(resource, monitor);
+                }
+                resource.setModified(false);
+                result.add(resource);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the options saving the given resource on a worker. The resource is already streamed into a temporary file,
+     * so the file buffer of the default save options is disabled.
+     */
+    private static Map<?, ?> getSaveOptions(Resource resource, Map<?, ?> options) {
+        Map<Object, Object> result = new HashMap<>();
+        if (resource instanceof ResourceImpl) {
+            result.putAll(((ResourceImpl) resource).getDefaultSaveOptions());
+        }
+        if (null != options) {
+            result.putAll(options);
+        }
+        result.put(XMLResource.OPTION_USE_FILE_BUFFER, Boolean.FALSE);
+        result.remove(XMLResource.OPTION_FLUSH_THRESHOLD);
+        return result;
+    }
+
+    /**
+     * Save the given resource to a temporary file, which then replaces the given file if its content is different.
+     * Called on workers, which leave the modification status of the resource to the calling thread.
+     */
+    private static Outcome save(Resource resource, File file, Map<?, ?> options) {
+        File temporaryFile = null;
+        try {
+            temporaryFile = File.createTempFile(file.getName(), TEMPORARY_FILE_SUFFIX, file.getParentFile());
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile.toPath()),
+                    BUFFER_SIZE)) {
+                resource.save(output, options);
+            }
+            if (file.isFile() && hasSameContent(file, temporaryFile)) {
+                return Outcome.UNCHANGED;
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return Outcome.REPLACED;
+
+        } catch (IOException | RuntimeException exception) {
+            log(exception);
+            return Outcome.FAILED;
+
+        } finally {
+            if (null != temporaryFile) {
+                try {
+                    Files.deleteIfExists(temporaryFile.toPath());
+                } catch (IOException exception) {
+                    log(exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return whether the given files have the same content, without loading them in memory.
+     */
+    private static boolean hasSameContent(File file, File otherFile) throws IOException {
+        if (file.length() != otherFile.length()) {
+            return false;
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE);
+                InputStream otherInput = new BufferedInputStream(Files.newInputStream(otherFile.toPath()),
+                        BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] otherBuffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.readNBytes(buffer, 0, BUFFER_SIZE)) > 0) {
+                if (otherInput.readNBytes(otherBuffer, 0, read) != read
+                        || !Arrays.equals(buffer, 0, read, otherBuffer, 0, read)) {
+                    return false;
+                }
+            }
+            return otherInput.read() == -1;
+        }
+    }
+
+    /**
+     * Return the local file of the given resource, if any.
+     */
+    private static File getFile(Resource resource) {
+        URI uri = resource.getURI();
+        if (uri.isFile()) {
+            return new File(uri.toFileString());
+        }
+        IFile file = EcoreUtil2.getFile(resource);
+        IPath location = (null != file) ? file.getLocation() : null;
+        return (null != location) ? location.toFile() : null;
+    }
+
+    /**
+     * Refresh the workspace file of the given resource, which has been replaced outside of the workspace.
+     */
+    private static void refresh(Resource resource, IProgressMonitor monitor) {
+        IFile file = EcoreUtil2.getFile(resource);
+        if (null != file) {
+            try {
+                file.refreshLocal(IResource.DEPTH_ZERO, monitor);
+            } catch (CoreException exception) {
+                log(exception);
+            }
+        }
+    }
+
+    private static void log(Exception exception) {
+        ModelHandlerPlugin.getDefault().getLog()
+                .log(new Status(IStatus.WARNING, ModelHandlerPlugin.PLUGIN_ID, exception.getMessage(), exception));
+    }
+}
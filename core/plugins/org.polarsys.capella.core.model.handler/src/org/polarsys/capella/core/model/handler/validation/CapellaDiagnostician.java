@@ -32,6 +32,11 @@ import org.polarsys.capella.common.data.modellingcore.AbstractType;
  * can follow the part->component link. 
  */
 public class CapellaDiagnostician extends Diagnostician {
+  /**
+   * Context key: if set to {@link Boolean#TRUE}, only the given elements are validated, not their contents.
+   */
+  public static final String FLAT_VALIDATION = "org.polarsys.capella.core.model.handler.validation.flat"; //$NON-NLS-1$
+
     private AdapterFactory adapterFactory;
     private IProgressMonitor progressMonitor;
     
@@ -59,6 +64,9 @@ public class CapellaDiagnostician extends Diagnostician {
 
 	@Override
 	protected boolean doValidateContents(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context) {
+		if (isFlat(context)) {
+			return true;
+		}
 		boolean result = super.doValidateContents(eObject, diagnostics, context);
 		if (eObject instanceof Part) {
 			// also launch validation on representedInstance
@@ -71,4 +79,12 @@ public class CapellaDiagnostician extends Diagnostician {
 		}		
 		return result;
 	}
+
+  /**
+   * @param context
+   * @return whether the given validation context restricts the validation to the given elements.
+   */
+  public static boolean isFlat(Map<Object, Object> context) {
+    return null != context && Boolean.TRUE.equals(context.get(FLAT_VALIDATION));
+  }
 }
@@ -13,8 +13,6 @@
 
 package org.polarsys.capella.core.model.helpers;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -126,7 +124,7 @@ public final class ComponentExchangeExt {
     }
     Component sourceComponent = getSourceComponent(connection);
     if (sourceComponent != null) {
-      return getCache(ComponentExt::getRepresentingParts, sourceComponent);
+      return ComponentExt.getRepresentingParts_cached.get(sourceComponent);
     }
     return Collections.emptyList();
   }
@@ -171,7 +169,7 @@ public final class ComponentExchangeExt {
     }
     Component targetComponent = getTargetComponent(connection);
     if (targetComponent != null) {
-      return getCache(ComponentExt::getRepresentingParts, targetComponent);
+      return ComponentExt.getRepresentingParts_cached.get(targetComponent);
     }
     return Collections.emptyList();
   }
@@ -723,7 +721,7 @@ public final class ComponentExchangeExt {
     Port componentExcSource = ce.getSourcePort();
     if (componentExcSource instanceof ComponentPort) {
       Component sourceComponent = (Component) componentExcSource.eContainer();
-      if (getCache(ComponentExt::getRepresentingParts, sourceComponent).contains(sourcePart)) {
+      if (ComponentExt.getRepresentingParts_cached.get(sourceComponent).contains(sourcePart)) {
         return (ComponentPort) componentExcSource;
       }
 
@@ -731,7 +729,7 @@ public final class ComponentExchangeExt {
     Port componentExcTarget = ce.getTargetPort();
     if (componentExcTarget instanceof ComponentPort) {
       Component targetComponent = (Component) componentExcTarget.eContainer();
-      if (getCache(ComponentExt::getRepresentingParts, targetComponent).contains(sourcePart)) {
+      if (ComponentExt.getRepresentingParts_cached.get(targetComponent).contains(sourcePart)) {
         //
       }
       return (ComponentPort) componentExcTarget;
@@ -41,6 +41,7 @@ import org.polarsys.capella.common.data.modellingcore.AbstractTypedElement;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
 import org.polarsys.capella.common.helpers.EObjectExt;
 import org.polarsys.capella.common.helpers.EcoreUtil2;
+import org.polarsys.capella.common.helpers.cache.CachedFunction;
 import org.polarsys.capella.core.data.capellacommon.CapabilityRealizationInvolvedElement;
 import org.polarsys.capella.core.data.capellacommon.CapabilityRealizationInvolvement;
 import org.polarsys.capella.core.data.capellacommon.CapellacommonFactory;
@@ -113,6 +114,11 @@ import org.polarsys.capella.core.model.helpers.naming.NamingConstants;
  */
 public class ComponentExt {
 
+  /**
+   * Cached version of {@link #getRepresentingParts(Component)}.
+   */
+  public static final CachedFunction<Component, Collection<Part>> getRepresentingParts_cached = ComponentExt::getRepresentingParts;
+
   /**
    * This method adds an interface implementation.
    * 
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.model.helpers;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 import java.util.Collections;
 
@@ -100,7 +98,7 @@ public class ComponentPortAllocationExt {
     }
     Component sourceComponent = getSourceComponent(connection);
     if (sourceComponent != null) {
-      return getCache(ComponentExt::getRepresentingParts, sourceComponent);
+      return ComponentExt.getRepresentingParts_cached.get(sourceComponent);
     }
     return Collections.emptyList();
   }
@@ -133,7 +131,7 @@ public class ComponentPortAllocationExt {
     }
     Component targetComponent = getTargetComponent(connection);
     if (targetComponent != null) {
-      return getCache(ComponentExt::getRepresentingParts, targetComponent);
+      return ComponentExt.getRepresentingParts_cached.get(targetComponent);
     }
     return Collections.emptyList();
   }
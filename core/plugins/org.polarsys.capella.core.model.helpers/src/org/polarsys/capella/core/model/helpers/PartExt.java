@@ -312,7 +312,7 @@ public class PartExt {
    * @return whether part source can be moved into target component
    */
   public static boolean canMoveInto(Part source, Component target) {
-    Collection<Part> representingParts = getCache(ComponentExt::getRepresentingParts, target);
+    Collection<Part> representingParts = ComponentExt.getRepresentingParts_cached.get(target);
 
     for (Part part : representingParts) {
       Collection<Part> parts = ComponentExt.getPartAncestors(part);
@@ -13,8 +13,6 @@
 
 package org.polarsys.capella.core.model.helpers;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -839,7 +837,7 @@ public class PortExt {
     Collection<PhysicalLink> links = new HashSet<>();
 
     Component component = PortExt.getRelatedComponent(port);
-    Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, component);
+    Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(component);
 
     for (PhysicalLink link : port.getInvolvedLinks()) {
       Collection<Part> sourceParts = org.polarsys.capella.core.data.helpers.cs.services.PhysicalLinkExt.getSourceParts(link);
@@ -891,7 +889,7 @@ public class PortExt {
     Collection<PhysicalLink> links = new HashSet<>();
 
     Component component = PortExt.getRelatedComponent(port);
-    Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, component);
+    Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(component);
 
     for (PhysicalLink link : port.getInvolvedLinks()) {
       Collection<Part> sourceParts = org.polarsys.capella.core.data.helpers.cs.services.PhysicalLinkExt.getSourceParts(link);
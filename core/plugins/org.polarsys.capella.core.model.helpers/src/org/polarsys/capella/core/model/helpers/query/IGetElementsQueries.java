@@ -13,9 +13,17 @@
 
 package org.polarsys.capella.core.model.helpers.query;
 
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.polarsys.capella.core.data.capellamodeller.Project;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
 
 public interface IGetElementsQueries {
   public ModelElement getElementById(Project project, String id);
+
+  /**
+   * @param resourceSet
+   * @param id
+   * @return the element with the given id among all resources of the given resource set, <code>null</code> if none.
+   */
+  public ModelElement getElementById(ResourceSet resourceSet, String id);
 }
@@ -14,20 +14,58 @@
 package org.polarsys.capella.core.model.helpers.query.impl;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 
 import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.model.handler.helpers.SemanticResourcesScope;
 import org.polarsys.capella.core.model.helpers.query.IGetElementsQueries;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
+import org.polarsys.capella.shared.id.handler.IdIndex;
 
 public class GetElementsQueries implements IGetElementsQueries {
 
   /**
+   * When the project belongs to a resource set maintaining an {@link IdIndex}, the lookup is a hash hit, otherwise the
+   * project is browsed recursively.
    * @see org.polarsys.capella.core.model.helpers.query.IGetElementsQueries#getElementById(java.lang.String)
    */
   public ModelElement getElementById(Project project, String id) {
+    IdIndex index = getIdIndex(project);
+    if (index != null) {
+      EObject element = index.getEObject(id, new SemanticResourcesScope(project.eResource().getResourceSet()));
+      if (element instanceof ModelElement && EcoreUtil.isAncestor(project, element)) {
+        return (ModelElement) element;
+      }
+      return null;
+    }
     return getElementByIdRecursively(project, id);
   }
 
+  /**
+   * @see org.polarsys.capella.core.model.helpers.query.IGetElementsQueries#getElementById(org.eclipse.emf.ecore.resource.ResourceSet,
+   *      java.lang.String)
+   */
+  public ModelElement getElementById(ResourceSet resourceSet, String id) {
+    IdIndex index = IdIndex.getIdIndex(resourceSet);
+    if (index != null) {
+      EObject element = index.getEObject(id, new SemanticResourcesScope(resourceSet));
+      return element instanceof ModelElement ? (ModelElement) element : null;
+    }
+    for (Resource resource : resourceSet.getResources()) {
+      for (EObject root : resource.getContents()) {
+        if (root instanceof ModelElement) {
+          ModelElement result = getElementByIdRecursively((ModelElement) root, id);
+          if (result != null) {
+            return result;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
   public ModelElement getElementByIdRecursively(ModelElement modelElement, String id) {
     ModelElement result = null;
     if (modelElement.getId().equals(id)) {
@@ -43,4 +81,9 @@ public class GetElementsQueries implements IGetElementsQueries {
     }
     return result;
   }
+
+  protected IdIndex getIdIndex(EObject object) {
+    Resource resource = object.eResource();
+    return resource != null ? IdIndex.getIdIndex(resource.getResourceSet()) : null;
+  }
 }
@@ -15,7 +15,9 @@ package org.polarsys.capella.core.platform.sirius.ui.actions;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -23,10 +25,13 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.emf.common.notify.AdapterFactory;
+import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.emf.ecore.util.EObjectValidator;
+import org.eclipse.emf.edit.domain.AdapterFactoryEditingDomain;
 import org.eclipse.emf.edit.ui.EMFEditUIPlugin;
 import org.eclipse.emf.edit.ui.action.ValidateAction;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
@@ -40,6 +45,7 @@ import org.polarsys.capella.common.ef.ExecutionManager;
 import org.polarsys.capella.common.ef.command.AbstractReadOnlyCommand;
 import org.polarsys.capella.common.helpers.TransactionHelper;
 import org.polarsys.capella.common.helpers.cache.ModelCache;
+import org.polarsys.capella.common.helpers.validation.ValidationChangeRecorder;
 import org.polarsys.capella.common.mdsofa.common.constant.ICommonConstants;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.LightMarkerRegistry;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.MarkerView;
@@ -47,6 +53,7 @@ import org.polarsys.capella.common.tools.report.appenders.usage.UsageMonitoringL
 import org.polarsys.capella.common.tools.report.appenders.usage.util.UsageMonitoring.EventStatus;
 import org.polarsys.capella.core.commands.preferences.service.AbstractPreferencesInitializer;
 import org.polarsys.capella.core.model.handler.markers.ICapellaValidationConstants;
+import org.polarsys.capella.core.model.handler.validation.CapellaDiagnostician;
 import org.polarsys.capella.core.model.handler.validation.PluggableDiagnosticianProvider;
 import org.polarsys.capella.core.platform.sirius.ui.preferences.ICapellaValidationPreferences;
 
@@ -60,6 +67,17 @@ public class CapellaValidateAction extends ValidateAction {
    */
   protected Resource _currentResource;
 
+  /**
+   * Elements revalidated by the last incremental validation, <code>null</code> if the last validation was complete (see
+   * {@link #validateModifiedElements(ValidationChangeRecorder, IProgressMonitor)}).
+   */
+  protected Collection<EObject> _revalidatedElements;
+
+  /**
+   * Is the incremental validation enabled ? <code>null</code> to use the preference.
+   */
+  private Boolean _incremental;
+
   /**
    * Constructor.
    */
@@ -93,18 +111,25 @@ public class CapellaValidateAction extends ValidateAction {
        */
       @Override
       public void deleteMarkers(Object object, boolean includeSubtypes, int depth) {
+        if (null != _revalidatedElements) {
+          // Only replace the results of the revalidated elements, and the ones of deleted elements.
+          LightMarkerRegistry.getInstance().deleteMarkers(getMarkerID(), _revalidatedElements);
+          LightMarkerRegistry.getInstance().purgeMarkers();
+          return;
+        }
         boolean cleanup = AbstractPreferencesInitializer.getBoolean(ICapellaValidationPreferences.P_CLEAN_PREVIOUS_VALIDATION_RESULTS, false);
         if (cleanup) {
-          List<IMarker> markers = new ArrayList<IMarker>(LightMarkerRegistry.getInstance().getMarkers());
-          for (IMarker marker : markers) {
+          List<IMarker> markers = new ArrayList<IMarker>();
+          for (IMarker marker : LightMarkerRegistry.getInstance().getMarkers()) {
             try {
               if (marker.getType().equals(getMarkerID())) {
-                marker.delete();
+                markers.add(marker);
               }
             } catch (CoreException e) {
               CapellaActionsActivator.getDefault().log(IStatus.ERROR, e.getMessage(), e);
             }
           }
+          LightMarkerRegistry.getInstance().deleteMarkers(markers);
         }
       }
 
@@ -140,6 +165,96 @@ public class CapellaValidateAction extends ValidateAction {
     return new PluggableDiagnosticianProvider().getDiagnostician(adapterFactory, progressMonitor);
   }
 
+  /**
+   * Is the incremental validation enabled ?
+   * @return <code>true</code> if only the elements modified since the last validation are validated
+   */
+  public boolean isIncremental() {
+    if (null != _incremental) {
+      return _incremental.booleanValue();
+    }
+    return AbstractPreferencesInitializer.getBoolean(ICapellaValidationPreferences.P_INCREMENTAL_VALIDATION, false);
+  }
+
+  /**
+   * Enable or disable the incremental validation, whatever the preference.
+   * @param incremental
+   */
+  public void setIncremental(boolean incremental) {
+    _incremental = Boolean.valueOf(incremental);
+  }
+
+  /**
+   * Validate the selection. In incremental mode, once the selection has been validated completely, only the elements
+   * modified since the last validation are validated again.
+   * @see org.eclipse.emf.edit.ui.action.ValidateAction#validate(org.eclipse.core.runtime.IProgressMonitor)
+   */
+  @Override
+  protected Diagnostic validate(IProgressMonitor progressMonitor) {
+    _revalidatedElements = null;
+    ValidationChangeRecorder recorder = null;
+    if (isIncremental() && !selectedObjects.isEmpty()) {
+      recorder = ValidationChangeRecorder.getRecorder(selectedObjects.get(0));
+    }
+    if ((null != recorder) && selectedObjects.stream().allMatch(recorder::isValidated)) {
+      return validateModifiedElements(recorder, progressMonitor);
+    }
+    Diagnostic diagnostic = super.validate(progressMonitor);
+    if ((null != recorder) && !progressMonitor.isCanceled()) {
+      recorder.validated(selectedObjects);
+    }
+    return diagnostic;
+  }
+
+  /**
+   * Validate the elements of the selection modified since the last validation, along with the elements depending on
+   * them. Each of them is validated without its sub-tree.
+   * @param recorder
+   * @param progressMonitor
+   * @return the diagnostic of the revalidated elements
+   */
+  protected Diagnostic validateModifiedElements(ValidationChangeRecorder recorder, IProgressMonitor progressMonitor) {
+    Collection<EObject> elements = recorder.consumeModifiedElements(selectedObjects);
+    Diagnostic diagnostic = validateElements(elements, progressMonitor);
+    if (progressMonitor.isCanceled()) {
+      // Results are dropped: keep the elements for the next validation.
+      recorder.modified(elements);
+    } else {
+      _revalidatedElements = elements;
+    }
+    return diagnostic;
+  }
+
+  /**
+   * Validate the given elements, each of them without its sub-tree.
+   * @param elements
+   * @param progressMonitor
+   * @return the diagnostic of the elements
+   */
+  protected Diagnostic validateElements(Collection<EObject> elements, IProgressMonitor progressMonitor) {
+    progressMonitor.beginTask(ICommonConstants.EMPTY_STRING, elements.size());
+
+    AdapterFactory adapterFactory = domain instanceof AdapterFactoryEditingDomain
+        ? ((AdapterFactoryEditingDomain) domain).getAdapterFactory()
+        : null;
+    Diagnostician diagnostician = createDiagnostician(adapterFactory, progressMonitor);
+    BasicDiagnostic diagnostic = new BasicDiagnostic(EObjectValidator.DIAGNOSTIC_SOURCE, 0,
+        EMFEditUIPlugin.INSTANCE.getString("_UI_DiagnosisOfNObjects_message", //$NON-NLS-1$
+            new String[] { Integer.toString(elements.size()) }),
+        selectedObjects.toArray());
+    Map<Object, Object> context = diagnostician.createDefaultContext();
+    context.put(CapellaDiagnostician.FLAT_VALIDATION, Boolean.TRUE);
+
+    for (EObject element : elements) {
+      if (progressMonitor.isCanceled()) {
+        break;
+      }
+      diagnostician.validate(element, diagnostic, context);
+      context.remove(EObjectValidator.ROOT_OBJECT);
+    }
+    return diagnostic;
+  }
+
   /**
    * @see org.eclipse.emf.edit.ui.action.ValidateAction#run()
    */
@@ -244,10 +359,17 @@ public class CapellaValidateAction extends ValidateAction {
       }
       // Go for default behavior.
       // Markers will be tagged with current resource at creation time (see constructor).
-      super.handleDiagnostic(diagnostic);
+      // The Information view is notified once about all the markers of the validation.
+      LightMarkerRegistry.getInstance().beginBatch();
+      try {
+        super.handleDiagnostic(diagnostic);
+      } finally {
+        LightMarkerRegistry.getInstance().endBatch();
+      }
     } finally {
       // Reset current resource, whatever its value may be.
       _currentResource = null;
+      _revalidatedElements = null;
     }
   }
 
@@ -29,6 +29,7 @@ public class CapellaValidationPreferencesInitializer extends AbstractPreferences
   @Override
   public void initializeDefaultPreferences() {
     putBoolean(ICapellaValidationPreferences.P_CLEAN_PREVIOUS_VALIDATION_RESULTS, true, ProjectScope.class);
+    putBoolean(ICapellaValidationPreferences.P_INCREMENTAL_VALIDATION, false, ProjectScope.class);
   }
 
 }
@@ -45,6 +45,8 @@ public class CapellaValidationPreferencesPage extends AbstractDefaultPreferenceP
   public void createFieldEditors() {
     addField(new BooleanFieldEditor(ICapellaValidationPreferences.P_CLEAN_PREVIOUS_VALIDATION_RESULTS,
         Messages.ModelValidationPreferencePage_DeletePreviousResults_Title, getFieldEditorParent()));
+    addField(new BooleanFieldEditor(ICapellaValidationPreferences.P_INCREMENTAL_VALIDATION,
+        Messages.ModelValidationPreferencePage_IncrementalValidation_Title, getFieldEditorParent()));
   }
 
   /**
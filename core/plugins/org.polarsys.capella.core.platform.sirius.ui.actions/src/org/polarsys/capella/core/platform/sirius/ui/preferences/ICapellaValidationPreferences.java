@@ -18,4 +18,6 @@ package org.polarsys.capella.core.platform.sirius.ui.preferences;
 public class ICapellaValidationPreferences {
 
   public static final String P_CLEAN_PREVIOUS_VALIDATION_RESULTS = "cleanPreviousValidationResults"; //$NON-NLS-1$
+
+  public static final String P_INCREMENTAL_VALIDATION = "incrementalValidation"; //$NON-NLS-1$
 }
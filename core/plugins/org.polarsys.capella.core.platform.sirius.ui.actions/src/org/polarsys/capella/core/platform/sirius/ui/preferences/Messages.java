@@ -32,6 +32,7 @@ public class Messages extends NLS {
   public static String WizardPreferencePage_Title;
   public static String ModelValidationPreferencePage_Description;
   public static String ModelValidationPreferencePage_DeletePreviousResults_Title;
+  public static String ModelValidationPreferencePage_IncrementalValidation_Title;
   public static String DeletePreferencePage_ProtectedElements_Title;
 
   public static String DeletePreferencePage_MultipartGroup_Title;
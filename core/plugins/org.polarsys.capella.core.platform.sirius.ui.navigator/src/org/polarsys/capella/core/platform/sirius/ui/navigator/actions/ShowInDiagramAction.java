@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.platform.sirius.ui.navigator.actions;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -121,7 +119,7 @@ public class ShowInDiagramAction extends BaseSelectionListenerAction implements
         Collection<DDiagramElement> currentViewElements = Collections.emptyList();
 
         if (semanticElement instanceof Component) {
-          currentViewElements = getCache(ComponentExt::getRepresentingParts, (Component) semanticElement) //
+          currentViewElements = ComponentExt.getRepresentingParts_cached.get((Component) semanticElement) //
               .stream() //
               .flatMap(part -> getDDiagramElements(diagram, part))//
               .collect(Collectors.toList());
@@ -13,8 +13,6 @@
 
 package org.polarsys.capella.core.semantic.queries.basic.queries;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -45,7 +43,7 @@ public class ComponentInternalIncomingComponentExchanges extends ComponentIncomi
         }
       }
     }
-    usedParts.addAll(getCache(ComponentExt::getRepresentingParts, (Component) object));
+    usedParts.addAll(ComponentExt.getRepresentingParts_cached.get((Component) object));
     
     List<ComponentExchange> result = new ArrayList<>();
 
@@ -13,8 +13,6 @@
 
 package org.polarsys.capella.core.semantic.queries.basic.queries;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -77,7 +75,7 @@ public class ModelElementConstraints implements IQuery {
    */
   private Set<AbstractConstraint> compute(Component component) {
     Set<AbstractConstraint> result = new HashSet<>();
-    Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, component);
+    Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(component);
     for (AbstractTypedElement part : parts) {
       for (AbstractConstraint constraint : part.getConstraints())
         result.add(constraint);
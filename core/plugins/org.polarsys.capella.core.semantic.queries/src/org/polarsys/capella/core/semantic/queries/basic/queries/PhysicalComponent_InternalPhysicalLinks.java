@@ -49,7 +49,7 @@ public class PhysicalComponent_InternalPhysicalLinks implements IQuery {
       for (Part part : usedParts) {
         allPLs.addAll(getCache(PhysicalLinkExt::getAllRelatedPhysicalLinks, part));
       }
-      usedParts.addAll(getCache(ComponentExt::getRepresentingParts, seletectedComponent));
+      usedParts.addAll(ComponentExt.getRepresentingParts_cached.get(seletectedComponent));
       
       // If source or target is one of the used parts or representing parts, filter
       for (PhysicalLink pl : allPLs) {
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EObject;
@@ -124,6 +125,23 @@ public class ABServices {
 
   private static ABServices service = null;
 
+  /**
+   * Functions given to the model cache, created once so that their results are shared between calls.
+   */
+  private final Function<EObject, Collection<PhysicalLink>> relatedPhysicalLinks = this::getRelatedPhysicalLinks;
+
+  private final Function<EObject, Collection<EObject>> componentCategorySources =
+      this::getComponentCategorySourcesWithoutCache;
+
+  private final Function<EObject, Collection<EObject>> componentCategoryTargets =
+      this::getComponentCategoryTargetsWithoutCache;
+
+  private final Function<EObject, Collection<EObject>> physicalCategorySources =
+      this::getPhysicalCategorySourcesWithoutCache;
+
+  private final Function<EObject, Collection<EObject>> physicalCategoryTargets =
+      this::getPhysicalCategoryTargetsWithoutCache;
+
   public static ABServices getService() {
     if (service == null) {
       service = new ABServices();
@@ -266,7 +284,7 @@ public class ABServices {
         newComponentPkg.getOwnedParts().add((Part) pcMoved);
         component = (Component) ((Part) pcMoved).getType();
       } else if (pcMoved instanceof Component) {
-        for (Part part : getCache(ComponentExt::getRepresentingParts, (Component) pcMoved)) {
+        for (Part part : ComponentExt.getRepresentingParts_cached.get((Component) pcMoved)) {
           if (!newComponentPkg.equals(part.eContainer())) {
             newComponentPkg.getOwnedParts().add(part);
           }
@@ -289,7 +307,7 @@ public class ABServices {
         newComponent.getOwnedFeatures().add((Part) pcMoved);
         component = (Component) ((Part) pcMoved).getType();
       } else if (pcMoved instanceof Component) {
-        for (Part part : getCache(ComponentExt::getRepresentingParts, (Component) pcMoved)) {
+        for (Part part : ComponentExt.getRepresentingParts_cached.get((Component) pcMoved)) {
           if (!newComponent.equals(part.eContainer())) {
             newComponent.getOwnedFeatures().add(part);
           }
@@ -1329,7 +1347,7 @@ public class ABServices {
 
       // Verify further that a non-delegation physical link must exist for the same category
       boolean hasNonDelegationPL = false;
-      for (PhysicalLink physicalLink : getCache(this::getRelatedPhysicalLinks, delegationSourcePart)) {
+      for (PhysicalLink physicalLink : getCache(relatedPhysicalLinks, delegationSourcePart)) {
         if (!CsServices.getService().getAllDelegatesPhysicalLink(delegationSourcePart).contains(physicalLink)
             && physicalLink.getCategories().contains(category)) {
           hasNonDelegationPL = true;
@@ -2691,7 +2709,7 @@ public class ABServices {
   }
 
   public Collection<EObject> getComponentCategorySources(EObject context) {
-    return getCache(this::getComponentCategorySourcesWithoutCache, context);
+    return getCache(componentCategorySources, context);
   }
 
   /**
@@ -2705,7 +2723,7 @@ public class ABServices {
   }
 
   public Collection<EObject> getComponentCategoryTargets(EObject context) {
-    return getCache(this::getComponentCategoryTargetsWithoutCache, context);
+    return getCache(componentCategoryTargets, context);
   }
 
   /**
@@ -2741,7 +2759,7 @@ public class ABServices {
   }
 
   public Collection<EObject> getPhysicalCategorySources(EObject context) {
-    return getCache(this::getPhysicalCategorySourcesWithoutCache, context);
+    return getCache(physicalCategorySources, context);
   }
 
   /**
@@ -2755,7 +2773,7 @@ public class ABServices {
   }
 
   public Collection<EObject> getPhysicalCategoryTargets(EObject context) {
-    return getCache(this::getPhysicalCategoryTargetsWithoutCache, context);
+    return getCache(physicalCategoryTargets, context);
   }
 
   public boolean isABComponentCategoryPortIsA(EObject context, DSemanticDecorator containerView, ComponentPortKind kind,
@@ -2913,7 +2931,7 @@ public class ABServices {
 
     // Retrieve all invalid edges to be removed
     if (edgeMapping != null) {
-      for (DDiagramElement element : getCache(context::getDiagramElements, edgeMapping)) {
+      for (DDiagramElement element : context.getDiagramElements(edgeMapping)) {
         if (!(element instanceof DEdge)) {
           continue;
         }
@@ -2929,7 +2947,7 @@ public class ABServices {
 
     // Retrieve all nodes without incoming/outgoing edges to be removed
     if (nodeMapping != null) {
-      for (DDiagramElement element : getCache(context::getDiagramElements, nodeMapping)) {
+      for (DDiagramElement element : context.getDiagramElements(nodeMapping)) {
         if (!(element instanceof EdgeTarget)) {
           continue;
         }
@@ -2957,7 +2975,7 @@ public class ABServices {
     Collection<DiagramElementMapping> nodeMappings = context
         .getMappings(MappingConstantsHelper.getMappingABPorts(context.getDDiagram()));
     if (!nodeMappings.isEmpty()) {
-      Iterable<DDiagramElement> diagElements = getCache(context::getDiagramElements, nodeMappings);
+      Iterable<DDiagramElement> diagElements = context.getDiagramElements(nodeMappings);
       for (DDiagramElement element : diagElements) {
 
         if (!(element instanceof EdgeTarget)) {
@@ -3055,7 +3073,7 @@ public class ABServices {
     }
 
     for (DiagramElementMapping nodeMapping : nodeMappings) {
-      for (DDiagramElement element : getCache(context::getDiagramElements, nodeMapping)) {
+      for (DDiagramElement element : context.getDiagramElements(nodeMapping)) {
         if (!(element instanceof EdgeTarget)) {
           continue;
         }
@@ -3081,7 +3099,7 @@ public class ABServices {
 
     nodeMappings = context.getMappings(MappingConstantsHelper.getMappingABPorts(context.getDDiagram()));
     for (DiagramElementMapping nodeMapping : nodeMappings) {
-      for (DDiagramElement element : getCache(context::getDiagramElements, nodeMapping)) {
+      for (DDiagramElement element : context.getDiagramElements(nodeMapping)) {
         if (!(element instanceof EdgeTarget)) {
           continue;
         }
@@ -3149,7 +3149,7 @@ public class CsServices {
           EObject src = getSourcePart(relatedExchange);
           if (src == null) {
             semantics.addAll(
-                getCache(ComponentExt::getRepresentingParts, ComponentExchangeExt.getSourceComponent(relatedExchange)));
+                ComponentExt.getRepresentingParts_cached.get(ComponentExchangeExt.getSourceComponent(relatedExchange)));
           } else {
             semantics.add(src);
           }
@@ -3157,7 +3157,7 @@ public class CsServices {
           EObject target = getTargetPart(relatedExchange);
           if (target == null) {
             semantics.addAll(
-                getCache(ComponentExt::getRepresentingParts, ComponentExchangeExt.getTargetComponent(relatedExchange)));
+                ComponentExt.getRepresentingParts_cached.get(ComponentExchangeExt.getTargetComponent(relatedExchange)));
           } else {
             semantics.add(src);
           }
@@ -4925,7 +4925,7 @@ public class CsServices {
           contextualParts.add(contextualElement);
 
         } else if (contextualElement instanceof Component) {
-          Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, (Component) contextualElement);
+          Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get((Component) contextualElement);
           contextualParts.addAll(parts);
 
         } else if (contextualElement instanceof Part) {
@@ -6816,8 +6816,7 @@ public class CsServices {
           result.add(source);
         }
         if (source.eContainer() instanceof Component) {
-          Collection<Part> representingParts = getCache(ComponentExt::getRepresentingParts,
-              (Component) source.eContainer());
+          Collection<Part> representingParts = ComponentExt.getRepresentingParts_cached.get((Component) source.eContainer());
           if (!representingParts.isEmpty()) {
             Part portParent = representingParts.iterator().next();
             result.addAll(getVisibleEdgeEnds(diagram, portParent, false));
@@ -6879,7 +6878,7 @@ public class CsServices {
 
   private void addRelevantParts(DDiagram diagram, Part mainPart, List<DeploymentTarget> toHandle) {
     if (mainPart.eContainer() instanceof Component) {
-      for (Part parentPart : getCache(ComponentExt::getRepresentingParts, (Component) mainPart.eContainer())) {
+      for (Part parentPart : ComponentExt.getRepresentingParts_cached.get((Component) mainPart.eContainer())) {
         Collection<DSemanticDecorator> diagramElements = DiagramServices.getDiagramServices()
             .getDiagramElements(diagram, parentPart);
         int foundCount = 0;
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -1896,7 +1894,7 @@ public class DiagramServices {
    */
   public void removeNodeWithoutEdges(DDiagramContents context, AbstractNodeMapping nodeMapping) {
     Collection<DNode> toRemoveNodes = new HashSet<>();
-    for (DDiagramElement element : getCache(context::getDiagramElements, nodeMapping)) {
+    for (DDiagramElement element : context.getDiagramElements(nodeMapping)) {
       if (element instanceof DNode && !isNodeEdged((DNode) element)) {
         toRemoveNodes.add((DNode) element);
       }
@@ -12,13 +12,13 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.cache;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.sirius.diagram.DEdge;
 import org.eclipse.sirius.viewpoint.RGBValues;
 import org.eclipse.swt.graphics.Image;
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.ScopedCache;
 
 /**
  * 
@@ -26,40 +26,41 @@ import org.eclipse.swt.graphics.Image;
  * Paths or Functional Chains displayed. This cache is only reset on the beforeRefresh of diagram but not in postRefresh
  * because on diagram opening, icons are initialized after diagram refresh (see method
  * {@link org.eclipse.sirius.diagram.ui.tools.internal.editor.DDiagramEditorImpl#initializeGraphicalViewer
- * initializeGraphicalViewer})
+ * initializeGraphicalViewer})<br>
+ * Edges are weakly referenced and their icons and labels are kept per editing domain.
  */
 @SuppressWarnings("restriction")
 public class DEdgeIconCache {
 
   private static DEdgeIconCache instance;
 
-  public static DEdgeIconCache getInstance() {
+  public static synchronized DEdgeIconCache getInstance() {
     if (instance == null) {
       instance = new DEdgeIconCache();
     }
     return instance;
   }
 
-  private Map<DEdge, Image> edge2Icon = new HashMap<>();
-  private Map<DEdge, String> edge2Label = new HashMap<>();
+  private final ScopedCache<DEdge, Image> edge2Icon = new ScopedCache<>(edge -> null);
+  private final ScopedCache<DEdge, String> edge2Label = new ScopedCache<>(edge -> null);
 
   private DEdgeIconCache() {
   }
 
   public Image setIcon(DEdge plEdge, List<RGBValues> colors) {
-    return edge2Icon.computeIfAbsent(plEdge, k -> PieIconCache.getInstance().getIcon(colors));
+    return edge2Icon.get(plEdge, k -> PieIconCache.getInstance().getIcon(colors));
   }
   
   public Image getIcon(DEdge plEdge) {
-    return edge2Icon.get(plEdge);
+    return edge2Icon.peek(plEdge);
   }
 
   public String setLabel(DEdge plEdge, String label) {
-    return edge2Label.computeIfAbsent(plEdge, k -> label);
+    return edge2Label.get(plEdge, k -> label);
   }
 
   public String getLabel(DEdge plEdge) {
-    return edge2Label.get(plEdge);
+    return edge2Label.peek(plEdge);
   }
   
   public void reset() {
@@ -68,10 +69,24 @@ public class DEdgeIconCache {
   }
   
   public void removeIcon(DEdge dEdge) {
-    edge2Icon.remove(dEdge);
+    edge2Icon.invalidate(dEdge);
   }
   
   public void removeLabel(DEdge dEdge) {
-    edge2Label.remove(dEdge);
+    edge2Label.invalidate(dEdge);
+  }
+
+  /**
+   * @return the statistics of the icons.
+   */
+  public CacheStatistics getIconStatistics() {
+    return edge2Icon.getStatistics();
+  }
+
+  /**
+   * @return the statistics of the labels.
+   */
+  public CacheStatistics getLabelStatistics() {
+    return edge2Label.getStatistics();
   }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 THALES GLOBAL SERVICES.
+ * Copyright (c) 2019, 2023 THALES GLOBAL SERVICES.
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,42 +12,99 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.cache;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.ScopedCache;
 import org.polarsys.capella.core.data.fa.FunctionalChain;
+import org.polarsys.capella.core.data.fa.FunctionalChainInvolvement;
+import org.polarsys.capella.core.model.helpers.FunctionalChainExt;
 import org.polarsys.capella.core.model.helpers.graph.InternalLinksGraph;
 import org.polarsys.capella.core.model.helpers.graph.InvolvementGraph;
 
+/**
+ * A cache of the graphs of the functional chains, kept per editing domain.<br>
+ * The graphs of a chain are removed when the chain, one of the chains it references, one of their involvements or one
+ * of the involved elements changes. Graphs of unchanged chains are thus kept across diagram refreshes.
+ */
 public class FunctionalChainCache {
 
   private static FunctionalChainCache instance;
 
-  public static FunctionalChainCache getInstance() {
+  public static synchronized FunctionalChainCache getInstance() {
     if (instance == null) {
       instance = new FunctionalChainCache();
     }
     return instance;
   }
 
-  private Map<FunctionalChain, InvolvementGraph> involvmentGraphs = new HashMap<>();
+  private final ScopedCache<FunctionalChain, InvolvementGraph> involvementGraphs = new ScopedCache<>(
+      InvolvementGraph::new, FunctionalChainCache::getDependencies);
 
-  private Map<InvolvementGraph, InternalLinksGraph> internalLinksGraphs = new HashMap<>();
+  private final ScopedCache<FunctionalChain, InternalLinksGraph> internalLinksGraphs = new ScopedCache<>(
+      chain -> new InternalLinksGraph(getInvolvementGraph(chain)), FunctionalChainCache::getDependencies);
 
   private FunctionalChainCache() {
   }
 
+  /**
+   * @param chain
+   * @return the elements the graphs of the given chain are computed from.
+   */
+  protected static Collection<Object> getDependencies(FunctionalChain chain) {
+    Set<Object> dependencies = new LinkedHashSet<>();
+    dependencies.add(chain);
+    for (FunctionalChainInvolvement involvement : FunctionalChainExt.getFlatInvolvements(chain)) {
+      // The owner of an involvement of a referenced chain
+      dependencies.add(involvement.eContainer());
+      if (involvement.getInvolved() != null) {
+        dependencies.add(involvement.getInvolved());
+      }
+    }
+    return dependencies;
+  }
+
   public InvolvementGraph getInvolvementGraph(FunctionalChain chain) {
-    return involvmentGraphs.computeIfAbsent(chain, InvolvementGraph::new);
+    return involvementGraphs.get(chain);
   }
 
   public InternalLinksGraph getInternalLinksGraph(InvolvementGraph graph) {
-    return internalLinksGraphs.computeIfAbsent(graph, InternalLinksGraph::new);
+    return internalLinksGraphs.get(graph.getSemantic(), chain -> new InternalLinksGraph(graph));
+  }
+
+  /**
+   * Remove the graphs of the given chain.
+   * 
+   * @param chain
+   */
+  public void invalidate(FunctionalChain chain) {
+    involvementGraphs.invalidate(chain);
+    internalLinksGraphs.invalidate(chain);
   }
 
+  /**
+   * Remove the graphs of all the chains. Graphs are already removed when their chain changes, this is only needed when
+   * a change is not notified.
+   */
   public void reset() {
-    involvmentGraphs.clear();
+    involvementGraphs.clear();
     internalLinksGraphs.clear();
   }
 
+  /**
+   * @return the statistics of the involvement graphs.
+   */
+  public CacheStatistics getInvolvementGraphStatistics() {
+    return involvementGraphs.getStatistics();
+  }
+
+  /**
+   * @return the statistics of the internal links graphs.
+   */
+  public CacheStatistics getInternalLinksGraphStatistics() {
+    return internalLinksGraphs.getStatistics();
+  }
+
 }
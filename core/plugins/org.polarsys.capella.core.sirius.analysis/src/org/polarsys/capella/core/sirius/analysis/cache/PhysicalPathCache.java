@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 THALES GLOBAL SERVICES.
+ * Copyright (c) 2021, 2023 THALES GLOBAL SERVICES.
  * 
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -12,42 +12,99 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.cache;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.ScopedCache;
 import org.polarsys.capella.core.data.cs.PhysicalPath;
+import org.polarsys.capella.core.data.cs.PhysicalPathInvolvement;
+import org.polarsys.capella.core.model.helpers.PhysicalPathExt;
 import org.polarsys.capella.core.model.helpers.graph.PhysicalPathInternalLinksGraph;
 import org.polarsys.capella.core.model.helpers.graph.PhysicalPathInvolvementGraph;
 
+/**
+ * A cache of the graphs of the physical paths, kept per editing domain.<br>
+ * The graphs of a path are removed when the path, one of the paths it references, one of their involvements or one of
+ * the involved elements changes. Graphs of unchanged paths are thus kept across diagram refreshes.
+ */
 public class PhysicalPathCache {
 
   private static PhysicalPathCache instance;
 
-  public static PhysicalPathCache getInstance() {
+  public static synchronized PhysicalPathCache getInstance() {
     if (instance == null) {
       instance = new PhysicalPathCache();
     }
     return instance;
   }
 
-  private Map<PhysicalPath, PhysicalPathInvolvementGraph> involvementGraphs = new HashMap<>();
+  private final ScopedCache<PhysicalPath, PhysicalPathInvolvementGraph> involvementGraphs = new ScopedCache<>(
+      PhysicalPathInvolvementGraph::new, PhysicalPathCache::getDependencies);
 
-  private Map<PhysicalPathInvolvementGraph, PhysicalPathInternalLinksGraph> internalLinksGraphs = new HashMap<>();
+  private final ScopedCache<PhysicalPath, PhysicalPathInternalLinksGraph> internalLinksGraphs = new ScopedCache<>(
+      path -> new PhysicalPathInternalLinksGraph(getInvolvementGraph(path)), PhysicalPathCache::getDependencies);
 
   private PhysicalPathCache() {
   }
 
+  /**
+   * @param path
+   * @return the elements the graphs of the given path are computed from.
+   */
+  protected static Collection<Object> getDependencies(PhysicalPath path) {
+    Set<Object> dependencies = new LinkedHashSet<>();
+    dependencies.add(path);
+    for (PhysicalPathInvolvement involvement : PhysicalPathExt.getFlatInvolvements(path)) {
+      // The owner of an involvement of a referenced path
+      dependencies.add(involvement.eContainer());
+      if (involvement.getInvolved() != null) {
+        dependencies.add(involvement.getInvolved());
+      }
+    }
+    return dependencies;
+  }
+
   public PhysicalPathInvolvementGraph getInvolvementGraph(PhysicalPath path) {
-    return involvementGraphs.computeIfAbsent(path, PhysicalPathInvolvementGraph::new);
+    return involvementGraphs.get(path);
   }
 
   public PhysicalPathInternalLinksGraph getInternalLinksGraph(PhysicalPathInvolvementGraph graph) {
-    return internalLinksGraphs.computeIfAbsent(graph, PhysicalPathInternalLinksGraph::new);
+    return internalLinksGraphs.get(graph.getSemantic(), path -> new PhysicalPathInternalLinksGraph(graph));
+  }
+
+  /**
+   * Remove the graphs of the given path.
+   * 
+   * @param path
+   */
+  public void invalidate(PhysicalPath path) {
+    involvementGraphs.invalidate(path);
+    internalLinksGraphs.invalidate(path);
   }
 
+  /**
+   * Remove the graphs of all the paths. Graphs are already removed when their path changes, this is only needed when
+   * a change is not notified.
+   */
   public void reset() {
     involvementGraphs.clear();
     internalLinksGraphs.clear();
   }
 
+  /**
+   * @return the statistics of the involvement graphs.
+   */
+  public CacheStatistics getInvolvementGraphStatistics() {
+    return involvementGraphs.getStatistics();
+  }
+
+  /**
+   * @return the statistics of the internal links graphs.
+   */
+  public CacheStatistics getInternalLinksGraphStatistics() {
+    return internalLinksGraphs.getStatistics();
+  }
+
 }
@@ -27,6 +27,8 @@ import java.util.stream.Stream;
 
 import org.eclipse.emf.ecore.EObject;
 import org.polarsys.capella.common.helpers.cache.Cache;
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.ScopedCache;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.interaction.AbstractEnd;
 import org.polarsys.capella.core.data.interaction.AbstractFragment;
@@ -69,14 +71,16 @@ public class ScenarioCache {
   private Map<InteractionFragment, TimeLapse> interactionFragmentToTimeLapseCache = new ConcurrentHashMap<>();
 
   /**
-   * Cache for ChildExecution -> ParentExecution and StateFragment -> ParentExecution.
+   * Cache for ChildExecution -> ParentExecution and StateFragment -> ParentExecution, weakly keyed per editing domain.
    */
-  private Map<EObject, Collection<EObject>> semanticCandidatesCache = new ConcurrentHashMap<>();
+  private final ScopedCache<EObject, Collection<EObject>> semanticCandidatesCache = new ScopedCache<>(
+      element -> null);
 
   /**
-   * Cache for InstanceRole -> semantic candidate structure.
+   * Cache for InstanceRole -> semantic candidate structure, weakly keyed per editing domain.
    */
-  private Map<InstanceRole, List<SemanticCandidateContext>> instanceRoleToSemanticCandidateContextsCache = new ConcurrentHashMap<>();
+  private final ScopedCache<InstanceRole, List<SemanticCandidateContext>> instanceRoleToSemanticCandidateContextsCache = new ScopedCache<>(
+      this::computeInstanceRoleSemanticCandidateContextStructure);
 
   /**
    * Cache for InteractionOperand -> OperandContext(CombinedFragment, OperandEnd).
@@ -97,7 +101,7 @@ public class ScenarioCache {
   /**
    * @return ScenarioCache
    */
-  public static ScenarioCache getInstance() {
+  public static synchronized ScenarioCache getInstance() {
     if (instance == null) {
       instance = new ScenarioCache();
     }
@@ -134,7 +138,7 @@ public class ScenarioCache {
    * @return List<SemanticCandidateContext>
    */
   public List<SemanticCandidateContext> getInstanceRoleToSemanticCandidateContextCache(InstanceRole instanceRole) {
-    return instanceRoleToSemanticCandidateContextsCache.get(instanceRole);
+    return instanceRoleToSemanticCandidateContextsCache.peek(instanceRole);
   }
 
   /**
@@ -169,7 +173,7 @@ public class ScenarioCache {
    * @return Collection<EObject>
    */
   public Collection<EObject> getSemanticCandidatesFromCache(EObject capellaElement) {
-    return semanticCandidatesCache.get(capellaElement);
+    return semanticCandidatesCache.peek(capellaElement);
   }
 
   /**
@@ -241,17 +245,24 @@ public class ScenarioCache {
    * @return List<SemanticCandidateContext>
    */
   public List<SemanticCandidateContext> getSemanticCandidateContexts(InstanceRole instanceRole) {
+    if (isRefreshCacheEnabled()) {
+      return instanceRoleToSemanticCandidateContextsCache.get(instanceRole);
+    }
     List<SemanticCandidateContext> semanticCandidateContexts = getInstanceRoleToSemanticCandidateContextCache(
         instanceRole);
     if (semanticCandidateContexts == null) {
       semanticCandidateContexts = computeInstanceRoleSemanticCandidateContextStructure(instanceRole);
-      if (isRefreshCacheEnabled()) {
-        putInstanceRoleToSemanticCandidateContextsCache(instanceRole, semanticCandidateContexts);
-      }
     }
     return semanticCandidateContexts;
   }
 
+  /**
+   * @return the statistics of the semantic candidate structures of the instance roles.
+   */
+  public CacheStatistics getSemanticCandidateContextsStatistics() {
+    return instanceRoleToSemanticCandidateContextsCache.getStatistics();
+  }
+
   /**
    * Compute structure for combined fragment and operand if needed and put it in cache.
    *
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.queries.interactionServices;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -45,7 +43,7 @@ public class GetISScopeInsertActors__Lib extends AbstractQuery {
       EObject correspondingInput = QueryExt.getCorrespondingElementInLibrary(element, (CapellaModel) library);
       List<Component> actors = QueryInterpretor.executeQuery(QueryIdentifierConstants.GET_ALL_ACTORS, correspondingInput, context);
       for (Component actor : actors) {
-        result.addAll(getCache(ComponentExt::getRepresentingParts, actor));
+        result.addAll(ComponentExt.getRepresentingParts_cached.get(actor));
       }
     }
     return result;
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.queries.interactionServices;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -47,7 +45,7 @@ public class GetISScopeInsertComponents__Lib extends AbstractQuery {
       List<Component> components = QueryInterpretor.executeQuery(QueryIdentifierConstants.GET_ALL_COMPONENTS, correspondingInput, context);
       components = QueryInterpretor.executeFilter(components, new RemoveActorsFilter());
       for (Component component : components) {
-        result.addAll(getCache(ComponentExt::getRepresentingParts, component));
+        result.addAll(ComponentExt.getRepresentingParts_cached.get(component));
       }
     }
     return result;
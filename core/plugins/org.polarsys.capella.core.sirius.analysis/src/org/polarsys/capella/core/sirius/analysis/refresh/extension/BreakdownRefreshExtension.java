@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.sirius.diagram.AbstractDNode;
@@ -39,6 +40,15 @@ import org.polarsys.capella.core.sirius.analysis.DiagramServices;
  */
 public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtension {
 
+  /**
+   * Functions given to the model cache, created once so that their results are shared between calls.
+   */
+  private final Function<DDiagramElement, Boolean> directlyCollapsed = this::isDirectlyCollapsed;
+
+  private final Function<DDiagramElement, Boolean> collapsedParent = this::isCollapsedParent;
+
+  private final Function<EObject, Collection<EObject>> containers = this::getContainers;
+
   /**
    * @see org.eclipse.sirius.business.api.refresh.IRefreshExtension#beforeRefresh(org.eclipse.sirius.DDiagram)
    */
@@ -65,12 +75,12 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
    */
   private boolean isCollapsedParent(DDiagramElement parent) {
 
-    if (!getCache(this::isDirectlyCollapsed, parent)) {
+    if (!getCache(directlyCollapsed, parent)) {
       if (parent instanceof EdgeTarget) {
         EdgeTarget edgeTarget = (EdgeTarget) parent;
         for (DEdge edge : edgeTarget.getIncomingEdges()) {
           if (edge.getSourceNode() instanceof DDiagramElement) {
-            if (getCache(this::isDirectlyCollapsed, (DDiagramElement) edge.getSourceNode())) {
+            if (getCache(directlyCollapsed, (DDiagramElement) edge.getSourceNode())) {
               return true;
             }
           }
@@ -114,7 +124,7 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
     for (DDiagramElement element : DiagramServices.getDiagramServices().getDiagramElements(diagram)) {
       if (element instanceof AbstractDNode) {
 
-        boolean elementIsCollapsed = getCache(this::isDirectlyCollapsed, element);
+        boolean elementIsCollapsed = getCache(directlyCollapsed, element);
 
         LinkedList<EObject> parents = new LinkedList<>();
         LinkedList<EObject> visitedObjects = new LinkedList<>();
@@ -123,7 +133,7 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
 
         if (target != null) {
 
-          parents.addAll(getCache(this::getContainers, target));
+          parents.addAll(getCache(containers, target));
 
           // for all semantic parents which are not collapsed, find if element needs to be
           // fold or unfold.
@@ -135,9 +145,9 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
 
               if (viewParent instanceof DDiagramElement) {
 
-                boolean parentIsDirectlyCollapsed = getCache(this::isDirectlyCollapsed, (DDiagramElement) viewParent);
+                boolean parentIsDirectlyCollapsed = getCache(directlyCollapsed, (DDiagramElement) viewParent);
 
-                boolean parentIsUndirectlyCollapsed = getCache(this::isCollapsedParent, (DDiagramElement) viewParent);
+                boolean parentIsUndirectlyCollapsed = getCache(collapsedParent, (DDiagramElement) viewParent);
 
                 // specific rules
                 if (elementIsCollapsed && !parentIsDirectlyCollapsed) {
@@ -162,7 +172,7 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
 
               if (targetParent != null) {
 
-                parents.addAll(getCache(this::getContainers, targetParent));
+                parents.addAll(getCache(containers, targetParent));
 
               }
 
@@ -180,7 +190,7 @@ public class BreakdownRefreshExtension extends AbstractCacheAwareRefreshExtensio
 
       if (parents.size() > 1) {
         boolean contains = false;
-        for (EObject semanticParent : getCache(this::getContainers, element.getTarget())) {
+        for (EObject semanticParent : getCache(containers, element.getTarget())) {
           if (parents.contains(semanticParent)) {
             contains = true;
           }
@@ -55,8 +55,6 @@ import org.polarsys.capella.core.sirius.analysis.IDiagramNameConstants;
 import org.polarsys.capella.core.sirius.analysis.IMappingNameConstants;
 import org.polarsys.capella.core.sirius.analysis.PhysicalServices;
 import org.polarsys.capella.core.sirius.analysis.cache.DEdgeIconCache;
-import org.polarsys.capella.core.sirius.analysis.cache.FunctionalChainCache;
-import org.polarsys.capella.core.sirius.analysis.cache.PhysicalPathCache;
 import org.polarsys.capella.core.sirius.analysis.constants.IFilterNameConstants;
 import org.polarsys.capella.core.sirius.analysis.constants.MappingConstantsHelper;
 import org.polarsys.capella.core.sirius.analysis.helpers.FilterHelper;
@@ -75,8 +73,6 @@ public class ComponentArchitectureBlankRefreshExtension extends AbstractCacheAwa
   public void beforeRefresh(DDiagram diagram) {
     super.beforeRefresh(diagram);
 
-    FunctionalChainCache.getInstance().reset();
-    PhysicalPathCache.getInstance().reset();
     DDiagram openingDiagram = DiagramServices.getDiagramServices().getOpeningDiagram();
     // Avoid resetting the icon cache if it's not on the diagram currently being opened
     if (openingDiagram == null || openingDiagram == diagram) {
@@ -492,8 +488,6 @@ public class ComponentArchitectureBlankRefreshExtension extends AbstractCacheAwa
           .error(Messages.RefreshExtension_ErrorOnUpdatePhysicalPathStyle, e);
     }
 
-    FunctionalChainCache.getInstance().reset();
-    PhysicalPathCache.getInstance().reset();
     super.postRefresh(diagram);
   }
 
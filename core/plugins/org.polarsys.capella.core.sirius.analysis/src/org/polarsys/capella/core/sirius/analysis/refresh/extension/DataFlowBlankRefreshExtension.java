@@ -31,7 +31,6 @@ import org.polarsys.capella.core.sirius.analysis.DiagramServices;
 import org.polarsys.capella.core.sirius.analysis.FaServices;
 import org.polarsys.capella.core.sirius.analysis.FunctionalChainServices;
 import org.polarsys.capella.core.sirius.analysis.cache.DEdgeIconCache;
-import org.polarsys.capella.core.sirius.analysis.cache.FunctionalChainCache;
 
 /**
  *
@@ -45,7 +44,6 @@ public class DataFlowBlankRefreshExtension extends AbstractCacheAwareRefreshExte
   public void beforeRefresh(DDiagram diagram) {
     super.beforeRefresh(diagram);
 
-    FunctionalChainCache.getInstance().reset();
     DDiagram openingDiagram = DiagramServices.getDiagramServices().getOpeningDiagram();
     // Avoid resetting the icon cache if it's not on the diagram currently being opened
     if (openingDiagram == null || openingDiagram == diagram) {
@@ -104,8 +102,6 @@ public class DataFlowBlankRefreshExtension extends AbstractCacheAwareRefreshExte
       Logger.getLogger(IReportManagerDefaultComponents.DIAGRAM).error(Messages.RefreshExtension_ErrorOnUpdateFunctionalChainStyle, e);
     }
 
-    FunctionalChainCache.getInstance().reset();
-    
     super.postRefresh(diagram);
   }
 
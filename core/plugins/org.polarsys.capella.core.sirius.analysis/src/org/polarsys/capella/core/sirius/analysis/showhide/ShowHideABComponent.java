@@ -81,7 +81,7 @@ public class ShowHideABComponent extends AbstractShowHide {
 
     if (lastContext.getValue() instanceof Entity) {
       Entity entity = (Entity) lastContext.getValue();
-      Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, entity);
+      Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(entity);
       if (parts.size() > 0) {
         EObject targetContainer = EcoreUtil2.getFirstContainer(parts.iterator().next(), CsPackage.Literals.COMPONENT);
         if (targetContainer instanceof Entity) {
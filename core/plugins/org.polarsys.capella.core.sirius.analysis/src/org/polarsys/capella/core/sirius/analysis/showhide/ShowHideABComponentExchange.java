@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.showhide;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 
 import org.eclipse.emf.ecore.EObject;
@@ -110,7 +108,7 @@ public class ShowHideABComponentExchange extends ShowHideFunctionalExchange {
 
     } else if (lastContext.getValue() instanceof ComponentPort) {
       ComponentPort port = (ComponentPort) lastContext.getValue();
-      value.putAll(CONTAINER, (Collection<EObject>) (Collection<? extends EObject>) getCache(ComponentExt::getRepresentingParts, PortExt.getRelatedComponent(port)));
+      value.putAll(CONTAINER, (Collection<EObject>) (Collection<? extends EObject>) ComponentExt.getRepresentingParts_cached.get(PortExt.getRelatedComponent(port)));
     }
 
     return value;
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.showhide;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 
 import org.eclipse.emf.ecore.EObject;
@@ -69,7 +67,7 @@ public class ShowHideABPhysicalLink extends ShowHideABComponentExchange {
 
     } else if (lastContext.getValue() instanceof PhysicalPort) {
       PhysicalPort port = (PhysicalPort) lastContext.getValue();
-      value.putAll(CONTAINER, (Collection<EObject>) (Collection<? extends EObject>) getCache(ComponentExt::getRepresentingParts, PortExt.getRelatedComponent(port)));
+      value.putAll(CONTAINER, (Collection<EObject>) (Collection<? extends EObject>) ComponentExt.getRepresentingParts_cached.get(PortExt.getRelatedComponent(port)));
     }
 
     return value;
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.analysis.showhide;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -74,7 +72,7 @@ public class ShowHideFunction extends ShowHideABRole {
           } else if (block instanceof Role) {
             result.add((Role) block);
           } else if (block instanceof Component) {
-            result.addAll(getCache(ComponentExt::getRepresentingParts, (Component) block));
+            result.addAll(ComponentExt.getRepresentingParts_cached.get((Component) block));
           }
         }
 
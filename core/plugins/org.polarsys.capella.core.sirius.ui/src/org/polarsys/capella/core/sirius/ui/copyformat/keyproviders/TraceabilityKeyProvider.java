@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.sirius.ui.copyformat.keyproviders;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -76,7 +74,7 @@ public class TraceabilityKeyProvider implements IKeyProvider {
         for (AbstractTrace trace : ((TraceableElement) (((Part) semantic).getAbstractType())).getOutgoingTraces()) {
           if (isRealizationLink(trace)) {
             keys.add(new CapellaTraceabilityFormatDataKey(mKey, trace.getTargetElement()));
-            for (Part part : getCache(ComponentExt::getRepresentingParts, (Component) trace.getTargetElement())) {
+            for (Part part : ComponentExt.getRepresentingParts_cached.get((Component) trace.getTargetElement())) {
               keys.add(new CapellaTraceabilityFormatDataKey(mKey, part));
             }
           }
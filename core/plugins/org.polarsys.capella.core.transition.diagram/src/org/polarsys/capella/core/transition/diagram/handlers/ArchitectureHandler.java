@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.transition.diagram.handlers;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -156,7 +154,7 @@ public class ArchitectureHandler extends AbstractDiagramHandler {
     ArrayList<EObject> objects = new ArrayList<EObject>();
     for (EObject resut : result) {
       if (result instanceof Component) {
-        for (Part part : getCache(ComponentExt::getRepresentingParts, (Component) result)) {
+        for (Part part : ComponentExt.getRepresentingParts_cached.get((Component) result)) {
           objects.add(part);
           break;
         }
@@ -12,11 +12,13 @@
  *******************************************************************************/
 package org.polarsys.capella.core.transition.system.topdown.commands;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
 import org.polarsys.capella.core.data.cs.Component;
 import org.polarsys.capella.core.data.cs.ComponentPkg;
@@ -31,14 +33,73 @@ import org.polarsys.capella.core.model.helpers.ComponentPkgExt;
 import org.polarsys.capella.core.transition.common.commands.LauncherCommand;
 import org.polarsys.capella.core.transition.common.launcher.DefaultLauncher;
 import org.polarsys.capella.core.transition.system.topdown.constants.ITopDownConstants;
+import org.polarsys.capella.core.transition.system.topdown.incremental.TransitionChangeJournal;
 import org.polarsys.capella.core.transition.system.topdown.launcher.HeadlessIntramodelLauncher;
 
 public class IntramodelTransitionCommand extends LauncherCommand {
 
+  /**
+   * System property enabling the incremental mode by default.
+   */
+  public static final String INCREMENTAL_PROPERTY = "org.polarsys.capella.core.transition.incremental"; //$NON-NLS-1$
+
+  private boolean incremental = Boolean.getBoolean(INCREMENTAL_PROPERTY);
+
   public IntramodelTransitionCommand(Collection<?> selection, IProgressMonitor progressMonitor) {
     super(selection, progressMonitor);
   }
 
+  /**
+   * In incremental mode, once the selected elements have been completely transitioned, only the elements modified
+   * since then are transitioned again (see {@link TransitionChangeJournal}).
+   * 
+   * @param incremental
+   */
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public boolean isIncremental() {
+    return incremental;
+  }
+
+  @Override
+  protected void performTransformation(Collection<?> elements) {
+    Collection<EObject> roots = new ArrayList<>();
+    for (Object element : elements) {
+      if (element instanceof EObject) {
+        roots.add((EObject) element);
+      }
+    }
+    TransitionChangeJournal journal = !incremental || roots.isEmpty() ? null
+        : TransitionChangeJournal.getJournal(roots.iterator().next());
+    if (journal == null) {
+      super.performTransformation(elements);
+      return;
+    }
+
+    String kind = getTransitionKind();
+    if (!journal.hasBaseline(kind, roots)) {
+      super.performTransformation(elements);
+      journal.transitioned(kind, roots);
+      return;
+    }
+
+    Collection<EObject> modified = journal.consumeModifiedElements(kind, roots);
+    if (modified.isEmpty()) {
+      return;
+    }
+    boolean done = false;
+    try {
+      super.performTransformation(modified);
+      done = true;
+    } finally {
+      if (!done) {
+        journal.modified(kind, modified);
+      }
+    }
+  }
+
   @Override
   public String getName() {
     return "Capella Transition";
@@ -0,0 +1,468 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.transition.system.topdown.incremental;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionListener;
+import org.eclipse.sirius.business.api.session.SessionManager;
+import org.eclipse.sirius.business.api.session.SessionStatus;
+import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
+import org.polarsys.capella.common.data.modellingcore.TraceableElement;
+import org.polarsys.capella.core.data.cs.BlockArchitecture;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.helpers.BlockArchitectureExt;
+import org.polarsys.capella.core.transition.system.topdown.Activator;
+
+/**
+ * Journal of the source elements modified since they were last transitioned, by transition kind, so that a transition
+ * can be replayed on them only.<br>
+ * Changes are collected from the transactions committed on the editing domain of the session. Elements added to the
+ * model are recorded with their whole sub-tree. Modified elements are replayed through their nearest container already
+ * realized by a previous transition, i.e. the nearest element that is the source of a realization link created by
+ * {@link org.polarsys.capella.core.transition.system.handlers.traceability.RealizationLinkTraceabilityHandler}.<br>
+ * A kind of transition can only be replayed incrementally on the sub-trees it has completely transitioned once (see
+ * {@link #hasBaseline(String, Collection)}). The journal is saved in the state location of the plug-in along with the
+ * session, and is only reloaded if the semantic resources have not been modified by another mean since then.
+ */
+public class TransitionChangeJournal extends ResourceSetListenerImpl implements SessionListener {
+
+  private static final Map<Session, TransitionChangeJournal> JOURNALS = new HashMap<>();
+
+  private static final String JOURNAL_FOLDER = "journals"; //$NON-NLS-1$
+
+  private static final String JOURNAL_EXTENSION = ".properties"; //$NON-NLS-1$
+
+  private static final String SESSION_KEY = "session"; //$NON-NLS-1$
+
+  private static final String STAMP_PREFIX = "stamp."; //$NON-NLS-1$
+
+  private static final String BASELINE_PREFIX = "baseline."; //$NON-NLS-1$
+
+  private static final String MODIFIED_PREFIX = "modified."; //$NON-NLS-1$
+
+  private static final String ID_SEPARATOR = " "; //$NON-NLS-1$
+
+  private final Session session;
+
+  /**
+   * Identifiers of the roots of the sub-trees completely transitioned, by transition kind.
+   */
+  private final Map<String, Set<String>> baselines = new HashMap<>();
+
+  /**
+   * Identifiers of the elements modified since the last transition, by transition kind having a baseline. Only the
+   * elements inside the baseline of the kind are recorded, as the other ones are never transitioned by this kind.
+   */
+  private final Map<String, Set<String>> modifiedElements = new HashMap<>();
+
+  private TransitionChangeJournal(Session session) {
+    super(NotificationFilter.NOT_TOUCH);
+    this.session = session;
+  }
+
+  /**
+   * Get the journal of the given session, creating it and loading its saved state if needed.
+   *
+   * @param session
+   * @return the journal
+   */
+  public static synchronized TransitionChangeJournal getJournal(Session session) {
+    TransitionChangeJournal journal = JOURNALS.get(session);
+    if (journal == null) {
+      journal = new TransitionChangeJournal(session);
+      // Changes made before the creation of the journal are unknown
+      if (session.getStatus() != SessionStatus.DIRTY) {
+        journal.load();
+      }
+      JOURNALS.put(session, journal);
+      session.getTransactionalEditingDomain().addResourceSetListener(journal);
+      session.addListener(journal);
+    }
+    return journal;
+  }
+
+  /**
+   * Get the journal of the session of the given element.
+   *
+   * @param element
+   * @return <code>null</code> if the element does not belong to a session.
+   */
+  public static TransitionChangeJournal getJournal(EObject element) {
+    Session session = SessionManager.INSTANCE.getSession(element);
+    return session == null ? null : getJournal(session);
+  }
+
+  @Override
+  public boolean isPostcommitOnly() {
+    return true;
+  }
+
+  @Override
+  public void resourceSetChanged(ResourceSetChangeEvent event) {
+    Set<EObject> modified = new LinkedHashSet<>();
+    for (Notification notification : event.getNotifications()) {
+      Object notifier = notification.getNotifier();
+      if (isSemanticElement(notifier)) {
+        record((EObject) notifier, false, modified);
+        if (notification.getFeature() instanceof EReference) {
+          recordValue(notification.getOldValue(), false, modified);
+          recordValue(notification.getNewValue(), ((EReference) notification.getFeature()).isContainment(),
+              modified);
+        }
+      } else if (notifier instanceof Resource
+          && notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+        recordValue(notification.getNewValue(), true, modified);
+      }
+    }
+    if (!modified.isEmpty()) {
+      synchronized (this) {
+        for (Map.Entry<String, Set<String>> elements : modifiedElements.entrySet()) {
+          Set<String> baseline = baselines.get(elements.getKey());
+          for (EObject element : modified) {
+            String id = EcoreUtil.getID(element);
+            if (id != null && isInBaseline(baseline, element)) {
+              elements.getValue().add(id);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private void recordValue(Object value, boolean added, Set<EObject> modified) {
+    if (isSemanticElement(value)) {
+      record((EObject) value, added, modified);
+    } else if (value instanceof Collection<?>) {
+      for (Object element : (Collection<?>) value) {
+        recordValue(element, added, modified);
+      }
+    }
+  }
+
+  private void record(EObject element, boolean added, Set<EObject> modified) {
+    modified.add(element);
+    if (added) {
+      for (Iterator<EObject> contents = element.eAllContents(); contents.hasNext();) {
+        modified.add(contents.next());
+      }
+    }
+  }
+
+  private boolean isSemanticElement(Object object) {
+    return object instanceof EObject && ((EObject) object).eResource() != null
+        && CapellaResourceHelper.isCapellaResource(((EObject) object).eResource());
+  }
+
+  /**
+   * @param kind
+   *          a transition kind
+   * @param roots
+   * @return whether each of the given roots is in a sub-tree completely transitioned by the given kind of transition.
+   */
+  public synchronized boolean hasBaseline(String kind, Collection<? extends EObject> roots) {
+    Set<String> baseline = baselines.get(kind);
+    if (baseline == null || roots.isEmpty()) {
+      return false;
+    }
+    for (EObject root : roots) {
+      if (!isInBaseline(baseline, root)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return whether the element is in one of the sub-trees of the given baseline.
+   */
+  private boolean isInBaseline(Set<String> baseline, EObject element) {
+    if (baseline == null) {
+      return false;
+    }
+    for (EObject container = element; container != null; container = container.eContainer()) {
+      if (baseline.contains(EcoreUtil.getID(container))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Notify that the sub-trees of the given roots have been completely transitioned by the given kind of transition. The
+   * modifications recorded inside them are forgotten.
+   *
+   * @param kind
+   * @param roots
+   */
+  public synchronized void transitioned(String kind, Collection<? extends EObject> roots) {
+    Set<String> baseline = baselines.computeIfAbsent(kind, key -> new LinkedHashSet<>());
+    Set<String> modified = modifiedElements.computeIfAbsent(kind, key -> new LinkedHashSet<>());
+    for (EObject root : roots) {
+      String id = EcoreUtil.getID(root);
+      if (id != null) {
+        baseline.add(id);
+      }
+      modified.remove(id);
+      for (Iterator<EObject> contents = root.eAllContents(); contents.hasNext();) {
+        modified.remove(EcoreUtil.getID(contents.next()));
+      }
+    }
+  }
+
+  /**
+   * Retrieve the elements to transition again in the sub-trees of the given roots, and forget them. Each modified
+   * element is replaced by its nearest container (or itself) that has been realized by a previous transition, so that
+   * new elements are transitioned with their container. Elements that are no longer in the model, or no longer in the
+   * baseline of the kind, are forgotten.
+   *
+   * @param kind
+   * @param roots
+   * @return the elements to transition again, in modification order
+   */
+  public Collection<EObject> consumeModifiedElements(String kind, Collection<? extends EObject> roots) {
+    Collection<EObject> modified = new ArrayList<>();
+    synchronized (this) {
+      Set<String> ids = modifiedElements.get(kind);
+      if (ids == null) {
+        return modified;
+      }
+      Set<String> baseline = baselines.get(kind);
+      for (Iterator<String> iterator = ids.iterator(); iterator.hasNext();) {
+        EObject element = getElement(iterator.next());
+        if (element == null || !isInBaseline(baseline, element)) {
+          iterator.remove();
+        } else if (EcoreUtil.isAncestor(roots, element)) {
+          modified.add(element);
+          iterator.remove();
+        }
+      }
+    }
+
+    Set<EObject> result = new LinkedHashSet<>();
+    for (EObject element : modified) {
+      EObject realized = element;
+      while (realized != null && !isRealized(realized)) {
+        realized = realized.eContainer();
+      }
+      result.add(realized != null && EcoreUtil.isAncestor(roots, realized) ? realized : element);
+    }
+    return result;
+  }
+
+  /**
+   * Record the given elements as modified again for the given kind, e.g. when their transition has failed.
+   *
+   * @param kind
+   * @param elements
+   */
+  public synchronized void modified(String kind, Collection<? extends EObject> elements) {
+    Set<String> modified = modifiedElements.computeIfAbsent(kind, key -> new LinkedHashSet<>());
+    for (EObject element : elements) {
+      String id = EcoreUtil.getID(element);
+      if (id != null) {
+        modified.add(id);
+      }
+    }
+  }
+
+  /**
+   * @return whether the element is the source of a realization link from another architecture.
+   */
+  protected boolean isRealized(EObject element) {
+    if (!(element instanceof TraceableElement)) {
+      return false;
+    }
+    BlockArchitecture architecture = BlockArchitectureExt.getRootBlockArchitecture(element);
+    for (AbstractTrace trace : ((TraceableElement) element).getIncomingTraces()) {
+      // Realization links are inverted: the source of the trace is the realizing element
+      TraceableElement realizing = trace.getSourceElement();
+      if (realizing != null && trace.getTargetElement() == element
+          && BlockArchitectureExt.getRootBlockArchitecture(realizing) != architecture) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private EObject getElement(String id) {
+    for (Resource resource : session.getSemanticResources()) {
+      EObject element = resource.getEObject(id);
+      if (element != null) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void notify(int changeKind) {
+    if (changeKind == SessionListener.SYNC) {
+      save();
+    } else if (changeKind == SessionListener.CLOSING) {
+      dispose();
+    }
+  }
+
+  /**
+   * Stop recording the changes and release the journal. Its state is not saved.
+   */
+  public void dispose() {
+    synchronized (TransitionChangeJournal.class) {
+      JOURNALS.remove(session);
+    }
+    session.removeListener(this);
+    TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+    if (domain != null) {
+      domain.removeResourceSetListener(this);
+    }
+    synchronized (this) {
+      baselines.clear();
+      modifiedElements.clear();
+    }
+  }
+
+  /**
+   * @return the file of the journal, named after the session resource.
+   */
+  protected File getFile() {
+    Activator activator = Activator.getDefault();
+    if (activator == null || session.getSessionResource() == null) {
+      return null;
+    }
+    String name = Integer.toHexString(session.getSessionResource().getURI().toString().hashCode());
+    return activator.getStateLocation().append(JOURNAL_FOLDER).append(name + JOURNAL_EXTENSION).toFile();
+  }
+
+  /**
+   * Save the journal with the time stamps of the semantic resources, so that it is discarded if they are modified
+   * outside of the session.
+   */
+  protected void save() {
+    File file = getFile();
+    if (file == null) {
+      return;
+    }
+    Properties properties = new Properties();
+    properties.setProperty(SESSION_KEY, session.getSessionResource().getURI().toString());
+    for (Map.Entry<URI, Long> stamp : getTimeStamps().entrySet()) {
+      properties.setProperty(STAMP_PREFIX + stamp.getKey(), String.valueOf(stamp.getValue()));
+    }
+    synchronized (this) {
+      for (Map.Entry<String, Set<String>> baseline : baselines.entrySet()) {
+        properties.setProperty(BASELINE_PREFIX + baseline.getKey(), String.join(ID_SEPARATOR, baseline.getValue()));
+      }
+      for (Map.Entry<String, Set<String>> modified : modifiedElements.entrySet()) {
+        properties.setProperty(MODIFIED_PREFIX + modified.getKey(), String.join(ID_SEPARATOR, modified.getValue()));
+      }
+    }
+    file.getParentFile().mkdirs();
+    try (OutputStream output = new FileOutputStream(file)) {
+      properties.store(output, null);
+    } catch (IOException e) {
+      log(e);
+    }
+  }
+
+  /**
+   * Load the saved journal, unless it belongs to another session or a semantic resource has been modified since then.
+   */
+  protected void load() {
+    File file = getFile();
+    if (file == null || !file.isFile()) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (InputStream input = new FileInputStream(file)) {
+      properties.load(input);
+    } catch (IOException e) {
+      log(e);
+      return;
+    }
+    if (!session.getSessionResource().getURI().toString().equals(properties.getProperty(SESSION_KEY))) {
+      return;
+    }
+    Map<URI, Long> stamps = getTimeStamps();
+    int savedStamps = 0;
+    for (String key : properties.stringPropertyNames()) {
+      if (key.startsWith(STAMP_PREFIX)) {
+        savedStamps++;
+        Long stamp = stamps.get(URI.createURI(key.substring(STAMP_PREFIX.length())));
+        if (stamp == null || !String.valueOf(stamp).equals(properties.getProperty(key))) {
+          return;
+        }
+      }
+    }
+    if (savedStamps != stamps.size()) {
+      return;
+    }
+    for (String key : properties.stringPropertyNames()) {
+      if (key.startsWith(BASELINE_PREFIX)) {
+        baselines.put(key.substring(BASELINE_PREFIX.length()), split(properties.getProperty(key)));
+      } else if (key.startsWith(MODIFIED_PREFIX)) {
+        modifiedElements.put(key.substring(MODIFIED_PREFIX.length()), split(properties.getProperty(key)));
+      }
+    }
+  }
+
+  private Set<String> split(String ids) {
+    Set<String> result = new LinkedHashSet<>();
+    if (!ids.isEmpty()) {
+      result.addAll(Arrays.asList(ids.split(ID_SEPARATOR)));
+    }
+    return result;
+  }
+
+  private Map<URI, Long> getTimeStamps() {
+    Map<URI, Long> stamps = new HashMap<>();
+    for (Resource resource : session.getSemanticResources()) {
+      URIConverter converter = resource.getResourceSet() != null ? resource.getResourceSet().getURIConverter()
+          : URIConverter.INSTANCE;
+      Object stamp = converter.getAttributes(resource.getURI(), null).get(URIConverter.ATTRIBUTE_TIME_STAMP);
+      stamps.put(resource.getURI(), stamp instanceof Long ? (Long) stamp : Long.valueOf(-1));
+    }
+    return stamps;
+  }
+
+  private void log(Exception e) {
+    Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.PLUGIN_ID, e.getMessage(), e));
+  }
+}
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.transition.system.topdown.rules.la.lc2pc;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 
 import org.eclipse.core.runtime.IStatus;
@@ -70,6 +68,14 @@ public class PartRule extends org.polarsys.capella.core.transition.system.rules.
     return BlockArchitectureExt.getComponentPkg(target);
   }
 
+  /**
+   * The transformation can create the system of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     Part part = (Part) element;
@@ -107,7 +113,7 @@ public class PartRule extends org.polarsys.capella.core.transition.system.rules.
       BlockArchitecture target =
           (BlockArchitecture) TransformationHandlerHelper.getInstance(context).getBestTracedElement(root, context, CsPackage.Literals.BLOCK_ARCHITECTURE);
       Component cps = BlockArchitectureExt.getOrCreateSystem(target);
-      Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, cps);
+      Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(cps);
       if (!parts.isEmpty()) {
         return parts.iterator().next();
       }
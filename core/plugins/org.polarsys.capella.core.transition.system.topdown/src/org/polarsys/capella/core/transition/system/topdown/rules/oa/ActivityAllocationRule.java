@@ -87,6 +87,14 @@ public class ActivityAllocationRule extends AllocationRule {
     return FaPackage.Literals.ABSTRACT_FUNCTIONAL_BLOCK__OWNED_FUNCTIONAL_ALLOCATION;
   }
 
+  /**
+   * The transformation registers the allocating entities of the created allocations in the context.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element_p, IContext context_p) {
+    return false;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -83,6 +83,14 @@ public class OperationalActivityPkgRule extends AbstractCapellaElementRule {
     return LaPackage.Literals.CAPABILITY_REALIZATION_PKG__OWNED_CAPABILITY_REALIZATION_PKGS;
   }
 
+  /**
+   * The transformation retrieves the capability package of the target architecture, which may create it.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element_p, IContext context_p) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element_p, IContext context_p) {
 
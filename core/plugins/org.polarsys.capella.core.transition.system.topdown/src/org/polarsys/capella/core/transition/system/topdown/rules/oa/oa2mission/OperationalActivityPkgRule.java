@@ -73,6 +73,14 @@ public class OperationalActivityPkgRule extends AbstractCapellaElementRule {
     return CtxPackage.Literals.MISSION_PKG__OWNED_MISSION_PKGS;
   }
 
+  /**
+   * The transformation retrieves the mission package of the target architecture, which may create it.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element_p, IContext context_p) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element_p, IContext context_p) {
 
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.transition.system.topdown.rules.oa.oe2system;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import java.util.Collection;
 
 import org.eclipse.emf.ecore.EClass;
@@ -42,6 +40,14 @@ public class PartRule extends org.polarsys.capella.core.transition.system.rules.
     return null;
   }
 
+  /**
+   * The transformation retrieves, or creates, the system of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element_p, IContext context_p) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element_p, IContext context_p) {
     EObject root = TransformationHandlerHelper.getInstance(context_p).getLevelElement(element_p, context_p);
@@ -49,7 +55,7 @@ public class PartRule extends org.polarsys.capella.core.transition.system.rules.
     BlockArchitecture target = (BlockArchitecture) TransformationHandlerHelper.getInstance(context_p)
         .getBestTracedElement(root, context_p, CsPackage.Literals.BLOCK_ARCHITECTURE);
     Component cps = BlockArchitectureExt.getOrCreateSystem(target);
-    Collection<Part> parts = getCache(ComponentExt::getRepresentingParts, cps);
+    Collection<Part> parts = ComponentExt.getRepresentingParts_cached.get(cps);
     if (!parts.isEmpty()) {
       return parts.iterator().next();
     }
@@ -12,8 +12,6 @@
  *******************************************************************************/
 package org.polarsys.capella.core.transition.system.handlers.merge;
 
-import static org.polarsys.capella.common.helpers.cache.ModelCache.getCache;
-
 import org.eclipse.emf.diffmerge.diffdata.EElementPresence;
 import org.eclipse.emf.diffmerge.generic.api.IMatch;
 import org.eclipse.emf.diffmerge.generic.api.Role;
@@ -48,7 +46,7 @@ public class PartPropagationCategoryFilter extends CategoryFilter {
       ExtendedComparison comparison = (ExtendedComparison) context.get(ITransitionConstants.MERGE_COMPARISON);
       EObject target = presence.getElementMatch().get(Role.REFERENCE);
       if (target instanceof Component) {
-        for (Part part : getCache(ComponentExt::getRepresentingParts, (Component) target)) {
+        for (Part part : ComponentExt.getRepresentingParts_cached.get((Component) target)) {
           IMatch match = comparison.getMapping().getMatchFor(part, Role.REFERENCE);
           if (match != null) {
             EElementPresence matchPresence = (EElementPresence) match.getElementPresenceDifference();
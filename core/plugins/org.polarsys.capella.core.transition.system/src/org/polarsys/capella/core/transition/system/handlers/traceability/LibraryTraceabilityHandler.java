@@ -15,11 +15,14 @@ package org.polarsys.capella.core.transition.system.handlers.traceability;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.polarsys.capella.common.libraries.ILibraryManager;
 import org.polarsys.capella.common.libraries.IModel;
 import org.polarsys.capella.core.transition.common.constants.ITransitionConstants;
@@ -31,6 +34,7 @@ public class LibraryTraceabilityHandler implements ITraceabilityHandler2 {
   public static final String TRANSITION_SOURCE_ROOT_MODEL = "TRANSITION_SOURCE_ROOT_MODEL";
   public static final String TRANSITION_TARGET_ROOT_MODEL = "TRANSITION_TARGET_ROOT_MODEL";
   public static final String TRANSITION_TRANSFORMATION_ROOT_MODEL = "TRANSITION_TRANSFORMATION_ROOT_MODEL";
+  public static final String LIBRARY_RESOURCES = "LIBRARY_RESOURCES";
 
   /**
    * {@inheritDoc}
@@ -41,6 +45,21 @@ public class LibraryTraceabilityHandler implements ITraceabilityHandler2 {
   }
 
   public static boolean isLibraryElement(EObject source, IContext context) {
+    Resource resource = source.eResource();
+    if (resource == null) {
+      return isLibraryModelElement(source, context);
+    }
+
+    // Elements of a resource belong to the same model, computed once per context
+    if (!context.exists(LIBRARY_RESOURCES)) {
+      context.put(LIBRARY_RESOURCES, new ConcurrentHashMap<Resource, Boolean>());
+    }
+    Map<Resource, Boolean> libraryResources = (Map<Resource, Boolean>) context.get(LIBRARY_RESOURCES);
+    return libraryResources.computeIfAbsent(resource, key -> Boolean.valueOf(isLibraryModelElement(source, context)))
+        .booleanValue();
+  }
+
+  private static boolean isLibraryModelElement(EObject source, IContext context) {
 
     IModel sourceModel = null;
     if (!context.exists(TRANSITION_SOURCE_ROOT_MODEL)) {
@@ -15,9 +15,11 @@ package org.polarsys.capella.core.transition.system.handlers.traceability;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.emf.common.util.EList;
@@ -73,6 +75,9 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
   // A map to store which eClass to create according to source/target elements
   public static final String MAPPING_MAP = "_mPp";
 
+  // The mappings of MAPPING_MAP indexed by source and target eClasses
+  public static final String MAPPING_INDEX = "_mPpI";
+
   // All created realization links while transformation
   public static final String REALISATION_LINKS = "_rL";
   public static final String REALISATION_LINKS_UNATTACHED = "_rLu";
@@ -142,6 +147,15 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
       return target.equals(targetElement.eClass());
     }
 
+    /**
+     * @return whether {@link #isValidSource(EObject, IContext)} and {@link #isValidTarget(EObject, IContext)} only
+     *         accept elements whose eClass is exactly the source and target eClasses, so that the mapping can be looked
+     *         up by them. By default, mappings are tested for every element.
+     */
+    public boolean isIndexed() {
+      return false;
+    }
+
     public boolean match(AbstractTrace trace, IContext context) {
       EObject sourceElement = trace.getTargetElement(); // link is inverted
       EObject targetElement = trace.getSourceElement();
@@ -204,6 +218,60 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
 
   };
 
+  /**
+   * A mapping accepting only elements whose eClass is exactly its source and target eClasses, which can thus be looked
+   * up by them.
+   */
+  protected class IndexedRealizationLinkMapping extends RealizationLinkMapping {
+
+    public IndexedRealizationLinkMapping(EClass source, EClass target, EClass realizationLink,
+        EStructuralFeature feature) {
+      super(source, target, realizationLink, feature);
+    }
+
+    @Override
+    public boolean isIndexed() {
+      return true;
+    }
+  }
+
+  /**
+   * The mappings of a context by source eClass, target eClass and (source, target) eClasses, in their declaration
+   * order. Each entry is computed on first lookup and also holds the mappings that are not indexed.
+   */
+  protected class RealizationLinkMappingIndex {
+
+    private final Collection<RealizationLinkMapping> mappings;
+
+    private final Map<EClass, List<RealizationLinkMapping>> bySource = new ConcurrentHashMap<>();
+
+    private final Map<EClass, List<RealizationLinkMapping>> byTarget = new ConcurrentHashMap<>();
+
+    private final Map<EClass, Map<EClass, List<RealizationLinkMapping>>> bySourceAndTarget = new ConcurrentHashMap<>();
+
+    public RealizationLinkMappingIndex(Collection<RealizationLinkMapping> mappings) {
+      this.mappings = mappings;
+    }
+
+    public List<RealizationLinkMapping> getBySource(EClass source) {
+      return bySource.computeIfAbsent(source,
+          key -> mappings.stream().filter(link -> !link.isIndexed() || link.source == key)
+              .collect(Collectors.toList()));
+    }
+
+    public List<RealizationLinkMapping> getByTarget(EClass target) {
+      return byTarget.computeIfAbsent(target,
+          key -> mappings.stream().filter(link -> !link.isIndexed() || link.target == key)
+              .collect(Collectors.toList()));
+    }
+
+    public List<RealizationLinkMapping> get(EClass source, EClass target) {
+      return bySourceAndTarget.computeIfAbsent(source, key -> new ConcurrentHashMap<>()).computeIfAbsent(target,
+          key -> getBySource(source).stream().filter(link -> !link.isIndexed() || link.target == key)
+              .collect(Collectors.toList()));
+    }
+  }
+
   private String _realizationIdentifier = null;
 
   public RealizationLinkTraceabilityHandler(String identifier) {
@@ -269,7 +337,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
       iContext1.put(MAPPING_MAP, mapping);
 
       // miscellaneous realizations
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.INTERFACE, CsPackage.Literals.INTERFACE,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.INTERFACE, CsPackage.Literals.INTERFACE,
           PaPackage.Literals.LOGICAL_INTERFACE_REALIZATION,
           CsPackage.Literals.INTERFACE_ALLOCATOR__OWNED_INTERFACE_ALLOCATIONS) {
         @Override
@@ -278,7 +346,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
         }
       });
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.INTERFACE, CsPackage.Literals.INTERFACE,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.INTERFACE, CsPackage.Literals.INTERFACE,
           LaPackage.Literals.CONTEXT_INTERFACE_REALIZATION,
           CsPackage.Literals.INTERFACE_ALLOCATOR__OWNED_INTERFACE_ALLOCATIONS) {
         @Override
@@ -287,179 +355,197 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
         }
       });
 
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.COMPONENT_EXCHANGE,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.COMPONENT_EXCHANGE,
           FaPackage.Literals.COMPONENT_EXCHANGE, FaPackage.Literals.COMPONENT_EXCHANGE_REALIZATION,
           FaPackage.Literals.COMPONENT_EXCHANGE__OWNED_COMPONENT_EXCHANGE_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.PHYSICAL_LINK, CsPackage.Literals.PHYSICAL_LINK,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.PHYSICAL_LINK, CsPackage.Literals.PHYSICAL_LINK,
           CsPackage.Literals.PHYSICAL_LINK_REALIZATION,
           CsPackage.Literals.PHYSICAL_LINK__OWNED_PHYSICAL_LINK_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.PHYSICAL_PATH, CsPackage.Literals.PHYSICAL_PATH,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.PHYSICAL_PATH, CsPackage.Literals.PHYSICAL_PATH,
           CsPackage.Literals.PHYSICAL_PATH_REALIZATION,
           CsPackage.Literals.PHYSICAL_PATH__OWNED_PHYSICAL_PATH_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.COMMUNICATION_MEAN,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.COMMUNICATION_MEAN,
           FaPackage.Literals.COMPONENT_EXCHANGE, FaPackage.Literals.COMPONENT_EXCHANGE_REALIZATION,
           FaPackage.Literals.COMPONENT_EXCHANGE__OWNED_COMPONENT_EXCHANGE_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.FUNCTIONAL_EXCHANGE,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.FUNCTIONAL_EXCHANGE,
           FaPackage.Literals.FUNCTIONAL_EXCHANGE, FaPackage.Literals.FUNCTIONAL_EXCHANGE_REALIZATION,
           FaPackage.Literals.FUNCTIONAL_EXCHANGE__OWNED_FUNCTIONAL_EXCHANGE_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.COMPONENT_EXCHANGE,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.COMPONENT_EXCHANGE,
           FaPackage.Literals.FUNCTIONAL_EXCHANGE, FaPackage.Literals.COMPONENT_EXCHANGE_FUNCTIONAL_EXCHANGE_ALLOCATION,
           FaPackage.Literals.COMPONENT_EXCHANGE__OWNED_COMPONENT_EXCHANGE_FUNCTIONAL_EXCHANGE_ALLOCATIONS));
 
-      mapping.add(new RealizationLinkMapping(InformationPackage.Literals.PORT, InformationPackage.Literals.PORT,
+      mapping.add(new IndexedRealizationLinkMapping(InformationPackage.Literals.PORT, InformationPackage.Literals.PORT,
           InformationPackage.Literals.PORT_REALIZATION, InformationPackage.Literals.PORT__OWNED_PORT_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.COMPONENT_PORT, FaPackage.Literals.COMPONENT_PORT,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.COMPONENT_PORT,
+          FaPackage.Literals.COMPONENT_PORT,
           InformationPackage.Literals.PORT_REALIZATION, InformationPackage.Literals.PORT__OWNED_PORT_REALIZATIONS));
 
       // scenario realizations
-      mapping.add(new RealizationLinkMapping(InteractionPackage.Literals.SCENARIO, InteractionPackage.Literals.SCENARIO,
+      mapping.add(new IndexedRealizationLinkMapping(InteractionPackage.Literals.SCENARIO,
+          InteractionPackage.Literals.SCENARIO,
           InteractionPackage.Literals.SCENARIO_REALIZATION,
           InteractionPackage.Literals.SCENARIO__OWNED_SCENARIO_REALIZATION));
 
       // capability realizations
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.OPERATIONAL_CAPABILITY, CtxPackage.Literals.CAPABILITY,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.OPERATIONAL_CAPABILITY,
+          CtxPackage.Literals.CAPABILITY,
           InteractionPackage.Literals.ABSTRACT_CAPABILITY_REALIZATION,
           InteractionPackage.Literals.ABSTRACT_CAPABILITY__OWNED_ABSTRACT_CAPABILITY_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CtxPackage.Literals.CAPABILITY, LaPackage.Literals.CAPABILITY_REALIZATION,
+      mapping.add(new IndexedRealizationLinkMapping(CtxPackage.Literals.CAPABILITY,
+          LaPackage.Literals.CAPABILITY_REALIZATION,
           InteractionPackage.Literals.ABSTRACT_CAPABILITY_REALIZATION,
           InteractionPackage.Literals.ABSTRACT_CAPABILITY__OWNED_ABSTRACT_CAPABILITY_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(LaPackage.Literals.CAPABILITY_REALIZATION,
+      mapping.add(new IndexedRealizationLinkMapping(LaPackage.Literals.CAPABILITY_REALIZATION,
           LaPackage.Literals.CAPABILITY_REALIZATION, InteractionPackage.Literals.ABSTRACT_CAPABILITY_REALIZATION,
           InteractionPackage.Literals.ABSTRACT_CAPABILITY__OWNED_ABSTRACT_CAPABILITY_REALIZATIONS));
 
       // state machine realizations
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.CHOICE_PSEUDO_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.CHOICE_PSEUDO_STATE,
           CapellacommonPackage.Literals.CHOICE_PSEUDO_STATE, CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.FORK_PSEUDO_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.FORK_PSEUDO_STATE,
           CapellacommonPackage.Literals.FORK_PSEUDO_STATE, CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.INITIAL_PSEUDO_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.INITIAL_PSEUDO_STATE,
           CapellacommonPackage.Literals.INITIAL_PSEUDO_STATE, CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.JOIN_PSEUDO_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.JOIN_PSEUDO_STATE,
           CapellacommonPackage.Literals.JOIN_PSEUDO_STATE, CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.TERMINATE_PSEUDO_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.TERMINATE_PSEUDO_STATE,
           CapellacommonPackage.Literals.TERMINATE_PSEUDO_STATE,
           CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.FINAL_STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.FINAL_STATE,
           CapellacommonPackage.Literals.FINAL_STATE, CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.MODE, CapellacommonPackage.Literals.MODE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.MODE,
+          CapellacommonPackage.Literals.MODE,
           CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.STATE, CapellacommonPackage.Literals.STATE,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.STATE,
+          CapellacommonPackage.Literals.STATE,
           CapellacommonPackage.Literals.ABSTRACT_STATE_REALIZATION,
           CapellacommonPackage.Literals.ABSTRACT_STATE__OWNED_ABSTRACT_STATE_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.STATE_TRANSITION,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.STATE_TRANSITION,
           CapellacommonPackage.Literals.STATE_TRANSITION, CapellacommonPackage.Literals.STATE_TRANSITION_REALIZATION,
           CapellacommonPackage.Literals.STATE_TRANSITION__OWNED_STATE_TRANSITION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.CHANGE_EVENT,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.CHANGE_EVENT,
           CapellacommonPackage.Literals.CHANGE_EVENT, CapellacommonPackage.Literals.STATE_EVENT_REALIZATION,
           CapellacommonPackage.Literals.STATE_EVENT__OWNED_STATE_EVENT_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CapellacommonPackage.Literals.TIME_EVENT,
+      mapping.add(new IndexedRealizationLinkMapping(CapellacommonPackage.Literals.TIME_EVENT,
           CapellacommonPackage.Literals.TIME_EVENT, CapellacommonPackage.Literals.STATE_EVENT_REALIZATION,
           CapellacommonPackage.Literals.STATE_EVENT__OWNED_STATE_EVENT_REALIZATIONS));
 
       // functional chain realizations
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.OPERATIONAL_PROCESS,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.OPERATIONAL_PROCESS,
           FaPackage.Literals.FUNCTIONAL_CHAIN, FaPackage.Literals.FUNCTIONAL_CHAIN_REALIZATION,
           FaPackage.Literals.FUNCTIONAL_CHAIN__OWNED_FUNCTIONAL_CHAIN_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.FUNCTIONAL_CHAIN, FaPackage.Literals.FUNCTIONAL_CHAIN,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.FUNCTIONAL_CHAIN,
+          FaPackage.Literals.FUNCTIONAL_CHAIN,
           FaPackage.Literals.FUNCTIONAL_CHAIN_REALIZATION,
           FaPackage.Literals.FUNCTIONAL_CHAIN__OWNED_FUNCTIONAL_CHAIN_REALIZATIONS));
 
       // information realizations
-      mapping.add(new RealizationLinkMapping(DatatypePackage.Literals.BOOLEAN_TYPE,
+      mapping.add(new IndexedRealizationLinkMapping(DatatypePackage.Literals.BOOLEAN_TYPE,
           DatatypePackage.Literals.BOOLEAN_TYPE, InformationPackage.Literals.INFORMATION_REALIZATION,
           DatatypePackage.Literals.DATA_TYPE__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(DatatypePackage.Literals.ENUMERATION, DatatypePackage.Literals.ENUMERATION,
+      mapping.add(new IndexedRealizationLinkMapping(DatatypePackage.Literals.ENUMERATION,
+          DatatypePackage.Literals.ENUMERATION,
           InformationPackage.Literals.INFORMATION_REALIZATION,
           DatatypePackage.Literals.DATA_TYPE__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(DatatypePackage.Literals.NUMERIC_TYPE,
+      mapping.add(new IndexedRealizationLinkMapping(DatatypePackage.Literals.NUMERIC_TYPE,
           DatatypePackage.Literals.NUMERIC_TYPE, InformationPackage.Literals.INFORMATION_REALIZATION,
           DatatypePackage.Literals.DATA_TYPE__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(DatatypePackage.Literals.PHYSICAL_QUANTITY,
+      mapping.add(new IndexedRealizationLinkMapping(DatatypePackage.Literals.PHYSICAL_QUANTITY,
           DatatypePackage.Literals.PHYSICAL_QUANTITY, InformationPackage.Literals.INFORMATION_REALIZATION,
           DatatypePackage.Literals.DATA_TYPE__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(DatatypePackage.Literals.STRING_TYPE, DatatypePackage.Literals.STRING_TYPE,
+      mapping.add(new IndexedRealizationLinkMapping(DatatypePackage.Literals.STRING_TYPE,
+          DatatypePackage.Literals.STRING_TYPE,
           InformationPackage.Literals.INFORMATION_REALIZATION,
           DatatypePackage.Literals.DATA_TYPE__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(InformationPackage.Literals.CLASS, InformationPackage.Literals.CLASS,
+      mapping.add(new IndexedRealizationLinkMapping(InformationPackage.Literals.CLASS,
+          InformationPackage.Literals.CLASS,
           InformationPackage.Literals.INFORMATION_REALIZATION,
           InformationPackage.Literals.CLASS__OWNED_INFORMATION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(InformationPackage.Literals.EXCHANGE_ITEM,
+      mapping.add(new IndexedRealizationLinkMapping(InformationPackage.Literals.EXCHANGE_ITEM,
           InformationPackage.Literals.EXCHANGE_ITEM, InformationPackage.Literals.INFORMATION_REALIZATION,
           InformationPackage.Literals.EXCHANGE_ITEM__OWNED_INFORMATION_REALIZATIONS));
 
       // function realizations
-      mapping.add(new RealizationLinkMapping(FaPackage.Literals.ABSTRACT_FUNCTION, FaPackage.Literals.ABSTRACT_FUNCTION,
+      mapping.add(new IndexedRealizationLinkMapping(FaPackage.Literals.ABSTRACT_FUNCTION,
+          FaPackage.Literals.ABSTRACT_FUNCTION,
           FaPackage.Literals.FUNCTION_REALIZATION, FaPackage.Literals.ABSTRACT_FUNCTION__OWNED_FUNCTION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.OPERATIONAL_ACTIVITY,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.OPERATIONAL_ACTIVITY,
           CtxPackage.Literals.SYSTEM_FUNCTION, FaPackage.Literals.FUNCTION_REALIZATION,
           FaPackage.Literals.ABSTRACT_FUNCTION__OWNED_FUNCTION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CtxPackage.Literals.SYSTEM_FUNCTION, LaPackage.Literals.LOGICAL_FUNCTION,
+      mapping.add(new IndexedRealizationLinkMapping(CtxPackage.Literals.SYSTEM_FUNCTION,
+          LaPackage.Literals.LOGICAL_FUNCTION,
           FaPackage.Literals.FUNCTION_REALIZATION, FaPackage.Literals.ABSTRACT_FUNCTION__OWNED_FUNCTION_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(LaPackage.Literals.LOGICAL_FUNCTION, PaPackage.Literals.PHYSICAL_FUNCTION,
+      mapping.add(new IndexedRealizationLinkMapping(LaPackage.Literals.LOGICAL_FUNCTION,
+          PaPackage.Literals.PHYSICAL_FUNCTION,
           FaPackage.Literals.FUNCTION_REALIZATION, FaPackage.Literals.ABSTRACT_FUNCTION__OWNED_FUNCTION_REALIZATIONS));
       mapping.add(
-          new RealizationLinkMapping(FaPackage.Literals.FUNCTION_INPUT_PORT, FaPackage.Literals.FUNCTION_INPUT_PORT,
+          new IndexedRealizationLinkMapping(FaPackage.Literals.FUNCTION_INPUT_PORT,
+              FaPackage.Literals.FUNCTION_INPUT_PORT,
               InformationPackage.Literals.PORT_REALIZATION, InformationPackage.Literals.PORT__OWNED_PORT_REALIZATIONS));
       mapping.add(
-          new RealizationLinkMapping(FaPackage.Literals.FUNCTION_OUTPUT_PORT, FaPackage.Literals.FUNCTION_OUTPUT_PORT,
+          new IndexedRealizationLinkMapping(FaPackage.Literals.FUNCTION_OUTPUT_PORT,
+              FaPackage.Literals.FUNCTION_OUTPUT_PORT,
               InformationPackage.Literals.PORT_REALIZATION, InformationPackage.Literals.PORT__OWNED_PORT_REALIZATIONS));
 
       // component realizations
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.COMPONENT, CsPackage.Literals.COMPONENT,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.COMPONENT, CsPackage.Literals.COMPONENT,
           CsPackage.Literals.COMPONENT_REALIZATION,
           CsPackage.Literals.COMPONENT__OWNED_COMPONENT_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.ENTITY, CtxPackage.Literals.SYSTEM_COMPONENT,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.ENTITY, CtxPackage.Literals.SYSTEM_COMPONENT,
           CsPackage.Literals.COMPONENT_REALIZATION,
           CsPackage.Literals.COMPONENT__OWNED_COMPONENT_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(CtxPackage.Literals.SYSTEM_COMPONENT, LaPackage.Literals.LOGICAL_COMPONENT,
+      mapping.add(new IndexedRealizationLinkMapping(CtxPackage.Literals.SYSTEM_COMPONENT,
+          LaPackage.Literals.LOGICAL_COMPONENT,
           CsPackage.Literals.COMPONENT_REALIZATION,
           CsPackage.Literals.COMPONENT__OWNED_COMPONENT_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(LaPackage.Literals.LOGICAL_COMPONENT, PaPackage.Literals.PHYSICAL_COMPONENT,
+      mapping.add(new IndexedRealizationLinkMapping(LaPackage.Literals.LOGICAL_COMPONENT,
+          PaPackage.Literals.PHYSICAL_COMPONENT,
           CsPackage.Literals.COMPONENT_REALIZATION,
           CsPackage.Literals.COMPONENT__OWNED_COMPONENT_REALIZATIONS));
-      mapping.add(new RealizationLinkMapping(PaPackage.Literals.PHYSICAL_COMPONENT, EpbsPackage.Literals.CONFIGURATION_ITEM,
+      mapping.add(new IndexedRealizationLinkMapping(PaPackage.Literals.PHYSICAL_COMPONENT,
+          EpbsPackage.Literals.CONFIGURATION_ITEM,
           EpbsPackage.Literals.PHYSICAL_ARTIFACT_REALIZATION,
           EpbsPackage.Literals.CONFIGURATION_ITEM__OWNED_PHYSICAL_ARTIFACT_REALIZATIONS));
 
       // Architectures
-      mapping.add(new RealizationLinkMapping(OaPackage.Literals.OPERATIONAL_ANALYSIS,
+      mapping.add(new IndexedRealizationLinkMapping(OaPackage.Literals.OPERATIONAL_ANALYSIS,
           CtxPackage.Literals.SYSTEM_ANALYSIS, CtxPackage.Literals.OPERATIONAL_ANALYSIS_REALIZATION,
           CtxPackage.Literals.SYSTEM_ANALYSIS__OWNED_OPERATIONAL_ANALYSIS_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CtxPackage.Literals.SYSTEM_ANALYSIS,
+      mapping.add(new IndexedRealizationLinkMapping(CtxPackage.Literals.SYSTEM_ANALYSIS,
           LaPackage.Literals.LOGICAL_ARCHITECTURE, LaPackage.Literals.SYSTEM_ANALYSIS_REALIZATION,
           LaPackage.Literals.LOGICAL_ARCHITECTURE__OWNED_SYSTEM_ANALYSIS_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(LaPackage.Literals.LOGICAL_ARCHITECTURE,
+      mapping.add(new IndexedRealizationLinkMapping(LaPackage.Literals.LOGICAL_ARCHITECTURE,
           PaPackage.Literals.PHYSICAL_ARCHITECTURE, PaPackage.Literals.LOGICAL_ARCHITECTURE_REALIZATION,
           PaPackage.Literals.PHYSICAL_ARCHITECTURE__OWNED_LOGICAL_ARCHITECTURE_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(PaPackage.Literals.PHYSICAL_ARCHITECTURE,
+      mapping.add(new IndexedRealizationLinkMapping(PaPackage.Literals.PHYSICAL_ARCHITECTURE,
           EpbsPackage.Literals.EPBS_ARCHITECTURE, EpbsPackage.Literals.PHYSICAL_ARCHITECTURE_REALIZATION,
           EpbsPackage.Literals.EPBS_ARCHITECTURE__OWNED_PHYSICAL_ARCHITECTURE_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.PHYSICAL_PORT, CsPackage.Literals.PHYSICAL_PORT,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.PHYSICAL_PORT, CsPackage.Literals.PHYSICAL_PORT,
           CsPackage.Literals.PHYSICAL_PORT_REALIZATION,
           CsPackage.Literals.PHYSICAL_PORT__OWNED_PHYSICAL_PORT_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.PHYSICAL_PORT, CsPackage.Literals.PHYSICAL_LINK,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.PHYSICAL_PORT, CsPackage.Literals.PHYSICAL_LINK,
           CsPackage.Literals.PHYSICAL_LINK_REALIZATION,
           CsPackage.Literals.PHYSICAL_LINK__OWNED_PHYSICAL_LINK_REALIZATIONS));
 
-      mapping.add(new RealizationLinkMapping(CsPackage.Literals.PHYSICAL_PATH, CsPackage.Literals.PHYSICAL_PATH,
+      mapping.add(new IndexedRealizationLinkMapping(CsPackage.Literals.PHYSICAL_PATH, CsPackage.Literals.PHYSICAL_PATH,
           CsPackage.Literals.PHYSICAL_PATH_REALIZATION,
           CsPackage.Literals.PHYSICAL_PATH__OWNED_PHYSICAL_PATH_REALIZATIONS));
     }
@@ -467,12 +553,27 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
     return (Collection<RealizationLinkMapping>) iContext1.get(MAPPING_MAP);
   }
 
+  /**
+   * @param context
+   * @return the index of the mappings of the context, built once per context.
+   */
+  protected RealizationLinkMappingIndex getMappingIndex(IContext context) {
+    RealizationLinkMappingIndex index = (RealizationLinkMappingIndex) context.get(MAPPING_INDEX);
+    if (index == null) {
+      index = new RealizationLinkMappingIndex(getMappings(context));
+      context.put(MAPPING_INDEX, index);
+    }
+    return index;
+  }
+
   protected Collection<RealizationLinkMapping> getMappingsSource(EObject element, IContext context) {
 
     Collection<RealizationLinkMapping> traces = new LinkedList<RealizationLinkMapping>();
-    for (RealizationLinkMapping link : getMappings(context)) {
-      if (link.isValidSource(element, context)) { // link are inverted
-        traces.add(link);
+    if (element != null) {
+      for (RealizationLinkMapping link : getMappingIndex(context).getBySource(element.eClass())) {
+        if (link.isValidSource(element, context)) { // link are inverted
+          traces.add(link);
+        }
       }
     }
 
@@ -485,9 +586,11 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
   protected Collection<RealizationLinkMapping> getMappingsTarget(EObject element, IContext context) {
 
     Collection<RealizationLinkMapping> traces = new LinkedList<RealizationLinkMapping>();
-    for (RealizationLinkMapping link : getMappings(context)) {
-      if (link.isValidTarget(element, context)) { // link are inverted
-        traces.add(link);
+    if (element != null) {
+      for (RealizationLinkMapping link : getMappingIndex(context).getByTarget(element.eClass())) {
+        if (link.isValidTarget(element, context)) { // link are inverted
+          traces.add(link);
+        }
       }
     }
 
@@ -509,7 +612,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
     List<EObject> elements = new ArrayList<>();
 
     if (targetElement instanceof TraceableElement) {
-      for (AbstractTrace trace : getOutgoingTraces((TraceableElement) targetElement)) {
+      for (AbstractTrace trace : getOutgoingTraces((TraceableElement) targetElement, context)) {
         for (RealizationLinkMapping link : getMappingsTarget(trace.getSourceElement(), context)) {
           if (link.match(trace, context)) {
             elements.add(adaptTracedElement(targetElement, trace.getTargetElement()));// link is inverted
@@ -531,7 +634,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
     List<EObject> elements = new ArrayList<>();
 
     if (sourceElement instanceof TraceableElement) {
-      for (AbstractTrace trace : getIncomingTraces((TraceableElement) sourceElement)) {
+      for (AbstractTrace trace : getIncomingTraces((TraceableElement) sourceElement, context)) {
         for (RealizationLinkMapping link : getMappingsSource(trace.getTargetElement(), context)) {
           if (link.match(trace, context)) {
             elements.add(adaptTracedElement(sourceElement, trace.getSourceElement()));// link is inverted
@@ -573,6 +676,34 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
     return object.getIncomingTraces();
   }
 
+  /**
+   * Same as {@link #getOutgoingTraces(TraceableElement)}, using the trace index of the context.
+   */
+  protected List<AbstractTrace> getOutgoingTraces(TraceableElement object, IContext context) {
+    TraceIndex index = TraceIndex.getInstance(context);
+    if (object instanceof Part && ((Part) object).getType() != null) {
+      ArrayList<AbstractTrace> traces = new ArrayList<>();
+      traces.addAll(index.getOutgoingTraces(object));
+      traces.addAll(index.getOutgoingTraces(((Part) object).getType()));
+      return traces;
+    }
+    return index.getOutgoingTraces(object);
+  }
+
+  /**
+   * Same as {@link #getIncomingTraces(TraceableElement)}, using the trace index of the context.
+   */
+  protected List<AbstractTrace> getIncomingTraces(TraceableElement object, IContext context) {
+    TraceIndex index = TraceIndex.getInstance(context);
+    if (object instanceof Part && ((Part) object).getType() != null) {
+      ArrayList<AbstractTrace> traces = new ArrayList<>();
+      traces.addAll(index.getIncomingTraces(object));
+      traces.addAll(index.getIncomingTraces(((Part) object).getType()));
+      return traces;
+    }
+    return index.getIncomingTraces(object);
+  }
+
   /**
    * Then, from a given element and a element from a trace, we adapt it back to the original type. (From a Component
    * Trace, we return the related Part).
@@ -593,10 +724,11 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
   }
 
   protected RealizationLinkMapping getBestMapping(EObject sourceElement, EObject targetElement, IContext context) {
-    Collection<RealizationLinkMapping> map = getMappings(context);
-
     RealizationLinkMapping mapping = defaultMapping;
-    for (RealizationLinkMapping link : map) {
+    if (sourceElement == null || targetElement == null) {
+      return null;
+    }
+    for (RealizationLinkMapping link : getMappingIndex(context).get(sourceElement.eClass(), targetElement.eClass())) {
       if (link.isValidSource(sourceElement, context) && link.isValidTarget(targetElement, context)
           && link.isValid(sourceElement, targetElement, context)) {
         mapping = link;
@@ -626,6 +758,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
           ((AbstractTrace) link).setSourceElement((TraceableElement) targetElement);
           ((AbstractTrace) link).setTargetElement((TraceableElement) sourceElement);
           getRealizationLinks(context).add((AbstractTrace) link);
+          TraceIndex.getInstance(context).add((AbstractTrace) link);
         }
       }
     }
@@ -678,7 +811,7 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
   @Override
   public void notifyChanged(INotifyChangeEvent event, IContext context) {
 
-    Collection<RealizationLinkMapping> map = getMappings(context);
+    RealizationLinkMappingIndex index = getMappingIndex(context);
 
     for (AbstractTrace realizationLink : getRealizationLinks(context)) {
       EObject sourceElement = realizationLink.getSourceElement();
@@ -686,7 +819,8 @@ public class RealizationLinkTraceabilityHandler extends LinkTraceabilityHandler
 
       EStructuralFeature feature2 = CapellacorePackage.Literals.NAMESPACE__OWNED_TRACES;
 
-      for (RealizationLinkMapping link : map) {
+      // link is inverted
+      for (RealizationLinkMapping link : index.get(targetElement.eClass(), sourceElement.eClass())) {
         if (link.realizationLink.isInstance(realizationLink)) {
           if (link.target.equals(sourceElement.eClass()) && link.source.equals(targetElement.eClass())) {
             feature2 = link.feature;
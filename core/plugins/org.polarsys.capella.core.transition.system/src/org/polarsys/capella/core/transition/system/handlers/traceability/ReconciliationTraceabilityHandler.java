@@ -13,9 +13,15 @@
 
 package org.polarsys.capella.core.transition.system.handlers.traceability;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.polarsys.capella.common.data.modellingcore.AbstractNamedElement;
@@ -171,35 +177,39 @@ public class ReconciliationTraceabilityHandler extends LevelBasedTraceabilityHan
    * @param map
    */
   protected void initializeTraceableElement(TraceableElement source, TraceableElement target, IContext context, LevelMappingTraceability map) {
-    ITraceabilityHandler handler = TraceabilityHandlerHelper.getInstance(context);
+    TraceIndex index = TraceIndex.getInstance(context);
+    initializeAllocations(index.getIncomingTraces(source), index.getIncomingTraces(target), context, map);
+    initializeAllocations(index.getOutgoingTraces(source), index.getOutgoingTraces(target), context, map);
+  }
 
-    for (AbstractTrace sourceTrace : source.getIncomingTraces()) {
-      for (AbstractTrace targetTrace : target.getIncomingTraces()) {
-        if ((sourceTrace.eClass() == targetTrace.eClass()) && (sourceTrace instanceof Allocation) && (targetTrace instanceof Allocation)) {
-          if ((sourceTrace.getSourceElement() != null) && (targetTrace.getSourceElement() != null)) {
-            if ((sourceTrace.getTargetElement() != null) && (targetTrace.getTargetElement() != null)) {
-              if (handler.retrieveTracedElements(sourceTrace.getSourceElement(), context).contains(targetTrace.getSourceElement())) {
-                if (handler.retrieveTracedElements(sourceTrace.getTargetElement(), context).contains(targetTrace.getTargetElement())) {
-                  addMapping(map, sourceTrace, targetTrace, context);
-                }
-              }
-            }
-          }
-        }
+  /**
+   * Map the source allocations to the target allocations of the same eClass whose ends are traced to their ends.
+   * @param sourceTraces
+   * @param targetTraces
+   * @param context
+   * @param map
+   */
+  protected void initializeAllocations(Collection<AbstractTrace> sourceTraces, Collection<AbstractTrace> targetTraces,
+      IContext context, LevelMappingTraceability map) {
+    if (sourceTraces.isEmpty() || targetTraces.isEmpty()) {
+      return;
+    }
+    Map<EClass, List<AbstractTrace>> targetAllocations = new HashMap<>();
+    for (AbstractTrace targetTrace : targetTraces) {
+      if ((targetTrace instanceof Allocation) && (targetTrace.getSourceElement() != null) && (targetTrace.getTargetElement() != null)) {
+        targetAllocations.computeIfAbsent(targetTrace.eClass(), key -> new ArrayList<>()).add(targetTrace);
       }
     }
 
-    for (AbstractTrace sourceTrace : source.getOutgoingTraces()) {
-      for (AbstractTrace targetTrace : target.getOutgoingTraces()) {
-        if ((sourceTrace.eClass() == targetTrace.eClass()) && (sourceTrace instanceof Allocation) && (targetTrace instanceof Allocation)) {
-          if ((sourceTrace.getSourceElement() != null) && (targetTrace.getSourceElement() != null)) {
-            if ((sourceTrace.getTargetElement() != null) && (targetTrace.getTargetElement() != null)) {
-              if (handler.retrieveTracedElements(sourceTrace.getSourceElement(), context).contains(targetTrace.getSourceElement())) {
-                if (handler.retrieveTracedElements(sourceTrace.getTargetElement(), context).contains(targetTrace.getTargetElement())) {
-                  addMapping(map, sourceTrace, targetTrace, context);
-                }
-              }
-            }
+    ITraceabilityHandler handler = TraceabilityHandlerHelper.getInstance(context);
+    for (AbstractTrace sourceTrace : sourceTraces) {
+      List<AbstractTrace> candidates = targetAllocations.get(sourceTrace.eClass());
+      if ((candidates != null) && (sourceTrace instanceof Allocation) && (sourceTrace.getSourceElement() != null) && (sourceTrace.getTargetElement() != null)) {
+        Collection<EObject> tracedSources = handler.retrieveTracedElements(sourceTrace.getSourceElement(), context);
+        Collection<EObject> tracedTargets = handler.retrieveTracedElements(sourceTrace.getTargetElement(), context);
+        for (AbstractTrace targetTrace : candidates) {
+          if (tracedSources.contains(targetTrace.getSourceElement()) && tracedTargets.contains(targetTrace.getTargetElement())) {
+            addMapping(map, sourceTrace, targetTrace, context);
           }
         }
       }
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.transition.system.handlers.traceability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.polarsys.capella.common.data.modellingcore.AbstractTrace;
+import org.polarsys.capella.common.data.modellingcore.TraceableElement;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.transition.common.constants.ITransitionConstants;
+import org.polarsys.capella.core.transition.common.handlers.notify.INotifyChangeEvent;
+import org.polarsys.capella.core.transition.common.handlers.notify.INotifyListener;
+import org.polarsys.capella.core.transition.common.handlers.notify.NotifyHandlerHelper;
+import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IContext;
+
+/**
+ * Index of the incoming and outgoing traces of the elements, shared by the traceability handlers of a transition
+ * context.<br>
+ * The traces of the semantic resources of a resource set are indexed by a single walk of their contents, the first
+ * time a trace of one of its elements is requested, so that traces stored in another fragment or library are found.
+ * Elements outside of any resource are indexed by a walk of their root container. Traces created after the walk must be
+ * added to the index, while traces whose ends have changed since then are ignored. The index is cleared at the end of
+ * the transformation, when realization links are attached.
+ */
+public class TraceIndex implements INotifyListener {
+
+  public static final String TRACE_INDEX = "TRACE_INDEX"; //$NON-NLS-1$
+
+  /**
+   * Indexed resources.
+   */
+  private final Set<Resource> indexedResources = new HashSet<>();
+
+  /**
+   * Roots of the indexed models outside of any resource.
+   */
+  private final Set<EObject> indexedRoots = new HashSet<>();
+
+  /**
+   * Traces targeting an element, by element.
+   */
+  private final Map<TraceableElement, List<AbstractTrace>> incomingTraces = new HashMap<>();
+
+  /**
+   * Traces from an element, by element.
+   */
+  private final Map<TraceableElement, List<AbstractTrace>> outgoingTraces = new HashMap<>();
+
+  /**
+   * Retrieve or create the index of the given context.
+   *
+   * @param context
+   * @return the index
+   */
+  public static TraceIndex getInstance(IContext context) {
+    TraceIndex index = (TraceIndex) context.get(TRACE_INDEX);
+    if (index == null) {
+      index = new TraceIndex();
+      NotifyHandlerHelper.getInstance(context).addListener(ITransitionConstants.NOTIFY__END_TRANSFORMATION, index,
+          context);
+      context.put(TRACE_INDEX, index);
+    }
+    return index;
+  }
+
+  /**
+   * @param element
+   * @return the traces whose target is the given element.
+   */
+  public synchronized List<AbstractTrace> getIncomingTraces(TraceableElement element) {
+    index(element);
+    List<AbstractTrace> traces = incomingTraces.getOrDefault(element, Collections.emptyList());
+    traces.removeIf(trace -> trace.getTargetElement() != element);
+    return traces.isEmpty() ? Collections.emptyList() : new ArrayList<>(traces);
+  }
+
+  /**
+   * @param element
+   * @return the traces whose source is the given element.
+   */
+  public synchronized List<AbstractTrace> getOutgoingTraces(TraceableElement element) {
+    index(element);
+    List<AbstractTrace> traces = outgoingTraces.getOrDefault(element, Collections.emptyList());
+    traces.removeIf(trace -> trace.getSourceElement() != element);
+    return traces.isEmpty() ? Collections.emptyList() : new ArrayList<>(traces);
+  }
+
+  /**
+   * Index a trace created after the walk of its model.
+   *
+   * @param trace
+   */
+  public synchronized void add(AbstractTrace trace) {
+    if (trace.getSourceElement() != null) {
+      outgoingTraces.computeIfAbsent(trace.getSourceElement(), key -> new ArrayList<>()).add(trace);
+    }
+    if (trace.getTargetElement() != null) {
+      incomingTraces.computeIfAbsent(trace.getTargetElement(), key -> new ArrayList<>()).add(trace);
+    }
+  }
+
+  /**
+   * Forget all indexed traces.
+   */
+  public synchronized void clear() {
+    indexedResources.clear();
+    indexedRoots.clear();
+    incomingTraces.clear();
+    outgoingTraces.clear();
+  }
+
+  private void index(EObject element) {
+    Resource resource = element.eResource();
+    if (resource == null) {
+      EObject root = EcoreUtil.getRootContainer(element);
+      if (indexedRoots.add(root)) {
+        if (root instanceof AbstractTrace) {
+          add((AbstractTrace) root);
+        }
+        index(root.eAllContents());
+      }
+
+    } else if (!indexedResources.contains(resource)) {
+      index(resource);
+      if (resource.getResourceSet() != null) {
+        for (Resource other : new ArrayList<>(resource.getResourceSet().getResources())) {
+          if (!indexedResources.contains(other) && CapellaResourceHelper.isCapellaResource(other)) {
+            index(other);
+          }
+        }
+      }
+    }
+  }
+
+  private void index(Resource resource) {
+    indexedResources.add(resource);
+    index(resource.getAllContents());
+  }
+
+  private void index(Iterator<EObject> contents) {
+    while (contents.hasNext()) {
+      EObject content = contents.next();
+      if (content instanceof AbstractTrace) {
+        add((AbstractTrace) content);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void notifyChanged(INotifyChangeEvent event, IContext context) {
+    clear();
+  }
+}
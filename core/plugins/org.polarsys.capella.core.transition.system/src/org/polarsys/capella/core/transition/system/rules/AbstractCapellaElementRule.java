@@ -58,6 +58,15 @@ public abstract class AbstractCapellaElementRule extends AbstractUpdateRule {
     return element.eClass();
   }
 
+  /**
+   * The default transformation only creates a detached element named after the source element. Rules whose
+   * transformation retrieves or modifies elements of the target model must return false.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return true;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     EObject result = super.transformDirectElement(element, context);
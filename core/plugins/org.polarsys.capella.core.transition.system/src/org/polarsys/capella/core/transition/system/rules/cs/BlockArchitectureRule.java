@@ -54,6 +54,14 @@ public class BlockArchitectureRule extends AbstractCapellaElementRule {
     }
   }
 
+  /**
+   * The transformation retrieves and renames the existing architecture of the target model.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     //Retrieve the existing architecture if any
@@ -229,6 +229,14 @@ public class ComponentPkgRule extends AbstractCapellaElementRule {
     return element.eContainingFeature();
   }
 
+  /**
+   * The transformation retrieves, or creates, and renames the component package of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     if (element.eContainer() instanceof BlockArchitecture) {
@@ -79,6 +79,14 @@ public class ComponentRule extends AbstractCapellaElementRule {
     return BlockArchitectureExt.isRootComponent((Component) object);
   }
 
+  /**
+   * The transformation retrieves, or creates, the system of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     if (transformAsRootComponent(element, context)) {
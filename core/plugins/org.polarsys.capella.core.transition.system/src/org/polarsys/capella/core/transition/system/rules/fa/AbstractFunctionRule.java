@@ -166,6 +166,14 @@ public class AbstractFunctionRule extends AbstractCapellaElementRule {
     return bestContainer;
   }
 
+  /**
+   * The transformation retrieves, or creates, and renames the root function of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     EObject root = TransformationHandlerHelper.getInstance(context).getLevelElement(element, context);
@@ -56,6 +56,14 @@ public class DataPkgRule extends AbstractCapellaElementRule {
     }
   }
 
+  /**
+   * The transformation retrieves, or creates, and renames the data package of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     if (element.eContainer() instanceof BlockArchitecture) {
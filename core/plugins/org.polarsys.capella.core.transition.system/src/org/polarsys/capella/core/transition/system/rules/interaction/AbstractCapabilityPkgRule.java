@@ -51,6 +51,14 @@ public class AbstractCapabilityPkgRule extends AbstractCapellaElementRule {
     }
   }
 
+  /**
+   * The transformation retrieves, or creates, and renames the capability package of the target architecture.
+   */
+  @Override
+  public boolean isConcurrentTransformation(EObject element, IContext context) {
+    return false;
+  }
+
   @Override
   protected EObject transformDirectElement(EObject element, IContext context) {
     if (element.eContainer() instanceof BlockArchitecture) {
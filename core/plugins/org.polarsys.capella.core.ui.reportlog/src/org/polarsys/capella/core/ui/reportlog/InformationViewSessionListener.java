@@ -17,9 +17,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.sirius.business.api.session.Session;
@@ -46,13 +44,7 @@ public class InformationViewSessionListener extends SessionManagerListener.Stub
             toDelete.add(marker);
           }
         }
-        for (IMarker marker : toDelete) {
-          try {
-            marker.delete();
-          } catch (CoreException exception) {
-            ReportLogActivator.getDefault().log(IStatus.ERROR, exception.getMessage(), exception);
-          }
-        }
+        LightMarkerRegistry.getInstance().deleteMarkers(toDelete);
       }
     }
   }
@@ -12,7 +12,11 @@
  *******************************************************************************/
 package org.polarsys.capella.core.ui.search;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -23,6 +27,9 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.TransactionHelper;
 import org.polarsys.capella.core.ui.search.match.SearchMatch;
 
 public class CapellaReplaceQuery {
@@ -53,13 +60,33 @@ public class CapellaReplaceQuery {
       SubMonitor subMonitor = SubMonitor.convert(monitor, countTotalOccurrences);
       subMonitor.setTaskName(String.format(CapellaSearchConstants.ReplaceJob_Title, replacement));
 
-      for (SearchMatch match : matches) {
-        int countOccurrences = 1;
-        String projectName = match.getProject().getName();
-        subMonitor.subTask(String.format(CapellaSearchConstants.ReplaceJob_SubTitle, countOccurrences, projectName));
-        replace(match, searchPattern, replacement);
-        subMonitor.split(countOccurrences);
-
+      // All the replacements of an editing domain are done within a single command
+      for (List<SearchMatch> domainMatches : getMatchesByEditingDomain(matches).values()) {
+        EObject anElement = (EObject) domainMatches.get(0).getElement();
+        TransactionHelper.getExecutionManager(anElement).execute(new AbstractReadWriteCommand() {
+          @Override
+          public String getName() {
+            return String.format(CapellaSearchConstants.ReplaceCommand_Name,
+                capellaSearchSettings.getTextPattern(), replacement);
+          }
+
+          @Override
+          public void run() {
+            for (SearchMatch match : domainMatches) {
+              // Stop without rolling back the replacements already done
+              if (subMonitor.isCanceled()) {
+                return;
+              }
+              String projectName = match.getProject().getName();
+              subMonitor.subTask(String.format(CapellaSearchConstants.ReplaceJob_SubTitle, 1, projectName));
+              replace(match, searchPattern, replacement);
+              subMonitor.worked(1);
+            }
+          }
+        });
+        if (subMonitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
       }
       return Status.OK_STATUS;
     } catch (Exception e) {
@@ -72,12 +99,15 @@ public class CapellaReplaceQuery {
     }
   }
 
+  /**
+   * Replace the occurrences of a match. Must be called within a write transaction.
+   */
   public void replace(SearchMatch capellaMatch, Pattern searchPattern, String replacement) {
-    boolean replaced = capellaMatch.replace(searchPattern, replacement);
+    boolean replaced = capellaMatch.doReplace(searchPattern, replacement);
     if (replaced) {
       replacedProjects.add(capellaMatch.getProject());
       replacedElements.add((EObject) capellaMatch.getElement());
-      replacedOccurrenceCount += capellaMatch.getChildren().isEmpty() ? 1 : capellaMatch.getChildren().size();
+      replacedOccurrenceCount += capellaMatch.getOccurrenceCount();
     }
   }
 
@@ -93,6 +123,22 @@ public class CapellaReplaceQuery {
     return replacedProjects.size();
   }
 
+  /**
+   * @param matches
+   * @return the given matches grouped by the editing domain of their element, the matches of elements which are not
+   *         model elements are ignored.
+   */
+  private Map<TransactionalEditingDomain, List<SearchMatch>> getMatchesByEditingDomain(Set<SearchMatch> matches) {
+    Map<TransactionalEditingDomain, List<SearchMatch>> matchesByDomain = new LinkedHashMap<>();
+    for (SearchMatch match : matches) {
+      if (match.getElement() instanceof EObject) {
+        TransactionalEditingDomain domain = TransactionHelper.getEditingDomain((EObject) match.getElement());
+        matchesByDomain.computeIfAbsent(domain, key -> new ArrayList<>()).add(match);
+      }
+    }
+    return matchesByDomain;
+  }
+
   /**
    * Returns the minimal search matches required to fully perform all the replacements. The original matches might
    * contain both parent and children matches, but replacing in the parent already replaced in the children matches.
@@ -34,6 +34,7 @@ public class CapellaSearchConstants {
   public static final String CapellaSearchPage_Validation_Message_SearchFilter_Selection = "At least one filter must be selected";
   public static final String CapellaSearchQuery_Search_Pattern_Not_Validated_Message = "The search pattern '%s' is not validated because: %s";
   public static final String CapellaSearchResult_Label = "'%s' - %d occurrence(s) in %d element(s) of %d project(s)";
+  public static final String CapellaSearchResult_Label_Match_Limit_Reached = "%s - search stopped after %d occurrences";
   public static final String CapellaSearchResult_Label_With_Active_Filters = "'%s' - %d occurrence(s) in %d element(s) of %d project(s) - %d occurrence(s) filtered by %d active filter(s)";
   public static final String ReplaceDialog_Finished_Or_Canceled_Message = "Replaced '%s' by '%s' for: %d occurrence(s) of %d element(s) in %d project(s)";
   public static final String ReplaceDialog_Label_Pattern = "Replace";
@@ -41,10 +42,12 @@ public class CapellaSearchConstants {
   public static final String ReplaceDialog_Label = "Replace:";
   public static final String ReplaceDialog_Title = "Capella Replace";
   public static final String ReplaceDialog_No_Match_Found_Message = "No match found";
+  public static final String ReplaceCommand_Name = "Replace '%s' by '%s'";
   public static final String ReplaceJob_SubTitle = "Replace %d occurrence(s) in the project: %s";
   public static final String ReplaceJob_Title = "Replacing occurrences by '%s'...";
   public static final String SearchJob_SubTitle = "Scanning elements in the project: %s";
   public static final String SearchJob_Title = "Searching for pattern '%s'...";
+  public static final String SearchIndexJob_Title = "Indexing the elements of the session: %s";
   public static final String SelectAllButton_Name = "Select All";
   public static final String DeselectAllButton_Name = "Deselect All";
   public static final String RestoreDefaultsButton_Name = "Restore Defaults";
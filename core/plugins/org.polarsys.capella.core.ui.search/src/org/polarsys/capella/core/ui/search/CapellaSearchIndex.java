@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.ui.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.gmf.runtime.diagram.core.util.ViewType;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.eclipse.gmf.runtime.notation.Shape;
+import org.eclipse.sirius.business.api.dialect.DialectManager;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionListener;
+import org.eclipse.sirius.diagram.DDiagram;
+import org.eclipse.sirius.diagram.ui.business.api.query.DDiagramGraphicalQuery;
+import org.eclipse.sirius.ext.base.Option;
+import org.eclipse.sirius.viewpoint.DRepresentation;
+import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+
+/**
+ * Inverted index of the words of the textual attributes of the elements of a session, used to find the elements that
+ * may match a literal search without reading every element of the model.<br>
+ * The index covers the non-derived String attributes (name, summary, description...) of the semantic elements, of the
+ * representation descriptors and of the notes of the loaded diagrams. It is built by a background job when first
+ * requested, then kept up to date by a post-commit listener.
+ */
+public class CapellaSearchIndex extends ResourceSetListenerImpl implements SessionListener {
+
+  private static final Map<Session, CapellaSearchIndex> INDEXES = new HashMap<>();
+
+  private final Session session;
+
+  /**
+   * Elements containing a word, by lower case word.
+   */
+  private final Map<String, Set<EObject>> postings = new ConcurrentHashMap<>();
+
+  /**
+   * Indexed words, by element.
+   */
+  private final Map<EObject, Set<String>> words = new ConcurrentHashMap<>();
+
+  private final Job buildJob;
+
+  private volatile boolean ready;
+
+  private CapellaSearchIndex(Session session) {
+    super(NotificationFilter.NOT_TOUCH);
+    this.session = session;
+    this.buildJob = new Job(String.format(CapellaSearchConstants.SearchIndexJob_Title, session.getID())) {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        return build(monitor);
+      }
+    };
+    buildJob.setSystem(true);
+    buildJob.setPriority(Job.DECORATE);
+  }
+
+  /**
+   * Get the index of the given session, creating it and scheduling its build if needed.
+   *
+   * @param session
+   * @return the index, which may not be ready yet
+   */
+  public static synchronized CapellaSearchIndex getIndex(Session session) {
+    CapellaSearchIndex index = INDEXES.get(session);
+    if (index == null) {
+      index = new CapellaSearchIndex(session);
+      INDEXES.put(session, index);
+      session.getTransactionalEditingDomain().addResourceSetListener(index);
+      session.addListener(index);
+      index.buildJob.schedule();
+    }
+    return index;
+  }
+
+  /**
+   * @return whether the build of the index is done.
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Wait for the build of the index.
+   *
+   * @throws InterruptedException
+   */
+  public void join() throws InterruptedException {
+    buildJob.join();
+  }
+
+  /**
+   * @param attribute
+   * @return whether the values of the given attribute are indexed.
+   */
+  public static boolean isIndexed(EAttribute attribute) {
+    return !attribute.isDerived() && attribute.getEType().getInstanceClass() == String.class;
+  }
+
+  /**
+   * Get the elements that may contain the given literal text in one of their indexed attributes. Each word fragment of
+   * the text must be part of an indexed word of the element, so that no matching element is missed, whatever the case
+   * sensitivity or the wildcards (* and ?) of the text.
+   *
+   * @param text
+   * @return the candidate elements, or <code>null</code> if the index can't answer (not built yet, no word in the text
+   *         or non ASCII text)
+   */
+  public Set<EObject> getCandidates(String text) {
+    if (!ready || text == null) {
+      return null;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) > 127) {
+        return null;
+      }
+    }
+    Set<String> fragments = new LinkedHashSet<>();
+    tokenize(text, fragments);
+    if (fragments.isEmpty()) {
+      return null;
+    }
+    Set<EObject> candidates = null;
+    for (String fragment : fragments) {
+      Set<EObject> elements = new HashSet<>();
+      for (Map.Entry<String, Set<EObject>> posting : postings.entrySet()) {
+        if (posting.getKey().contains(fragment)) {
+          elements.addAll(posting.getValue());
+        }
+      }
+      if (candidates == null) {
+        candidates = elements;
+      } else {
+        candidates.retainAll(elements);
+      }
+      if (candidates.isEmpty()) {
+        break;
+      }
+    }
+    return candidates;
+  }
+
+  protected IStatus build(IProgressMonitor monitor) {
+    TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+    try {
+      // One read transaction per resource, so that writers are not blocked during the whole build.
+      for (Resource resource : new ArrayList<>(domain.getResourceSet().getResources())) {
+        if (monitor.isCanceled()) {
+          return Status.CANCEL_STATUS;
+        }
+        if (CapellaResourceHelper.isCapellaResource(resource)) {
+          TransactionUtil.runExclusive(domain, () -> refresh(resource.getContents()));
+        }
+      }
+      TransactionUtil.runExclusive(domain, () -> {
+        for (DRepresentationDescriptor descriptor : DialectManager.INSTANCE.getAllRepresentationDescriptors(session)) {
+          refresh(descriptor);
+          for (Shape note : getNotes(descriptor)) {
+            update(note);
+          }
+        }
+      });
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
+    }
+    ready = true;
+    return Status.OK_STATUS;
+  }
+
+  @Override
+  public boolean isPostcommitOnly() {
+    return true;
+  }
+
+  @Override
+  public void resourceSetChanged(ResourceSetChangeEvent event) {
+    // Elements whose attributes changed, and added or removed elements whose contents must be refreshed too
+    Set<EObject> changed = new LinkedHashSet<>();
+    Set<EObject> moved = new LinkedHashSet<>();
+    boolean unloaded = false;
+    for (Notification notification : event.getNotifications()) {
+      Object notifier = notification.getNotifier();
+      Object feature = notification.getFeature();
+      if (notifier instanceof Resource) {
+        if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+          addValues(notification, moved);
+        } else if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED) {
+          if (notification.getNewBooleanValue()) {
+            moved.addAll(((Resource) notifier).getContents());
+          } else {
+            unloaded = true;
+          }
+        }
+      } else if (notifier instanceof EObject) {
+        if (feature instanceof EAttribute && isIndexed((EAttribute) feature)) {
+          changed.add((EObject) notifier);
+        } else if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+          addValues(notification, moved);
+        }
+      }
+    }
+    changed.removeAll(moved);
+    for (EObject element : changed) {
+      update(element);
+    }
+    refresh(moved);
+    if (unloaded) {
+      purge();
+    }
+  }
+
+  @Override
+  public void notify(int changeKind) {
+    if (changeKind == SessionListener.CLOSING) {
+      dispose();
+    }
+  }
+
+  /**
+   * Stop maintaining the index and release it.
+   */
+  public void dispose() {
+    synchronized (CapellaSearchIndex.class) {
+      INDEXES.remove(session);
+    }
+    buildJob.cancel();
+    session.removeListener(this);
+    TransactionalEditingDomain domain = session.getTransactionalEditingDomain();
+    if (domain != null) {
+      domain.removeResourceSetListener(this);
+    }
+    ready = false;
+    postings.clear();
+    words.clear();
+  }
+
+  private void addValues(Notification notification, Collection<EObject> values) {
+    for (Object value : new Object[] { notification.getOldValue(), notification.getNewValue() }) {
+      if (value instanceof EObject) {
+        values.add((EObject) value);
+      } else if (value instanceof Collection<?>) {
+        for (Object item : (Collection<?>) value) {
+          if (item instanceof EObject) {
+            values.add((EObject) item);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Index again the given elements and their contents, or remove them from the index if they are no more in the model.
+   */
+  private void refresh(Collection<EObject> roots) {
+    for (EObject root : roots) {
+      refresh(root);
+    }
+  }
+
+  private void refresh(EObject root) {
+    update(root);
+    for (Iterator<EObject> contents = root.eAllContents(); contents.hasNext();) {
+      update(contents.next());
+    }
+  }
+
+  private void update(EObject element) {
+    Set<String> newWords = new HashSet<>();
+    if (isIndexable(element)) {
+      for (EAttribute attribute : element.eClass().getEAllAttributes()) {
+        if (isIndexed(attribute)) {
+          Object value = element.eGet(attribute);
+          if (value instanceof String) {
+            tokenize((String) value, newWords);
+          } else if (value instanceof Collection<?>) {
+            for (Object item : (Collection<?>) value) {
+              if (item instanceof String) {
+                tokenize((String) item, newWords);
+              }
+            }
+          }
+        }
+      }
+    }
+    Set<String> oldWords = newWords.isEmpty() ? words.remove(element) : words.put(element, newWords);
+    if (oldWords != null) {
+      for (String word : oldWords) {
+        if (!newWords.contains(word)) {
+          postings.computeIfPresent(word, (key, elements) -> {
+            elements.remove(element);
+            return elements.isEmpty() ? null : elements;
+          });
+        }
+      }
+    }
+    for (String word : newWords) {
+      if (oldWords == null || !oldWords.contains(word)) {
+        postings.compute(word, (key, elements) -> {
+          Set<EObject> result = elements == null ? ConcurrentHashMap.newKeySet() : elements;
+          result.add(element);
+          return result;
+        });
+      }
+    }
+  }
+
+  /**
+   * Remove the elements that are no more in the model, e.g. after the unload of a library.
+   */
+  private void purge() {
+    List<EObject> removed = new ArrayList<>();
+    for (EObject element : words.keySet()) {
+      if (!isIndexable(element)) {
+        removed.add(element);
+      }
+    }
+    for (EObject element : removed) {
+      update(element);
+    }
+  }
+
+  private boolean isIndexable(EObject element) {
+    if (element.eIsProxy() || element.eResource() == null) {
+      return false;
+    }
+    return element instanceof DRepresentationDescriptor || isNote(element)
+        || CapellaResourceHelper.isCapellaResource(element.eResource());
+  }
+
+  private static boolean isNote(Object element) {
+    return element instanceof Shape && ViewType.NOTE.equals(((Shape) element).getType());
+  }
+
+  /**
+   * @param descriptor
+   * @return the notes of the diagram of the given descriptor, if it is loaded.
+   */
+  public static List<Shape> getNotes(DRepresentationDescriptor descriptor) {
+    List<Shape> notes = new ArrayList<>();
+    if (descriptor.isLoadedRepresentation()) {
+      DRepresentation representation = descriptor.getRepresentation();
+      if (representation instanceof DDiagram) {
+        DDiagramGraphicalQuery query = new DDiagramGraphicalQuery((DDiagram) representation);
+        Option<Diagram> gmfDiagram = query.getAssociatedGMFDiagram();
+        if (gmfDiagram.some()) {
+          for (Object child : gmfDiagram.get().getChildren()) {
+            if (isNote(child)) {
+              notes.add((Shape) child);
+            }
+          }
+        }
+      }
+    }
+    return notes;
+  }
+
+  /**
+   * Add the lower case words of the given text, a word being a sequence of letters or digits.
+   */
+  private static void tokenize(String text, Collection<String> result) {
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean wordPart = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (wordPart && start < 0) {
+        start = i;
+      } else if (!wordPart && start >= 0) {
+        result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+  }
+}
@@ -38,6 +38,7 @@ import org.eclipse.search.ui.IReplacePage;
 import org.eclipse.search.ui.ISearchPage;
 import org.eclipse.search.ui.ISearchPageContainer;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.sirius.business.api.session.SessionManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -121,6 +122,8 @@ public class CapellaSearchPage extends DialogPage implements ISearchPage, IRepla
     initializeDialogUnits(parent);
     // init history searches
     previousSearchSettings.addAll(CapellaSearchSettingsHistory.getInstance().getAllSearchSettings());
+    // start indexing the opened sessions while the search is being defined
+    SessionManager.INSTANCE.getSessions().forEach(CapellaSearchIndex::getIndex);
 
     CompositeForSearchPage composite = new CompositeForSearchPage(parent, SWT.NONE);
     composite.setFont(parent.getFont());
@@ -488,6 +491,8 @@ public class CapellaSearchPage extends DialogPage implements ISearchPage, IRepla
     IStatus validateStatus = validate();
     if (validateStatus.isOK()) {
       CapellaSearchQuery searchQuery = new CapellaSearchQuery(getCapellaSearchSettings());
+      // all the occurrences are replaced
+      searchQuery.setMatchLimit(Integer.MAX_VALUE);
       IStatus searchStatus = NewSearchUI.runQueryInForeground(searchPageContainer.getRunnableContext(), searchQuery);
 
       if (searchStatus.isOK()) {
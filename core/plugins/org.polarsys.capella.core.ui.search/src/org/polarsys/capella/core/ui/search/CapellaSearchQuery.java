@@ -13,33 +13,36 @@
 package org.polarsys.capella.core.ui.search;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.gmf.runtime.diagram.core.util.ViewType;
-import org.eclipse.gmf.runtime.notation.Diagram;
-import org.eclipse.gmf.runtime.notation.Shape;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionManager;
 import org.eclipse.sirius.diagram.DDiagram;
-import org.eclipse.sirius.diagram.ui.business.api.query.DDiagramGraphicalQuery;
-import org.eclipse.sirius.ext.base.Option;
-import org.eclipse.sirius.viewpoint.DRepresentation;
 import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
 import org.polarsys.capella.core.commands.preferences.util.PreferencesHelper;
 import org.polarsys.capella.core.platform.sirius.ui.navigator.viewer.CapellaNavigatorContentProvider;
+import org.polarsys.capella.core.sirius.ui.helper.SessionHelper;
 import org.polarsys.capella.core.ui.search.match.LineSearchMatchChild;
 import org.polarsys.capella.core.ui.search.match.ListElementSearchMatchChild;
 import org.polarsys.capella.core.ui.search.match.SearchMatch;
@@ -50,6 +53,21 @@ import org.polarsys.capella.core.ui.search.searchfor.item.SearchForNoteItem;
 
 public class CapellaSearchQuery implements ISearchQuery {
 
+  /**
+   * Default maximum number of occurrences matched by a search.
+   */
+  public static final int DEFAULT_MATCH_LIMIT = 10000;
+
+  /**
+   * Number of elements matched between two checks of the progress monitor.
+   */
+  private static final int BATCH_SIZE = 1000;
+
+  /**
+   * Minimum delay in ms between two notifications of new matches to the result.
+   */
+  private static final long PUBLISH_INTERVAL = 200;
+
   private final CapellaSearchResult capellaSearchResult = new CapellaSearchResult(this);
   private final CapellaSearchSettings capellaSearchSettings;
 
@@ -58,26 +76,24 @@ public class CapellaSearchQuery implements ISearchQuery {
     @Override
     public Object[] getChildren(Object element) {
       if (element instanceof DRepresentationDescriptor
-          && ((DRepresentationDescriptor) element).isLoadedRepresentation()) {
-        DRepresentation representation = ((DRepresentationDescriptor) element).getRepresentation();
-        if (representation instanceof DDiagram) {
-          List<Shape> notes = new ArrayList<>();
-          DDiagramGraphicalQuery query = new DDiagramGraphicalQuery((DDiagram) representation);
-          Option<Diagram> gmfDiagram = query.getAssociatedGMFDiagram();
-          if (gmfDiagram.some()) {
-            for (Object child : gmfDiagram.get().getChildren()) {
-              if (child instanceof Shape && ViewType.NOTE.equals(((Shape) child).getType())) {
-                notes.add((Shape) child);
-              }
-            }
-          }
-          return notes.toArray();
-        }
+          && ((DRepresentationDescriptor) element).isLoadedRepresentation()
+          && ((DRepresentationDescriptor) element).getRepresentation() instanceof DDiagram) {
+        return CapellaSearchIndex.getNotes((DRepresentationDescriptor) element).toArray();
       }
       return super.getChildren(element);
     }
   };
 
+  private int matchLimit = DEFAULT_MATCH_LIMIT;
+  private int matchCount;
+  private boolean matchLimitReached;
+
+  /**
+   * Matches found but not yet added to the result.
+   */
+  private final List<SearchMatch> pendingMatches = new ArrayList<>();
+  private long lastPublishTime;
+
   public CapellaSearchQuery(CapellaSearchSettings capellaSearchSettings) {
     this.capellaSearchSettings = capellaSearchSettings;
   }
@@ -85,6 +101,10 @@ public class CapellaSearchQuery implements ISearchQuery {
   @Override
   public IStatus run(IProgressMonitor monitor) {
     capellaSearchResult.removeAll();
+    matchCount = 0;
+    matchLimitReached = false;
+    pendingMatches.clear();
+    lastPublishTime = System.currentTimeMillis();
     try {
       Pattern pattern = capellaSearchSettings.createPattern();
       IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
@@ -103,9 +123,8 @@ public class CapellaSearchQuery implements ISearchQuery {
           project = PreferencesHelper.getProject((EObject) selectedObj);
         }
         // search the pattern in the projects
-        if (project != null) {
-          search(pattern, selectedObj, project);
-          subMonitor.split(1);
+        if (project != null && !matchLimitReached) {
+          search(pattern, selectedObj, project, subMonitor.split(1));
         }
       }
       return Status.OK_STATUS;
@@ -113,50 +132,189 @@ public class CapellaSearchQuery implements ISearchQuery {
       String message = String.format(CapellaSearchConstants.CapellaSearchQuery_Search_Pattern_Not_Validated_Message,
           e.getPattern(), e.getDescription());
       return new Status(IStatus.ERROR, Activator.PLUGIN_ID, message);
+    } catch (OperationCanceledException e) {
+      return Status.CANCEL_STATUS;
     } catch (Exception e) {
       String message = e.getMessage();
       return new Status(IStatus.ERROR, Activator.PLUGIN_ID, message);
+    } finally {
+      // show what has been found so far, even if the search is canceled
+      publishPendingMatches(true);
     }
   }
 
   /**
+   * Search the pattern in the elements of the Capella Project Explorer tree under the given entry point.<br>
+   * For a literal pattern searched in indexed attributes only, only the candidates given by the search index of the
+   * sessions are matched, when the index is ready. Otherwise all the elements of the tree are matched. Elements are
+   * matched in parallel by batches, and the matches of each batch are streamed to the result from the calling thread,
+   * in the order of the tree.
    * 
    * @param pattern
    * @param element
    *          the entry point to launch the search
    * @param project
+   * @param monitor
    */
-  private void search(Pattern pattern, Object element, IProject project) {
+  private void search(Pattern pattern, Object element, IProject project, IProgressMonitor monitor) {
+    Collection<EAttribute> attributes = getSearchedAttributes();
+    boolean parallel = attributes.stream().noneMatch(EAttribute::isDerived);
+    List<EObject> elements = new ArrayList<>();
+    collectElementsToSearch(element, getCandidates(element, project, attributes), elements);
+
+    SubMonitor subMonitor = SubMonitor.convert(monitor, elements.size());
+    for (int start = 0; start < elements.size() && !matchLimitReached; start += BATCH_SIZE) {
+      List<EObject> batch = elements.subList(start, Math.min(start + BATCH_SIZE, elements.size()));
+      Stream<EObject> stream = parallel ? batch.parallelStream() : batch.stream();
+      List<List<SearchMatch>> matches = stream.map(eObj -> {
+        if (subMonitor.isCanceled()) {
+          throw new OperationCanceledException();
+        }
+        return search(pattern, eObj, project);
+      }).collect(Collectors.toList());
+      for (List<SearchMatch> elementMatches : matches) {
+        for (SearchMatch match : elementMatches) {
+          addMatch(match);
+        }
+      }
+      publishPendingMatches(false);
+      subMonitor.split(batch.size());
+    }
+  }
+
+  /**
+   * Collect the elements of the tree under the given element, in the order of the tree.
+   * 
+   * @param candidates
+   *          the only elements to collect, or <code>null</code> to collect all of them
+   */
+  private void collectElementsToSearch(Object element, Set<EObject> candidates, List<EObject> elements) {
+    if (element instanceof EObject && (candidates == null || candidates.contains(element))) {
+      elements.add((EObject) element);
+    }
+    for (Object child : contentProvider.getChildren(element)) {
+      collectElementsToSearch(child, candidates, elements);
+    }
+  }
+
+  /**
+   * @param element
+   *          the entry point of the search
+   * @param project
+   * @param attributes
+   *          the searched attributes
+   * @return the elements of the sessions that may match the pattern, or <code>null</code> if the search indexes can't
+   *         tell (regular expression, attribute not indexed, index not ready)
+   */
+  private Set<EObject> getCandidates(Object element, IProject project, Collection<EAttribute> attributes) {
+    if (capellaSearchSettings.isRegExSearch() || !attributes.stream().allMatch(CapellaSearchIndex::isIndexed)) {
+      return null;
+    }
+    for (Object searchClassItem : capellaSearchSettings.getSearchClassItems()) {
+      if (searchClassItem instanceof SearchForNoteItem
+          && !CapellaSearchIndex.isIndexed(((SearchForNoteItem) searchClassItem).getContentAttribute())) {
+        return null;
+      }
+    }
+    Collection<Session> sessions;
     if (element instanceof EObject) {
-      EObject eObj = (EObject) element;
-
-      Set<Object> searchClassItems = capellaSearchSettings.getSearchClassItems();
-      for (Object searchClassItem : searchClassItems) {
-        if (searchClassItem instanceof SearchForClassItem && ((SearchForClassItem) searchClassItem).covers(eObj)) {
-
-          if (searchClassItem instanceof SearchForNoteItem) {
-            searchForAttribute(pattern, project, eObj, (SearchForNoteItem) searchClassItem);
-          } else {
-            Set<Object> searchAttributeItems = capellaSearchSettings.getSearchAttributeItems();
-            for (Object searchAttributeItem : searchAttributeItems) {
-              if (searchAttributeItem instanceof SearchForAttributeItem) {
-                searchForAttribute(pattern, project, eObj, (SearchForAttributeItem) searchAttributeItem);
-              }
+      sessions = Collections.singletonList(SessionManager.INSTANCE.getSession((EObject) element));
+    } else {
+      sessions = SessionHelper.getExistingSessions(project);
+    }
+    Set<EObject> candidates = new HashSet<>();
+    for (Session session : sessions) {
+      Set<EObject> sessionCandidates = session != null
+          ? CapellaSearchIndex.getIndex(session).getCandidates(capellaSearchSettings.getTextPattern())
+          : null;
+      if (sessionCandidates == null) {
+        return null;
+      }
+      candidates.addAll(sessionCandidates);
+    }
+    return candidates;
+  }
+
+  private Collection<EAttribute> getSearchedAttributes() {
+    Set<EAttribute> attributes = new HashSet<>();
+    for (Object searchAttributeItem : capellaSearchSettings.getSearchAttributeItems()) {
+      if (searchAttributeItem instanceof SearchForAttributeItem) {
+        Object attribute = ((SearchForAttributeItem) searchAttributeItem).getObject();
+        if (attribute instanceof Collection<?>) {
+          for (Object anAttribute : (Collection<?>) attribute) {
+            if (anAttribute instanceof EAttribute) {
+              attributes.add((EAttribute) anAttribute);
             }
+          }
+        }
+      }
+    }
+    return attributes;
+  }
 
+  /**
+   * @return the matches of the pattern in the given element. This may be called from several threads.
+   */
+  private List<SearchMatch> search(Pattern pattern, EObject eObj, IProject project) {
+    List<SearchMatch> matches = new ArrayList<>();
+    Set<Object> searchClassItems = capellaSearchSettings.getSearchClassItems();
+    for (Object searchClassItem : searchClassItems) {
+      if (searchClassItem instanceof SearchForClassItem && ((SearchForClassItem) searchClassItem).covers(eObj)) {
+
+        if (searchClassItem instanceof SearchForNoteItem) {
+          addIfMatched(matches, searchForAttribute(pattern, project, eObj, (SearchForNoteItem) searchClassItem));
+        } else {
+          Set<Object> searchAttributeItems = capellaSearchSettings.getSearchAttributeItems();
+          for (Object searchAttributeItem : searchAttributeItems) {
+            if (searchAttributeItem instanceof SearchForAttributeItem) {
+              addIfMatched(matches,
+                  searchForAttribute(pattern, project, eObj, (SearchForAttributeItem) searchAttributeItem));
+            }
           }
+
         }
       }
     }
+    return matches;
+  }
+
+  private void addIfMatched(List<SearchMatch> matches, SearchMatch match) {
+    if (match != null) {
+      matches.add(match);
+    }
+  }
+
+  /**
+   * Add the match to the pending ones, unless its occurrences exceed the match limit.
+   */
+  private void addMatch(SearchMatch match) {
+    int occurrenceCount = match.getOccurrenceCount();
+    if (matchLimitReached || matchCount + occurrenceCount > matchLimit) {
+      matchLimitReached = true;
+    } else {
+      matchCount += occurrenceCount;
+      pendingMatches.add(match);
+    }
+  }
 
-    Object[] children = contentProvider.getChildren(element);
-    for (int i = 0; i < children.length; i++) {
-      // search recursively in all the elements in the project tree
-      search(pattern, children[i], project);
+  /**
+   * Add the pending matches to the result, at most once per {@link #PUBLISH_INTERVAL} unless forced, so that the result
+   * page is not refreshed for each match.
+   */
+  private void publishPendingMatches(boolean force) {
+    long now = System.currentTimeMillis();
+    if (!pendingMatches.isEmpty() && (force || now - lastPublishTime >= PUBLISH_INTERVAL)) {
+      capellaSearchResult.addMatches(pendingMatches);
+      pendingMatches.clear();
+      lastPublishTime = now;
     }
   }
 
-  protected void searchForAttribute(Pattern pattern, IProject project, EObject inputObject,
+  /**
+   * @return the match of the pattern in the given attribute of the element, with a child per matching line or list
+   *         element, or <code>null</code> if the pattern is not found
+   */
+  protected SearchMatch searchForAttribute(Pattern pattern, IProject project, EObject inputObject,
       SearchForAttributeItem attributeItem) {
 
     Object searchAttribute = attributeItem.getAttributeFor(inputObject);
@@ -169,29 +327,22 @@ public class CapellaSearchQuery implements ISearchQuery {
 
         if (searchTextLines.length == 1) {
           if (isMatchOccurrences(pattern, searchText)) {
-            SearchMatch result = new SearchMatch(inputObject, searchText, project, searchAttribute);
-            capellaSearchResult.addMatch(result);
-            capellaSearchResult.getTreeData().addElement(inputObject);
+            return new SearchMatch(inputObject, searchText, project, searchAttribute);
           }
         } else {
           SearchMatch parentSearchMatch = new SearchMatch(inputObject, null, project, searchAttribute);
-          boolean matched = false;
           for (int number = 0; number < searchTextLines.length; number++) {
             String searchTextLine = searchTextLines[number];
 
             if (isMatchOccurrences(pattern, searchTextLine)) {
               LineSearchMatchChild childSearchMatch = new LineSearchMatchChild(inputObject, searchTextLine, project,
                   parentSearchMatch, number);
-
               parentSearchMatch.getChildren().add(childSearchMatch);
-              capellaSearchResult.addMatch(childSearchMatch);
-              matched = true;
             }
           }
 
-          if (matched) {
-            capellaSearchResult.addMatch(parentSearchMatch);
-            capellaSearchResult.getTreeData().addElement(inputObject);
+          if (!parentSearchMatch.getChildren().isEmpty()) {
+            return parentSearchMatch;
           }
         }
 
@@ -200,7 +351,6 @@ public class CapellaSearchQuery implements ISearchQuery {
       else if (searchData instanceof List) {
         List<?> searchDataList = ((List<?>) searchData);
         SearchMatch parentSearchMatch = new SearchMatch(inputObject, null, project, searchAttribute);
-        boolean matched = false;
 
         for (int index = 0; index < searchDataList.size(); index++) {
           Object searchElement = searchDataList.get(index);
@@ -212,33 +362,33 @@ public class CapellaSearchQuery implements ISearchQuery {
               ListElementSearchMatchChild childSearchMatch = new ListElementSearchMatchChild(inputObject, searchText,
                   project, parentSearchMatch, index);
               parentSearchMatch.getChildren().add(childSearchMatch);
-              capellaSearchResult.addMatch(childSearchMatch);
-              matched = true;
             }
           }
         }
 
-        if (matched) {
-          capellaSearchResult.addMatch(parentSearchMatch);
-          capellaSearchResult.getTreeData().addElement(inputObject);
+        if (!parentSearchMatch.getChildren().isEmpty()) {
+          return parentSearchMatch;
         }
       }
     }
+    return null;
   }
 
-  protected void searchForAttribute(Pattern pattern, IProject project, EObject eObj, SearchForNoteItem searchNoteItem) {
+  /**
+   * @return the match of the pattern in the content of the note, or <code>null</code> if the pattern is not found
+   */
+  protected SearchMatch searchForAttribute(Pattern pattern, IProject project, EObject eObj,
+      SearchForNoteItem searchNoteItem) {
     Object searchData = searchNoteItem.getRelevantSearchData(eObj);
 
     if (searchData instanceof String) {
       String textToSearch = (String) searchData;
       EAttribute shapeDescriptionAttribute = searchNoteItem.getContentAttribute();
       if (isMatchOccurrences(pattern, textToSearch)) {
-        SearchMatch result = new SearchMatch(eObj, textToSearch, project, shapeDescriptionAttribute);
-        capellaSearchResult.addMatch(result);
-        // use tree data if we want to display the result as a tree
-        capellaSearchResult.getTreeData().addElement(eObj);
+        return new SearchMatch(eObj, textToSearch, project, shapeDescriptionAttribute);
       }
     }
+    return null;
   }
 
   private boolean isMatchOccurrences(Pattern pattern, String text) {
@@ -279,4 +429,23 @@ public class CapellaSearchQuery implements ISearchQuery {
   public CapellaSearchSettings getCapellaSearchSettings() {
     return capellaSearchSettings;
   }
+
+  public int getMatchLimit() {
+    return matchLimit;
+  }
+
+  /**
+   * @param matchLimit
+   *          the maximum number of occurrences matched by the next runs, the search stops once it is reached
+   */
+  public void setMatchLimit(int matchLimit) {
+    this.matchLimit = matchLimit;
+  }
+
+  /**
+   * @return whether the last run stopped because the match limit has been reached.
+   */
+  public boolean isMatchLimitReached() {
+    return matchLimitReached;
+  }
 }
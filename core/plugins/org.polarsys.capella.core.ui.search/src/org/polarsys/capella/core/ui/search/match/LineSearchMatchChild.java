@@ -18,12 +18,8 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.edit.command.SetCommand;
-import org.eclipse.emf.transaction.TransactionalEditingDomain;
-import org.polarsys.capella.common.helpers.TransactionHelper;
 
 public class LineSearchMatchChild extends SearchMatchChild {
 
@@ -36,7 +32,7 @@ public class LineSearchMatchChild extends SearchMatchChild {
   }
 
   @Override
-  public boolean replace(Pattern searchPattern, String replacement) {
+  public boolean doReplace(Pattern searchPattern, String replacement) {
 
     Object attribute = getParent().getAttribute();
     Object object = getParent().getElement();
@@ -57,9 +53,7 @@ public class LineSearchMatchChild extends SearchMatchChild {
 
           String modifiedFullText = Arrays.stream(fullTextLines).collect(Collectors.joining("\n"));
 
-          TransactionalEditingDomain domain = TransactionHelper.getEditingDomain(eObject);
-          Command setCommand = SetCommand.create(domain, eObject, eAttribute, modifiedFullText);
-          domain.getCommandStack().execute(setCommand);
+          eObject.eSet(eAttribute, modifiedFullText);
 
           setOriginalText(modifiedLine);
           return true;
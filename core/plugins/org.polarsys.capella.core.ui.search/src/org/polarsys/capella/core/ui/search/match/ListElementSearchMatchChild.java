@@ -19,8 +19,6 @@ import java.util.regex.Pattern;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
-import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
-import org.polarsys.capella.common.helpers.TransactionHelper;
 
 public class ListElementSearchMatchChild extends SearchMatchChild {
 
@@ -32,23 +30,18 @@ public class ListElementSearchMatchChild extends SearchMatchChild {
   }
 
   @Override
-  public boolean replace(Pattern searchPattern, String replacement) {
+  @SuppressWarnings("unchecked")
+  public boolean doReplace(Pattern searchPattern, String replacement) {
     String oldLine = getOriginalText();
     String newContent = searchPattern.matcher(oldLine).replaceAll(replacement);
     if (getParent().getAttribute() instanceof EAttribute && getParent().getElement() instanceof EObject) {
       EAttribute matchEntryAttribute = (EAttribute) getParent().getAttribute();
       EObject matchEntryElement = (EObject) getParent().getElement();
       if (matchEntryElement.eGet(matchEntryAttribute) instanceof List) {
-        TransactionHelper.getExecutionManager(matchEntryElement).execute(new AbstractReadWriteCommand() {
-          @SuppressWarnings("unchecked")
-          @Override
-          public void run() {
-            @SuppressWarnings("rawtypes")
-            List lineMatches = (List) matchEntryElement.eGet(matchEntryAttribute);
-            lineMatches.remove(index);
-            lineMatches.add(index, newContent);
-          }
-        });
+        @SuppressWarnings("rawtypes")
+        List lineMatches = (List) matchEntryElement.eGet(matchEntryAttribute);
+        lineMatches.remove(index);
+        lineMatches.add(index, newContent);
         setOriginalText(newContent);
         return true;
       }
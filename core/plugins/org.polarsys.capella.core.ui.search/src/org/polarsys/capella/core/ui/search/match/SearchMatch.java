@@ -21,12 +21,11 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringEscapeUtils;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.edit.command.SetCommand;
-import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.search.ui.text.Match;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
 import org.polarsys.capella.common.helpers.TransactionHelper;
 
 /**
@@ -107,7 +106,36 @@ public class SearchMatch extends Match {
     return attribute;
   }
 
+  /**
+   * @return the number of occurrences of the pattern in this match: one per child, or one if it has no children.
+   */
+  public int getOccurrenceCount() {
+    return children.isEmpty() ? 1 : children.size();
+  }
+
+  /**
+   * Replace the occurrences of the pattern in the model, within a command of its own.
+   */
   public boolean replace(Pattern searchPattern, String replacement) {
+    Object element = getElement();
+    if (!(element instanceof EObject)) {
+      return false;
+    }
+    boolean[] replaced = { false };
+    TransactionHelper.getExecutionManager((EObject) element).execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        replaced[0] = doReplace(searchPattern, replacement);
+      }
+    });
+    return replaced[0];
+  }
+
+  /**
+   * Replace the occurrences of the pattern in the model. Must be called within a write transaction, which allows to
+   * apply many replacements within a single command.
+   */
+  public boolean doReplace(Pattern searchPattern, String replacement) {
     return getChildren().isEmpty() ? replaceLocally(searchPattern, replacement)
         : replaceInChildren(searchPattern, replacement);
   }
@@ -115,17 +143,13 @@ public class SearchMatch extends Match {
   protected boolean replaceLocally(Pattern searchPattern, String replacement) {
     Object eAttribute = getAttribute();
 
-    if (eAttribute != null) {
+    if (eAttribute instanceof EStructuralFeature) {
       Object element = getElement();
 
       if (element instanceof EObject) {
         String oldLine = getOriginalText();
         String newContent = searchPattern.matcher(oldLine).replaceAll(replacement);
-        EObject eObject = (EObject) element;
-        TransactionalEditingDomain domain = TransactionHelper.getEditingDomain(eObject);
-
-        Command setCommand = SetCommand.create(domain, eObject, eAttribute, newContent);
-        domain.getCommandStack().execute(setCommand);
+        ((EObject) element).eSet((EStructuralFeature) eAttribute, newContent);
 
         setOriginalText(newContent);
         return true;
@@ -139,7 +163,7 @@ public class SearchMatch extends Match {
     boolean replaced = false;
 
     for (SearchMatchChild child : getChildren()) {
-      replaced |= child.replace(searchPattern, replacement);
+      replaced |= child.doReplace(searchPattern, replacement);
     }
 
     return replaced;
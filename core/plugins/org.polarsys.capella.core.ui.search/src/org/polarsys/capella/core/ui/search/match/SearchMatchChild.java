@@ -34,7 +34,7 @@ public abstract class SearchMatchChild extends SearchMatch {
    * Force the children to override the replace method.
    */
   @Override
-  public abstract boolean replace(Pattern searchPattern, String replacement);
+  public abstract boolean doReplace(Pattern searchPattern, String replacement);
 
   @Override
   public Object getAttribute() {
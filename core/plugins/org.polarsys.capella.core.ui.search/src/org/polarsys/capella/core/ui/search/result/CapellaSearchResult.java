@@ -14,7 +14,9 @@ package org.polarsys.capella.core.ui.search.result;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -28,6 +30,7 @@ import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.IEditorMatchAdapter;
 import org.eclipse.search.ui.text.IFileMatchAdapter;
+import org.eclipse.search.ui.text.Match;
 import org.eclipse.search.ui.text.MatchFilter;
 import org.eclipse.sirius.diagram.DDiagram;
 import org.eclipse.sirius.viewpoint.DRepresentationDescriptor;
@@ -82,14 +85,40 @@ public class CapellaSearchResult extends AbstractTextSearchResult {
     int matchedProjectsCount = getProjects().size();
     String queryLabel = capellaSearchQuery.getLabel();
     int activeFilterCount = getActiveMatchFilters().length;
+    String label;
     if (activeFilterCount == 0) {
-      return String.format(CapellaSearchConstants.CapellaSearchResult_Label, queryLabel, totalOccurrenceCount,
+      label = String.format(CapellaSearchConstants.CapellaSearchResult_Label, queryLabel, totalOccurrenceCount,
           matchedElementsCount, matchedProjectsCount);
+    } else {
+      int displayedOccurrenceCount = getOccurrenceCount();
+      label = String.format(CapellaSearchConstants.CapellaSearchResult_Label_With_Active_Filters, queryLabel,
+          totalOccurrenceCount, matchedElementsCount, matchedProjectsCount,
+          totalOccurrenceCount - displayedOccurrenceCount, activeFilterCount);
     }
-    int displayedOccurrenceCount = getOccurrenceCount();
-    return String.format(CapellaSearchConstants.CapellaSearchResult_Label_With_Active_Filters, queryLabel,
-        totalOccurrenceCount, matchedElementsCount, matchedProjectsCount,
-        totalOccurrenceCount - displayedOccurrenceCount, activeFilterCount);
+    if (capellaSearchQuery.isMatchLimitReached()) {
+      label = String.format(CapellaSearchConstants.CapellaSearchResult_Label_Match_Limit_Reached, label,
+          capellaSearchQuery.getMatchLimit());
+    }
+    return label;
+  }
+
+  /**
+   * Add the given matches and their children at once: listeners are notified once, and the tree data is updated once
+   * per matched element.
+   * 
+   * @param matches
+   */
+  public void addMatches(Collection<SearchMatch> matches) {
+    List<Match> allMatches = new ArrayList<>();
+    Set<Object> elements = new LinkedHashSet<>();
+    for (SearchMatch match : matches) {
+      allMatches.addAll(match.getChildren());
+      allMatches.add(match);
+      elements.add(match.getElement());
+    }
+    addMatches(allMatches.toArray(new Match[allMatches.size()]));
+    // use tree data if we want to display the result as a tree
+    treeData.addAllElements(elements.toArray());
   }
 
   @Override
@@ -141,8 +170,7 @@ public class CapellaSearchResult extends AbstractTextSearchResult {
         .collect(Collectors.toSet());
 
     for (SearchMatch searchMatch : searchMatches) {
-      List<SearchMatchChild> children = searchMatch.getChildren();
-      count += children.isEmpty() ? 1 : children.size();
+      count += searchMatch.getOccurrenceCount();
     }
 
     return count;
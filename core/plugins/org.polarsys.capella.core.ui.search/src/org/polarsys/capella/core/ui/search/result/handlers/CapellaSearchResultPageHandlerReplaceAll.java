@@ -18,7 +18,9 @@ import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.IHandler;
 import org.eclipse.core.commands.IHandlerListener;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.ui.PlatformUI;
 import org.polarsys.capella.core.ui.search.CapellaReplaceRunnable;
 import org.polarsys.capella.core.ui.search.CapellaReplaceRunnableWrapper;
 import org.polarsys.capella.core.ui.search.CapellaSearchQuery;
@@ -46,10 +48,20 @@ public class CapellaSearchResultPageHandlerReplaceAll implements IHandler {
     if (capellaSearchResultPage != null) {
       CapellaSearchResult capellaSearchResult = capellaSearchResultPage.getInput();
 
-      Set<SearchMatch> matches = capellaSearchResult.getDisplayedMatches();
-
       CapellaSearchQuery searchQuery = capellaSearchResult.getQuery();
 
+      // The search stopped at its match limit: search again all the occurrences before replacing them
+      if (searchQuery.isMatchLimitReached()) {
+        searchQuery.setMatchLimit(Integer.MAX_VALUE);
+        IStatus searchStatus = NewSearchUI.runQueryInForeground(PlatformUI.getWorkbench().getProgressService(),
+            searchQuery);
+        if (!searchStatus.isOK()) {
+          return null;
+        }
+      }
+
+      Set<SearchMatch> matches = capellaSearchResult.getDisplayedMatches();
+
       CapellaReplaceRunnable capellaReplaceRunnable = new CapellaReplaceRunnable(searchQuery, matches, true);
 
       new CapellaReplaceRunnableWrapper(capellaReplaceRunnable).run();
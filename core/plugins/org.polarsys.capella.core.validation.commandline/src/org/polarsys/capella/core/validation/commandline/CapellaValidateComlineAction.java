@@ -22,6 +22,7 @@ import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.polarsys.capella.common.ef.ExecutionManager;
 import org.polarsys.capella.common.helpers.TransactionHelper;
 import org.polarsys.capella.common.helpers.cache.ModelCache;
+import org.polarsys.capella.common.tools.report.appenders.reportlogview.LightMarkerRegistry;
 import org.polarsys.capella.core.platform.sirius.ui.actions.CapellaValidateAction;
 
 /**
@@ -52,6 +53,23 @@ public class CapellaValidateComlineAction extends CapellaValidateAction {
     }
   }
   
+  /**
+   * Validate the given elements, without their sub-trees, and create their markers.
+   * @param elements
+   */
+  public void runOnElements(List<EObject> elements) {
+    setSelectedObjects(elements);
+    if (isSetEditingDomain()) {
+      try {
+        ModelCache.enable();
+        diagnostic = validateElements(elements, new NullProgressMonitor());
+      } finally {
+        ModelCache.disable();
+      }
+      handleDiagnostic(diagnostic);
+    }
+  }
+
   private boolean isSetEditingDomain(){
     if(domain == null && !selectedObjects.isEmpty()){
       ExecutionManager executionManager = TransactionHelper.getExecutionManager(selectedObjects);
@@ -65,9 +83,19 @@ public class CapellaValidateComlineAction extends CapellaValidateAction {
    */
   @Override
   protected void handleDiagnostic(Diagnostic diagnostic) {
-    // Create markers
-    for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
-      eclipseResourcesUtil.createMarkers(resourceToValidate, childDiagnostic);
+    LightMarkerRegistry.getInstance().beginBatch();
+    try {
+      if (null != _revalidatedElements) {
+        // Incremental validation: replace the markers of the revalidated elements
+        eclipseResourcesUtil.deleteMarkers(resourceToValidate);
+        _revalidatedElements = null;
+      }
+      // Create markers
+      for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
+        eclipseResourcesUtil.createMarkers(resourceToValidate, childDiagnostic);
+      }
+    } finally {
+      LightMarkerRegistry.getInstance().endBatch();
     }
   }
 
@@ -79,8 +107,16 @@ public class CapellaValidateComlineAction extends CapellaValidateAction {
   }
   
   public void deleteMarkers() {
-    for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
-      eclipseResourcesUtil.deleteMarkers(childDiagnostic);
+    if (diagnostic == null) {
+      return;
+    }
+    LightMarkerRegistry.getInstance().beginBatch();
+    try {
+      for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
+        eclipseResourcesUtil.deleteMarkers(childDiagnostic);
+      }
+    } finally {
+      LightMarkerRegistry.getInstance().endBatch();
     }
   }
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.validation.commandline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Computes a hash of what the validation rules of an element may read: its own content and the content of the elements
+ * it is directly linked to.<br>
+ * The own content of an element is made of its type, the values of its attributes, the ids of the elements it
+ * references or contains, the id of its container and the ids of the elements referencing it. Derived and transient
+ * features are ignored, as they are computed from the other ones.<br>
+ * Changes further than one link away from an element are not detected.
+ */
+public class ElementContentHasher {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * Cross referencer used to find the elements referencing an element, may be <code>null</code>.
+   */
+  private final ECrossReferenceAdapter crossReferencer;
+
+  private final Map<EObject, Long> ownHashes = new HashMap<>();
+
+  /**
+   * @param crossReferencer
+   *          the cross referencer of the semantic elements, may be <code>null</code>
+   */
+  public ElementContentHasher(ECrossReferenceAdapter crossReferencer) {
+    this.crossReferencer = crossReferencer;
+  }
+
+  /**
+   * @param element
+   * @return the id of the element, or its URI fragment if it has none (e.g. an unresolved proxy).
+   */
+  public static String getId(EObject element) {
+    String id = EcoreUtil.getID(element);
+    if (id == null) {
+      id = EcoreUtil.getURI(element).fragment();
+    }
+    return id;
+  }
+
+  /**
+   * @param element
+   * @return the hash of the element and of the elements directly linked to it.
+   */
+  public long getHash(EObject element) {
+    long hash = hash(FNV_OFFSET_BASIS, getOwnHash(element));
+    if (element.eContainer() != null) {
+      hash = hash(hash, getOwnHash(element.eContainer()));
+    }
+    for (EReference reference : element.eClass().getEAllReferences()) {
+      if (isRelevant(reference) && !reference.isContainment()) {
+        for (EObject referenced : getValues(element, reference)) {
+          hash = hash(hash, getOwnHash(referenced));
+        }
+      }
+    }
+    for (EObject referencer : getReferencers(element)) {
+      hash = hash(hash, getOwnHash(referencer));
+    }
+    return hash;
+  }
+
+  /**
+   * @param element
+   * @return the hash of the own content of the element.
+   */
+  protected long getOwnHash(EObject element) {
+    Long ownHash = ownHashes.get(element);
+    if (ownHash == null) {
+      ownHash = Long.valueOf(computeOwnHash(element));
+      ownHashes.put(element, ownHash);
+    }
+    return ownHash.longValue();
+  }
+
+  private long computeOwnHash(EObject element) {
+    long hash = hash(FNV_OFFSET_BASIS, element.eClass().getName());
+    if (element.eContainer() != null) {
+      hash = hash(hash, getId(element.eContainer()));
+    }
+    for (EStructuralFeature feature : element.eClass().getEAllStructuralFeatures()) {
+      if (!isRelevant(feature)) {
+        continue;
+      }
+      hash = hash(hash, feature.getName());
+      if (feature instanceof EAttribute) {
+        hash = hash(hash, String.valueOf(element.eGet(feature)));
+      } else {
+        for (EObject referenced : getValues(element, (EReference) feature)) {
+          hash = hash(hash, getId(referenced));
+        }
+      }
+    }
+    for (EObject referencer : getReferencers(element)) {
+      hash = hash(hash, getId(referencer));
+    }
+    return hash;
+  }
+
+  private boolean isRelevant(EStructuralFeature feature) {
+    return !feature.isDerived() && !feature.isTransient();
+  }
+
+  private Collection<EObject> getValues(EObject element, EReference reference) {
+    Object value = element.eGet(reference, false);
+    if (value instanceof EObject) {
+      return Collections.singletonList((EObject) value);
+    } else if (value instanceof Collection<?>) {
+      List<EObject> values = new ArrayList<>();
+      for (Object item : (Collection<?>) value) {
+        if (item instanceof EObject) {
+          values.add((EObject) item);
+        }
+      }
+      return values;
+    }
+    return Collections.emptyList();
+  }
+
+  private Collection<EObject> getReferencers(EObject element) {
+    if (crossReferencer == null) {
+      return Collections.emptyList();
+    }
+    List<EObject> referencers = new ArrayList<>();
+    for (Setting setting : crossReferencer.getInverseReferences(element, false)) {
+      if (isRelevant(setting.getEStructuralFeature())) {
+        referencers.add(setting.getEObject());
+      }
+    }
+    // Referencers are sorted, as the order of the inverse references is not stable between sessions.
+    referencers.sort(Comparator.comparing(ElementContentHasher::getId));
+    return referencers;
+  }
+
+  private static long hash(long hash, long value) {
+    long result = hash;
+    for (int i = 0; i < 8; i++) {
+      result ^= (value >>> (i * 8)) & 0xff;
+      result *= FNV_PRIME;
+    }
+    return result;
+  }
+
+  private static long hash(long hash, String value) {
+    long result = hash;
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        result ^= value.charAt(i);
+        result *= FNV_PRIME;
+      }
+    }
+    // Separator, so that consecutive values cannot be confused.
+    result ^= 0xff;
+    result *= FNV_PRIME;
+    return result;
+  }
+}
@@ -19,6 +19,8 @@ import org.polarsys.capella.core.commandline.core.CommandLineArgumentHelper;
 public class ValidationArgumentHelper extends CommandLineArgumentHelper {
   private String validationContext;
   private String validationRuleSet;
+  private String validationResultStore;
+  private String validationOutputFormats;
 
   /**
    * {@inheritDoc}
@@ -36,6 +38,12 @@ public class ValidationArgumentHelper extends CommandLineArgumentHelper {
 
       } else if (ValidationCommandLineConstants.VALIDATION_RULE_SET.equalsIgnoreCase(arg)) {
         validationRuleSet = args[++i];
+
+      } else if (ValidationCommandLineConstants.VALIDATION_RESULT_STORE.equalsIgnoreCase(arg)) {
+        validationResultStore = args[++i];
+
+      } else if (ValidationCommandLineConstants.VALIDATION_OUTPUT_FORMATS.equalsIgnoreCase(arg)) {
+        validationOutputFormats = args[++i];
       }
     }
   }
@@ -53,4 +61,18 @@ public class ValidationArgumentHelper extends CommandLineArgumentHelper {
   public String getValidationRuleSet() {
     return validationRuleSet;
   }
+
+  /**
+   * @return the path of the folder of the validation result stores
+   */
+  public String getValidationResultStore() {
+    return validationResultStore;
+  }
+
+  /**
+   * @return the comma separated list of report formats
+   */
+  public String getValidationOutputFormats() {
+    return validationOutputFormats;
+  }
 }
@@ -14,15 +14,20 @@ package org.polarsys.capella.core.validation.commandline;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.text.DateFormat;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
@@ -39,9 +44,16 @@ import org.eclipse.core.runtime.preferences.IExportedPreferences;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EValidator;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.edit.domain.EditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.emf.validation.model.Category;
 import org.eclipse.emf.validation.preferences.EMFModelValidationPreferences;
+import org.eclipse.emf.validation.service.ConstraintRegistry;
+import org.eclipse.emf.validation.service.IConstraintDescriptor;
 import org.eclipse.emf.validation.service.ModelValidationService;
 import org.eclipse.equinox.app.IApplicationContext;
 import org.eclipse.sirius.business.api.session.Session;
@@ -52,6 +64,7 @@ import org.osgi.service.prefs.BackingStoreException;
 import org.osgi.service.prefs.Preferences;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
 import org.polarsys.capella.common.helpers.validation.ConstraintStatusDiagnostic;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticEditingDomain;
 import org.polarsys.capella.common.tools.report.EmbeddedMessage;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.LightMarkerRegistry;
 import org.polarsys.capella.common.tools.report.appenders.reportlogview.MarkerViewHelper;
@@ -119,24 +132,36 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
       // list of EObject to validate
       String validationContext = ((ValidationArgumentHelper) argHelper).getValidationContext();
 
+      List<EObject> objectsToValidate;
       if (!isEmtyOrNull(validationContext)) {// validate selected EObjects
         List<String> objectToValidateUris = toListOfURIString(validationContext);
-        List<EObject> loadedEObjs = loadEObjects(semanticRootElement, objectToValidateUris);
-        capellaValidateCLineAction.setSelectedObjects(loadedEObjs);
+        objectsToValidate = loadEObjects(semanticRootElement, objectToValidateUris);
       } else {// validate the whole model
-        capellaValidateCLineAction.setSelectedObjects(semanticRootResource.getContents());
+        objectsToValidate = semanticRootResource.getContents();
       }
 
       // Run the validation
-      capellaValidateCLineAction.run();
+      List<ValidationResult> results;
+      String resultStoreFolder = ((ValidationArgumentHelper) argHelper).getValidationResultStore();
+      if (!isEmtyOrNull(resultStoreFolder)) {
+        File storeFile = new File(resultStoreFolder, getResultStoreFileName(airdURI));
+        results = validateDelta(capellaValidateCLineAction, objectsToValidate, isEmtyOrNull(validationContext),
+            storeFile);
+      } else {
+        capellaValidateCLineAction.setSelectedObjects(objectsToValidate);
+        capellaValidateCLineAction.run();
+        results = toResults(filterValidationMarkers(LightMarkerRegistry.getInstance().getMarkers()));
+        capellaValidateCLineAction.deleteMarkers();
+      }
 
-      storeResultsToFile(getOrCreateOutputFolderForAird(airdURI));
-      
-      capellaValidateCLineAction.deleteMarkers();
+      storeResultsToFile(getOrCreateOutputFolderForAird(airdURI), results);
 
     } catch (FileNotFoundException exception) {
       status = new Status(IStatus.ERROR, FrameworkUtil.getBundle(this.getClass()).getSymbolicName(), exception.getMessage(), exception);
       
+    } catch (IOException exception) {
+      status = new Status(IStatus.ERROR, FrameworkUtil.getBundle(this.getClass()).getSymbolicName(), exception.getMessage(), exception);
+
     } catch (CoreException exception) {
       status = new Status(IStatus.ERROR, FrameworkUtil.getBundle(this.getClass()).getSymbolicName(), exception.getMessage(), exception);
     }
@@ -144,6 +169,167 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
     return status;
   }
 
+  /**
+   * Validate the elements whose content changed since their results were stored in the given file, and reuse the
+   * stored results of the other ones. Unchanged elements are only validated against the rules enabled since then. The
+   * store is updated with the new results.
+   * @param action
+   * @param roots
+   *          the elements to validate, with their sub-trees
+   * @param wholeModel
+   *          whether the roots cover the whole model, in which case the results of deleted elements are removed from
+   *          the store
+   * @param storeFile
+   * @return the results of all the elements
+   * @throws IOException
+   * @throws CoreException
+   */
+  private List<ValidationResult> validateDelta(CapellaValidateComlineAction action, List<EObject> roots,
+      boolean wholeModel, File storeFile) throws IOException, CoreException {
+    ValidationResultStore store = ValidationResultStore.load(storeFile);
+    ensureEMFValidationActivation();
+    Set<String> enabledRuleIds = getEnabledRuleIds();
+    Set<String> newRuleIds = new HashSet<String>(enabledRuleIds);
+    newRuleIds.removeAll(store.getRuleIds());
+
+    List<ValidationResult> results = new ArrayList<ValidationResult>();
+    List<EObject> modifiedElements = new ArrayList<EObject>();
+    List<EObject> unchangedElements = new ArrayList<EObject>();
+    Map<EObject, Long> hashes = new HashMap<EObject, Long>();
+    ElementContentHasher hasher = new ElementContentHasher(roots.isEmpty() ? null : getCrossReferencer(roots.get(0)));
+    for (Iterator<EObject> elements = EcoreUtil.getAllContents(roots, true); elements.hasNext();) {
+      EObject element = elements.next();
+      if (!hashes.containsKey(element)) {
+        long hash = hasher.getHash(element);
+        hashes.put(element, Long.valueOf(hash));
+        List<ValidationResult> storedResults = store.getResults(ElementContentHasher.getId(element), hash,
+            enabledRuleIds);
+        if (storedResults == null) {
+          modifiedElements.add(element);
+        } else {
+          unchangedElements.add(element);
+          results.addAll(storedResults);
+        }
+      }
+    }
+    logger.info("ValidationCommandLine.validateDelta(..) _ " + modifiedElements.size() + " modified elements, " //$NON-NLS-1$ //$NON-NLS-2$
+        + unchangedElements.size() + " unchanged elements, " + newRuleIds.size() + " new rules"); //$NON-NLS-1$ //$NON-NLS-2$
+
+    // Modified elements are validated against all the rules
+    Map<String, List<ValidationResult>> newResults = validateElements(action, modifiedElements);
+    for (EObject element : modifiedElements) {
+      String elementId = ElementContentHasher.getId(element);
+      List<ValidationResult> elementResults = getOrEmpty(newResults.remove(elementId));
+      store.put(elementId, hashes.get(element).longValue(), elementResults);
+      results.addAll(elementResults);
+    }
+    // Results which can't be attached to a validated element are reported, but not stored
+    newResults.values().forEach(results::addAll);
+
+    // Unchanged elements are only validated against the new rules
+    if (!newRuleIds.isEmpty() && !unchangedElements.isEmpty()) {
+      Set<String> otherRuleIds = new HashSet<String>(enabledRuleIds);
+      otherRuleIds.removeAll(newRuleIds);
+      for (String ruleId : otherRuleIds) {
+        EMFModelValidationPreferences.setConstraintDisabled(ruleId, true);
+      }
+      try {
+        newResults = validateElements(action, unchangedElements);
+      } finally {
+        for (String ruleId : otherRuleIds) {
+          EMFModelValidationPreferences.setConstraintDisabled(ruleId, false);
+        }
+      }
+      for (EObject element : unchangedElements) {
+        String elementId = ElementContentHasher.getId(element);
+        List<ValidationResult> elementResults = new ArrayList<ValidationResult>();
+        for (ValidationResult result : getOrEmpty(newResults.remove(elementId))) {
+          if (newRuleIds.contains(result.getRuleId())) {
+            elementResults.add(result);
+          }
+        }
+        store.add(elementId, elementResults);
+        results.addAll(elementResults);
+      }
+      for (List<ValidationResult> otherResults : newResults.values()) {
+        for (ValidationResult result : otherResults) {
+          if (newRuleIds.contains(result.getRuleId())) {
+            results.add(result);
+          }
+        }
+      }
+    }
+
+    store.setRuleIds(enabledRuleIds);
+    if (wholeModel) {
+      Set<String> elementIds = new HashSet<String>();
+      for (EObject element : hashes.keySet()) {
+        elementIds.add(ElementContentHasher.getId(element));
+      }
+      store.retain(elementIds);
+    }
+    store.save(storeFile);
+    return results;
+  }
+
+  private List<ValidationResult> getOrEmpty(List<ValidationResult> results) {
+    return results != null ? results : Collections.<ValidationResult> emptyList();
+  }
+
+  /**
+   * Validate the given elements, without their sub-trees.
+   * @param action
+   * @param elements
+   * @return the results, by element id
+   * @throws CoreException
+   */
+  private Map<String, List<ValidationResult>> validateElements(CapellaValidateComlineAction action,
+      List<EObject> elements) throws CoreException {
+    Map<String, List<ValidationResult>> results = new HashMap<String, List<ValidationResult>>();
+    if (!elements.isEmpty()) {
+      action.runOnElements(elements);
+      for (ValidationResult result : toResults(filterValidationMarkers(LightMarkerRegistry.getInstance().getMarkers()))) {
+        results.computeIfAbsent(result.getElementId(), id -> new ArrayList<ValidationResult>()).add(result);
+      }
+      action.deleteMarkers();
+    }
+    return results;
+  }
+
+  /**
+   * @return the ids of the constraints currently enabled.
+   */
+  private Set<String> getEnabledRuleIds() {
+    Set<String> result = new HashSet<String>();
+    for (IConstraintDescriptor descriptor : ConstraintRegistry.getInstance().getAllDescriptors()) {
+      if (descriptor.isEnabled() && !EMFModelValidationPreferences.isConstraintDisabled(descriptor.getId())) {
+        result.add(descriptor.getId());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param element
+   * @return the semantic cross referencer of the editing domain of the element, or <code>null</code>.
+   */
+  private ECrossReferenceAdapter getCrossReferencer(EObject element) {
+    EditingDomain editingDomain = TransactionUtil.getEditingDomain(element);
+    if (editingDomain instanceof SemanticEditingDomain) {
+      return ((SemanticEditingDomain) editingDomain).getCrossReferencer();
+    }
+    return null;
+  }
+
+  /**
+   * @param airdURI
+   * @return the name of the result store of the given representations file.
+   */
+  private String getResultStoreFileName(URI airdURI) {
+    return URI.decode(airdURI.path()).replaceFirst("^/resource/", "").replaceAll("[/\\\\:]", "_") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        + ".validationresults"; //$NON-NLS-1$
+  }
+
   /**
    * Ensure that all constraints have been loaded.
    */
@@ -191,6 +377,7 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
   }
 
   /**
+   * Each id is resolved through the id index of the session, unknown ids are reported and ignored.
    * @param project
    * @param uris
    * @throws CoreException
@@ -200,7 +387,11 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
     for (String uriFragment : uris) {
       String idSegment = getIdSegment(uriFragment);
       ModelElement element = CapellaQueries.getInstance().getGetElementsQueries().getElementById(project, idSegment);
-      results.add(element);
+      if (element != null) {
+        results.add(element);
+      } else {
+        logger.warn("ValidationCommandLine.loadEObjects(..) _ No element found for " + uriFragment); //$NON-NLS-1$
+      }
     }
     return results;
   }
@@ -233,29 +424,39 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
   }
 
   /**
+   * Write the results in each of the requested formats.
    * @param outputFolder
+   * @param results
    */
-  private void storeResultsToFile(IFolder outputFolder) {
-    Collection<IMarker> markers = LightMarkerRegistry.getInstance().getMarkers();
-    try {
-      Collection<IMarker> validationMarkers = filterValidationMarkers(markers);
-
-      String result = null;
-      result = toHTML(validationMarkers);
-      String fileName = Messages.resultsFileName;
-      IFile file = outputFolder.getFile(new Path(fileName));
-      ByteArrayInputStream outputContent = new ByteArrayInputStream(result.getBytes());
-      if (file.exists()) {
-        file.setContents(outputContent, true, false, null);
-      } else {
-        file.create(outputContent, false, null);
+  private void storeResultsToFile(IFolder outputFolder, List<ValidationResult> results) {
+    String formats = ((ValidationArgumentHelper) argHelper).getValidationOutputFormats();
+    if (isEmtyOrNull(formats)) {
+      formats = ValidationReportWriter.FORMAT_HTML;
+    }
+    ValidationReportWriter writer = new ValidationReportWriter();
+    for (String format : formats.split(",")) { //$NON-NLS-1$
+      format = format.trim().toLowerCase();
+      String result = writer.write(format, results);
+      if (result == null) {
+        logger.warn("ValidationCommandLine.storeResultsToFile(..) _ Unsupported output format: " + format); //$NON-NLS-1$
+        continue;
       }
+      try {
+        String fileName = ValidationReportWriter.FORMAT_HTML.equals(format) ? Messages.resultsFileName
+            : Messages.resultsFileNamePrefix + "." + format; //$NON-NLS-1$
+        IFile file = outputFolder.getFile(new Path(fileName));
+        ByteArrayInputStream outputContent = new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8));
+        if (file.exists()) {
+          file.setContents(outputContent, true, false, null);
+        } else {
+          file.create(outputContent, false, null);
+        }
 
-    } catch (CoreException exception) {
-      String loggerMessage = "ValidationComandlineApp.storeResultsToFile(..) _ "; //$NON-NLS-1$
-      logger.error(new EmbeddedMessage(loggerMessage, IReportManagerDefaultComponents.VALIDATION));
+      } catch (CoreException exception) {
+        String loggerMessage = "ValidationComandlineApp.storeResultsToFile(..) _ "; //$NON-NLS-1$
+        logger.error(new EmbeddedMessage(loggerMessage, IReportManagerDefaultComponents.VALIDATION));
+      }
     }
-
   }
 
   /**
@@ -274,85 +475,55 @@ public class ValidationCommandLine extends AbstractWorkbenchCommandLine {
   }
 
   /**
+   * Detach the validation markers from the model.
    * @param markers
    * @return
    * @throws CoreException
    */
-  private String toHTML(Collection<IMarker> markers) throws CoreException {
-    StringBuilder res = new StringBuilder();
-    res.append("<html> \n"); //$NON-NLS-1$
-    res.append("<head> \n"); //$NON-NLS-1$
-    res.append("<title>Problems saved on " + new java.util.Date() + "</title> \n"); //$NON-NLS-1$ //$NON-NLS-2$
-    res.append("<head> \n"); //$NON-NLS-1$
-    res.append("<body> \n"); //$NON-NLS-1$
-    res.append("<table border=\"1\"> \n"); //$NON-NLS-1$
-    res.append("<tr> <th> Message</th>\n ");//$NON-NLS-1$
-    res.append("<th> Level</th> \n");//$NON-NLS-1$
-    res.append("<th> Rule id</th> \n");//$NON-NLS-1$
-    res.append("<th> Origin</th> \n");//$NON-NLS-1$
-    res.append("<th> Resource</th> \n");//$NON-NLS-1$
-    res.append("<th> Time</th> </tr> \n");//$NON-NLS-1$
-    final DateFormat format = DateFormat.getTimeInstance();
+  private List<ValidationResult> toResults(Collection<IMarker> markers) throws CoreException {
+    List<ValidationResult> results = new ArrayList<ValidationResult>(markers.size());
     for (IMarker iMarker : markers) {
-      res.append("<tr>"); //$NON-NLS-1$
-
-      // message
-      res.append("<td>"); //$NON-NLS-1$
-      res.append(iMarker.getAttribute(IMarker.MESSAGE));
-      res.append("</td>"); //$NON-NLS-1$
-
-      // severity level
-      res.append("<td>"); //$NON-NLS-1$
-      res.append(getSeverityLabel((Integer) iMarker.getAttribute(IMarker.SEVERITY)));
-      res.append("</td>"); //$NON-NLS-1$
-
-      // ruleId
-      res.append("<td>"); //$NON-NLS-1$
-
-      String ruleId = MarkerViewHelper.getRuleID(iMarker, false);
+      String ruleLabel = MarkerViewHelper.getRuleID(iMarker, false);
+      if (ruleLabel == null) {
+        ruleLabel = MarkerViewHelper.getSource(iMarker);
+      }
+      String ruleId = MarkerViewHelper.getRuleID(iMarker, true);
       if (ruleId == null) {
-        ruleId = MarkerViewHelper.getSource(iMarker);
+        ruleId = ruleLabel;
       }
-
-      res.append(ruleId);
-      res.append("</td>"); //$NON-NLS-1$
-
-      // origin
-      res.append("<td>"); //$NON-NLS-1$
-      res.append(getCategory(iMarker));
-      res.append("</td>"); //$NON-NLS-1$
-
-      // resource
-      res.append("<td>"); //$NON-NLS-1$
-      res.append(iMarker.getAttribute(MarkerViewUtil.PATH_ATTRIBUTE));
-      res.append("</td>"); //$NON-NLS-1$
-
-      // creation time
-      res.append("<td>"); //$NON-NLS-1$
-      res.append(format.format(new Date(iMarker.getCreationTime())));
-      res.append("</td>"); //$NON-NLS-1$
-
-      res.append("</tr>"); //$NON-NLS-1$
-      // System.err.println(iMarker);
+      Object path = iMarker.getAttribute(MarkerViewUtil.PATH_ATTRIBUTE);
+      results.add(new ValidationResult(getElementId(iMarker), ruleId, ruleLabel,
+          iMarker.getAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO), iMarker.getAttribute(IMarker.MESSAGE, ""), //$NON-NLS-1$
+          getCategory(iMarker), path == null ? null : path.toString(), iMarker.getCreationTime()));
     }
-    return res.toString();
-
+    return results;
   }
 
   /**
-   * @param attribute
-   * @return
+   * @param iMarker
+   * @return the id of the element targeted by the marker, or its URI fragment, or <code>null</code>.
    */
-  private String getSeverityLabel(Integer severity) {
-    switch (severity.intValue()) {
-    case IMarker.SEVERITY_ERROR:
-      return "Error"; //$NON-NLS-1$
-    case IMarker.SEVERITY_WARNING:
-      return "Warning"; //$NON-NLS-1$
-    case IMarker.SEVERITY_INFO:
-      return "Info"; //$NON-NLS-1$
+  private String getElementId(IMarker iMarker) {
+    Diagnostic diagnostic = (Diagnostic) iMarker.getAdapter(Diagnostic.class);
+    if (diagnostic instanceof ConstraintStatusDiagnostic) {
+      EObject target = ((ConstraintStatusDiagnostic) diagnostic).getConstraintStatus().getTarget();
+      if (target != null) {
+        return ElementContentHasher.getId(target);
+      }
+    }
+    if (diagnostic != null) {
+      for (Object data : diagnostic.getData()) {
+        if (data instanceof EObject) {
+          return ElementContentHasher.getId((EObject) data);
+        }
+      }
+    }
+    // The URI fragment of a Capella element is its id
+    String uri = iMarker.getAttribute(EValidator.URI_ATTRIBUTE, null);
+    if (uri != null) {
+      return URI.createURI(uri).fragment();
     }
-    return ""; //$NON-NLS-1$
+    return null;
   }
 
   /**
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.validation.commandline;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+
+import org.eclipse.core.resources.IMarker;
+
+/**
+ * Writes validation results in the supported report formats.
+ */
+public class ValidationReportWriter {
+
+  public static final String FORMAT_HTML = "html"; //$NON-NLS-1$
+
+  public static final String FORMAT_JSON = "json"; //$NON-NLS-1$
+
+  public static final String FORMAT_CSV = "csv"; //$NON-NLS-1$
+
+  private static final String CSV_SEPARATOR = ","; //$NON-NLS-1$
+
+  private static final String ISO_8601_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ"; //$NON-NLS-1$
+
+  /**
+   * @param format
+   *          one of the supported formats
+   * @param results
+   * @return the report, or <code>null</code> if the format is not supported
+   */
+  public String write(String format, Collection<ValidationResult> results) {
+    if (FORMAT_HTML.equalsIgnoreCase(format)) {
+      return toHTML(results);
+    } else if (FORMAT_JSON.equalsIgnoreCase(format)) {
+      return toJSON(results);
+    } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
+      return toCSV(results);
+    }
+    return null;
+  }
+
+  /**
+   * @param results
+   * @return
+   */
+  public String toHTML(Collection<ValidationResult> results) {
+    StringBuilder res = new StringBuilder();
+    res.append("<html> \n"); //$NON-NLS-1$
+    res.append("<head> \n"); //$NON-NLS-1$
+    res.append("<title>Problems saved on " + new java.util.Date() + "</title> \n"); //$NON-NLS-1$ //$NON-NLS-2$
+    res.append("<head> \n"); //$NON-NLS-1$
+    res.append("<body> \n"); //$NON-NLS-1$
+    res.append("<table border=\"1\"> \n"); //$NON-NLS-1$
+    res.append("<tr> <th> Message</th>\n ");//$NON-NLS-1$
+    res.append("<th> Level</th> \n");//$NON-NLS-1$
+    res.append("<th> Rule id</th> \n");//$NON-NLS-1$
+    res.append("<th> Origin</th> \n");//$NON-NLS-1$
+    res.append("<th> Resource</th> \n");//$NON-NLS-1$
+    res.append("<th> Time</th> </tr> \n");//$NON-NLS-1$
+    final DateFormat format = DateFormat.getTimeInstance();
+    for (ValidationResult result : results) {
+      res.append("<tr>"); //$NON-NLS-1$
+
+      // message
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(result.getMessage());
+      res.append("</td>"); //$NON-NLS-1$
+
+      // severity level
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(getSeverityLabel(result.getSeverity()));
+      res.append("</td>"); //$NON-NLS-1$
+
+      // ruleId
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(result.getRuleLabel());
+      res.append("</td>"); //$NON-NLS-1$
+
+      // origin
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(result.getCategory());
+      res.append("</td>"); //$NON-NLS-1$
+
+      // resource
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(result.getPath());
+      res.append("</td>"); //$NON-NLS-1$
+
+      // creation time
+      res.append("<td>"); //$NON-NLS-1$
+      res.append(format.format(new Date(result.getTime())));
+      res.append("</td>"); //$NON-NLS-1$
+
+      res.append("</tr>"); //$NON-NLS-1$
+    }
+    return res.toString();
+  }
+
+  /**
+   * @param results
+   * @return an array of objects, one per result
+   */
+  public String toJSON(Collection<ValidationResult> results) {
+    DateFormat format = new SimpleDateFormat(ISO_8601_FORMAT);
+    StringBuilder res = new StringBuilder();
+    res.append("[\n"); //$NON-NLS-1$
+    boolean first = true;
+    for (ValidationResult result : results) {
+      if (!first) {
+        res.append(",\n"); //$NON-NLS-1$
+      }
+      first = false;
+      res.append("  {"); //$NON-NLS-1$
+      appendJSON(res, "elementId", result.getElementId()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "ruleId", result.getRuleId()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "rule", result.getRuleLabel()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "level", getSeverityLabel(result.getSeverity())).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "message", result.getMessage()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "origin", result.getCategory()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "resource", result.getPath()).append(", "); //$NON-NLS-1$ //$NON-NLS-2$
+      appendJSON(res, "time", format.format(new Date(result.getTime()))); //$NON-NLS-1$
+      res.append("}"); //$NON-NLS-1$
+    }
+    res.append("\n]\n"); //$NON-NLS-1$
+    return res.toString();
+  }
+
+  /**
+   * @param results
+   * @return a header line followed by one line per result
+   */
+  public String toCSV(Collection<ValidationResult> results) {
+    DateFormat format = new SimpleDateFormat(ISO_8601_FORMAT);
+    StringBuilder res = new StringBuilder();
+    res.append("Element id,Rule id,Rule,Level,Message,Origin,Resource,Time\n"); //$NON-NLS-1$
+    for (ValidationResult result : results) {
+      appendCSV(res, result.getElementId()).append(CSV_SEPARATOR);
+      appendCSV(res, result.getRuleId()).append(CSV_SEPARATOR);
+      appendCSV(res, result.getRuleLabel()).append(CSV_SEPARATOR);
+      appendCSV(res, getSeverityLabel(result.getSeverity())).append(CSV_SEPARATOR);
+      appendCSV(res, result.getMessage()).append(CSV_SEPARATOR);
+      appendCSV(res, result.getCategory()).append(CSV_SEPARATOR);
+      appendCSV(res, result.getPath()).append(CSV_SEPARATOR);
+      appendCSV(res, format.format(new Date(result.getTime()))).append('\n');
+    }
+    return res.toString();
+  }
+
+  private StringBuilder appendJSON(StringBuilder res, String name, String value) {
+    res.append('"').append(name).append("\": "); //$NON-NLS-1$
+    if (value == null) {
+      return res.append("null"); //$NON-NLS-1$
+    }
+    res.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+      case '"':
+        res.append("\\\""); //$NON-NLS-1$
+        break;
+      case '\\':
+        res.append("\\\\"); //$NON-NLS-1$
+        break;
+      case '\n':
+        res.append("\\n"); //$NON-NLS-1$
+        break;
+      case '\r':
+        res.append("\\r"); //$NON-NLS-1$
+        break;
+      case '\t':
+        res.append("\\t"); //$NON-NLS-1$
+        break;
+      default:
+        if (c < 0x20) {
+          res.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+        } else {
+          res.append(c);
+        }
+      }
+    }
+    return res.append('"');
+  }
+
+  /**
+   * Values are quoted, as messages and paths may contain separators or line breaks.
+   */
+  private StringBuilder appendCSV(StringBuilder res, String value) {
+    res.append('"');
+    if (value != null) {
+      res.append(value.replace("\"", "\"\"")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+    return res.append('"');
+  }
+
+  /**
+   * @param severity
+   * @return
+   */
+  private String getSeverityLabel(int severity) {
+    switch (severity) {
+    case IMarker.SEVERITY_ERROR:
+      return "Error"; //$NON-NLS-1$
+    case IMarker.SEVERITY_WARNING:
+      return "Warning"; //$NON-NLS-1$
+    case IMarker.SEVERITY_INFO:
+      return "Info"; //$NON-NLS-1$
+    }
+    return ""; //$NON-NLS-1$
+  }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.validation.commandline;
+
+/**
+ * A problem reported by a validation rule on an element, detached from the model so that it can be stored and reported
+ * without the validation markers.
+ */
+public final class ValidationResult {
+
+  private final String elementId;
+
+  private final String ruleId;
+
+  private final String ruleLabel;
+
+  private final int severity;
+
+  private final String message;
+
+  private final String category;
+
+  private final String path;
+
+  private final long time;
+
+  /**
+   * @param elementId
+   *          id of the validated element
+   * @param ruleId
+   *          qualified id of the rule
+   * @param ruleLabel
+   *          id of the rule as displayed in reports
+   * @param severity
+   *          one of the {@link org.eclipse.core.resources.IMarker} severities
+   * @param message
+   * @param category
+   *          category of the rule, may be empty
+   * @param path
+   *          labels of the elements involved in the problem
+   * @param time
+   *          time at which the problem has been found
+   */
+  public ValidationResult(String elementId, String ruleId, String ruleLabel, int severity, String message,
+      String category, String path, long time) {
+    this.elementId = elementId;
+    this.ruleId = ruleId;
+    this.ruleLabel = ruleLabel;
+    this.severity = severity;
+    this.message = message;
+    this.category = category;
+    this.path = path;
+    this.time = time;
+  }
+
+  public String getElementId() {
+    return elementId;
+  }
+
+  public String getRuleId() {
+    return ruleId;
+  }
+
+  public String getRuleLabel() {
+    return ruleLabel;
+  }
+
+  public int getSeverity() {
+    return severity;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public String getCategory() {
+    return category;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public long getTime() {
+    return time;
+  }
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.validation.commandline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk store of validation results, allowing a validation to only evaluate the rules whose inputs changed since the
+ * previous run.<br>
+ * Results are stored by element id, along with the content hash of the element (see {@link ElementContentHasher}) and
+ * the id of the rule that produced them. The store also records the rules that were enabled when the results were
+ * computed:
+ * <ul>
+ * <li>an element whose hash changed is validated again against all the rules,</li>
+ * <li>an unchanged element is only validated against the rules that were not enabled at that time,</li>
+ * <li>the stored results of rules that are now disabled are dropped.</li>
+ * </ul>
+ */
+public class ValidationResultStore {
+
+  /**
+   * Version of the file format, a file with another version is ignored.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Ids of the rules evaluated on the stored elements.
+   */
+  private final Set<String> ruleIds = new HashSet<>();
+
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  /**
+   * The stored results of an element.
+   */
+  private static class Entry {
+    final long hash;
+    final List<ValidationResult> results;
+
+    Entry(long hash, List<ValidationResult> results) {
+      this.hash = hash;
+      this.results = results;
+    }
+  }
+
+  /**
+   * Load the store from the given file.
+   * @param file
+   * @return an empty store if the file does not exist
+   * @throws IOException
+   *           if the file can't be read
+   */
+  public static ValidationResultStore load(File file) throws IOException {
+    ValidationResultStore store = new ValidationResultStore();
+    if (!file.isFile()) {
+      return store;
+    }
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return store;
+      }
+      int ruleCount = input.readInt();
+      for (int i = 0; i < ruleCount; i++) {
+        store.ruleIds.add(readString(input));
+      }
+      int entryCount = input.readInt();
+      for (int i = 0; i < entryCount; i++) {
+        String elementId = readString(input);
+        long hash = input.readLong();
+        int resultCount = input.readInt();
+        List<ValidationResult> results = new ArrayList<>(resultCount);
+        for (int j = 0; j < resultCount; j++) {
+          results.add(new ValidationResult(elementId, readString(input), readString(input), input.readInt(),
+              readString(input), readString(input), readString(input), input.readLong()));
+        }
+        store.entries.put(elementId, new Entry(hash, results));
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Save the store to the given file. The file is replaced at once, so that an interrupted save does not corrupt it.
+   * @param file
+   * @throws IOException
+   */
+  public void save(File file) throws IOException {
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.isDirectory()) {
+      parent.mkdirs();
+    }
+    File tmpFile = new File(parent, file.getName() + ".tmp"); //$NON-NLS-1$
+    try (DataOutputStream output = new DataOutputStream(
+        new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile))))) {
+      output.writeInt(FORMAT_VERSION);
+      output.writeInt(ruleIds.size());
+      for (String ruleId : ruleIds) {
+        writeString(output, ruleId);
+      }
+      output.writeInt(entries.size());
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        writeString(output, entry.getKey());
+        output.writeLong(entry.getValue().hash);
+        output.writeInt(entry.getValue().results.size());
+        for (ValidationResult result : entry.getValue().results) {
+          writeString(output, result.getRuleId());
+          writeString(output, result.getRuleLabel());
+          output.writeInt(result.getSeverity());
+          writeString(output, result.getMessage());
+          writeString(output, result.getCategory());
+          writeString(output, result.getPath());
+          output.writeLong(result.getTime());
+        }
+      }
+    }
+    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * @return whether results have been stored.
+   */
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * @return the ids of the rules evaluated on the stored elements.
+   */
+  public Set<String> getRuleIds() {
+    return Collections.unmodifiableSet(ruleIds);
+  }
+
+  /**
+   * Record the rules that have been evaluated on the stored elements.
+   * @param ruleIds
+   */
+  public void setRuleIds(Collection<String> ruleIds) {
+    this.ruleIds.clear();
+    this.ruleIds.addAll(ruleIds);
+  }
+
+  /**
+   * Get the stored results of an element, if it did not change.
+   * @param elementId
+   * @param hash
+   *          the current content hash of the element
+   * @param enabledRuleIds
+   *          the ids of the rules currently enabled: results of rules that have been disabled since they were stored
+   *          are dropped
+   * @return <code>null</code> if the element is unknown or has changed
+   */
+  public List<ValidationResult> getResults(String elementId, long hash, Set<String> enabledRuleIds) {
+    Entry entry = entries.get(elementId);
+    if (entry == null || entry.hash != hash) {
+      return null;
+    }
+    List<ValidationResult> results = new ArrayList<>(entry.results.size());
+    for (ValidationResult result : entry.results) {
+      // Results not coming from a rule (e.g. EMF intrinsic constraints) are kept
+      if (enabledRuleIds.contains(result.getRuleId()) || !ruleIds.contains(result.getRuleId())) {
+        results.add(result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Replace the results of an element.
+   * @param elementId
+   * @param hash
+   * @param results
+   */
+  public void put(String elementId, long hash, List<ValidationResult> results) {
+    entries.put(elementId, new Entry(hash, new ArrayList<>(results)));
+  }
+
+  /**
+   * Add results to the ones of an element, e.g. the results of newly enabled rules.
+   * @param elementId
+   * @param results
+   */
+  public void add(String elementId, List<ValidationResult> results) {
+    Entry entry = entries.get(elementId);
+    if (entry != null) {
+      entry.results.addAll(results);
+    }
+  }
+
+  /**
+   * Remove the elements that are not in the given ones.
+   * @param elementIds
+   */
+  public void retain(Set<String> elementIds) {
+    entries.keySet().retainAll(elementIds);
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+}
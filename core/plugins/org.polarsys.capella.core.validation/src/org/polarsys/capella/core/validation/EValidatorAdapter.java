@@ -12,7 +12,11 @@
  *******************************************************************************/
 package org.polarsys.capella.core.validation;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -26,17 +30,50 @@ import org.eclipse.emf.ecore.util.EObjectValidator;
 import org.eclipse.emf.validation.model.EvaluationMode;
 import org.eclipse.emf.validation.model.IConstraintStatus;
 import org.eclipse.emf.validation.service.IBatchValidator;
+import org.eclipse.emf.validation.service.IConstraintFilter;
+import org.eclipse.emf.validation.service.ITraversalStrategy;
 import org.eclipse.emf.validation.service.ModelValidationService;
+import org.polarsys.capella.core.model.handler.validation.CapellaDiagnostician;
 
 /**
  * An adapter that plugs the EMF Model Validation Service API into the {@link org.eclipse.emf.ecore.EValidator} API.
  */
 public class EValidatorAdapter extends EObjectValidator {
+  /**
+   * System property enabling the parallel validation of sub-trees (see {@link ParallelBatchValidator}).
+   */
+  public static final String PARALLEL_VALIDATION_PROPERTY = "org.polarsys.capella.core.validation.parallel"; //$NON-NLS-1$
+
+  /**
+   * System property defining the number of threads used by the parallel validation.
+   */
+  public static final String PARALLEL_VALIDATION_THREADS_PROPERTY = "org.polarsys.capella.core.validation.parallel.threads"; //$NON-NLS-1$
+
+  /**
+   * System property listing, comma separated, the ids of the constraints that must be evaluated serially.
+   */
+  public static final String SERIAL_CONSTRAINTS_PROPERTY = "org.polarsys.capella.core.validation.parallel.serialConstraints"; //$NON-NLS-1$
+
   /**
    * Model Validation Service interface for batch validation of EMF elements.
    */
   private IBatchValidator _validator;
 
+  /**
+   * Validator used to validate elements without their sub-tree.
+   */
+  private IBatchValidator _flatValidator;
+
+  /**
+   * Is the parallel validation enabled ?
+   */
+  private boolean _parallel = Boolean.valueOf(System.getProperty(PARALLEL_VALIDATION_PROPERTY, "false")); //$NON-NLS-1$
+
+  /**
+   * Ids of the constraints that are not thread safe.
+   */
+  private final Set<String> _serialConstraints = ConcurrentHashMap.newKeySet();
+
   /**
    * Constructor.<br>
    * Default constructor includes live constraints, does not report successes.
@@ -63,6 +100,46 @@ public class EValidatorAdapter extends EObjectValidator {
     _validator = (IBatchValidator) ModelValidationService.getInstance().newValidator(EvaluationMode.BATCH);
     _validator.setIncludeLiveConstraints(includeLiveConstraints_p);
     _validator.setReportSuccesses(reportSuccesses_p);
+    String serialConstraints = System.getProperty(SERIAL_CONSTRAINTS_PROPERTY);
+    if (null != serialConstraints) {
+      for (String constraintId : serialConstraints.split(",")) { //$NON-NLS-1$
+        if (!constraintId.trim().isEmpty()) {
+          _serialConstraints.add(constraintId.trim());
+        }
+      }
+    }
+  }
+
+  /**
+   * Is the parallel validation enabled ?
+   * @return <code>true</code> if sub-trees are validated in parallel
+   */
+  public boolean isParallel() {
+    return _parallel;
+  }
+
+  /**
+   * Enable or disable the parallel validation. When disabled, the whole validation falls back to the serial mode.
+   * @param parallel_p
+   */
+  public void setParallel(boolean parallel_p) {
+    _parallel = parallel_p;
+  }
+
+  /**
+   * Declare constraints that are not thread safe: in parallel mode, they are evaluated serially after the other ones.
+   * @param constraintIds_p
+   */
+  public void addSerialConstraints(String... constraintIds_p) {
+    _serialConstraints.addAll(Arrays.asList(constraintIds_p));
+  }
+
+  /**
+   * Get the ids of the constraints evaluated serially in parallel mode.
+   * @return an unmodifiable view
+   */
+  public Set<String> getSerialConstraints() {
+    return Collections.unmodifiableSet(_serialConstraints);
   }
 
   /**
@@ -83,14 +160,18 @@ public class EValidatorAdapter extends EObjectValidator {
 
     IStatus status = Status.OK_STATUS;
     // No point in validating if we can't report results
-    if (null != diagnostics_p) {
+    if ((null != diagnostics_p) && CapellaDiagnostician.isFlat(context_p)) {
+      // Only the element itself is to be validated, whatever has been validated before.
+      status = validateElement(eObject_p);
+      appendDiagnostics(status, diagnostics_p);
+    } else if (null != diagnostics_p) {
       // if EMF Mode Validation Service already covered the sub-tree,
       // which it does for efficient computation and error reporting,
       // then don't repeat (the Diagnostician does the recursion
       // externally). If there is no context map, then we can't
       // help it
       if (!hasProcessed(eObject_p, context_p)) {
-        status = getValidator().validate(eObject_p, new NullProgressMonitor());
+        status = validateSubtree(eObject_p);
         processed(eObject_p, context_p, status);
         appendDiagnostics(status, diagnostics_p);
       }
@@ -98,6 +179,39 @@ public class EValidatorAdapter extends EObjectValidator {
     return status.isOK();
   }
 
+  /**
+   * Validate the given element and its sub-tree, in parallel if enabled.
+   * @param eObject_p
+   * @return the validation status
+   */
+  protected IStatus validateSubtree(EObject eObject_p) {
+    if (isParallel()) {
+      int threads = Integer.getInteger(PARALLEL_VALIDATION_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+      return new ParallelBatchValidator(getValidator(), _serialConstraints, threads).validate(eObject_p);
+    }
+    return getValidator().validate(eObject_p, new NullProgressMonitor());
+  }
+
+  /**
+   * Validate the given element, without its sub-tree.
+   * @param eObject_p
+   * @return the validation status
+   */
+  protected IStatus validateElement(EObject eObject_p) {
+    if (null == _flatValidator) {
+      // Created on first use, so that it gets the constraint filters added to the main validator after construction.
+      IBatchValidator validator = (IBatchValidator) ModelValidationService.getInstance().newValidator(EvaluationMode.BATCH);
+      validator.setIncludeLiveConstraints(getValidator().isIncludeLiveConstraints());
+      validator.setReportSuccesses(getValidator().isReportSuccesses());
+      for (IConstraintFilter filter : getValidator().getConstraintFilters()) {
+        validator.addConstraintFilter(filter);
+      }
+      validator.setTraversalStrategy(new ITraversalStrategy.Flat());
+      _flatValidator = validator;
+    }
+    return _flatValidator.validate(eObject_p, new NullProgressMonitor());
+  }
+
   /**
    * Direct validation of {@link EDataType}s is not supported by the EMF validation framework; they are validated indirectly via the {@link EObject}s that
    * hold their values.
@@ -131,10 +245,14 @@ public class EValidatorAdapter extends EObjectValidator {
     boolean result = false;
     if (null != context_p) {
       EObject eObject = eObject_p;
-      // This is O(NlogN) but there's no helping it
       while ((null != eObject) && !result) {
-        if (context_p.containsKey(eObject)) {
+        Object status = context_p.get(eObject);
+        if (status instanceof IStatus) {
           result = true;
+          // Record the element as well, so that the search for its children stops at it.
+          if (eObject != eObject_p) {
+            context_p.put(eObject_p, status);
+          }
         } else {
           eObject = eObject.eContainer();
         }
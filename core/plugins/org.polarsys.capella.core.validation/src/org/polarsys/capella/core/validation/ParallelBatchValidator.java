@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.core.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.validation.model.EvaluationMode;
+import org.eclipse.emf.validation.model.IConstraintStatus;
+import org.eclipse.emf.validation.service.IBatchValidator;
+import org.eclipse.emf.validation.service.IConstraintFilter;
+import org.eclipse.emf.validation.service.ITraversalStrategy;
+import org.eclipse.emf.validation.service.ModelValidationService;
+
+/**
+ * Validates a model sub-tree by splitting it into independent sub-trees, each of them being validated by its own batch
+ * validator on a fork-join pool.<br>
+ * The split is done breadth first from the root, until there are enough sub-trees to keep the pool busy. Elements above
+ * the sub-trees are validated without their children. The resulting statuses are merged in the pre-order of the model,
+ * so the diagnostics order does not depend on the scheduling.<br>
+ * Constraints that are not thread safe are excluded from the parallel part, and evaluated afterwards on each sub-tree
+ * in the calling thread. Their statuses are merged with the other ones in the same pre-order.<br>
+ * The calling thread is expected to own the read transaction (see
+ * {@link org.polarsys.capella.common.ef.ExecutionManager}). Workers do not load anything: all proxies are resolved by
+ * the calling thread beforehand, so they only read the model.
+ */
+public class ParallelBatchValidator {
+
+  /**
+   * Number of sub-trees per worker, to balance sub-trees of different sizes.
+   */
+  private static final int SUBTREES_PER_THREAD = 4;
+
+  /**
+   * Validator providing the configuration (filters, reported statuses) of the validators used by the workers.
+   */
+  private final IBatchValidator template;
+
+  /**
+   * Ids of the constraints to evaluate in the calling thread.
+   */
+  private final Set<String> serialConstraints;
+
+  private final int parallelism;
+
+  private final IConstraintFilter serialFilter;
+
+  private final IConstraintFilter nonSerialFilter;
+
+  /**
+   * Constructor.
+   * @param template validator whose configuration is copied
+   * @param serialConstraints ids of the constraints that are not thread safe
+   * @param parallelism number of workers
+   */
+  public ParallelBatchValidator(IBatchValidator template, Set<String> serialConstraints, int parallelism) {
+    this.template = template;
+    this.serialConstraints = serialConstraints;
+    this.parallelism = Math.max(1, parallelism);
+    this.serialFilter = (constraint, target) -> serialConstraints.contains(constraint.getId());
+    this.nonSerialFilter = (constraint, target) -> !serialConstraints.contains(constraint.getId());
+  }
+
+  /**
+   * Validate the given element and its sub-tree.
+   * @param root
+   * @return the merged status of all the validations
+   */
+  public IStatus validate(EObject root) {
+    List<Partition> partitions = partition(root, parallelism * SUBTREES_PER_THREAD);
+    if (partitions.size() <= 1) {
+      return template.validate(root, new NullProgressMonitor());
+    }
+
+    EcoreUtil.resolveAll(root);
+
+    List<IStatus> statuses;
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      statuses = pool
+          .submit(() -> partitions.parallelStream().map(this::validateConcurrently).collect(Collectors.toList())).get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
+    } catch (ExecutionException exception) {
+      log(exception);
+      statuses = new ArrayList<>();
+      for (int i = 0; i < partitions.size(); i++) {
+        statuses.add(null);
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    List<IStatus> leaves = new ArrayList<>();
+    for (int i = 0; i < statuses.size(); i++) {
+      // A partition whose validation failed is validated again in the calling thread, with the same constraints.
+      IStatus status = statuses.get(i);
+      collectLeaves(null == status ? validate(partitions.get(i), nonSerialFilter) : status, leaves);
+      if (!serialConstraints.isEmpty()) {
+        collectLeaves(validate(partitions.get(i), serialFilter), leaves);
+      }
+    }
+
+    // Statuses of the serial constraints are interleaved with the other ones, following the pre-order of their targets.
+    Map<EObject, Integer> order = new HashMap<>();
+    order.put(root, Integer.valueOf(0));
+    TreeIterator<EObject> iterator = root.eAllContents();
+    while (iterator.hasNext()) {
+      order.put(iterator.next(), Integer.valueOf(order.size()));
+    }
+    leaves.sort(Comparator.comparingInt(status -> getOrder(status, order)));
+
+    return new MultiStatus(CapellaValidationActivator.getDefault().getPluginId(), 0,
+        leaves.toArray(new IStatus[leaves.size()]), "", null); //$NON-NLS-1$
+  }
+
+  private IStatus validateConcurrently(Partition partition) {
+    try {
+      return validate(partition, nonSerialFilter);
+    } catch (RuntimeException exception) {
+      log(exception);
+      return null;
+    }
+  }
+
+  /**
+   * Add the constraint statuses held by the given status, and the other ones if not OK.
+   */
+  private void collectLeaves(IStatus status, List<IStatus> leaves) {
+    if (status instanceof IConstraintStatus) {
+      leaves.add(status);
+    }
+    if (status.isMultiStatus()) {
+      for (IStatus child : status.getChildren()) {
+        collectLeaves(child, leaves);
+      }
+    } else if (!(status instanceof IConstraintStatus) && !status.isOK()) {
+      leaves.add(status);
+    }
+  }
+
+  /**
+   * @return the pre-order index of the target of the given status, statuses without known target being last.
+   */
+  private int getOrder(IStatus status, Map<EObject, Integer> order) {
+    if (status instanceof IConstraintStatus) {
+      Integer index = order.get(((IConstraintStatus) status).getTarget());
+      if (null != index) {
+        return index.intValue();
+      }
+    }
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * @param partition
+   * @param filter an additional filter, may be <code>null</code>
+   */
+  private IStatus validate(Partition partition, IConstraintFilter filter) {
+    IBatchValidator validator = createValidator();
+    if (null != filter) {
+      validator.addConstraintFilter(filter);
+    }
+    if (partition.flat) {
+      validator.setTraversalStrategy(new ITraversalStrategy.Flat());
+    }
+    return validator.validate(partition.root, new NullProgressMonitor());
+  }
+
+  /**
+   * Batch validators are not thread safe: create one for each validation, configured as the template.
+   */
+  private IBatchValidator createValidator() {
+    IBatchValidator validator = (IBatchValidator) ModelValidationService.getInstance()
+        .newValidator(EvaluationMode.BATCH);
+    validator.setIncludeLiveConstraints(template.isIncludeLiveConstraints());
+    validator.setReportSuccesses(template.isReportSuccesses());
+    for (IConstraintFilter filter : template.getConstraintFilters()) {
+      validator.addConstraintFilter(filter);
+    }
+    return validator;
+  }
+
+  /**
+   * Split the sub-tree of the given root.
+   * @param root
+   * @param expectedSubtrees
+   * @return partitions in pre-order
+   */
+  private List<Partition> partition(EObject root, int expectedSubtrees) {
+    Set<EObject> expanded = new HashSet<>();
+    Deque<EObject> queue = new ArrayDeque<>();
+    queue.add(root);
+    int subtrees = 1;
+    while (!queue.isEmpty() && subtrees < expectedSubtrees) {
+      EObject element = queue.poll();
+      Collection<EObject> children = element.eContents();
+      if (!children.isEmpty()) {
+        expanded.add(element);
+        subtrees += children.size() - 1;
+        queue.addAll(children);
+      }
+    }
+    List<Partition> partitions = new ArrayList<>();
+    collect(root, expanded, partitions);
+    return partitions;
+  }
+
+  private void collect(EObject element, Set<EObject> expanded, List<Partition> partitions) {
+    if (expanded.contains(element)) {
+      partitions.add(new Partition(element, true));
+      for (EObject child : element.eContents()) {
+        collect(child, expanded, partitions);
+      }
+    } else {
+      partitions.add(new Partition(element, false));
+    }
+  }
+
+  private void log(Throwable exception) {
+    CapellaValidationActivator.getDefault().getLog()
+        .log(new Status(IStatus.ERROR, CapellaValidationActivator.getDefault().getPluginId(), exception.getMessage(),
+            exception));
+  }
+
+  /**
+   * An element to validate, with its sub-tree unless flat.
+   */
+  private static class Partition {
+    final EObject root;
+    final boolean flat;
+
+    Partition(EObject root, boolean flat) {
+      this.root = root;
+      this.flat = flat;
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+
+package org.polarsys.capella.viatra.core.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.sirius.business.api.session.Session;
+import org.eclipse.sirius.business.api.session.SessionListener;
+import org.eclipse.viatra.query.runtime.api.AdvancedViatraQueryEngine;
+import org.eclipse.viatra.query.runtime.api.IPatternMatch;
+import org.eclipse.viatra.query.runtime.api.IQuerySpecification;
+import org.eclipse.viatra.query.runtime.api.ViatraQueryMatcher;
+import org.eclipse.viatra.query.runtime.base.api.EMFBaseIndexChangeListener;
+import org.eclipse.viatra.query.runtime.emf.EMFScope;
+import org.eclipse.viatra.query.runtime.emf.types.EStructuralFeatureInstancesKey;
+import org.eclipse.viatra.query.runtime.matchers.context.surrogate.SurrogateQueryRegistry;
+import org.eclipse.viatra.query.runtime.matchers.psystem.queries.PQuery;
+import org.eclipse.viatra.query.runtime.registry.IQuerySpecificationRegistryEntry;
+import org.eclipse.viatra.query.runtime.registry.QuerySpecificationRegistry;
+import org.polarsys.capella.common.model.helpers.DerivedFeatureDispatcher;
+import org.polarsys.capella.common.model.helpers.IDerivedFeatureBackend;
+import org.polarsys.capella.common.model.helpers.IHelper;
+import org.polarsys.capella.common.model.helpers.IModelConstants;
+
+/**
+ * Computes the derived features of the models of the enabled resource sets with the Viatra surrogate queries
+ * contributed for them, instead of the helpers.<br>
+ * Each enabled resource set has its own query engine, whose Rete network is built the first time a derived feature is
+ * read and is then maintained incrementally on each change of the model: reading a derived feature is then a lookup in
+ * the network. Derived features without surrogate query are still computed by the helpers.<br>
+ * As matches are unordered, the values of a many-valued feature are sorted in the order returned by the helper. This
+ * order is computed on the first read of the feature of an element, and kept until the next change of the model.<br>
+ * The query engine of a session is disposed when the session is closed.
+ */
+public class ViatraDerivedFeatureBackend implements IDerivedFeatureBackend {
+
+  private static final ViatraDerivedFeatureBackend instance = new ViatraDerivedFeatureBackend();
+
+  /**
+   * Query specifications of the surrogate queries, by feature.
+   */
+  private final Map<EStructuralFeature, Optional<IQuerySpecification<?>>> specifications = new ConcurrentHashMap<>();
+
+  private final AtomicInteger enabledCount = new AtomicInteger();
+
+  private ViatraDerivedFeatureBackend() {
+    // Singleton
+  }
+
+  /**
+   * @return the backend instance
+   */
+  public static ViatraDerivedFeatureBackend getInstance() {
+    return instance;
+  }
+
+  /**
+   * Compute the derived features of the elements of the given session with the Viatra surrogate queries, until the
+   * session is closed.
+   *
+   * @param session
+   */
+  public synchronized void enable(Session session) {
+    EngineAdapter adapter = doEnable(session.getTransactionalEditingDomain().getResourceSet());
+    if (adapter != null) {
+      adapter.setSession(session);
+    }
+  }
+
+  /**
+   * Compute the derived features of the elements of the given resource set with the Viatra surrogate queries, until
+   * {@link #disable(ResourceSet)} is called.
+   *
+   * @param resourceSet
+   *          a resource set without session
+   */
+  public synchronized void enable(ResourceSet resourceSet) {
+    doEnable(resourceSet);
+  }
+
+  /**
+   * @return the created engine adapter, or <code>null</code> if the resource set is already enabled
+   */
+  private EngineAdapter doEnable(ResourceSet resourceSet) {
+    if (getEngineAdapter(resourceSet) != null) {
+      return null;
+    }
+    EngineAdapter adapter = new EngineAdapter(resourceSet);
+    resourceSet.eAdapters().add(adapter);
+    if (enabledCount.getAndIncrement() == 0) {
+      DerivedFeatureDispatcher.addBackend(this);
+    }
+    return adapter;
+  }
+
+  /**
+   * Compute the derived features of the elements of the given session with the helpers again, and dispose its query
+   * engine.
+   *
+   * @param session
+   */
+  public void disable(Session session) {
+    disable(session.getTransactionalEditingDomain().getResourceSet());
+  }
+
+  /**
+   * Compute the derived features of the elements of the given resource set with the helpers again, and dispose its
+   * query engine.
+   *
+   * @param resourceSet
+   */
+  public synchronized void disable(ResourceSet resourceSet) {
+    EngineAdapter adapter = getEngineAdapter(resourceSet);
+    if (adapter != null) {
+      resourceSet.eAdapters().remove(adapter);
+    }
+  }
+
+  /**
+   * @param resourceSet
+   * @return whether the derived features of the elements of the given resource set are computed by this backend.
+   */
+  public boolean isEnabled(ResourceSet resourceSet) {
+    return getEngineAdapter(resourceSet) != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isHandled(EObject object, EStructuralFeature feature) {
+    return getEngineAdapter(object) != null && getSpecification(feature).isPresent();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object getValue(EObject object, EStructuralFeature feature) {
+    EngineAdapter adapter = getEngineAdapter(object);
+    Optional<IQuerySpecification<?>> specification = getSpecification(feature);
+    if (adapter == null || !specification.isPresent()) {
+      return null;
+    }
+    if (feature.isMany()) {
+      return new ArrayList<>(adapter.getOrderedValues(specification.get(), object, feature));
+    }
+    Set<Object> values = adapter.getValues(specification.get(), object);
+    return values.isEmpty() ? null : values.iterator().next();
+  }
+
+  /**
+   * @return the given values, in the order of the value of the given feature returned by the helper
+   */
+  private List<Object> sortByHelper(Set<Object> values, EObject object, EStructuralFeature feature) {
+    List<Object> result = new ArrayList<>(values);
+    IHelper helper = (IHelper) Platform.getAdapterManager().getAdapter(object, IHelper.class);
+    if (result.size() < 2 || helper == null) {
+      return result;
+    }
+    Object helperValue = helper.getValue(object, feature,
+        feature.getEAnnotation(IModelConstants.HELPER_ANNOTATION_SOURCE));
+    if (helperValue instanceof Collection<?>) {
+      Map<Object, Integer> positions = new HashMap<>();
+      for (Object value : (Collection<?>) helperValue) {
+        positions.putIfAbsent(value, positions.size());
+      }
+      // Values unknown to the helper come last
+      result.sort(Comparator.comparingInt(value -> positions.getOrDefault(value, Integer.MAX_VALUE)));
+    }
+    return result;
+  }
+
+  private Optional<IQuerySpecification<?>> getSpecification(EStructuralFeature feature) {
+    return specifications.computeIfAbsent(feature, this::createSpecification);
+  }
+
+  private Optional<IQuerySpecification<?>> createSpecification(EStructuralFeature feature) {
+    EStructuralFeatureInstancesKey key = new EStructuralFeatureInstancesKey(feature);
+    SurrogateQueryRegistry registry = SurrogateQueryRegistry.instance();
+    if (!registry.hasSurrogateQueryFQN(key)) {
+      return Optional.empty();
+    }
+    PQuery query = registry.getSurrogateQuery(key);
+    IQuerySpecificationRegistryEntry entry = QuerySpecificationRegistry.getInstance().getDefaultView()
+        .getEntry(query.getFullyQualifiedName());
+    return entry != null ? Optional.of(entry.get()) : Optional.empty();
+  }
+
+  private EngineAdapter getEngineAdapter(EObject object) {
+    if (enabledCount.get() == 0) {
+      return null;
+    }
+    Resource resource = object.eResource();
+    return resource != null ? getEngineAdapter(resource.getResourceSet()) : null;
+  }
+
+  private EngineAdapter getEngineAdapter(ResourceSet resourceSet) {
+    return resourceSet != null ? (EngineAdapter) EcoreUtil.getExistingAdapter(resourceSet, EngineAdapter.class)
+        : null;
+  }
+
+  /**
+   * The query engine of an enabled resource set, disposed when it is removed from the resource set or when its session
+   * is closed.
+   */
+  private class EngineAdapter extends AdapterImpl implements SessionListener, EMFBaseIndexChangeListener {
+
+    private final AdvancedViatraQueryEngine engine;
+
+    private final Map<IQuerySpecification<?>, ViatraQueryMatcher<IPatternMatch>> matchers = new HashMap<>();
+
+    /**
+     * Values of many-valued features sorted in the order of the helpers, by element, cleared on each change of the
+     * model.
+     */
+    private final Map<IQuerySpecification<?>, Map<EObject, List<Object>>> orderedValues = new HashMap<>();
+
+    private Session session;
+
+    EngineAdapter(ResourceSet resourceSet) {
+      engine = AdvancedViatraQueryEngine.createUnmanagedEngine(new EMFScope(resourceSet));
+      EMFScope.extractUnderlyingEMFIndex(engine).addBaseIndexChangeListener(this);
+    }
+
+    void setSession(Session session) {
+      this.session = session;
+      session.addListener(this);
+    }
+
+    /**
+     * @return the values of the target parameter of the matches of the given surrogate query for the given element.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    synchronized Set<Object> getValues(IQuerySpecification<?> specification, EObject object) {
+      ViatraQueryMatcher<IPatternMatch> matcher = matchers.computeIfAbsent(specification,
+          s -> (ViatraQueryMatcher<IPatternMatch>) engine.getMatcher((IQuerySpecification) s));
+      // Surrogate queries have a source and a target parameter
+      IPatternMatch partialMatch = matcher.newMatch(object, null);
+      return matcher.getAllValues(matcher.getParameterNames().get(1), partialMatch);
+    }
+
+    /**
+     * @return the values of the target parameter of the matches of the given surrogate query for the given element,
+     *         in the order of the helper of the given feature.
+     */
+    synchronized List<Object> getOrderedValues(IQuerySpecification<?> specification, EObject object,
+        EStructuralFeature feature) {
+      Map<EObject, List<Object>> values = orderedValues.computeIfAbsent(specification, s -> new HashMap<>());
+      List<Object> result = values.get(object);
+      if (result == null) {
+        result = sortByHelper(getValues(specification, object), object, feature);
+        values.put(object, result);
+      }
+      return result;
+    }
+
+    @Override
+    public boolean onlyOnIndexChange() {
+      // Moves within a list change the order without changing the index
+      return false;
+    }
+
+    @Override
+    public synchronized void notifyChanged(boolean indexChanged) {
+      orderedValues.clear();
+    }
+
+    @Override
+    public void notify(int changeKind) {
+      if (changeKind == SessionListener.CLOSING) {
+        disable(session);
+      }
+    }
+
+    @Override
+    public void unsetTarget(Notifier oldTarget) {
+      super.unsetTarget(oldTarget);
+      synchronized (ViatraDerivedFeatureBackend.this) {
+        if (enabledCount.decrementAndGet() == 0) {
+          DerivedFeatureDispatcher.removeBackend(ViatraDerivedFeatureBackend.this);
+        }
+      }
+      if (session != null) {
+        session.removeListener(this);
+      }
+      synchronized (this) {
+        matchers.clear();
+        orderedValues.clear();
+        engine.dispose();
+      }
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+      return type == EngineAdapter.class;
+    }
+  }
+}
@@ -75,69 +75,48 @@ public class ClassgetGenFeatureTODOoverride extends org.eclipse.egf.emf.pattern.
 
     protected final String TEXT_27 = ") result;" + NL + "\t} catch (ClassCastException exception) {" + NL + "\t  exception.printStackTrace();" + NL + "\t  return null;" + NL + "\t}" + NL + "\t";
 
-    protected final String TEXT_28 = NL + "    Object result = null;" + NL + "    // Helper that can get value for current feature.";
+    protected final String TEXT_28 = NL + "    // Get the value from the derived feature table of the EClass." + NL + "    Object result = ";
 
-    protected final String TEXT_29 = NL + "    ";
+    protected final String TEXT_29 = ".getValue(this, ";
 
-    protected final String TEXT_30 = " helper = null;" + NL + "    // If current object is adaptable, ask it to get its IHelper." + NL + "    if (this instanceof ";
+    protected final String TEXT_30 = ");" + NL + "\t\t";
 
-    protected final String TEXT_31 = ") {" + NL + "    \thelper = (IHelper) ((IAdaptable) this).getAdapter(IHelper.class);" + NL + "    }" + NL + "    if (null == helper) {" + NL
-            + "      // No helper found yet." + NL + "      // Ask the platform to get the adapter 'IHelper.class' for current object.";
+    protected final String TEXT_31 = NL + "\t\ttry {" + NL + "\t\t@SuppressWarnings(\"unchecked\")" + NL + "\t\t";
 
-    protected final String TEXT_32 = NL + "      ";
+    protected final String TEXT_32 = ">(this, ";
 
-    protected final String TEXT_33 = " adapterManager = ";
-
-    protected final String TEXT_34 = ".getAdapterManager();" + NL + "      helper = (IHelper) adapterManager.getAdapter(this, IHelper.class);" + NL + "    }" + NL + "    if (null == helper) {";
-
-    protected final String TEXT_35 = " package_l = eClass().getEPackage();" + NL + "      // Get the root package of the owner package." + NL
-            + "      EPackage rootPackage = org.polarsys.capella.common.mdsofa.common.helper.EcoreHelper.getRootPackage(package_l);" + NL
-            + "      throw new org.polarsys.capella.common.model.helpers.HelperNotFoundException(\"No helper retrieved for nsURI \" + rootPackage.getNsURI()); ";
-
-    protected final String TEXT_36 = NL + "    } " + NL + "    // A helper is found, let's use it. ";
-
-    protected final String TEXT_37 = " annotation = ";
-
-    protected final String TEXT_38 = ".getEAnnotation(org.polarsys.capella.common.model.helpers.IModelConstants.HELPER_ANNOTATION_SOURCE);" + NL + "    result = helper.getValue(this, ";
-
-    protected final String TEXT_39 = ", annotation);" + NL + "\t\t";
-
-    protected final String TEXT_40 = NL + "\t\ttry {" + NL + "\t\t@SuppressWarnings(\"unchecked\")" + NL + "\t\t";
-
-    protected final String TEXT_41 = ">(this, ";
-
-    protected final String TEXT_42 = ", resultAsList.size(), resultAsList.toArray());" + NL + "\t\t} catch (ClassCastException exception) {" + NL + "\t  \texception.printStackTrace();" + NL
+    protected final String TEXT_33 = ", resultAsList.size(), resultAsList.toArray());" + NL + "\t\t} catch (ClassCastException exception) {" + NL + "\t  \texception.printStackTrace();" + NL
             + "\t  \treturn org.eclipse.emf.common.util.ECollections.emptyEList();" + NL + "\t  }" + NL + "\t\t";
 
-    protected final String TEXT_43 = NL + "\t\t\treturn ((";
+    protected final String TEXT_34 = NL + "\t\t\treturn ((";
 
-    protected final String TEXT_44 = "();" + NL + "\t\t";
+    protected final String TEXT_35 = "();" + NL + "\t\t";
 
-    protected final String TEXT_45 = NL + "\t\ttry {" + NL + "\t\t\treturn (";
+    protected final String TEXT_36 = NL + "\t\ttry {" + NL + "\t\t\treturn (";
 
-    protected final String TEXT_46 = ") result;" + NL + "\t  } catch (ClassCastException exception) {" + NL + "\t     exception.printStackTrace();" + NL + "\t    return null;" + NL + "\t  }" + NL
+    protected final String TEXT_37 = ") result;" + NL + "\t  } catch (ClassCastException exception) {" + NL + "\t     exception.printStackTrace();" + NL + "\t    return null;" + NL + "\t  }" + NL
             + "\t\t";
 
-    protected final String TEXT_47 = NL + "\t\t// TODO: implement this method to return the '";
+    protected final String TEXT_38 = NL + "\t\t// TODO: implement this method to return the '";
 
-    protected final String TEXT_48 = "' ";
+    protected final String TEXT_39 = "' ";
 
-    protected final String TEXT_49 = NL + "\t\t// Ensure that you remove @generated or mark it @generated NOT" + NL + "\t\t\t";
+    protected final String TEXT_40 = NL + "\t\t// Ensure that you remove @generated or mark it @generated NOT" + NL + "\t\t\t";
 
-    protected final String TEXT_50 = NL + "\t\t// The list is expected to implement org.eclipse.emf.ecore.util.InternalEList and org.eclipse.emf.ecore.EStructuralFeature.Setting" + NL
+    protected final String TEXT_41 = NL + "\t\t// The list is expected to implement org.eclipse.emf.ecore.util.InternalEList and org.eclipse.emf.ecore.EStructuralFeature.Setting" + NL
             + "\t\t// so it's likely that an appropriate subclass of org.eclipse.emf.ecore.util.";
 
-    protected final String TEXT_51 = "EcoreEMap";
+    protected final String TEXT_42 = "EcoreEMap";
 
-    protected final String TEXT_52 = "BasicFeatureMap";
+    protected final String TEXT_43 = "BasicFeatureMap";
 
-    protected final String TEXT_53 = "EcoreEList";
+    protected final String TEXT_44 = "EcoreEList";
 
-    protected final String TEXT_54 = " should be used." + NL + "\t\t\t";
+    protected final String TEXT_45 = " should be used." + NL + "\t\t\t";
 
-    protected final String TEXT_55 = NL + "\t\tthrow new UnsupportedOperationException();";
+    protected final String TEXT_46 = NL + "\t\tthrow new UnsupportedOperationException();";
 
-    protected final String TEXT_56 = NL;
+    protected final String TEXT_47 = NL;
 
     public ClassgetGenFeatureTODOoverride() {
         //Here is the constructor
@@ -254,8 +233,8 @@ public class ClassgetGenFeatureTODOoverride extends org.eclipse.egf.emf.pattern.
             ctx.getReporter().executionFinished(OutputManager.computeExecutionOutput(ctx), ctx);
         }
 
-        stringBuffer.append(TEXT_56);
-        stringBuffer.append(TEXT_56);
+        stringBuffer.append(TEXT_47);
+        stringBuffer.append(TEXT_47);
         return stringBuffer.toString();
     }
 
@@ -396,30 +375,12 @@ public class ClassgetGenFeatureTODOoverride extends org.eclipse.egf.emf.pattern.
                 if (null != annotationHelper) {
                     // Generate The helper framework code.
                     stringBuffer.append(TEXT_28);
+                    stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.model.helpers.DerivedFeatureDispatcher"));
                     stringBuffer.append(TEXT_29);
-                    stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.model.helpers.IHelper"));
-                    stringBuffer.append(TEXT_30);
-                    stringBuffer.append(genModel.getImportedName("org.eclipse.core.runtime.IAdaptable"));
-                    stringBuffer.append(TEXT_31);
-                    stringBuffer.append(TEXT_32);
-                    stringBuffer.append(genModel.getImportedName("org.eclipse.core.runtime.IAdapterManager"));
-                    stringBuffer.append(TEXT_33);
-                    stringBuffer.append(genModel.getImportedName("org.eclipse.core.runtime.Platform"));
-                    stringBuffer.append(TEXT_34);
-                    stringBuffer.append(TEXT_32);
-                    stringBuffer.append(genModel.getImportedName("org.eclipse.emf.ecore.EPackage"));
-                    stringBuffer.append(TEXT_35);
-                    stringBuffer.append(genModel.getNonNLS());
-                    stringBuffer.append(TEXT_36);
-                    stringBuffer.append(TEXT_29);
-                    stringBuffer.append(genModel.getImportedName("org.eclipse.emf.ecore.EAnnotation"));
-                    stringBuffer.append(TEXT_37);
                     stringBuffer.append(genFeature.getQualifiedFeatureAccessor());
-                    stringBuffer.append(TEXT_38);
-                    stringBuffer.append(genFeature.getQualifiedFeatureAccessor());
-                    stringBuffer.append(TEXT_39);
+                    stringBuffer.append(TEXT_30);
                     if (genFeature.isListType()) {
-                        stringBuffer.append(TEXT_40);
+                        stringBuffer.append(TEXT_31);
                         stringBuffer.append(genModel.getImportedName("java.util.Collection"));
                         stringBuffer.append(TEXT_15);
                         stringBuffer.append(genFeature.getListItemType());
@@ -431,59 +392,59 @@ public class ClassgetGenFeatureTODOoverride extends org.eclipse.egf.emf.pattern.
                         stringBuffer.append(genModel.getImportedName("org.eclipse.emf.ecore.util.EcoreEList"));
                         stringBuffer.append(TEXT_21);
                         stringBuffer.append(genFeature.getListItemType());
-                        stringBuffer.append(TEXT_41);
+                        stringBuffer.append(TEXT_32);
                         stringBuffer.append(genFeature.getQualifiedFeatureAccessor());
-                        stringBuffer.append(TEXT_42);
+                        stringBuffer.append(TEXT_33);
                     } else if (genFeature.isPrimitiveType()) {
-                        stringBuffer.append(TEXT_43);
+                        stringBuffer.append(TEXT_34);
                         stringBuffer.append(genFeature.getObjectType());
                         stringBuffer.append(TEXT_24);
                         stringBuffer.append(genFeature.getPrimitiveValueFunction());
-                        stringBuffer.append(TEXT_44);
+                        stringBuffer.append(TEXT_35);
                     } else {
-                        stringBuffer.append(TEXT_45);
+                        stringBuffer.append(TEXT_36);
                         stringBuffer.append(genFeature.getImportedType());
-                        stringBuffer.append(TEXT_46);
+                        stringBuffer.append(TEXT_37);
                     }
                 } else { // End of if (null != annotationHelper)
-                    stringBuffer.append(TEXT_47);
+                    stringBuffer.append(TEXT_38);
                     stringBuffer.append(genFeature.getFormattedName());
-                    stringBuffer.append(TEXT_48);
+                    stringBuffer.append(TEXT_39);
                     stringBuffer.append(genFeature.getFeatureKind());
-                    stringBuffer.append(TEXT_49);
+                    stringBuffer.append(TEXT_40);
                     if (genFeature.isListType()) {
-                        stringBuffer.append(TEXT_50);
+                        stringBuffer.append(TEXT_41);
                         if (genFeature.isMapType()) {
-                            stringBuffer.append(TEXT_51);
+                            stringBuffer.append(TEXT_42);
                         } else if (genFeature.isFeatureMapType()) {
-                            stringBuffer.append(TEXT_52);
+                            stringBuffer.append(TEXT_43);
                         } else {
-                            stringBuffer.append(TEXT_53);
+                            stringBuffer.append(TEXT_44);
                         }
-                        stringBuffer.append(TEXT_54);
+                        stringBuffer.append(TEXT_45);
                     }
-                    stringBuffer.append(TEXT_55);
+                    stringBuffer.append(TEXT_46);
                 } // End of Unsupported exception. 
             } // End of else block where the helper annotation is checked.
         } // End of is a derived property.
         else {
-            stringBuffer.append(TEXT_47);
+            stringBuffer.append(TEXT_38);
             stringBuffer.append(genFeature.getFormattedName());
-            stringBuffer.append(TEXT_48);
+            stringBuffer.append(TEXT_39);
             stringBuffer.append(genFeature.getFeatureKind());
-            stringBuffer.append(TEXT_49);
+            stringBuffer.append(TEXT_40);
             if (genFeature.isListType()) {
-                stringBuffer.append(TEXT_50);
+                stringBuffer.append(TEXT_41);
                 if (genFeature.isMapType()) {
-                    stringBuffer.append(TEXT_51);
+                    stringBuffer.append(TEXT_42);
                 } else if (genFeature.isFeatureMapType()) {
-                    stringBuffer.append(TEXT_52);
+                    stringBuffer.append(TEXT_43);
                 } else {
-                    stringBuffer.append(TEXT_53);
+                    stringBuffer.append(TEXT_44);
                 }
-                stringBuffer.append(TEXT_54);
+                stringBuffer.append(TEXT_45);
             }
-            stringBuffer.append(TEXT_55);
+            stringBuffer.append(TEXT_46);
         }
         InternalPatternContext ictx = (InternalPatternContext) ctx;
         new Node.DataLeaf(ictx.getNode(), getClass(), "doGenerate", stringBuffer.toString());
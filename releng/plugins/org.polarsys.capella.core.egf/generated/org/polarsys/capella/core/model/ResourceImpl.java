@@ -160,7 +160,7 @@ public class ResourceImpl extends org.polarsys.kitalpha.emde.egf.model.ResourceC
             + "\t * <!-- begin-user-doc -->" + NL + "\t * <!-- end-user-doc -->" + NL + "\t * " + NL + "\t * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#setLoaded()" + NL + "\t * @generated"
             + NL + "\t */";
 
-    protected final String TEXT_55 = " setLoaded(boolean isLoaded) {" + NL + "\t\treturn super.setLoaded(isLoaded);" + NL + "\t}" + NL + "\t//end-capella-code";
+    protected final String TEXT_55 = " setLoaded(boolean isLoaded) {" + NL + "\t\treturn super.setLoaded(isLoaded);" + NL + "\t}" + NL + "" + NL + "\t/**" + NL + "\t * <!-- begin-user-doc -->" + NL + "\t * <!-- end-user-doc -->" + NL + "\t * " + NL + "\t * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#load(java.util.Map)" + NL + "\t * @generated" + NL + "\t */";
 
     protected final String TEXT_56 = NL + "\t/**" + NL + "\t * A load option that turns of the use of the generate data converters." + NL + "\t * <!-- begin-user-doc -->" + NL
             + "\t * <!-- end-user-doc -->" + NL + "\t * @generated" + NL + "\t */" + NL + "\tpublic static final String OPTION_USE_DATA_CONVERTER = \"USE_DATA_CONVERTER\";" + NL + "" + NL + "\t/**"
@@ -416,6 +416,32 @@ public class ResourceImpl extends org.polarsys.kitalpha.emde.egf.model.ResourceC
 
     protected final String TEXT_168 = NL;
 
+    protected final String TEXT_169 = NL + "\tpublic void load(";
+
+    protected final String TEXT_170 = "<?, ?> options) throws ";
+
+    protected final String TEXT_171 = " {" + NL + "\t\tif (!";
+
+    protected final String TEXT_172 = ".load(this, options)) {" + NL + "\t\t\tsuper.load(options);" + NL + "\t\t}" + NL + "\t}" + NL + "" + NL + "\t/**" + NL + "\t * <!-- begin-user-doc -->" + NL + "\t * <!-- end-user-doc -->" + NL + "\t * " + NL + "\t * @see org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doLoad(java.io.InputStream, java.util.Map)" + NL + "\t * @generated" + NL + "\t */";
+
+    protected final String TEXT_173 = NL + "\tpublic void doLoad(";
+
+    protected final String TEXT_174 = " inputStream, ";
+
+    protected final String TEXT_175 = ".doLoad(this, inputStream, options)) {" + NL + "\t\t\tsuper.doLoad(inputStream, options);" + NL + "\t\t}" + NL + "\t}" + NL + "" + NL + "\t/**" + NL + "\t * <!-- begin-user-doc -->" + NL + "\t * <!-- end-user-doc -->" + NL + "\t * " + NL + "\t * @see org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doSave(java.io.OutputStream, java.util.Map)" + NL + "\t * @generated" + NL + "\t */";
+
+    protected final String TEXT_176 = NL + "\tpublic void doSave(";
+
+    protected final String TEXT_177 = " outputStream, ";
+
+    protected final String TEXT_178 = " {" + NL + "\t\t";
+
+    protected final String TEXT_179 = " savedStream = ";
+
+    protected final String TEXT_180 = ".startSave(this, outputStream);" + NL + "\t\tsuper.doSave(savedStream, options);" + NL + "\t\t";
+
+    protected final String TEXT_181 = ".endSave(this, savedStream);" + NL + "\t}" + NL + "\t//end-capella-code";
+
     public ResourceImpl() {
         //Here is the constructor
         StringBuffer stringBuffer = new StringBuffer();
@@ -670,6 +696,44 @@ public class ResourceImpl extends org.polarsys.kitalpha.emde.egf.model.ResourceC
             stringBuffer.append(TEXT_33);
             stringBuffer.append(genModel.getImportedName("org.eclipse.emf.common.notify.Notification"));
             stringBuffer.append(TEXT_55);
+            if (genModel.useClassOverrideAnnotation()) {
+                stringBuffer.append(TEXT_32);
+            }
+            stringBuffer.append(TEXT_169);
+            stringBuffer.append(genModel.getImportedName("java.util.Map"));
+            stringBuffer.append(TEXT_170);
+            stringBuffer.append(genModel.getImportedName("java.io.IOException"));
+            stringBuffer.append(TEXT_171);
+            stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache"));
+            stringBuffer.append(TEXT_172);
+            if (genModel.useClassOverrideAnnotation()) {
+                stringBuffer.append(TEXT_32);
+            }
+            stringBuffer.append(TEXT_173);
+            stringBuffer.append(genModel.getImportedName("java.io.InputStream"));
+            stringBuffer.append(TEXT_174);
+            stringBuffer.append(genModel.getImportedName("java.util.Map"));
+            stringBuffer.append(TEXT_170);
+            stringBuffer.append(genModel.getImportedName("java.io.IOException"));
+            stringBuffer.append(TEXT_171);
+            stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache"));
+            stringBuffer.append(TEXT_175);
+            if (genModel.useClassOverrideAnnotation()) {
+                stringBuffer.append(TEXT_32);
+            }
+            stringBuffer.append(TEXT_176);
+            stringBuffer.append(genModel.getImportedName("java.io.OutputStream"));
+            stringBuffer.append(TEXT_177);
+            stringBuffer.append(genModel.getImportedName("java.util.Map"));
+            stringBuffer.append(TEXT_170);
+            stringBuffer.append(genModel.getImportedName("java.io.IOException"));
+            stringBuffer.append(TEXT_178);
+            stringBuffer.append(genModel.getImportedName("java.io.OutputStream"));
+            stringBuffer.append(TEXT_179);
+            stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache"));
+            stringBuffer.append(TEXT_180);
+            stringBuffer.append(genModel.getImportedName("org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache"));
+            stringBuffer.append(TEXT_181);
         }
         stringBuffer.append(TEXT_14);
         if (genPackage.isDataTypeConverters() && (genPackage.hasDocumentRoot() || org.eclipse.emf.ecore.xml.type.XMLTypePackage.eNS_URI.equals(genPackage.getNSURI()))) {
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.derivedfeatures;
+
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractSetUpTestCase;
+import org.polarsys.capella.test.framework.api.BasicTestArtefact;
+
+public class DerivedFeaturesSetUpTestCase extends AbstractSetUpTestCase {
+
+  public DerivedFeaturesSetUpTestCase(BasicTestArtefact benchmarkTestCase) {
+    super(benchmarkTestCase);
+  }
+
+  @Override
+  public void test() {
+    // Do nothing
+  }
+
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.derivedfeatures;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemComponent;
+import org.polarsys.capella.core.data.ctx.SystemComponentPkg;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.ctx.SystemFunctionPkg;
+import org.polarsys.capella.core.data.fa.AbstractFunction;
+import org.polarsys.capella.core.data.fa.ComponentFunctionalAllocation;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractBenchmarkTestCase;
+import org.polarsys.capella.viatra.core.helpers.ViatraDerivedFeatureBackend;
+
+/**
+ * Compare the reads of derived features computed by the helpers with the ones computed by the
+ * {@link ViatraDerivedFeatureBackend}, on models of 10k to 50k allocated functions.<br>
+ * The time of the first read with Viatra, which builds the Rete network, is reported separately from the time of the
+ * following reads.
+ */
+public class DerivedFeaturesTestCase extends AbstractBenchmarkTestCase {
+
+  private static final int[] SIZES = { 10000, 50000 };
+
+  private static final int COMPONENTS = 100;
+
+  private static final int ROUNDS = 5;
+
+  public DerivedFeaturesTestCase() {
+    // Do nothing
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void test() {
+    for (int size : SIZES) {
+      ExecutionManager executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+      ResourceSet resourceSet = executionManager.getEditingDomain().getResourceSet();
+      try {
+        List<SystemFunction> functions = createModel(executionManager, size);
+
+        long start = System.nanoTime();
+        List<Set<EObject>> expected = null;
+        for (int i = 0; i < ROUNDS; i++) {
+          expected = readDerivedFeatures(functions);
+        }
+        long helperTime = System.nanoTime() - start;
+
+        ViatraDerivedFeatureBackend.getInstance().enable(resourceSet);
+        start = System.nanoTime();
+        List<Set<EObject>> values = readDerivedFeatures(functions);
+        long buildTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+          values = readDerivedFeatures(functions);
+        }
+        long viatraTime = System.nanoTime() - start;
+
+        System.out.println(size + " functions: helpers " + helperTime / ROUNDS / 1000000 + "ms, viatra first read "
+            + buildTime / 1000000 + "ms, viatra " + viatraTime / ROUNDS / 1000000 + "ms.");
+        assertEquals(expected, values);
+
+      } finally {
+        ViatraDerivedFeatureBackend.getInstance().disable(resourceSet);
+        ExecutionManagerRegistry.getInstance().removeManager(executionManager);
+      }
+    }
+  }
+
+  /**
+   * Read the allocations, the allocation blocks and the involving functional chains of all the given functions.
+   */
+  private List<Set<EObject>> readDerivedFeatures(List<SystemFunction> functions) {
+    List<Set<EObject>> result = new ArrayList<>(functions.size());
+    for (AbstractFunction function : functions) {
+      Set<EObject> values = new HashSet<>();
+      values.addAll(function.getComponentFunctionalAllocations());
+      values.addAll(function.getAllocationBlocks());
+      values.addAll(function.getInvolvingFunctionalChains());
+      result.add(values);
+    }
+    return result;
+  }
+
+  private List<SystemFunction> createModel(ExecutionManager executionManager, int size) {
+    Resource resource = executionManager.getEditingDomain().getResourceSet()
+        .createResource(URI.createURI("memory:/derivedfeatures" + size + ".capella")); //$NON-NLS-1$ //$NON-NLS-2$
+    SystemFunctionPkg functionPkg = CtxFactory.eINSTANCE.createSystemFunctionPkg("functions"); //$NON-NLS-1$
+    SystemComponentPkg componentPkg = CtxFactory.eINSTANCE.createSystemComponentPkg();
+    List<SystemComponent> components = new ArrayList<>();
+    for (int i = 0; i < COMPONENTS; i++) {
+      SystemComponent component = CtxFactory.eINSTANCE.createSystemComponent();
+      componentPkg.getOwnedSystemComponents().add(component);
+      components.add(component);
+    }
+    List<SystemFunction> functions = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      SystemFunction function = CtxFactory.eINSTANCE.createSystemFunction("function" + i); //$NON-NLS-1$
+      functionPkg.getOwnedSystemFunctions().add(function);
+      SystemComponent component = components.get(i % COMPONENTS);
+      ComponentFunctionalAllocation allocation = FaFactory.eINSTANCE.createComponentFunctionalAllocation();
+      component.getOwnedFunctionalAllocation().add(allocation);
+      allocation.setSourceElement(component);
+      allocation.setTargetElement(function);
+      functions.add(function);
+    }
+    executionManager.execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        resource.getContents().add(functionPkg);
+        resource.getContents().add(componentPkg);
+      }
+    });
+    return functions;
+  }
+}
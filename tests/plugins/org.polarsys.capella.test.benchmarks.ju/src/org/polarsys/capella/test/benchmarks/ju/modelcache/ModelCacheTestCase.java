@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.modelcache;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.common.helpers.EObjectExt;
+import org.polarsys.capella.common.helpers.cache.ModelCache;
+import org.polarsys.capella.common.lib.Memory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.cs.Component;
+import org.polarsys.capella.core.data.cs.CsPackage;
+import org.polarsys.capella.core.data.fa.AbstractFunction;
+import org.polarsys.capella.core.data.fa.FaPackage;
+import org.polarsys.capella.core.data.helpers.fa.services.FunctionExt;
+import org.polarsys.capella.core.model.helpers.ComponentExt;
+import org.polarsys.capella.core.sirius.ui.helper.SessionHelper;
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractBenchmarkTestCase;
+import org.polarsys.capella.test.benchmarks.ju.utils.MemoryLogger;
+
+/**
+ * 
+ * Compare cached and uncached calls of model queries used by diagram services, and the removal of the entries of a
+ * function.
+ */
+public class ModelCacheTestCase extends AbstractBenchmarkTestCase {
+
+  private static final int ROUNDS = 20;
+
+  public ModelCacheTestCase() {
+    // Do nothing
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void test() {
+    Session session = getSession(getRequiredTestModels().get(0));
+    Project project = SessionHelper.getCapellaProject(session);
+    Collection<EObject> components = EObjectExt.getAll(project, CsPackage.Literals.COMPONENT);
+    Collection<EObject> functions = EObjectExt.getAll(project, FaPackage.Literals.ABSTRACT_FUNCTION);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      for (EObject component : components) {
+        ComponentExt.getRepresentingParts((Component) component);
+      }
+      for (EObject function : functions) {
+        FunctionExt.getAllOutgoingExchanges((AbstractFunction) function);
+        FunctionExt.getAllIncomingExchanges((AbstractFunction) function);
+      }
+    }
+    long uncachedTime = System.nanoTime() - start;
+
+    long usedMemoryBefore = Memory.getUsedMemory() / (1024 * 1024);
+
+    start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      for (EObject component : components) {
+        ComponentExt.getRepresentingParts_cached.get((Component) component);
+      }
+      for (EObject function : functions) {
+        FunctionExt.getAllOutgoingExchanges_cached.get((AbstractFunction) function);
+        FunctionExt.getAllIncomingExchanges_cached.get((AbstractFunction) function);
+      }
+    }
+    long cachedTime = System.nanoTime() - start;
+
+    long usedMemoryAfter = Memory.getUsedMemory() / (1024 * 1024);
+
+    start = System.nanoTime();
+    ComponentExt.getRepresentingParts_cached.clearCache();
+    FunctionExt.getAllOutgoingExchanges_cached.clearCache();
+    FunctionExt.getAllIncomingExchanges_cached.clearCache();
+    long clearTime = System.nanoTime() - start;
+
+    System.out.println("Uncached: " + uncachedTime / 1000000 + "ms, cached: " + cachedTime / 1000000 + "ms, clear: "
+        + clearTime / 1000 + "us.");
+    System.out.println("getRepresentingParts: " + ModelCache.getStatistics(ComponentExt.getRepresentingParts_cached));
+    System.out.println(
+        "getAllOutgoingExchanges: " + ModelCache.getStatistics(FunctionExt.getAllOutgoingExchanges_cached));
+    System.out.println(
+        "getAllIncomingExchanges: " + ModelCache.getStatistics(FunctionExt.getAllIncomingExchanges_cached));
+    System.out.println("Used memory: " + usedMemoryBefore + "MB / " + usedMemoryAfter + "MB.");
+
+    MemoryLogger.getInstance().log(this.getClass().getCanonicalName(), usedMemoryAfter - usedMemoryBefore);
+  }
+}
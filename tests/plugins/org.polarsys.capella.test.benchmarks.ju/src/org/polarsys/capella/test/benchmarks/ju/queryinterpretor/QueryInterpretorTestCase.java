@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.queryinterpretor;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.common.helpers.EObjectExt;
+import org.polarsys.capella.common.queries.interpretor.QueryInterpretor;
+import org.polarsys.capella.core.business.queries.QueryConstants;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.cs.CsPackage;
+import org.polarsys.capella.core.data.fa.FaPackage;
+import org.polarsys.capella.core.libraries.queries.QueryIdentifierConstants;
+import org.polarsys.capella.core.sirius.ui.helper.SessionHelper;
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractBenchmarkTestCase;
+
+/**
+ * Measure the throughput of {@link QueryInterpretor#executeQuery(String, Object)} for queries called by diagram
+ * services and by property views.
+ */
+public class QueryInterpretorTestCase extends AbstractBenchmarkTestCase {
+
+  private static final int ROUNDS = 20;
+
+  public QueryInterpretorTestCase() {
+    // Do nothing
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void test() {
+    Session session = getSession(getRequiredTestModels().get(0));
+    Project project = SessionHelper.getCapellaProject(session);
+    Collection<EObject> architectures = EObjectExt.getAll(project, CsPackage.Literals.BLOCK_ARCHITECTURE);
+    Collection<EObject> components = EObjectExt.getAll(project, CsPackage.Literals.COMPONENT);
+    Collection<EObject> ports = EObjectExt.getAll(project, FaPackage.Literals.COMPONENT_PORT);
+
+    // Queries of diagram services
+    measure(QueryIdentifierConstants.GET_ALL_DATA_TYPES_FOR_LIB, architectures);
+    measure(QueryIdentifierConstants.GET_ALL_INTERFACES_FOR_LIB, architectures);
+
+    // Queries of property views
+    measure(QueryConstants.GET_CURRENT__COMPONENT__IMPLEMENTED_INTERFACES, components);
+    measure(QueryConstants.GET_AVAILABLE__COMPONENT_PORT__PROVIDED_INTERFACES___LIB, ports);
+  }
+
+  private void measure(String queryIdentifier, Collection<EObject> elements) {
+    // The first round loads the queries and is not measured
+    for (EObject element : elements) {
+      QueryInterpretor.executeQuery(queryIdentifier, element);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      for (EObject element : elements) {
+        QueryInterpretor.executeQuery(queryIdentifier, element);
+      }
+    }
+    long time = System.nanoTime() - start;
+    long calls = (long) ROUNDS * elements.size();
+    System.out.println(queryIdentifier + ": " + calls + " calls in " + time / 1000000 + "ms, "
+        + (time > 0 ? calls * 1000000000L / time : calls) + " calls/s.");
+  }
+}
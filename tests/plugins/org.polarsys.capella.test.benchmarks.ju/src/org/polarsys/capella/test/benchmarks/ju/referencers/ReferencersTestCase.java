@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.referencers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.sirius.common.tools.api.util.SiriusCrossReferenceAdapter;
+import org.polarsys.capella.common.data.modellingcore.ModellingcorePackage;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.EObjectExt;
+import org.polarsys.capella.common.platform.sirius.ted.SemanticEditingDomainFactory.SemanticEditingDomain;
+import org.polarsys.capella.core.data.information.Class;
+import org.polarsys.capella.core.data.information.DataPkg;
+import org.polarsys.capella.core.data.information.InformationFactory;
+import org.polarsys.capella.core.data.information.InformationPackage;
+import org.polarsys.capella.core.data.information.Property;
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractBenchmarkTestCase;
+
+/**
+ * 
+ * Compare the list based deduplication of the referencers of an element, formerly done by
+ * {@link EObjectExt#getReferencers(EObject)}, with the set based one, on a class typing 10k to 100k properties.
+ */
+public class ReferencersTestCase extends AbstractBenchmarkTestCase {
+
+  private static final int[] SIZES = { 10000, 50000, 100000 };
+
+  private static final int ROUNDS = 5;
+
+  public ReferencersTestCase() {
+    // Do nothing
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void test() {
+    for (int size : SIZES) {
+      ExecutionManager executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+      try {
+        SemanticEditingDomain domain = (SemanticEditingDomain) executionManager.getEditingDomain();
+        Class type = createModel(executionManager, size);
+
+        long start = System.nanoTime();
+        List<EObject> expected = null;
+        for (int i = 0; i < ROUNDS; i++) {
+          expected = getReferencersByList(type, domain);
+        }
+        long listTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<EObject> referencers = null;
+        for (int i = 0; i < ROUNDS; i++) {
+          referencers = EObjectExt.getReferencers(type);
+        }
+        long setTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long count = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+          count = EObjectExt.streamReferencers(type, ModellingcorePackage.Literals.ABSTRACT_TYPED_ELEMENT__ABSTRACT_TYPE,
+              InformationPackage.Literals.PROPERTY).count();
+        }
+        long streamTime = System.nanoTime() - start;
+
+        System.out.println(size + " referencers: list " + listTime / ROUNDS / 1000000 + "ms, set "
+            + setTime / ROUNDS / 1000000 + "ms, filtered stream " + streamTime / ROUNDS / 1000000 + "ms.");
+        assertEquals(expected, referencers);
+        assertEquals(size, count);
+
+      } finally {
+        ExecutionManagerRegistry.getInstance().removeManager(executionManager);
+      }
+    }
+  }
+
+  private Class createModel(ExecutionManager executionManager, int size) {
+    Resource resource = executionManager.getEditingDomain().getResourceSet()
+        .createResource(URI.createURI("memory:/referencers" + size + ".capella")); //$NON-NLS-1$ //$NON-NLS-2$
+    DataPkg pkg = InformationFactory.eINSTANCE.createDataPkg("referencers"); //$NON-NLS-1$
+    Class type = InformationFactory.eINSTANCE.createClass("type"); //$NON-NLS-1$
+    Class owner = InformationFactory.eINSTANCE.createClass("owner"); //$NON-NLS-1$
+    pkg.getOwnedClasses().add(type);
+    pkg.getOwnedClasses().add(owner);
+    for (int i = 0; i < size; i++) {
+      Property property = InformationFactory.eINSTANCE.createProperty("property" + i); //$NON-NLS-1$
+      property.setAbstractType(type);
+      owner.getOwnedFeatures().add(property);
+    }
+    executionManager.execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        resource.getContents().add(pkg);
+      }
+    });
+    return type;
+  }
+
+  /**
+   * The former implementation of {@link EObjectExt#getReferencers(EObject)}, quadratic in the number of referencers.
+   */
+  private List<EObject> getReferencersByList(EObject eObjectRef, SemanticEditingDomain editingDomain) {
+    List<EObject> result = new ArrayList<>();
+    SiriusCrossReferenceAdapter crossReferencer = editingDomain.getCrossReferencer();
+    for (Setting setting : crossReferencer.getInverseReferences(eObjectRef, crossReferencer.isResolveProxyEnabled())) {
+      if (!result.contains(setting.getEObject())) {
+        result.add(setting.getEObject());
+      }
+    }
+    return result;
+  }
+}
@@ -18,14 +18,19 @@ import java.util.List;
 
 import org.polarsys.capella.test.benchmarks.ju.closeSession.CloseSessionTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.createBigLFBD.CreateBigLFBDTestSuite;
+import org.polarsys.capella.test.benchmarks.ju.derivedfeatures.DerivedFeaturesTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.insertAssociationOnBigCDB.InsertAssociationOnBigCDBTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.insertPLOnBigPAB.InsertPLOnBigPABTestSuite;
+import org.polarsys.capella.test.benchmarks.ju.modelcache.ModelCacheTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.modelvalidation.ModelValidationTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.openBigPAB.OpenBigPABTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.openSession.OpenSessionTestSuite;
+import org.polarsys.capella.test.benchmarks.ju.queryinterpretor.QueryInterpretorTestSuite;
+import org.polarsys.capella.test.benchmarks.ju.referencers.ReferencersTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.refreshAllDiagrams.RefreshAllDiagramsTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.refreshBigPAB.RefreshBigPABTestSuite;
 import org.polarsys.capella.test.benchmarks.ju.saveSessionAfterModifications.SaveSessionAfterModificationsTestSuite;
+import org.polarsys.capella.test.benchmarks.ju.topologicalsort.TopologicalSortTestSuite;
 import org.polarsys.capella.test.framework.api.BasicTestArtefact;
 import org.polarsys.capella.test.framework.api.BasicTestSuite;
 
@@ -57,6 +62,11 @@ public class AllBenchmarksTestSuite extends BasicTestSuite {
     tests.add(new CreateBigLFBDTestSuite());
     tests.add(new SaveSessionAfterModificationsTestSuite());
     tests.add(new ModelValidationTestSuite());
+    tests.add(new ModelCacheTestSuite());
+    tests.add(new TopologicalSortTestSuite());
+    tests.add(new ReferencersTestSuite());
+    tests.add(new DerivedFeaturesTestSuite());
+    tests.add(new QueryInterpretorTestSuite());
     tests.add(new RefreshAllDiagramsTestSuite());
     return tests;
   }
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.benchmarks.ju.topologicalsort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.polarsys.capella.core.transition.common.transposer.ExtendedTopologicalSorter;
+import org.polarsys.capella.core.transition.common.transposer.KahnTopologicalSorter;
+import org.polarsys.capella.test.benchmarks.ju.testcases.AbstractBenchmarkTestCase;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Edge;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Graph;
+import org.polarsys.kitalpha.transposer.analyzer.graph.GraphFactory;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Vertex;
+
+/**
+ * 
+ * Compare the layer scan and the Kahn topological sorts of the transposer on synthetic graphs: each vertex depends on
+ * some previous vertices, and some vertices depend on a following one to create cycles to break. Flat graphs (no
+ * dependency at all) and wide graphs (all the vertices depending on a few roots) are sorted too, as they produce a
+ * single layer holding almost all the vertices.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TopologicalSortTestCase extends AbstractBenchmarkTestCase {
+
+  private static final int[] SIZES = { 10000, 100000, 1000000 };
+
+  private static final int DEPENDENCIES = 3;
+
+  private static final int CYCLE_INTERVAL = 1000;
+
+  private static final int WIDE_GRAPH_ROOTS = 10;
+
+  public TopologicalSortTestCase() {
+    // Do nothing
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void test() {
+    for (int size : SIZES) {
+      compare(size + " vertices", createGraph(size, new Random(42)));
+      compare(size + " flat vertices", new HashSet<>(createVertices(GraphFactory.eINSTANCE.createGraph(), size)));
+      compare(size + " wide vertices", createWideGraph(size, new Random(42)));
+    }
+  }
+
+  private void compare(String graphName, Set<Vertex<?>> vertices) {
+    Set<Edge<?>> expectedBacktracks = new HashSet<>();
+    long start = System.nanoTime();
+    new ExtendedTopologicalSorter(new HashSet<>(vertices), expectedBacktracks).sort(null);
+    long layerScanTime = System.nanoTime() - start;
+
+    Set<Edge<?>> backtracks = new HashSet<>();
+    start = System.nanoTime();
+    new KahnTopologicalSorter(vertices, backtracks).sort(null);
+    long kahnTime = System.nanoTime() - start;
+
+    System.out.println(graphName + ": layer scan " + layerScanTime / 1000000 + "ms, Kahn " + kahnTime / 1000000
+        + "ms, " + backtracks.size() + " backtracks.");
+    assertEquals(expectedBacktracks, backtracks);
+  }
+
+  private List<Vertex> createVertices(Graph graph, int size) {
+    List<Vertex> vertices = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      Vertex vertex = GraphFactory.eINSTANCE.createVertex();
+      vertex.setContent(Integer.valueOf(i));
+      vertex.setName(String.valueOf(i));
+      graph.addVertex(vertex);
+      vertices.add(vertex);
+    }
+    return vertices;
+  }
+
+  private Set<Vertex<?>> createWideGraph(int size, Random random) {
+    Graph graph = GraphFactory.eINSTANCE.createGraph();
+    List<Vertex> vertices = createVertices(graph, size);
+    for (int i = WIDE_GRAPH_ROOTS; i < size; i++) {
+      graph.addAdjacent(vertices.get(i), vertices.get(random.nextInt(WIDE_GRAPH_ROOTS)), "", false); //$NON-NLS-1$
+    }
+    return new HashSet<>(vertices);
+  }
+
+  private Set<Vertex<?>> createGraph(int size, Random random) {
+    Graph graph = GraphFactory.eINSTANCE.createGraph();
+    List<Vertex> vertices = createVertices(graph, size);
+    for (int i = 1; i < size; i++) {
+      Vertex source = vertices.get(i);
+      for (int j = 0; j < DEPENDENCIES; j++) {
+        Vertex target = vertices.get(random.nextInt(i));
+        if (source.getOutgoingEdgeTo(target) == null) {
+          graph.addAdjacent(source, target, "", false); //$NON-NLS-1$
+        }
+      }
+      if (i % CYCLE_INTERVAL == 0 && i + 1 < size) {
+        Vertex target = vertices.get(i + 1 + random.nextInt(size - i - 1));
+        graph.addAdjacent(source, target, "", false); //$NON-NLS-1$
+      }
+    }
+    return new HashSet<>(vertices);
+  }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.commandline.ju.testcases;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.polarsys.capella.core.commandline.core.CommandLineConstants;
+import org.polarsys.capella.core.validation.commandline.Messages;
+import org.polarsys.capella.core.validation.commandline.ValidationCommandLine;
+import org.polarsys.capella.core.validation.commandline.ValidationCommandLineConstants;
+import org.polarsys.capella.core.validation.commandline.ValidationReportWriter;
+import org.polarsys.capella.test.commandline.ju.utils.MockApplicationContext;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+import org.polarsys.capella.test.framework.api.ModelProviderHelper;
+
+/**
+ * Test simulating two Validation launches from command line with a result store: the second launch reuses the stored
+ * results of the unchanged model.
+ */
+public class CommandLineValidationDeltaTest extends BasicTestCase {
+  @Override
+  public void test() throws Exception {
+    IPath workspaceLocation = ResourcesPlugin.getWorkspace().getRoot().getRawLocation();
+    String projectName = "Test Command Line Validation";
+    ModelProviderHelper.getInstance().importCapellaProject(projectName, getFolderInTestModelRepository(projectName));
+
+    File storeFolder = Files.createTempDirectory("validationResultStore").toFile();
+    try {
+      IPath reportFile = workspaceLocation.append(projectName).append("ValidationDeltaResult").append(projectName)
+          .append(projectName + ".aird")
+          .append(Messages.resultsFileNamePrefix + "." + ValidationReportWriter.FORMAT_JSON);
+
+      // Complete validation, the results are stored
+      validate(projectName, storeFolder);
+      File[] storeFiles = storeFolder.listFiles();
+      assertEquals(1, storeFiles.length);
+      assertTrue(storeFiles[0].getName().endsWith(".validationresults"));
+      String report = new String(Files.readAllBytes(reportFile.toFile().toPath()), StandardCharsets.UTF_8);
+      assertTrue(report.contains("DCOM_03") && report.contains("TJ_SA_01"));
+
+      // Delta validation, nothing has changed: the stored results, with their times, are reported
+      validate(projectName, storeFolder);
+      assertEquals(report, new String(Files.readAllBytes(reportFile.toFile().toPath()), StandardCharsets.UTF_8));
+
+    } finally {
+      for (File file : storeFolder.listFiles()) {
+        file.delete();
+      }
+      storeFolder.delete();
+    }
+  }
+
+  private void validate(String projectName, File storeFolder) throws Exception {
+    String[] validationCommandLineArguments = {
+        CommandLineConstants.ID, "org.polarsys.capella.core.validation.commandline",
+        CommandLineConstants.INPUT, projectName + "/Test Command Line Validation.aird",
+        CommandLineConstants.OUTPUTFOLDER, projectName + "/ValidationDeltaResult",
+        CommandLineConstants.FORCEOUTPUTFOLDERCREATION,
+        ValidationCommandLineConstants.VALIDATION_RESULT_STORE, storeFolder.getAbsolutePath(),
+        ValidationCommandLineConstants.VALIDATION_OUTPUT_FORMATS, ValidationReportWriter.FORMAT_JSON
+    };
+    IApplicationContext mockApplicationContext = new MockApplicationContext(validationCommandLineArguments);
+
+    ValidationCommandLine validationCommandLine = new ValidationCommandLine();
+    validationCommandLine.parseContext(mockApplicationContext);
+    validationCommandLine.checkArgs(mockApplicationContext);
+    validationCommandLine.prepare(mockApplicationContext);
+    validationCommandLine.execute(mockApplicationContext);
+  }
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.commandline.ju.testcases;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemComponent;
+import org.polarsys.capella.core.data.ctx.SystemComponentPkg;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.ctx.SystemFunctionPkg;
+import org.polarsys.capella.core.data.fa.ComponentFunctionalAllocation;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.core.validation.commandline.ElementContentHasher;
+import org.polarsys.capella.core.validation.commandline.ValidationReportWriter;
+import org.polarsys.capella.core.validation.commandline.ValidationResult;
+import org.polarsys.capella.core.validation.commandline.ValidationResultStore;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test the content hashes, the result store and the reports used by the delta mode of the validation command line.
+ */
+public class ValidationResultStoreTest extends BasicTestCase {
+
+  @Override
+  public void test() throws Exception {
+    File folder = File.createTempFile("validationResultStore", "");
+    folder.delete();
+    folder.mkdirs();
+    try {
+      testHashStability(new File(folder, "model.xmi"));
+      testDeltaReuse(new File(folder, "store.validationresults"));
+      testReportOutput();
+    } finally {
+      for (File file : folder.listFiles()) {
+        file.delete();
+      }
+      folder.delete();
+    }
+  }
+
+  /**
+   * Hashes don't depend on the hasher nor on the session, and follow the changes of directly linked elements.
+   */
+  protected void testHashStability(File file) throws Exception {
+    ResourceSet set = createResourceSet();
+    Resource resource = set.createResource(URI.createFileURI(file.getAbsolutePath()));
+    SystemFunctionPkg functionPkg = CtxFactory.eINSTANCE.createSystemFunctionPkg();
+    SystemFunction function = CtxFactory.eINSTANCE.createSystemFunction("function");
+    functionPkg.getOwnedSystemFunctions().add(function);
+    SystemComponentPkg componentPkg = CtxFactory.eINSTANCE.createSystemComponentPkg();
+    List<SystemComponent> components = Arrays.asList(CtxFactory.eINSTANCE.createSystemComponent(),
+        CtxFactory.eINSTANCE.createSystemComponent());
+    componentPkg.getOwnedSystemComponents().addAll(components);
+    resource.getContents().add(functionPkg);
+    resource.getContents().add(componentPkg);
+    // Several referencers, whose inverse reference order is not stable
+    ComponentFunctionalAllocation allocation = null;
+    for (SystemComponent component : components) {
+      allocation = FaFactory.eINSTANCE.createComponentFunctionalAllocation();
+      component.getOwnedFunctionalAllocation().add(allocation);
+      allocation.setSourceElement(component);
+      allocation.setTargetElement(function);
+    }
+    ECrossReferenceAdapter crossReferencer = getCrossReferencer(set);
+
+    long functionHash = new ElementContentHasher(crossReferencer).getHash(function);
+    assertEquals(functionHash, new ElementContentHasher(crossReferencer).getHash(function));
+    long allocationHash = new ElementContentHasher(crossReferencer).getHash(allocation);
+
+    // Another session
+    resource.save(Collections.emptyMap());
+    ResourceSet otherSet = createResourceSet();
+    Resource otherResource = otherSet.getResource(resource.getURI(), true);
+    assertEquals(functionHash, new ElementContentHasher(getCrossReferencer(otherSet))
+        .getHash(otherResource.getEObject(ElementContentHasher.getId(function))));
+
+    // Changes of the element and of a directly linked element
+    function.setName("renamed");
+    assertFalse(functionHash == new ElementContentHasher(crossReferencer).getHash(function));
+    assertFalse(allocationHash == new ElementContentHasher(crossReferencer).getHash(allocation));
+
+    // Elements without id are identified by their URI fragment
+    assertEquals(resource.getURIFragment(functionPkg), ElementContentHasher.getId(functionPkg));
+  }
+
+  /**
+   * Stored results are reused while the element is unchanged, without the results of disabled rules.
+   */
+  protected void testDeltaReuse(File file) throws Exception {
+    ValidationResultStore store = new ValidationResultStore();
+    store.put("element", 1L, Arrays.asList(result("element", "ruleA"), result("element", "ruleB"),
+        result("element", "intrinsic")));
+    store.setRuleIds(Arrays.asList("ruleA", "ruleB"));
+    store.save(file);
+
+    store = ValidationResultStore.load(file);
+    assertEquals(new HashSet<>(Arrays.asList("ruleA", "ruleB")), store.getRuleIds());
+    HashSet<String> enabledRules = new HashSet<>(Arrays.asList("ruleA", "ruleB"));
+    assertEquals(3, store.getResults("element", 1L, enabledRules).size());
+    assertEquals("ruleA", store.getResults("element", 1L, enabledRules).get(0).getRuleId());
+
+    // Changed or unknown elements
+    assertNull(store.getResults("element", 2L, enabledRules));
+    assertNull(store.getResults("other", 1L, enabledRules));
+
+    // Disabled rule
+    List<ValidationResult> results = store.getResults("element", 1L, Collections.singleton("ruleA"));
+    assertEquals(2, results.size());
+    assertEquals("intrinsic", results.get(1).getRuleId());
+
+    // Results of a new rule
+    store.add("element", Collections.singletonList(result("element", "ruleC")));
+    enabledRules.add("ruleC");
+    store.setRuleIds(enabledRules);
+    assertEquals(4, store.getResults("element", 1L, enabledRules).size());
+
+    // Deleted elements
+    store.retain(Collections.singleton("other"));
+    assertTrue(store.isEmpty());
+  }
+
+  /**
+   * Reports escape the values, and keep the results without element id.
+   */
+  protected void testReportOutput() {
+    ValidationReportWriter writer = new ValidationReportWriter();
+    List<ValidationResult> results = Arrays.asList(result("element", "ruleA"),
+        new ValidationResult(null, "ruleB", "B", IMarker.SEVERITY_ERROR, "a \"quoted\",\nmessage", "", "path", 0L));
+
+    String json = writer.write(ValidationReportWriter.FORMAT_JSON, results);
+    assertTrue(json.startsWith("[\n"));
+    assertTrue(json.contains("\"elementId\": \"element\""));
+    assertTrue(json.contains("\"elementId\": null"));
+    assertTrue(json.contains("\"message\": \"a \\\"quoted\\\",\\nmessage\""));
+    assertTrue(json.contains("\"level\": \"Error\""));
+
+    String csv = writer.write(ValidationReportWriter.FORMAT_CSV, results);
+    String[] lines = csv.split("\n", 2);
+    assertEquals("Element id,Rule id,Rule,Level,Message,Origin,Resource,Time", lines[0]);
+    assertTrue(csv.contains("\"\",\"ruleB\",\"B\",\"Error\",\"a \"\"quoted\"\",\nmessage\",\"\",\"path\""));
+
+    assertTrue(writer.write(ValidationReportWriter.FORMAT_HTML, results).contains("<td>ruleA</td>"));
+    assertNull(writer.write("xml", results));
+  }
+
+  private ValidationResult result(String elementId, String ruleId) {
+    return new ValidationResult(elementId, ruleId, ruleId, IMarker.SEVERITY_WARNING, "message", "category",
+        "path", 0L);
+  }
+
+  private ResourceSet createResourceSet() {
+    ResourceSet set = new ResourceSetImpl();
+    set.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    set.eAdapters().add(new ECrossReferenceAdapter());
+    return set;
+  }
+
+  private ECrossReferenceAdapter getCrossReferencer(ResourceSet set) {
+    return ECrossReferenceAdapter.getCrossReferenceAdapter(set);
+  }
+}
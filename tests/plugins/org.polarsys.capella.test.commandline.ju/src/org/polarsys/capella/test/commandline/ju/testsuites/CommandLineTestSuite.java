@@ -19,8 +19,10 @@ import org.polarsys.capella.test.commandline.ju.testcases.CommandLineExportRepre
 import org.polarsys.capella.test.commandline.ju.testcases.CommandLineFolderMigrationTest;
 import org.polarsys.capella.test.commandline.ju.testcases.CommandLineRefreshAirdTest;
 import org.polarsys.capella.test.commandline.ju.testcases.CommandLineRemoveHiddenElementsTest;
+import org.polarsys.capella.test.commandline.ju.testcases.CommandLineValidationDeltaTest;
 import org.polarsys.capella.test.commandline.ju.testcases.CommandLineValidationTest;
 import org.polarsys.capella.test.commandline.ju.testcases.CommandLineZipMigrationTest;
+import org.polarsys.capella.test.commandline.ju.testcases.ValidationResultStoreTest;
 import org.polarsys.capella.test.framework.api.BasicTestArtefact;
 import org.polarsys.capella.test.framework.api.BasicTestSuite;
 
@@ -32,6 +34,8 @@ public class CommandLineTestSuite extends BasicTestSuite {
   protected List<BasicTestArtefact> getTests() {
     List<BasicTestArtefact> tests = new ArrayList<>();
     tests.add(new CommandLineValidationTest());
+    tests.add(new ValidationResultStoreTest());
+    tests.add(new CommandLineValidationDeltaTest());
     tests.add(new CommandLineZipMigrationTest());
     tests.add(new CommandLineFolderMigrationTest());
     tests.add(new CommandLineRemoveHiddenElementsTest());
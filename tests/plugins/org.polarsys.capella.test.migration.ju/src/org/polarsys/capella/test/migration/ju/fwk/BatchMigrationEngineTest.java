@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.migration.ju.fwk;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.polarsys.capella.core.data.migration.cmdline.BatchMigrationEngine;
+import org.polarsys.capella.core.data.migration.cmdline.BatchMigrationReport;
+import org.polarsys.capella.core.data.migration.cmdline.BatchMigrationReport.ProjectStatus;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that the batch migration migrates the referenced projects first with the folders of their libraries, does not
+ * migrate the projects referencing a failed one, and resumes from the report of the same version.
+ */
+public class BatchMigrationEngineTest extends BasicTestCase {
+
+  private static final String VERSION = "7.0.0"; //$NON-NLS-1$
+
+  private static final String NEXT_VERSION = "7.1.0"; //$NON-NLS-1$
+
+  @Override
+  public void test() throws Exception {
+    Path folder = Files.createTempDirectory("batchMigration"); //$NON-NLS-1$
+    try {
+      File library = createProject(folder, "Library"); //$NON-NLS-1$
+      File project = createProject(folder, "Project", "Library", "Unknown"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+      File failing = createProject(folder, "Failing"); //$NON-NLS-1$
+      File blocked = createProject(folder, "Blocked", "Failing"); //$NON-NLS-1$ //$NON-NLS-2$
+      List<File> projects = Arrays.asList(project, blocked, library, failing);
+      File report = folder.resolve("report.jsonl").toFile(); //$NON-NLS-1$
+
+      List<String> migrated = Collections.synchronizedList(new ArrayList<>());
+      Map<String, List<File>> referencedFolders = new ConcurrentHashMap<>();
+      Map<String, ProjectStatus> result = new BatchMigrationEngine(4, report, VERSION,
+          (projectFolder, projectName, referenced) -> {
+            referencedFolders.put(projectName, referenced);
+            if ("Failing".equals(projectName)) { //$NON-NLS-1$
+              return new Status(IStatus.ERROR, "test", "Failure"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            migrated.add(projectName);
+            return Status.OK_STATUS;
+          }).run(projects);
+
+      assertEquals(ProjectStatus.MIGRATED, result.get("Library")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.MIGRATED, result.get("Project")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.FAILED, result.get("Failing")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.BLOCKED, result.get("Blocked")); //$NON-NLS-1$
+      assertEquals(Arrays.asList("Library", "Project"), migrated); //$NON-NLS-1$ //$NON-NLS-2$
+      // Referenced projects out of the batch have no folder
+      assertEquals(Collections.singletonList(library), referencedFolders.get("Project")); //$NON-NLS-1$
+      assertEquals(Collections.emptyList(), referencedFolders.get("Library")); //$NON-NLS-1$
+      assertEquals(new HashSet<>(Arrays.asList("Library", "Project")), //$NON-NLS-1$ //$NON-NLS-2$
+          BatchMigrationReport.getMigratedProjects(report, VERSION));
+
+      // A report of another version doesn't tell which projects are migrated
+      assertTrue(BatchMigrationReport.getMigratedProjects(report, NEXT_VERSION).isEmpty());
+
+      // Resume: only the projects not migrated yet are migrated
+      migrated.clear();
+      result = new BatchMigrationEngine(4, report, VERSION, (projectFolder, projectName, referenced) -> {
+        migrated.add(projectName);
+        return Status.OK_STATUS;
+      }).run(projects);
+
+      assertEquals(ProjectStatus.SKIPPED, result.get("Library")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.SKIPPED, result.get("Project")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.MIGRATED, result.get("Failing")); //$NON-NLS-1$
+      assertEquals(ProjectStatus.MIGRATED, result.get("Blocked")); //$NON-NLS-1$
+      assertEquals(Arrays.asList("Failing", "Blocked"), migrated); //$NON-NLS-1$ //$NON-NLS-2$
+
+      // Another version: all the projects are migrated again
+      migrated.clear();
+      result = new BatchMigrationEngine(4, report, NEXT_VERSION, (projectFolder, projectName, referenced) -> {
+        migrated.add(projectName);
+        return Status.OK_STATUS;
+      }).run(projects);
+
+      assertEquals(ProjectStatus.MIGRATED, result.get("Library")); //$NON-NLS-1$
+      assertEquals(4, migrated.size());
+
+    } finally {
+      try (Stream<Path> paths = Files.walk(folder)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  private File createProject(Path folder, String name, String... references) throws IOException {
+    StringBuilder description = new StringBuilder();
+    description.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<projectDescription>\n"); //$NON-NLS-1$
+    description.append("<name>").append(name).append("</name>\n<projects>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+    for (String reference : references) {
+      description.append("<project>").append(reference).append("</project>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+    description.append("</projects>\n<buildSpec>\n<buildCommand>\n<name>builder</name>\n</buildCommand>\n"); //$NON-NLS-1$
+    description.append("</buildSpec>\n</projectDescription>\n"); //$NON-NLS-1$
+    Path project = Files.createDirectories(folder.resolve(name.toLowerCase()));
+    Files.write(project.resolve(".project"), description.toString().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+    return project.toFile();
+  }
+}
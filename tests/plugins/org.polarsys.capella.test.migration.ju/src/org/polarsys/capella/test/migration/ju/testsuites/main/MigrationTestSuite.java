@@ -17,6 +17,7 @@ import java.util.List;
 
 import org.polarsys.capella.test.framework.api.BasicTestArtefact;
 import org.polarsys.capella.test.framework.api.BasicTestSuite;
+import org.polarsys.capella.test.migration.ju.fwk.BatchMigrationEngineTest;
 import org.polarsys.capella.test.migration.ju.fwk.EFactoryTest;
 import org.polarsys.capella.test.migration.ju.fwk.NsPrefixTest;
 import org.polarsys.capella.test.migration.ju.fwk.PackageRegistryTest;
@@ -51,6 +52,7 @@ public class MigrationTestSuite extends BasicTestSuite {
     tests.add(new NsPrefixTest());
     tests.add(new PackageRegistryTest());
     tests.add(new TestOfTest());
+    tests.add(new BatchMigrationEngineTest());
 
     tests.add(new MigrationDelegatedHandlerTest());
     tests.add(new RepresentationDescriptionNonRegressionTest());
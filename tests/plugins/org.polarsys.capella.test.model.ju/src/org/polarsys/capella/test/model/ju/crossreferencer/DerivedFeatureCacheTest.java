@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.DerivedFeatureCache;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemAnalysis;
+import org.polarsys.capella.core.data.ctx.SystemComponent;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.fa.ComponentFunctionalAllocation;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.core.data.fa.FaPackage;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that memoized derived features are recomputed when the elements they are derived from change.
+ */
+public class DerivedFeatureCacheTest extends AbstractReflectiveCrossReferencerTest {
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  public void testDerivedFeatureCache() {
+    final SystemFunction[] function = new SystemFunction[] { null };
+    final SystemComponent[] components = new SystemComponent[] { null, null };
+    final ComponentFunctionalAllocation[] allocation = new ComponentFunctionalAllocation[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "DerivedFeatureCacheTest");
+        createEngSystemCmd.run();
+        SystemAnalysis systemAnalysis = createEngSystemCmd.getSystemEngineering().getContainedSystemAnalysis().get(0);
+        function[0] = CtxFactory.eINSTANCE.createSystemFunction("function");
+        systemAnalysis.getContainedSystemFunctionPkg().getOwnedSystemFunctions().add(function[0]);
+        for (int i = 0; i < components.length; i++) {
+          components[i] = CtxFactory.eINSTANCE.createSystemComponent();
+          systemAnalysis.getOwnedSystemComponentPkg().getOwnedSystemComponents().add(components[i]);
+        }
+        allocation[0] = allocate(components[0], function[0]);
+      }
+    });
+
+    DerivedFeatureCache.enable();
+    try {
+      assertEquals(Collections.singletonList(components[0]), function[0].getAllocationBlocks());
+      assertEquals(Collections.singletonList(components[0]), function[0].getAllocationBlocks());
+      CacheStatistics statistics = DerivedFeatureCache
+          .getStatistics(FaPackage.Literals.ABSTRACT_FUNCTION__ALLOCATION_BLOCKS);
+      assertNotNull(statistics);
+      assertTrue(statistics.getHitCount() >= 1);
+
+      // A new allocation targets the function
+      getExecutionManager().execute(new AbstractReadWriteCommand() {
+        @Override
+        public void run() {
+          allocate(components[1], function[0]);
+        }
+      });
+      List<?> blocks = function[0].getAllocationBlocks();
+      assertEquals(2, blocks.size());
+      assertTrue(blocks.containsAll(Arrays.asList(components)));
+
+      // An allocation of the function is removed
+      getExecutionManager().execute(new AbstractReadWriteCommand() {
+        @Override
+        public void run() {
+          components[0].getOwnedFunctionalAllocation().remove(allocation[0]);
+        }
+      });
+      assertEquals(Collections.singletonList(components[1]), function[0].getAllocationBlocks());
+    } finally {
+      DerivedFeatureCache.disable();
+    }
+  }
+
+  private ComponentFunctionalAllocation allocate(SystemComponent component, SystemFunction function) {
+    ComponentFunctionalAllocation allocation = FaFactory.eINSTANCE.createComponentFunctionalAllocation();
+    component.getOwnedFunctionalAllocation().add(allocation);
+    allocation.setSourceElement(component);
+    allocation.setTargetElement(function);
+    return allocation;
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    _resource.unload();
+    _resource.getResourceSet().getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("DerivedFeatureCacheTestProject");
+    String fullPath = project.getFullPath().toString() + "/derivedFeatureCacheTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("derivedFeatureCacheTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testDerivedFeatureCache();
+  }
+}
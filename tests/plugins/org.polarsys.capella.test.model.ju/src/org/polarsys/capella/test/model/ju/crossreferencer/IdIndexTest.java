@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.handler.helpers.SemanticResourcesScope;
+import org.polarsys.capella.core.model.helpers.query.CapellaQueries;
+import org.polarsys.capella.core.model.helpers.query.IGetElementsQueries;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.shared.id.handler.IdIndex;
+import org.polarsys.capella.shared.id.handler.IdManager;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that the id index maintained by the semantic cross referencer indexes resources lazily, and follows additions,
+ * id changes, removals and unloads.
+ */
+public class IdIndexTest extends AbstractReflectiveCrossReferencerTest {
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  public void testIdIndex() {
+    final SystemEngineering[] systemEngineering = new SystemEngineering[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "IdIndexTestProject");
+        createEngSystemCmd.run();
+        systemEngineering[0] = createEngSystemCmd.getSystemEngineering();
+      }
+    });
+
+    ResourceSet resourceSet = _resource.getResourceSet();
+    IdIndex index = IdIndex.getIdIndex(resourceSet);
+    assertNotNull(index);
+
+    IGetElementsQueries queries = CapellaQueries.getInstance().getGetElementsQueries();
+    String id = systemEngineering[0].getId();
+    assertEquals(systemEngineering[0], queries.getElementById(_capellaProject, id));
+    assertTrue(index.isIndexed(_resource));
+    assertEquals(systemEngineering[0], index.getEObject(id));
+    assertEquals(systemEngineering[0], queries.getElementById(resourceSet, id));
+    assertEquals(systemEngineering[0], IdManager.getInstance().getEObject(id, new SemanticResourcesScope(resourceSet)));
+
+    // Change of id
+    final String newId = EcoreUtil.generateUUID();
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        systemEngineering[0].setId(newId);
+      }
+    });
+    assertNull(index.getEObject(id));
+    assertEquals(systemEngineering[0], queries.getElementById(_capellaProject, newId));
+
+    // Removal
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _capellaProject.getOwnedModelRoots().remove(systemEngineering[0]);
+      }
+    });
+    assertNull(index.getEObject(newId));
+    assertNull(queries.getElementById(_capellaProject, newId));
+
+    // Another semantic resource is indexed by the first lookup involving it
+    final Resource other = resourceSet.createResource(_resource.getURI().trimFileExtension()
+        .appendFileExtension(CapellaResourceHelper.CAPELLA_FRAGMENT_FILE_EXTENSION));
+    final Project otherProject = CapellamodellerFactory.eINSTANCE.createProject("idIndexTestFragment");
+    int size = index.size();
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        other.getContents().add(otherProject);
+        otherProject.getOwnedModelRoots().add(CapellamodellerFactory.eINSTANCE.createSystemEngineering());
+      }
+    });
+    assertFalse(index.isIndexed(other));
+    assertEquals(otherProject, queries.getElementById(resourceSet, otherProject.getId()));
+    assertTrue(index.isIndexed(other));
+    assertEquals(size + 2, index.size());
+
+    // Unload: its elements are dropped without remove notifications
+    other.unload();
+    assertFalse(index.isIndexed(other));
+    assertEquals(size, index.size());
+
+    // Removal of a resource
+    resourceSet.getResources().remove(other);
+    resourceSet.getResources().remove(_resource);
+    assertFalse(index.isIndexed(_resource));
+    assertNull(index.getEObject(_capellaProject.getId()));
+    resourceSet.getResources().add(_resource);
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    ResourceSet resourceSet = _resource.getResourceSet();
+    _resource.unload();
+    resourceSet.getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("IdIndexTestProject");
+    String fullPath = project.getFullPath().toString() + "/idIndexTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("idIndexTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testIdIndex();
+  }
+}
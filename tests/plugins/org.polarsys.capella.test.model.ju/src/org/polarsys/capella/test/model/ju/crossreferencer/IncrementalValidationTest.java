@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemAnalysis;
+import org.polarsys.capella.core.data.ctx.SystemComponent;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.fa.ComponentFunctionalAllocation;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.test.framework.actions.headless.HeadlessCapellaValidateAction;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that an incremental validation revalidates the elements referenced by an added element: the "not allocated"
+ * result of a function (DCOM_03) is replaced once an allocation of this function is created.
+ */
+public class IncrementalValidationTest extends AbstractReflectiveCrossReferencerTest {
+  private static final String NOT_ALLOCATED = "is not allocated by any Component";
+
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  public void testIncrementalValidation() {
+    final SystemFunction[] function = new SystemFunction[] { null };
+    final SystemComponent[] component = new SystemComponent[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "IncrementalValidationTest");
+        createEngSystemCmd.run();
+        SystemAnalysis systemAnalysis = createEngSystemCmd.getSystemEngineering().getContainedSystemAnalysis().get(0);
+        function[0] = CtxFactory.eINSTANCE.createSystemFunction("function");
+        systemAnalysis.getContainedSystemFunctionPkg().getOwnedSystemFunctions().add(function[0]);
+        component[0] = CtxFactory.eINSTANCE.createSystemComponent();
+        systemAnalysis.getOwnedSystemComponentPkg().getOwnedSystemComponents().add(component[0]);
+      }
+    });
+
+    IncrementalValidateAction action = new IncrementalValidateAction();
+    action.updateSelection(new StructuredSelection(_capellaProject));
+
+    // Complete validation
+    Diagnostic diagnostic = action.validate();
+    assertNull(action.getRevalidatedElements());
+    assertTrue(hasNotAllocatedDiagnostic(diagnostic, function[0]));
+
+    // The allocation is attached once complete, so that only its containment is notified
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        ComponentFunctionalAllocation allocation = FaFactory.eINSTANCE.createComponentFunctionalAllocation();
+        allocation.setSourceElement(component[0]);
+        allocation.setTargetElement(function[0]);
+        component[0].getOwnedFunctionalAllocation().add(allocation);
+      }
+    });
+
+    // Incremental validation: the results of the function are replaced
+    diagnostic = action.validate();
+    assertNotNull(action.getRevalidatedElements());
+    assertTrue(action.getRevalidatedElements().contains(function[0]));
+    assertFalse(hasNotAllocatedDiagnostic(diagnostic, function[0]));
+  }
+
+  private boolean hasNotAllocatedDiagnostic(Diagnostic diagnostic, EObject element) {
+    if (diagnostic.getSeverity() != Diagnostic.OK && diagnostic.getData().contains(element)
+        && diagnostic.getMessage() != null && diagnostic.getMessage().contains(NOT_ALLOCATED)) {
+      return true;
+    }
+    for (Diagnostic child : diagnostic.getChildren()) {
+      if (hasNotAllocatedDiagnostic(child, element)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A validate action running in incremental mode on the editing domain of the test.
+   */
+  private class IncrementalValidateAction extends HeadlessCapellaValidateAction {
+
+    IncrementalValidateAction() {
+      setIncremental(true);
+      domain = getExecutionManager().getEditingDomain();
+    }
+
+    Diagnostic validate() {
+      return validate(new NullProgressMonitor());
+    }
+
+    Collection<EObject> getRevalidatedElements() {
+      return _revalidatedElements;
+    }
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    _resource.unload();
+    _resource.getResourceSet().getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("IncrementalValidationTestProject");
+    String fullPath = project.getFullPath().toString() + "/incrementalValidationTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("incrementalValidationTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testIncrementalValidation();
+  }
+}
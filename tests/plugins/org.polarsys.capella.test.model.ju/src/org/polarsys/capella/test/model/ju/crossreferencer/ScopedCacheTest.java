@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
+import org.polarsys.capella.common.helpers.cache.ScopedCache;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that the entries of a {@link ScopedCache} are only invalidated by the changes of the elements they depend on.
+ */
+public class ScopedCacheTest extends AbstractReflectiveCrossReferencerTest {
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  private ScopedCache<EObject, List<EObject>> contentsCache = new ScopedCache<>(
+      object -> new ArrayList<>(object.eContents()), Collections::singleton);
+
+  public void testScopedCache() {
+    final SystemEngineering[] systemEngineering = new SystemEngineering[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "ScopedCacheTestProject");
+        createEngSystemCmd.run();
+        systemEngineering[0] = createEngSystemCmd.getSystemEngineering();
+      }
+    });
+
+    List<EObject> projectContents = contentsCache.get(_capellaProject);
+    List<EObject> engineeringContents = contentsCache.get(systemEngineering[0]);
+    assertSame(projectContents, contentsCache.get(_capellaProject));
+    assertSame(engineeringContents, contentsCache.get(systemEngineering[0]));
+    CacheStatistics statistics = contentsCache.getStatistics();
+    assertEquals(2, statistics.getHitCount());
+    assertEquals(2, statistics.getMissCount());
+    assertEquals(2, statistics.getSize());
+
+    // Only the entry of the changed element is invalidated
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _capellaProject.setName("renamedScopedCacheTestProject");
+      }
+    });
+    assertNull(contentsCache.peek(_capellaProject));
+    assertSame(engineeringContents, contentsCache.peek(systemEngineering[0]));
+    assertNotSame(projectContents, contentsCache.get(_capellaProject));
+
+    // A change of the contents of an element invalidates it
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        systemEngineering[0].getOwnedArchitectures().get(0).setName("renamedArchitecture");
+      }
+    });
+    assertNull(contentsCache.peek(systemEngineering[0]));
+
+    // Elements outside of a semantic resource are not cached
+    SystemEngineering detached = CapellamodellerFactory.eINSTANCE.createSystemEngineering();
+    assertNotSame(contentsCache.get(detached), contentsCache.get(detached));
+
+    contentsCache.clear();
+    assertEquals(0, contentsCache.size());
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    _resource.unload();
+    _resource.getResourceSet().getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("ScopedCacheTestProject");
+    String fullPath = project.getFullPath().toString() + "/scopedCacheTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("scopedCacheTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testScopedCache();
+  }
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.cache.CachedFunction;
+import org.polarsys.capella.common.helpers.cache.ModelCache;
+import org.polarsys.capella.common.helpers.cache.ScopedModelCache;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that results of cached functions applied on semantic elements are kept without enabling the {@link ModelCache}
+ * when scoped caches are enabled, and are invalidated by semantic changes, renaming included.
+ */
+public class ScopedModelCacheTest extends AbstractReflectiveCrossReferencerTest {
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  private CachedFunction<EObject, List<EObject>> getContents = object -> new ArrayList<>(object.eContents());
+
+  public void testScopedModelCache() {
+    assertFalse(ModelCache.isEnabled());
+    assertFalse(ScopedModelCache.isEnabled());
+    assertNull(ScopedModelCache.getScope(_capellaProject));
+    ScopedModelCache.enable();
+    try {
+      testEnabledScopedModelCache();
+    } finally {
+      ScopedModelCache.disable();
+    }
+    assertNull(ScopedModelCache.getScope(_capellaProject));
+    assertNotSame(getContents.get(_capellaProject), getContents.get(_capellaProject));
+  }
+
+  protected void testEnabledScopedModelCache() {
+    assertNotNull(ScopedModelCache.getScope(_capellaProject));
+
+    List<EObject> contents = getContents.get(_capellaProject);
+    assertEquals(contents, getContents.get(_capellaProject));
+    assertEquals(1, getContents.getStatistics().getHitCount());
+
+    // Results are copies which can be modified by the caller
+    contents.clear();
+    assertEquals(_capellaProject.eContents(), getContents.get(_capellaProject));
+    assertEquals(2, getContents.getStatistics().getHitCount());
+
+    // Semantic change
+    final SystemEngineering[] systemEngineering = new SystemEngineering[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "ScopedModelCacheTestProject");
+        createEngSystemCmd.run();
+        systemEngineering[0] = createEngSystemCmd.getSystemEngineering();
+      }
+    });
+    List<EObject> newContents = getContents.get(_capellaProject);
+    assertTrue(newContents.contains(systemEngineering[0]));
+    assertEquals(2, getContents.getStatistics().getHitCount());
+    assertEquals(newContents, getContents.get(_capellaProject));
+    assertEquals(3, getContents.getStatistics().getHitCount());
+
+    // Change of a textual attribute, on which cached functions may depend
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        systemEngineering[0].setName("Renamed");
+      }
+    });
+    assertEquals(newContents, getContents.get(_capellaProject));
+    assertEquals(3, getContents.getStatistics().getHitCount());
+    getContents.get(_capellaProject);
+    assertEquals(4, getContents.getStatistics().getHitCount());
+
+    // Explicit invalidation
+    getContents.clearCache();
+    getContents.get(_capellaProject);
+    assertEquals(4, getContents.getStatistics().getHitCount());
+
+    // Elements outside of a semantic resource are not scoped
+    SystemEngineering detached = CapellamodellerFactory.eINSTANCE.createSystemEngineering();
+    assertNull(ScopedModelCache.getScope(detached));
+    assertNotSame(getContents.get(detached), getContents.get(detached));
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    _resource.unload();
+    _resource.getResourceSet().getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("ScopedModelCacheTestProject");
+    String fullPath = project.getFullPath().toString() + "/scopedModelCacheTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("scopedModelCacheTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testScopedModelCache();
+  }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.crossreferencer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.polarsys.capella.common.ef.ExecutionManager;
+import org.polarsys.capella.common.ef.ExecutionManagerRegistry;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.validation.ValidationChangeRecorder;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.model.handler.command.CapellaResourceHelper;
+import org.polarsys.capella.core.model.skeleton.impl.cmd.CreateEngSystemCmd;
+import org.polarsys.capella.test.framework.helpers.TestHelper;
+
+/**
+ * Test that the elements modified by commands are recorded for an incremental validation.
+ */
+public class ValidationChangeRecorderTest extends AbstractReflectiveCrossReferencerTest {
+  private Project _capellaProject;
+  private Resource _resource;
+  private ExecutionManager _executionManager;
+
+  public void testValidationChangeRecorder() {
+    ValidationChangeRecorder recorder = ValidationChangeRecorder.getRecorder(_capellaProject);
+    assertNotNull(recorder);
+    assertSame(recorder, ValidationChangeRecorder.getRecorder(_capellaProject));
+    assertFalse(recorder.isValidated(_capellaProject));
+
+    recorder.validated(Collections.singleton(_capellaProject));
+    assertTrue(recorder.isValidated(_capellaProject));
+    assertTrue(recorder.consumeModifiedElements(Collections.singleton(_capellaProject)).isEmpty());
+
+    // Semantic change
+    final SystemEngineering[] systemEngineering = new SystemEngineering[] { null };
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        CreateEngSystemCmd createEngSystemCmd = new CreateEngSystemCmd(_capellaProject, "ValidationChangeRecorderTestProject");
+        createEngSystemCmd.run();
+        systemEngineering[0] = createEngSystemCmd.getSystemEngineering();
+      }
+    });
+    assertTrue(recorder.isValidated(systemEngineering[0]));
+
+    // Modified elements are consumed once, added elements come with their sub-tree
+    Collection<EObject> modified = recorder.consumeModifiedElements(Collections.singleton(_capellaProject));
+    assertTrue(modified.contains(_capellaProject));
+    assertTrue(modified.contains(systemEngineering[0]));
+    assertTrue(modified.containsAll(systemEngineering[0].eContents()));
+    assertTrue(recorder.consumeModifiedElements(Collections.singleton(_capellaProject)).isEmpty());
+
+    // Elements given back are consumed again
+    recorder.modified(modified);
+    assertEquals(modified.size(), recorder.consumeModifiedElements(Collections.singleton(_capellaProject)).size());
+
+    // Elements outside of a semantic resource are not recorded
+    assertNull(ValidationChangeRecorder.getRecorder(CapellamodellerFactory.eINSTANCE.createSystemEngineering()));
+  }
+
+  @Override
+  protected void postRunTest() {
+    super.postRunTest();
+    _resource.unload();
+    _resource.getResourceSet().getResources().remove(_resource);
+    _capellaProject = null;
+    ExecutionManagerRegistry.getInstance().removeManager(_executionManager);
+    _executionManager = null;
+  }
+
+  @Override
+  protected void preRunTest() {
+    super.preRunTest();
+    IProject project = TestHelper.createCapellaProject("ValidationChangeRecorderTestProject");
+    String fullPath = project.getFullPath().toString() + "/validationChangeRecorderTestProject."
+        + CapellaResourceHelper.CAPELLA_MODEL_FILE_EXTENSION;
+    URI capellaModelURI = URI.createPlatformResourceURI(fullPath, true);
+    _resource = getExecutionManager().getEditingDomain().getResourceSet().createResource(capellaModelURI);
+    _capellaProject = CapellamodellerFactory.eINSTANCE.createProject("validationChangeRecorderTestProject");
+    getExecutionManager().execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        _resource.getContents().add(_capellaProject);
+      }
+    });
+  }
+
+  @Override
+  protected ExecutionManager getExecutionManager() {
+    if (null == _executionManager) {
+      _executionManager = ExecutionManagerRegistry.getInstance().addNewManager();
+    }
+    return _executionManager;
+  }
+
+  @Override
+  protected List<EClass> getRootTypes() {
+    return null;
+  }
+
+  @Override
+  public void test() throws Exception {
+    testValidationChangeRecorder();
+  }
+}
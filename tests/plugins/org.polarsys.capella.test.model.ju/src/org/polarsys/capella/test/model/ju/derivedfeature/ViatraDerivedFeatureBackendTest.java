@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.derivedfeature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.TransactionHelper;
+import org.polarsys.capella.common.model.helpers.IHelper;
+import org.polarsys.capella.common.model.helpers.IModelConstants;
+import org.polarsys.capella.core.data.fa.AbstractFunction;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+import org.polarsys.capella.viatra.core.helpers.ViatraDerivedFeatureBackend;
+
+/**
+ * Test that the values of the derived features computed by the Viatra backend are the ones computed by the helpers,
+ * in the same order, before and after a change of the model.
+ */
+public class ViatraDerivedFeatureBackendTest extends BasicTestCase {
+
+  public static String MODEL_NAME = "miscmodel"; //$NON-NLS-1$
+
+  @Override
+  public List<String> getRequiredTestModels() {
+    return Arrays.asList(MODEL_NAME);
+  }
+
+  @Override
+  public void test() throws Exception {
+    Session session = getSessionForTestModel(MODEL_NAME);
+    ResourceSet resourceSet = session.getTransactionalEditingDomain().getResourceSet();
+    ViatraDerivedFeatureBackend backend = ViatraDerivedFeatureBackend.getInstance();
+    backend.enable(session);
+    try {
+      assertTrue(backend.isEnabled(resourceSet));
+      List<EObject> elements = getSemanticElements(session);
+      for (EObject element : elements) {
+        assertSameValues(backend, element);
+      }
+
+      // Reorder sub functions, the order of the values follows the helpers
+      AbstractFunction function = (AbstractFunction) elements.stream()
+          .filter(e -> e instanceof AbstractFunction && ((AbstractFunction) e).getOwnedFunctions().size() > 1)
+          .findFirst().orElse(null);
+      assertNotNull(function);
+      TransactionHelper.getExecutionManager(function).execute(new AbstractReadWriteCommand() {
+        @Override
+        public void run() {
+          function.getOwnedFunctions().move(function.getOwnedFunctions().size() - 1, 0);
+        }
+      });
+      assertSameValues(backend, function);
+
+    } finally {
+      backend.disable(session);
+    }
+    assertFalse(backend.isEnabled(resourceSet));
+  }
+
+  /**
+   * Check that the values of the derived features of the element handled by the backend are the ones of the helper.
+   */
+  private void assertSameValues(ViatraDerivedFeatureBackend backend, EObject element) {
+    IHelper helper = (IHelper) Platform.getAdapterManager().getAdapter(element, IHelper.class);
+    for (EStructuralFeature feature : element.eClass().getEAllStructuralFeatures()) {
+      if (feature.isDerived() && backend.isHandled(element, feature)) {
+        Object expected = helper.getValue(element, feature,
+            feature.getEAnnotation(IModelConstants.HELPER_ANNOTATION_SOURCE));
+        if (feature.isMany()) {
+          // Helpers may return their own list implementation
+          expected = new ArrayList<>((List<?>) expected);
+        }
+        assertEquals(element.eClass().getName() + "." + feature.getName(), expected, //$NON-NLS-1$
+            backend.getValue(element, feature));
+      }
+    }
+  }
+
+  private List<EObject> getSemanticElements(Session session) {
+    List<EObject> elements = new ArrayList<>();
+    for (Resource resource : session.getSemanticResources()) {
+      for (Iterator<EObject> iterator = resource.getAllContents(); iterator.hasNext();) {
+        elements.add(iterator.next());
+      }
+    }
+    return elements;
+  }
+}
@@ -25,7 +25,6 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.diffmerge.diffdata.EComparison;
 import org.eclipse.emf.diffmerge.diffdata.EMatch;
-import org.eclipse.emf.diffmerge.diffdata.impl.EComparisonImpl;
 import org.eclipse.emf.diffmerge.diffdata.impl.EElementPresenceImpl;
 import org.eclipse.emf.diffmerge.generic.api.Role;
 import org.eclipse.emf.diffmerge.generic.api.diff.IDifference;
@@ -36,6 +35,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.domain.IEditingDomainProvider;
 import org.polarsys.capella.common.data.modellingcore.ModelElement;
 import org.polarsys.capella.common.mdsofa.common.helper.FileHelper;
+import org.polarsys.capella.core.compare.CapellaComparison;
 import org.polarsys.capella.core.compare.CapellaComparisonMethod;
 import org.polarsys.capella.core.compare.CapellaComparisonMethodFactory;
 import org.polarsys.capella.core.compare.CapellaDiffPolicy;
@@ -147,7 +147,7 @@ public abstract class DiffMergeTestCase extends NonDirtyTestCase {
       ((IPersistentDataScope<?>) _rightScope).load();
     }
 
-    comparison = new EComparisonImpl(_leftScope, _rightScope, null);
+    comparison = new CapellaComparison(_leftScope, _rightScope, null);
     IStatus result = comparison.compute(getMatchPolicy(), new CapellaDiffPolicy(), new CapellaMergePolicy(),
         new NullProgressMonitor());
 
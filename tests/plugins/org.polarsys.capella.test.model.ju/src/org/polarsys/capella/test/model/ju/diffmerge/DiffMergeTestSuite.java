@@ -43,6 +43,8 @@ public class DiffMergeTestSuite extends BasicTestSuite {
     tests.add(new TransferOfElementsBetweenCapellaProjectAndLibTestCase());
     tests.add(new DiffMergeBetweenVersionsOfSameModelCapellaFile());
     tests.add(new DiffmergeDomain());
+    tests.add(new FragmentComparisonHelperTestCase());
+    tests.add(new FragmentAwareComparisonTestCase());
     return tests;
   }
 
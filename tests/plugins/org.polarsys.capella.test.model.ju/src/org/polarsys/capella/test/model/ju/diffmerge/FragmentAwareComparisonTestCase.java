@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.diffmerge;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.diffmerge.diffdata.EComparison;
+import org.eclipse.emf.diffmerge.generic.api.Role;
+import org.eclipse.emf.diffmerge.generic.api.diff.IAttributeValuePresence;
+import org.eclipse.emf.diffmerge.generic.api.diff.IDifference;
+import org.eclipse.emf.diffmerge.generic.api.scopes.IEditableTreeDataScope;
+import org.eclipse.emf.diffmerge.generic.api.scopes.IPersistentDataScope;
+import org.eclipse.emf.diffmerge.ui.specification.IModelScopeDefinition;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.polarsys.capella.core.compare.CapellaComparison;
+import org.polarsys.capella.core.compare.CapellaComparisonMethod;
+import org.polarsys.capella.core.compare.CapellaComparisonMethodFactory;
+import org.polarsys.capella.core.compare.CapellaDiffPolicy;
+import org.polarsys.capella.core.compare.CapellaMatchPolicy;
+import org.polarsys.capella.core.compare.CapellaMergePolicy;
+import org.polarsys.capella.core.compare.CapellaScopeFactory;
+import org.polarsys.capella.core.compare.FragmentComparisonHelper;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.ctx.SystemFunctionPkg;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.core.data.fa.FunctionRealization;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that, in a fragment-aware comparison, the elements of an unchanged fragment referenced from a changed fragment
+ * are matched in both models: only the actual change of the changed fragment is a difference.
+ */
+public class FragmentAwareComparisonTestCase extends BasicTestCase {
+
+  private static final String PKG_ID = "b6f0c2a4-6a1e-4c1b-9a43-0d1f4e4f6a01"; //$NON-NLS-1$
+  private static final String TARGET_ID = "b6f0c2a4-6a1e-4c1b-9a43-0d1f4e4f6a02"; //$NON-NLS-1$
+  private static final String SOURCE_ID = "b6f0c2a4-6a1e-4c1b-9a43-0d1f4e4f6a03"; //$NON-NLS-1$
+  private static final String REALIZATION_ID = "b6f0c2a4-6a1e-4c1b-9a43-0d1f4e4f6a04"; //$NON-NLS-1$
+
+  private static final String MODEL = "model.capella"; //$NON-NLS-1$
+
+  @Override
+  public void test() throws Exception {
+    IProject left = createProject("FragmentAwareComparisonLeft"); //$NON-NLS-1$
+    IProject right = createProject("FragmentAwareComparisonRight"); //$NON-NLS-1$
+    CapellaComparisonMethod method = null;
+    try {
+      createModel(left, "left"); //$NON-NLS-1$
+      createModel(right, "right"); //$NON-NLS-1$
+
+      CapellaScopeFactory scopeFactory = new CapellaScopeFactory();
+      IModelScopeDefinition leftScopeSpec = scopeFactory.createScopeDefinition(left.getFile(MODEL), null, true);
+      IModelScopeDefinition rightScopeSpec = scopeFactory.createScopeDefinition(right.getFile(MODEL), null, true);
+      System.setProperty(FragmentComparisonHelper.FRAGMENT_AWARE_PROPERTY, Boolean.TRUE.toString());
+      try {
+        method = (CapellaComparisonMethod) new CapellaComparisonMethodFactory().createComparisonMethod(leftScopeSpec,
+            rightScopeSpec, null);
+      } finally {
+        System.clearProperty(FragmentComparisonHelper.FRAGMENT_AWARE_PROPERTY);
+      }
+      method.setVerbose(false);
+
+      Role leftRole = method.getLeftRole();
+      IEditableTreeDataScope leftScope = leftScopeSpec.createScope(method.getResourceSet(leftRole));
+      IEditableTreeDataScope rightScope = rightScopeSpec.createScope(method.getResourceSet(leftRole.opposite()));
+      ((IPersistentDataScope<?>) leftScope).load();
+      ((IPersistentDataScope<?>) rightScope).load();
+
+      EComparison comparison = new CapellaComparison(leftScope, rightScope, null);
+      IStatus status = comparison.compute(new CapellaMatchPolicy(), new CapellaDiffPolicy(), new CapellaMergePolicy(),
+          new NullProgressMonitor());
+      assertTrue(status.isOK());
+
+      // Only the summary of the source function differs, the realization targets the same function
+      Collection<IDifference<EObject>> differences = comparison.getRemainingDifferences();
+      assertFalse(differences.isEmpty());
+      for (IDifference<EObject> difference : differences) {
+        assertTrue(difference.toString(), difference instanceof IAttributeValuePresence<?>);
+      }
+
+    } finally {
+      if (method != null) {
+        method.dispose();
+      }
+      left.delete(true, true, new NullProgressMonitor());
+      right.delete(true, true, new NullProgressMonitor());
+    }
+  }
+
+  private IProject createProject(String name) throws Exception {
+    IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+    project.create(new NullProgressMonitor());
+    project.open(new NullProgressMonitor());
+    return project;
+  }
+
+  /**
+   * Create a model whose main resource contains a changed fragment, holding a function with the given summary, and an
+   * unchanged fragment, holding the function realized by the former.
+   */
+  private void createModel(IProject project, String summary) throws Exception {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    URI folder = URI.createPlatformResourceURI(project.getName(), true);
+    URI fragments = folder.appendSegment("fragments"); //$NON-NLS-1$
+    Resource main = resourceSet.createResource(folder.appendSegment(MODEL));
+    Resource unchanged = resourceSet.createResource(fragments.appendSegment("unchanged.capellafragment")); //$NON-NLS-1$
+    Resource changed = resourceSet.createResource(fragments.appendSegment("changed.capellafragment")); //$NON-NLS-1$
+
+    SystemFunctionPkg pkg = CtxFactory.eINSTANCE.createSystemFunctionPkg("functions"); //$NON-NLS-1$
+    pkg.setId(PKG_ID);
+    SystemFunction target = CtxFactory.eINSTANCE.createSystemFunction("target"); //$NON-NLS-1$
+    target.setId(TARGET_ID);
+    SystemFunction source = CtxFactory.eINSTANCE.createSystemFunction("source"); //$NON-NLS-1$
+    source.setId(SOURCE_ID);
+    source.setSummary(summary);
+    pkg.getOwnedSystemFunctions().add(target);
+    pkg.getOwnedSystemFunctions().add(source);
+    FunctionRealization realization = FaFactory.eINSTANCE.createFunctionRealization();
+    realization.setId(REALIZATION_ID);
+    source.getOwnedFunctionRealizations().add(realization);
+    realization.setSourceElement(source);
+    realization.setTargetElement(target);
+
+    main.getContents().add(pkg);
+    unchanged.getContents().add(target);
+    changed.getContents().add(source);
+    for (Resource resource : resourceSet.getResources()) {
+      resource.save(Collections.emptyMap());
+    }
+    for (Resource resource : resourceSet.getResources()) {
+      resource.unload();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.diffmerge;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.polarsys.capella.core.compare.FragmentComparisonHelper;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that only the fragments of the models identical in all the compared models, and only referencing such
+ * fragments, are left out of fragment-aware comparisons.
+ */
+public class FragmentComparisonHelperTestCase extends BasicTestCase {
+
+  @Override
+  public void test() throws Exception {
+    Path left = Files.createTempDirectory("left"); //$NON-NLS-1$
+    Path right = Files.createTempDirectory("right"); //$NON-NLS-1$
+    try {
+      // Identical
+      write(left, "fragments/unchanged.capellafragment", "<a id=\"1\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      write(right, "fragments/unchanged.capellafragment", "<a id=\"1\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      // Different
+      write(left, "fragments/changed.capellafragment", "<a id=\"2\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      write(right, "fragments/changed.capellafragment", "<a id=\"3\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      // Identical but containing a different fragment
+      String parent = "<a id=\"4\"><b href=\"changed.capellafragment#2\"/></a>"; //$NON-NLS-1$
+      write(left, "fragments/parent.capellafragment", parent); //$NON-NLS-1$
+      write(right, "fragments/parent.capellafragment", parent); //$NON-NLS-1$
+      // Only in one model
+      write(left, "fragments/added.airdfragment", "<a id=\"5\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      // Identical but not a fragment of the models
+      write(left, "other/unreferenced.capellafragment", "<a id=\"6\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      write(right, "other/unreferenced.capellafragment", "<a id=\"6\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      // Main resources
+      String main = "<m><a href=\"fragments/unchanged.capellafragment#1\"/>" //$NON-NLS-1$
+          + "<a href=\"fragments/changed.capellafragment#2\"/>" //$NON-NLS-1$
+          + "<a href=\"fragments/parent.capellafragment#4\"/></m>"; //$NON-NLS-1$
+      write(left, "model.capella", main + "<a href=\"fragments/added.airdfragment#5\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+      write(right, "model.capella", main); //$NON-NLS-1$
+
+      File leftModel = left.resolve("model.capella").toFile(); //$NON-NLS-1$
+      File rightModel = right.resolve("model.capella").toFile(); //$NON-NLS-1$
+      assertEquals(Collections.singleton("fragments/unchanged.capellafragment"), //$NON-NLS-1$
+          FragmentComparisonHelper.getUnchangedFragmentPaths(Arrays.asList(leftModel, rightModel)));
+      // No fragment in a model
+      File missing = right.resolve("missing.capella").toFile(); //$NON-NLS-1$
+      assertEquals(Collections.emptySet(),
+          FragmentComparisonHelper.getUnchangedFragmentPaths(Arrays.asList(leftModel, missing)));
+
+    } finally {
+      delete(left);
+      delete(right);
+    }
+  }
+
+  private void write(Path folder, String path, String content) throws IOException {
+    Path file = folder.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void delete(Path folder) throws IOException {
+    try (Stream<Path> paths = Files.walk(folder)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+}
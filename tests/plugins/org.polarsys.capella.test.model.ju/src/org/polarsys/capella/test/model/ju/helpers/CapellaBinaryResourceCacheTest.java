@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.helpers;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.polarsys.capella.common.data.core.gen.xmi.impl.CapellaBinaryResourceCache;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.data.capellamodeller.util.CapellamodellerResourceFactoryImpl;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that resources are loaded from their binary cache, and from their XMI once it has changed.
+ */
+public class CapellaBinaryResourceCacheTest extends BasicTestCase {
+
+  @Override
+  public void test() throws Exception {
+    Path folder = Files.createTempDirectory("binaryCache"); //$NON-NLS-1$
+    String enabled = System.getProperty(CapellaBinaryResourceCache.ENABLED_PROPERTY);
+    System.setProperty(CapellaBinaryResourceCache.ENABLED_PROPERTY, Boolean.TRUE.toString());
+    System.setProperty(CapellaBinaryResourceCache.FOLDER_PROPERTY, folder.resolve("cache").toString()); //$NON-NLS-1$
+    try {
+      URI uri = URI.createFileURI(folder.resolve("model.capella").toString()); //$NON-NLS-1$
+      Resource resource = createResource(uri);
+      Project project = CapellamodellerFactory.eINSTANCE.createProject("Project"); //$NON-NLS-1$
+      SystemEngineering engineering = CapellamodellerFactory.eINSTANCE.createSystemEngineering("Engineering"); //$NON-NLS-1$
+      project.getOwnedModelRoots().add(engineering);
+      resource.getContents().add(project);
+      resource.save(null);
+      assertTrue(CapellaBinaryResourceCache.getCacheFile(uri).isFile());
+
+      // Unchanged XMI: loaded from the cache
+      Resource cached = createResource(uri);
+      cached.load(null);
+      assertTrue(EcoreUtil.equals(resource.getContents(), cached.getContents()));
+      assertNotNull(cached.getEObject(engineering.getId()));
+      assertFalse(cached.isModified());
+
+      // Changed XMI: loaded from the XMI
+      Path xmi = Paths.get(uri.toFileString());
+      String content = new String(Files.readAllBytes(xmi), StandardCharsets.UTF_8);
+      Files.write(xmi, content.replace("\"Engineering\"", "\"Changed\"").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$ //$NON-NLS-2$
+      Resource changed = createResource(uri);
+      changed.load(null);
+      assertEquals("Changed", ((SystemEngineering) changed.getEObject(engineering.getId())).getName()); //$NON-NLS-1$
+
+    } finally {
+      if (enabled == null) {
+        System.clearProperty(CapellaBinaryResourceCache.ENABLED_PROPERTY);
+      } else {
+        System.setProperty(CapellaBinaryResourceCache.ENABLED_PROPERTY, enabled);
+      }
+      System.clearProperty(CapellaBinaryResourceCache.FOLDER_PROPERTY);
+      try (Stream<Path> paths = Files.walk(folder)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  private Resource createResource(URI uri) {
+    Resource resource = new CapellamodellerResourceFactoryImpl().createResource(uri);
+    new ResourceSetImpl().getResources().add(resource);
+    return resource;
+  }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.helpers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.polarsys.capella.common.data.modellingcore.ModellingcorePackage;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.TransactionHelper;
+import org.polarsys.capella.core.data.capellacore.CapellacorePackage;
+import org.polarsys.capella.core.data.fa.AbstractFunction;
+import org.polarsys.capella.core.libraries.utils.ScopeModelWrapper;
+import org.polarsys.capella.core.ui.search.CapellaReplaceQuery;
+import org.polarsys.capella.core.ui.search.CapellaSearchQuery;
+import org.polarsys.capella.core.ui.search.CapellaSearchSettings;
+import org.polarsys.capella.core.ui.search.searchfor.item.SearchForAttributeItem;
+import org.polarsys.capella.core.ui.search.searchfor.item.SearchForClassItem;
+import org.polarsys.capella.shared.id.handler.IdManager;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that the match limit of a search counts occurrences, and that a replace applies all the occurrences within a
+ * single command.
+ */
+public class CapellaReplaceQueryTest extends BasicTestCase {
+
+  public static String MODEL_NAME = "copyPasteLayout"; //$NON-NLS-1$
+  public static String LA__ROOT_LF__LOGICALFUNCTION_1 = "57405f1a-bc81-43b9-967d-4a4d954da095"; //$NON-NLS-1$
+
+  @Override
+  public List<String> getRequiredTestModels() {
+    return Arrays.asList(MODEL_NAME);
+  }
+
+  @Override
+  public void test() throws Exception {
+    AbstractFunction function = (AbstractFunction) IdManager.getInstance().getEObject(LA__ROOT_LF__LOGICALFUNCTION_1,
+        new ScopeModelWrapper(getTestModel(MODEL_NAME)));
+    // 4 occurrences in 2 matches
+    TransactionHelper.getExecutionManager(function).execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        function.setName("zorglub"); //$NON-NLS-1$
+        function.setDescription("zorglub one\nzorglub two\nzorglub three"); //$NON-NLS-1$
+      }
+    });
+
+    CapellaSearchSettings settings = new CapellaSearchSettings();
+    settings.setTextPattern("zorglub"); //$NON-NLS-1$
+    settings.addObjectToSearch(function);
+    SearchForAttributeItem nameItem = new SearchForAttributeItem();
+    nameItem.addAttribute(ModellingcorePackage.Literals.ABSTRACT_NAMED_ELEMENT__NAME);
+    SearchForAttributeItem descriptionItem = new SearchForAttributeItem();
+    descriptionItem.addAttribute(CapellacorePackage.Literals.CAPELLA_ELEMENT__DESCRIPTION);
+    settings.getSearchAttributeItems().addAll(Arrays.asList(nameItem, descriptionItem));
+    settings.setSearchClassItems(Collections.singleton(new SearchForClassItem(function.eClass())));
+
+    // The match limit counts occurrences, not matches
+    CapellaSearchQuery query = new CapellaSearchQuery(settings);
+    query.setMatchLimit(3);
+    assertTrue(query.run(new NullProgressMonitor()).isOK());
+    assertTrue(query.isMatchLimitReached());
+    assertTrue(query.getSearchResult().getOccurrenceCount() <= 3);
+
+    query.setMatchLimit(4);
+    assertTrue(query.run(new NullProgressMonitor()).isOK());
+    assertFalse(query.isMatchLimitReached());
+    assertEquals(4, query.getSearchResult().getOccurrenceCount());
+
+    // All the occurrences are replaced in a single command
+    CapellaReplaceQuery replaceQuery = new CapellaReplaceQuery(settings);
+    IStatus status = replaceQuery.run(new NullProgressMonitor(), query.getSearchResult().getDisplayedMatches(),
+        "foo"); //$NON-NLS-1$
+    assertTrue(status.isOK());
+    assertEquals(4, replaceQuery.getReplacedOccurrenceCount());
+    assertEquals(1, replaceQuery.getReplacedElementCount());
+    assertEquals("foo", function.getName()); //$NON-NLS-1$
+    assertEquals("foo one\nfoo two\nfoo three", function.getDescription()); //$NON-NLS-1$
+
+    TransactionHelper.getEditingDomain(function).getCommandStack().undo();
+    assertEquals("zorglub", function.getName()); //$NON-NLS-1$
+    assertEquals("zorglub one\nzorglub two\nzorglub three", function.getDescription()); //$NON-NLS-1$
+  }
+}
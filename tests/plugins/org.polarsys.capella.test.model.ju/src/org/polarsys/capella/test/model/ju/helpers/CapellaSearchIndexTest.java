@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.helpers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.common.helpers.TransactionHelper;
+import org.polarsys.capella.core.data.fa.AbstractFunction;
+import org.polarsys.capella.core.libraries.utils.ScopeModelWrapper;
+import org.polarsys.capella.core.platform.sirius.ui.commands.CapellaDeleteCommand;
+import org.polarsys.capella.core.ui.search.CapellaSearchIndex;
+import org.polarsys.capella.shared.id.handler.IdManager;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that the search index of a session follows the renaming and the deletion of elements.
+ */
+public class CapellaSearchIndexTest extends BasicTestCase {
+
+  public static String MODEL_NAME = "copyPasteLayout"; //$NON-NLS-1$
+  public static String LA__ROOT_LF__LOGICALFUNCTION_1 = "57405f1a-bc81-43b9-967d-4a4d954da095"; //$NON-NLS-1$
+
+  @Override
+  public List<String> getRequiredTestModels() {
+    return Arrays.asList(MODEL_NAME);
+  }
+
+  @Override
+  public void test() throws Exception {
+    Session session = getSessionForTestModel(MODEL_NAME);
+    CapellaSearchIndex index = CapellaSearchIndex.getIndex(session);
+    index.join();
+    assertTrue(index.isReady());
+
+    AbstractFunction function = (AbstractFunction) IdManager.getInstance().getEObject(LA__ROOT_LF__LOGICALFUNCTION_1,
+        new ScopeModelWrapper(getTestModel(MODEL_NAME)));
+    assertTrue(index.getCandidates(function.getName()).contains(function));
+    assertTrue(index.getCandidates("Zorglub").isEmpty()); //$NON-NLS-1$
+
+    // Rename
+    TransactionHelper.getExecutionManager(function).execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        function.setName("Zorglub Function"); //$NON-NLS-1$
+      }
+    });
+    assertTrue(index.getCandidates("zorg").contains(function)); //$NON-NLS-1$
+    assertTrue(index.getCandidates("ZORGLUB fun*").contains(function)); //$NON-NLS-1$
+
+    // Delete
+    CapellaDeleteCommand command = new CapellaDeleteCommand(TransactionHelper.getExecutionManager(function),
+        Collections.singletonList(function), true, false, true);
+    assertTrue(command.canExecute());
+    command.execute();
+    assertTrue(index.getCandidates("Zorglub").isEmpty()); //$NON-NLS-1$
+
+    // The index is released with the session
+    index.dispose();
+    assertFalse(index.isReady());
+    assertNull(index.getCandidates("Zorglub")); //$NON-NLS-1$
+  }
+}
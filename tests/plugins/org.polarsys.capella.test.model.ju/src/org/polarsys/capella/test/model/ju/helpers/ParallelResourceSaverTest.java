@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.model.ju.helpers;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.polarsys.capella.core.data.capellamodeller.CapellamodellerFactory;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.data.capellamodeller.util.CapellamodellerResourceFactoryImpl;
+import org.polarsys.capella.core.model.handler.internal.session.ParallelResourceSaver;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that the parallel save only replaces the files of semantic resources whose serialization has changed, and
+ * leaves the resources it fails to save modified for the saving policy.
+ */
+public class ParallelResourceSaverTest extends BasicTestCase {
+
+  private static final long TIME_STAMP = 1000000L;
+
+  @Override
+  public void test() throws Exception {
+    Path folder = Files.createTempDirectory("parallelSave"); //$NON-NLS-1$
+    try {
+      ResourceSet resourceSet = new ResourceSetImpl();
+      List<Resource> resources = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        URI uri = URI.createFileURI(folder.resolve("fragment" + i + ".capellafragment").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+        Resource resource = new CapellamodellerResourceFactoryImpl().createResource(uri);
+        resourceSet.getResources().add(resource);
+        resource.getContents().add(CapellamodellerFactory.eINSTANCE.createSystemEngineering("Engineering" + i)); //$NON-NLS-1$
+        resource.save(null);
+        new File(uri.toFileString()).setLastModified(TIME_STAMP);
+        resources.add(resource);
+      }
+      // Modified without any change
+      resources.get(0).setModified(true);
+      // Changed
+      ((SystemEngineering) resources.get(1).getContents().get(0)).setName("Changed"); //$NON-NLS-1$
+      resources.get(1).setModified(true);
+      // Not savable in its missing folder
+      URI missingUri = URI.createFileURI(folder.resolve("missing/fragment.capellafragment").toString()); //$NON-NLS-1$
+      Resource failing = new CapellamodellerResourceFactoryImpl().createResource(missingUri);
+      resourceSet.getResources().add(failing);
+      failing.getContents().add(CapellamodellerFactory.eINSTANCE.createSystemEngineering("Failing")); //$NON-NLS-1$
+      failing.setModified(true);
+      resources.add(failing);
+
+      // The modification status is notified on the calling thread
+      List<Thread> notifyingThreads = new ArrayList<>();
+      resources.get(1).eAdapters().add(new AdapterImpl() {
+        @Override
+        public void notifyChanged(Notification notification) {
+          if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_MODIFIED) {
+            notifyingThreads.add(Thread.currentThread());
+          }
+        }
+      });
+
+      Collection<Resource> otherResources = new ArrayList<>();
+      Collection<Resource> saved = ParallelResourceSaver.save(resources, Resource::isModified, null,
+          new NullProgressMonitor(), others -> {
+            others.forEach(otherResources::add);
+            return Collections.emptyList();
+          });
+
+      assertEquals(new HashSet<>(resources.subList(0, 2)), new HashSet<>(saved));
+      assertEquals(resources.subList(2, 4), otherResources);
+      for (Resource resource : resources.subList(0, 3)) {
+        assertFalse(resource.isModified());
+      }
+      assertTrue(failing.isModified());
+      assertEquals(Collections.singletonList(Thread.currentThread()), notifyingThreads);
+      assertEquals(TIME_STAMP, getFile(resources.get(0)).lastModified());
+      assertTrue(new String(Files.readAllBytes(getFile(resources.get(1)).toPath()), StandardCharsets.UTF_8)
+          .contains("Changed")); //$NON-NLS-1$
+      assertEquals(TIME_STAMP, getFile(resources.get(2)).lastModified());
+      // No temporary file left
+      assertEquals(3, Arrays.asList(folder.toFile().list()).size());
+
+    } finally {
+      try (Stream<Path> paths = Files.walk(folder)) {
+        paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  private File getFile(Resource resource) {
+    return new File(resource.getURI().toFileString());
+  }
+}
@@ -19,21 +19,32 @@ import org.polarsys.capella.test.framework.api.BasicTestArtefact;
 import org.polarsys.capella.test.framework.api.BasicTestSuite;
 import org.polarsys.capella.test.model.ju.accelerators.PhysicalLinkAcceleratorTest;
 import org.polarsys.capella.test.model.ju.components.CompositionTestSuite;
+import org.polarsys.capella.test.model.ju.crossreferencer.DerivedFeatureCacheTest;
+import org.polarsys.capella.test.model.ju.crossreferencer.IdIndexTest;
+import org.polarsys.capella.test.model.ju.crossreferencer.IncrementalValidationTest;
 import org.polarsys.capella.test.model.ju.crossreferencer.InvolverInvolvedDerivedFeaturesTest;
 import org.polarsys.capella.test.model.ju.crossreferencer.MoveElementToNewResourceTest;
+import org.polarsys.capella.test.model.ju.crossreferencer.ScopedCacheTest;
+import org.polarsys.capella.test.model.ju.crossreferencer.ScopedModelCacheTest;
+import org.polarsys.capella.test.model.ju.crossreferencer.ValidationChangeRecorderTest;
 import org.polarsys.capella.test.model.ju.crossreferencer.TraceableElementDerivedFeaturesTest;
 import org.polarsys.capella.test.model.ju.crossreferencer.TypeDerivedFeaturesTest;
 import org.polarsys.capella.test.model.ju.derivedfeature.DerivedFeatureTestCase;
+import org.polarsys.capella.test.model.ju.derivedfeature.ViatraDerivedFeatureBackendTest;
 import org.polarsys.capella.test.model.ju.dialog.CapellaTreeDataTestCase;
 import org.polarsys.capella.test.model.ju.diffmerge.DiffMergeTestSuite;
 import org.polarsys.capella.test.model.ju.dnd.DnDTestSuite;
 import org.polarsys.capella.test.model.ju.helpers.CapellaAdapterHelperTestCase;
+import org.polarsys.capella.test.model.ju.helpers.CapellaBinaryResourceCacheTest;
+import org.polarsys.capella.test.model.ju.helpers.CapellaReplaceQueryTest;
 import org.polarsys.capella.test.model.ju.helpers.CapellaResourceNamingHelperTestCase;
+import org.polarsys.capella.test.model.ju.helpers.CapellaSearchIndexTest;
 import org.polarsys.capella.test.model.ju.helpers.ChildrenFeaturesItemProviderTest;
 import org.polarsys.capella.test.model.ju.helpers.ComponentExtTestCase;
 import org.polarsys.capella.test.model.ju.helpers.ComponentPkgExtTestCase;
 import org.polarsys.capella.test.model.ju.helpers.DataTypeRealizedInformationTest;
 import org.polarsys.capella.test.model.ju.helpers.GitConflictHelperTest;
+import org.polarsys.capella.test.model.ju.helpers.ParallelResourceSaverTest;
 import org.polarsys.capella.test.model.ju.helpers.PartExtTestCase;
 import org.polarsys.capella.test.model.ju.helpers.PhysicalComponentExtTestCase;
 import org.polarsys.capella.test.model.ju.menu.CapellaMenusTestCase;
@@ -84,15 +95,24 @@ public class ModelTestSuite extends BasicTestSuite {
     tests.add(new DataListenerTestSuite());
     tests.add(new CapellaAdapterHelperTestCase());
     tests.add(new CapellaResourceNamingHelperTestCase());
+    tests.add(new CapellaSearchIndexTest());
+    tests.add(new CapellaReplaceQueryTest());
     tests.add(new ChildrenFeaturesItemProviderTest());
     tests.add(new CopyPasteLayout());
     tests.add(new InvalidCapellaCopyPaste());
     tests.add(new PropertyViewsTest());
     tests.add(new MoveElementToNewResourceTest());
+    tests.add(new IdIndexTest());
+    tests.add(new ScopedModelCacheTest());
+    tests.add(new ScopedCacheTest());
+    tests.add(new DerivedFeatureCacheTest());
+    tests.add(new ValidationChangeRecorderTest());
+    tests.add(new IncrementalValidationTest());
     tests.add(new InvolverInvolvedDerivedFeaturesTest());
     tests.add(new TypeDerivedFeaturesTest());
     tests.add(new TraceableElementDerivedFeaturesTest());
     tests.add(new DerivedFeatureTestCase());
+    tests.add(new ViatraDerivedFeatureBackendTest());
     tests.add(new DnDTestSuite());
 
     tests.add(new ComponentExtTestCase());
@@ -110,6 +130,8 @@ public class ModelTestSuite extends BasicTestSuite {
     
     tests.add(new DataTypeRealizedInformationTest());
     tests.add(new GitConflictHelperTest());
+    tests.add(new CapellaBinaryResourceCacheTest());
+    tests.add(new ParallelResourceSaverTest());
     return tests;
   }
 
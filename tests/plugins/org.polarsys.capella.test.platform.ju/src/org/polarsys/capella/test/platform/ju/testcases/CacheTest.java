@@ -1,12 +1,15 @@
 package org.polarsys.capella.test.platform.ju.testcases;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.polarsys.capella.common.helpers.cache.Cache;
+import org.polarsys.capella.common.helpers.cache.CacheStatistics;
 import org.polarsys.capella.common.helpers.cache.CachedBiFunction;
 import org.polarsys.capella.common.helpers.cache.CachedFunction;
 import org.polarsys.capella.common.helpers.cache.ModelCache;
@@ -26,6 +29,8 @@ public class CacheTest extends BasicTestCase {
 
   CachedBiFunction<String, String, Integer> cachedBiFunction_get = CacheTest::get;
 
+  CachedFunction<String, Integer> cachedFunction_statistics = CacheTest::get2;
+
 
   @Override
   public void test() throws Exception {
@@ -69,6 +74,78 @@ public class CacheTest extends BasicTestCase {
 
     assertFalse(get2_oncached_1 == get2_oncached_2);
 
+    cachedFunction_statistics.get(a);
+    cachedFunction_statistics.get(a);
+    cachedFunction_statistics.get(b);
+
+    CacheStatistics statistics = cachedFunction_statistics.getStatistics();
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(2, statistics.getMissCount());
+    assertEquals(2, statistics.getSize());
+
+    // Removing the entries of a function keeps its statistics
+    cachedFunction_statistics.clearCache();
+    statistics = cachedFunction_statistics.getStatistics();
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(0, statistics.getSize());
+
+    // Disabling the cache removes the functions
     ModelCache.disable();
+    assertEquals(0, cachedFunction_statistics.getStatistics().getHitCount());
+
+    testBoundedCache();
+    testSharedSegment();
+  }
+
+  /**
+   * Functions which are not cached functions share a single segment and statistics, and a cache miss gives back the
+   * computed result.
+   */
+  protected void testSharedSegment() {
+    Cache cache = new Cache();
+    for (int i = 0; i < 10; i++) {
+      String suffix = String.valueOf(i);
+      cache.get(value -> value + suffix, "a");
+    }
+    assertEquals(1, cache.getStatistics().size());
+    assertEquals(10, cache.getStatistics(Cache.FUNCTIONS).getMissCount());
+
+    Function<String, List<String>> singleton = value -> new ArrayList<>(Arrays.asList(value));
+    List<String> computed = cache.get(singleton, "a");
+    // The computed result is modifiable, as without cache
+    computed.add("b");
+    assertEquals(Arrays.asList("a", "b"), computed);
+    cache.get(singleton, "a");
+    assertEquals(1, cache.getStatistics(Cache.FUNCTIONS).getHitCount());
+  }
+
+  /**
+   * The bound of a cache applies to the entries of all its functions.
+   */
+  protected void testBoundedCache() {
+    Cache cache = new Cache(2);
+    cache.get(cachedFunction_get2, "a");
+    cache.get(cachedFunction_get2, "b");
+    cache.get(cachedFunction_statistics, "a");
+    // The least recently accessed entry of the largest function is evicted
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getStatistics(cachedFunction_get2).getSize());
+    assertEquals(1, cache.getStatistics(cachedFunction_statistics).getSize());
+
+    cache.get(cachedFunction_get2, "b");
+    assertEquals(1, cache.getStatistics(cachedFunction_get2).getHitCount());
+    cache.get(cachedFunction_get2, "a");
+    assertEquals(3, cache.getStatistics(cachedFunction_get2).getMissCount());
+    assertEquals(2, cache.size());
+
+    // A function without entries keeps its statistics
+    cache.clearCache(cachedFunction_statistics);
+    assertEquals(1, cache.size());
+    assertEquals(0, cache.getStatistics(cachedFunction_statistics).getSize());
+    assertEquals(1, cache.getStatistics(cachedFunction_statistics).getMissCount());
+
+    cache.clearResults();
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getStatistics(cachedFunction_get2).getHitCount());
   }
 }
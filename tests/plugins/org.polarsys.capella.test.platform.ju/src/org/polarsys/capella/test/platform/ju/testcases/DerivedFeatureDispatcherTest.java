@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.platform.ju.testcases;
+
+import java.util.Collections;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.polarsys.capella.common.model.helpers.DerivedFeatureDispatcher;
+import org.polarsys.capella.common.model.helpers.HelperNotFoundException;
+import org.polarsys.capella.common.model.helpers.IHelper;
+import org.polarsys.capella.common.model.helpers.IModelConstants;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.fa.FaPackage;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Test that the derived feature dispatcher returns the values of the contributed helpers, and fails when no helper is
+ * contributed for the package of an element.
+ */
+public class DerivedFeatureDispatcherTest extends BasicTestCase {
+
+  private static final String NS_URI = "http://www.polarsys.org/capella/test/derivedFeatureDispatcher"; //$NON-NLS-1$
+
+  @Override
+  public void test() throws Exception {
+    testHelperResolution();
+    testHelperNotFound();
+  }
+
+  /**
+   * Values of registered functions and of helpers are the ones of the helper of the package.
+   */
+  protected void testHelperResolution() {
+    SystemFunction parent = CtxFactory.eINSTANCE.createSystemFunction("parent"); //$NON-NLS-1$
+    SystemFunction child = CtxFactory.eINSTANCE.createSystemFunction("child"); //$NON-NLS-1$
+    parent.getOwnedFunctions().add(child);
+    IHelper helper = (IHelper) Platform.getAdapterManager().getAdapter(parent, IHelper.class);
+    assertNotNull(helper);
+
+    // Registered function
+    assertEquals(Collections.singletonList(child),
+        DerivedFeatureDispatcher.getValue(parent, FaPackage.Literals.ABSTRACT_FUNCTION__SUB_FUNCTIONS));
+    assertEquals(parent.getSubFunctions(),
+        DerivedFeatureDispatcher.getValue(parent, FaPackage.Literals.ABSTRACT_FUNCTION__SUB_FUNCTIONS));
+
+    // All the derived features of the EClass
+    for (EStructuralFeature feature : parent.eClass().getEAllStructuralFeatures()) {
+      EAnnotation annotation = feature.getEAnnotation(IModelConstants.HELPER_ANNOTATION_SOURCE);
+      if (feature.isDerived() && annotation != null) {
+        assertEquals(feature.getName(), helper.getValue(parent, feature, annotation),
+            DerivedFeatureDispatcher.getValue(parent, feature));
+      }
+    }
+  }
+
+  /**
+   * Elements of a package without helper raise a HelperNotFoundException, as long as no helper is contributed.
+   */
+  protected void testHelperNotFound() {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("derivedFeatureDispatcher"); //$NON-NLS-1$
+    ePackage.setNsURI(NS_URI);
+    EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+    eClass.setName("Element"); //$NON-NLS-1$
+    ePackage.getEClassifiers().add(eClass);
+    EReference feature = EcoreFactory.eINSTANCE.createEReference();
+    feature.setName("derivedElements"); //$NON-NLS-1$
+    feature.setEType(eClass);
+    feature.setUpperBound(-1);
+    feature.setDerived(true);
+    feature.setTransient(true);
+    feature.setVolatile(true);
+    EAnnotation annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+    annotation.setSource(IModelConstants.HELPER_ANNOTATION_SOURCE);
+    feature.getEAnnotations().add(annotation);
+    eClass.getEStructuralFeatures().add(feature);
+    EObject element = EcoreUtil.create(eClass);
+
+    assertHelperNotFound(element, feature);
+    // The missing helper is not cached
+    assertHelperNotFound(element, feature);
+  }
+
+  private void assertHelperNotFound(EObject element, EStructuralFeature feature) {
+    try {
+      DerivedFeatureDispatcher.getValue(element, feature);
+      fail("A HelperNotFoundException is expected"); //$NON-NLS-1$
+    } catch (HelperNotFoundException exception) {
+      assertTrue(exception.getMessage().contains(NS_URI));
+    }
+  }
+}
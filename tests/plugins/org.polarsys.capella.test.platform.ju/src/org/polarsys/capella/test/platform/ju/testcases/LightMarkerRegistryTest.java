@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.platform.ju.testcases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.polarsys.capella.common.tools.report.appenders.reportlogview.IMarkerSourceListener;
+import org.polarsys.capella.common.tools.report.appenders.reportlogview.LightMarkerRegistry;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Checks the indexes of the LightMarkerRegistry, and that bulk operations are notified at once.
+ */
+public class LightMarkerRegistryTest extends BasicTestCase {
+
+  private static final String MARKER_TYPE = "org.polarsys.capella.test.platform.ju.marker"; //$NON-NLS-1$
+
+  private static final String RULE_1 = "org.polarsys.capella.test.platform.ju.rule1"; //$NON-NLS-1$
+
+  private static final String RULE_2 = "org.polarsys.capella.test.platform.ju.rule2"; //$NON-NLS-1$
+
+  private final List<Collection<IMarker>> added = new ArrayList<>();
+
+  private final List<Collection<IMarker>> deleted = new ArrayList<>();
+
+  private final IMarkerSourceListener listener = new IMarkerSourceListener() {
+
+    @Override
+    public void markerAdded(IMarker marker) {
+      added.add(Collections.singletonList(marker));
+    }
+
+    @Override
+    public void markerDeleted(IMarker marker) {
+      deleted.add(Collections.singletonList(marker));
+    }
+
+    @Override
+    public void markersAdded(Collection<IMarker> markers) {
+      added.add(new ArrayList<>(markers));
+    }
+
+    @Override
+    public void markersDeleted(Collection<IMarker> markers) {
+      deleted.add(new ArrayList<>(markers));
+    }
+
+    @Override
+    public void markerChanged(IMarkerDelta marker) {
+      // Nothing here
+    }
+  };
+
+  @Override
+  public void test() throws Exception {
+    LightMarkerRegistry registry = LightMarkerRegistry.getInstance();
+    EObject a = EcoreFactory.eINSTANCE.createEClass();
+    EObject b = EcoreFactory.eINSTANCE.createEClass();
+
+    registry.addListener(listener);
+    try {
+      // Bulk creation is notified once
+      List<IMarker> markers = registry.createMarkers(ResourcesPlugin.getWorkspace().getRoot(),
+          Arrays.asList(createDiagnostic(Diagnostic.ERROR, RULE_1, a), createDiagnostic(Diagnostic.WARNING, RULE_1, b),
+              createDiagnostic(Diagnostic.WARNING, RULE_2, a, b)),
+          MARKER_TYPE);
+      assertEquals(1, added.size());
+      assertEquals(markers, added.get(0));
+      assertTrue(registry.getMarkers().containsAll(markers));
+
+      // Indexes
+      assertEquals(Arrays.asList(markers.get(0), markers.get(2)), sorted(registry.getMarkersByElement(a), markers));
+      assertEquals(Arrays.asList(markers.get(1), markers.get(2)), sorted(registry.getMarkersByElement(b), markers));
+      assertEquals(Arrays.asList(markers.get(0), markers.get(1)), sorted(registry.getMarkersByRule(RULE_1), markers));
+      assertEquals(Arrays.asList(markers.get(0)),
+          sorted(registry.getMarkersBySeverity(IMarker.SEVERITY_ERROR), markers));
+
+      // Deletion of the markers of an element is notified once and updates the indexes
+      registry.deleteMarkers(MARKER_TYPE, Collections.singletonList(a));
+      assertEquals(1, deleted.size());
+      assertEquals(Arrays.asList(markers.get(0), markers.get(2)), sorted(deleted.get(0), markers));
+      assertFalse(markers.get(0).exists());
+      assertTrue(markers.get(1).exists());
+      assertTrue(registry.getMarkersByElement(a).isEmpty());
+      assertEquals(Arrays.asList(markers.get(1)), new ArrayList<>(registry.getMarkersByElement(b)));
+      assertTrue(registry.getMarkersByRule(RULE_2).isEmpty());
+      assertTrue(sorted(registry.getMarkersBySeverity(IMarker.SEVERITY_ERROR), markers).isEmpty());
+
+      // A marker created and deleted in the same batch is not notified
+      added.clear();
+      deleted.clear();
+      registry.beginBatch();
+      try {
+        registry.createMarker(ResourcesPlugin.getWorkspace().getRoot(), createDiagnostic(Diagnostic.INFO, RULE_2, a),
+            MARKER_TYPE).delete();
+        assertTrue(added.isEmpty());
+      } finally {
+        registry.endBatch();
+      }
+      assertTrue(added.isEmpty());
+      assertTrue(deleted.isEmpty());
+
+      registry.deleteMarkers(markers);
+      assertEquals(1, deleted.size());
+      assertEquals(Arrays.asList(markers.get(1)), deleted.get(0));
+      assertTrue(registry.getMarkersByElement(b).isEmpty());
+
+    } finally {
+      registry.removeListener(listener);
+    }
+  }
+
+  private Diagnostic createDiagnostic(int severity, String ruleId, Object... data) {
+    return new BasicDiagnostic(severity, ruleId, 0, ruleId, data);
+  }
+
+  /**
+   * @return the given markers that belong to the given order, in this order. Markers created by other tests are
+   *         ignored.
+   */
+  private List<IMarker> sorted(Collection<IMarker> markers, List<IMarker> order) {
+    List<IMarker> result = new ArrayList<>(markers);
+    result.retainAll(order);
+    result.sort((m1, m2) -> order.indexOf(m1) - order.indexOf(m2));
+    return result;
+  }
+}
@@ -28,6 +28,7 @@ import org.polarsys.capella.test.platform.ju.testcases.CapellaSiriusCustomisatio
 import org.polarsys.capella.test.platform.ju.testcases.CapellaVersionConsistencyTest;
 import org.polarsys.capella.test.platform.ju.testcases.CustomDAnalysisSelection;
 import org.polarsys.capella.test.platform.ju.testcases.DataNotifierBeforeTransactionRecorder;
+import org.polarsys.capella.test.platform.ju.testcases.DerivedFeatureDispatcherTest;
 import org.polarsys.capella.test.platform.ju.testcases.DerivedFeaturesImplementation;
 import org.polarsys.capella.test.platform.ju.testcases.DiffmergeExternalReferences;
 import org.polarsys.capella.test.platform.ju.testcases.ExportCSVPreferencesTest;
@@ -35,6 +36,7 @@ import org.polarsys.capella.test.platform.ju.testcases.InvalidPreferencesInitial
 import org.polarsys.capella.test.platform.ju.testcases.InvalidRepresentationDescriptorAdapterFactory;
 import org.polarsys.capella.test.platform.ju.testcases.JobLogTest;
 import org.polarsys.capella.test.platform.ju.testcases.LicenceTest;
+import org.polarsys.capella.test.platform.ju.testcases.LightMarkerRegistryTest;
 import org.polarsys.capella.test.platform.ju.testcases.ProjectSelectionDialogTest;
 import org.polarsys.capella.test.platform.ju.testcases.PropertiesWizardIconTest;
 import org.polarsys.capella.test.platform.ju.testcases.ViatraSurrogateAllDerivedFeaturesImplemented;
@@ -64,6 +66,7 @@ public class PlatformTestSuite extends BasicTestSuite {
     tests.add(new CapellaSiriusCustomisationEnabled());
     tests.add(new CapellaPlatformVersionNotNull());
     tests.add(new DerivedFeaturesImplementation());
+    tests.add(new DerivedFeatureDispatcherTest());
     tests.add(new CapellaDefaultEditorEnabled());
     tests.add(new InvalidRepresentationDescriptorAdapterFactory());
     tests.add(new CapellaCDOGenerationOfDerivedFeature());
@@ -78,6 +81,7 @@ public class PlatformTestSuite extends BasicTestSuite {
     tests.add(new AboutInfoTest());
     tests.add(new LicenceTest());
     tests.add(new JobLogTest());
+    tests.add(new LightMarkerRegistryTest());
     tests.add(new CapellaLoggerConfigTestCase());
     tests.add(new CustomDAnalysisSelection());
 
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.transition.ju.testcases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.polarsys.capella.core.transition.common.transposer.ExtendedTopologicalSorter;
+import org.polarsys.capella.core.transition.common.transposer.KahnTopologicalSorter;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Edge;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Graph;
+import org.polarsys.kitalpha.transposer.analyzer.graph.GraphFactory;
+import org.polarsys.kitalpha.transposer.analyzer.graph.Vertex;
+
+/**
+ * Checks that {@link KahnTopologicalSorter} sorts the vertices after the ones they depend on, in the same layers and
+ * with the same backtracks than {@link ExtendedTopologicalSorter}.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TopologicalSorterTest extends BasicTestCase {
+
+  @Override
+  public void test() throws Exception {
+    Graph graph = GraphFactory.eINSTANCE.createGraph();
+    Vertex a = createVertex(graph, "a");
+    Vertex b = createVertex(graph, "b");
+    Vertex c = createVertex(graph, "c");
+    Vertex d = createVertex(graph, "d");
+    Vertex e = createVertex(graph, "e");
+    Vertex f = createVertex(graph, "f");
+
+    // a depends on b and c, b on c: no cycle
+    graph.addAdjacent(a, b, "a-b", false);
+    graph.addAdjacent(a, c, "a-c", false);
+    graph.addAdjacent(b, c, "b-c", false);
+    // cycle d -> e -> f -> d, with a critical edge
+    graph.addAdjacent(d, e, "d-e", true);
+    graph.addAdjacent(e, f, "e-f", false);
+    graph.addAdjacent(f, d, "f-d", false);
+    graph.addAdjacent(f, a, "f-a", false);
+
+    Set<Edge<?>> expectedBacktracks = new HashSet<>();
+    ExtendedTopologicalSorter expectedSorter = new ExtendedTopologicalSorter(getVertices(graph), expectedBacktracks);
+    List<Vertex<?>> expected = sort(expectedSorter);
+
+    Set<Edge<?>> backtracks = new HashSet<>();
+    KahnTopologicalSorter sorter = new KahnTopologicalSorter(getVertices(graph), backtracks);
+    List<Vertex<?>> sorted = sort(sorter);
+
+    assertEquals(expectedBacktracks, backtracks);
+    assertFalse(backtracks.contains(d.getOutgoingEdgeTo(e)));
+    assertEquals(new HashSet<>(expected), new HashSet<>(sorted));
+    assertEquals(graph.getVertices().size(), sorted.size());
+    assertSorted(sorted, backtracks);
+
+    // The layers of independent vertices are the same
+    assertEquals(c, sorted.get(0));
+    assertEquals(b, sorted.get(1));
+    assertEquals(a, sorted.get(2));
+    assertEquals(expected.subList(0, 3), sorted.subList(0, 3));
+    assertEquals(expectedSorter.getLayers(), sorter.getLayers());
+    assertEquals(Arrays.asList(Collections.singleton(c), Collections.singleton(b), Collections.singleton(a),
+        new HashSet<>(Arrays.asList(e, f)), Collections.singleton(d)), sorter.getLayers());
+  }
+
+  private Vertex createVertex(Graph graph, String name) {
+    Vertex vertex = GraphFactory.eINSTANCE.createVertex();
+    vertex.setContent(name);
+    vertex.setName(name);
+    graph.addVertex(vertex);
+    return vertex;
+  }
+
+  private Set<Vertex<?>> getVertices(Graph graph) {
+    Set<Vertex<?>> vertices = new HashSet<>();
+    for (Object vertex : graph.getVertices()) {
+      vertices.add((Vertex<?>) vertex);
+    }
+    return vertices;
+  }
+
+  private List<Vertex<?>> sort(ExtendedTopologicalSorter sorter) {
+    return new ArrayList<>(sorter.sort(null));
+  }
+
+  /**
+   * Check that each vertex is after the vertices it depends on, backtracks excepted.
+   */
+  private void assertSorted(List<Vertex<?>> sorted, Set<Edge<?>> backtracks) {
+    for (Vertex<?> vertex : sorted) {
+      for (Edge<?> edge : vertex.getOutgoingEdges()) {
+        if (!backtracks.contains(edge)) {
+          assertTrue(sorted.indexOf(edge.getTarget()) < sorted.indexOf(vertex));
+        }
+      }
+    }
+  }
+}
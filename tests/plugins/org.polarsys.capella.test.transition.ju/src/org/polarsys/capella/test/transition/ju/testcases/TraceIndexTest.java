@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.transition.ju.testcases;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.polarsys.capella.core.data.cs.CsFactory;
+import org.polarsys.capella.core.data.ctx.CtxFactory;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.fa.FaFactory;
+import org.polarsys.capella.core.data.fa.FunctionRealization;
+import org.polarsys.capella.core.data.la.LaFactory;
+import org.polarsys.capella.core.data.la.LogicalFunction;
+import org.polarsys.capella.core.transition.common.constants.ITransitionConstants;
+import org.polarsys.capella.core.transition.common.context.TransitionContext;
+import org.polarsys.capella.core.transition.common.handlers.notify.INotifyChangeEvent;
+import org.polarsys.capella.core.transition.common.handlers.notify.NotifyHandlerHelper;
+import org.polarsys.capella.core.transition.system.handlers.traceability.RealizationLinkTraceabilityHandler;
+import org.polarsys.capella.core.transition.system.handlers.traceability.TraceIndex;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+import org.polarsys.kitalpha.transposer.rules.handler.rules.api.IContext;
+
+/**
+ * Checks the trace index of a transition context, including traces stored in other resources, and that the realization
+ * link mappings found by eClasses are the ones found by testing each mapping.
+ */
+public class TraceIndexTest extends BasicTestCase {
+
+  private class Handler extends RealizationLinkTraceabilityHandler {
+
+    public Handler() {
+      super("test"); //$NON-NLS-1$
+    }
+
+    public void assertSameMapping(EObject source, EObject target, IContext context) {
+      RealizationLinkMapping expected = getDefaultMapping();
+      for (RealizationLinkMapping link : getMappings(context)) {
+        if (link.isValidSource(source, context) && link.isValidTarget(target, context)
+            && link.isValid(source, target, context)) {
+          expected = link;
+          break;
+        }
+      }
+      assertEquals(expected, getBestMapping(source, target, context));
+    }
+
+    public String getMappingName(EObject source, EObject target, IContext context) {
+      return getBestMapping(source, target, context).toString();
+    }
+  }
+
+  @Override
+  public void test() throws Exception {
+    SystemFunction systemFunction = CtxFactory.eINSTANCE.createSystemFunction();
+    LogicalFunction logicalFunction = LaFactory.eINSTANCE.createLogicalFunction();
+    systemFunction.getOwnedFunctions().add(logicalFunction);
+    FunctionRealization realization = createRealization(logicalFunction, systemFunction);
+
+    IContext context = new TransitionContext();
+    TraceIndex index = TraceIndex.getInstance(context);
+    assertSame(index, TraceIndex.getInstance(context));
+    assertEquals(Collections.singletonList(realization), index.getIncomingTraces(systemFunction));
+    assertEquals(Collections.singletonList(realization), index.getOutgoingTraces(logicalFunction));
+    assertTrue(index.getIncomingTraces(logicalFunction).isEmpty());
+
+    // Traces created after the walk are found once added, modified ones are ignored
+    FunctionRealization realization2 = createRealization(logicalFunction, systemFunction);
+    assertEquals(Collections.singletonList(realization), index.getIncomingTraces(systemFunction));
+    index.add(realization2);
+    assertEquals(Arrays.asList(realization, realization2), index.getIncomingTraces(systemFunction));
+    realization.setTargetElement(logicalFunction);
+    assertEquals(Collections.singletonList(realization2), index.getIncomingTraces(systemFunction));
+
+    // The index is rebuilt after the transformation
+    NotifyHandlerHelper.getInstance(context).notify(ITransitionConstants.NOTIFY__END_TRANSFORMATION,
+        INotifyChangeEvent.DEFAULT, context);
+    assertEquals(Collections.singletonList(realization), index.getIncomingTraces(logicalFunction));
+
+    // Traces stored in another resource of the resource set are found
+    SystemFunction fragmentedFunction = CtxFactory.eINSTANCE.createSystemFunction();
+    LogicalFunction realizingFunction = LaFactory.eINSTANCE.createLogicalFunction();
+    FunctionRealization fragmentedRealization = createRealization(realizingFunction, fragmentedFunction);
+    ResourceSet resourceSet = new ResourceSetImpl();
+    createResource(resourceSet, "model.capella").getContents().add(fragmentedFunction); //$NON-NLS-1$
+    createResource(resourceSet, "fragment.capellafragment").getContents().add(realizingFunction); //$NON-NLS-1$
+    assertEquals(Collections.singletonList(fragmentedRealization), index.getIncomingTraces(fragmentedFunction));
+
+    // Mappings
+    Handler handler = new Handler();
+    assertEquals("SystemFunction LogicalFunction FunctionRealization", //$NON-NLS-1$
+        handler.getMappingName(systemFunction, logicalFunction, context));
+    handler.assertSameMapping(systemFunction, logicalFunction, context);
+    handler.assertSameMapping(logicalFunction, logicalFunction, context);
+    handler.assertSameMapping(systemFunction, CsFactory.eINSTANCE.createPhysicalLink(), context);
+    handler.assertSameMapping(CsFactory.eINSTANCE.createPhysicalPort(), CsFactory.eINSTANCE.createPhysicalLink(),
+        context);
+  }
+
+  private Resource createResource(ResourceSet resourceSet, String name) {
+    Resource resource = new ResourceImpl(URI.createURI(name));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  private FunctionRealization createRealization(LogicalFunction realizing, SystemFunction realized) {
+    FunctionRealization realization = FaFactory.eINSTANCE.createFunctionRealization();
+    realizing.getOwnedFunctionRealizations().add(realization);
+    realization.setSourceElement(realizing);
+    realization.setTargetElement(realized);
+    return realization;
+  }
+}
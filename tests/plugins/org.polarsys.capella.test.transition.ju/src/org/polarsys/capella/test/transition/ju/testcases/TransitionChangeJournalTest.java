@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.transition.ju.testcases;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
+import org.polarsys.capella.common.ef.command.AbstractReadWriteCommand;
+import org.polarsys.capella.core.data.ctx.SystemFunction;
+import org.polarsys.capella.core.data.la.LogicalFunction;
+import org.polarsys.capella.core.transition.system.topdown.commands.IntramodelTransitionCommand;
+import org.polarsys.capella.core.transition.system.topdown.commands.TransitionCommandHelper;
+import org.polarsys.capella.core.transition.system.topdown.constants.ITopDownConstants;
+import org.polarsys.capella.core.transition.system.topdown.incremental.TransitionChangeJournal;
+import org.polarsys.capella.test.transition.ju.TopDownTransitionTestCase;
+
+/**
+ * Checks that an incremental functional transition records a baseline, then only replays the functions modified since
+ * then. Changes of the target elements are not recorded.
+ */
+public class TransitionChangeJournalTest extends TopDownTransitionTestCase {
+
+  private static final String SYSTEMFUNCTION_1 = "90440c5f-7ccc-4881-8019-c3fc3ede326b";
+
+  private static final String KIND = ITopDownConstants.TRANSITION_TOPDOWN_FUNCTIONAL;
+
+  @Override
+  public List<String> getRequiredTestModels() {
+    return Collections.singletonList("pv");
+  }
+
+  @Override
+  public void performTest() throws Exception {
+    SystemFunction function = getObject(SYSTEMFUNCTION_1);
+    Collection<EObject> roots = Collections.singletonList(function);
+    TransitionChangeJournal journal = TransitionChangeJournal.getJournal(function);
+    assertNotNull(journal);
+    assertFalse(journal.hasBaseline(KIND, roots));
+
+    // A first incremental transition is complete and records a baseline
+    performIncrementalTransition(roots);
+    assertTrue(journal.hasBaseline(KIND, roots));
+    LogicalFunction logicalFunction = mustBeMonoTransitioned(SYSTEMFUNCTION_1);
+    assertTrue(journal.consumeModifiedElements(KIND, roots).isEmpty());
+
+    // A modified function is replayed once
+    getExecutionManager(function).execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        function.setSummary("modified"); //$NON-NLS-1$
+      }
+    });
+    assertEquals(roots, journal.consumeModifiedElements(KIND, roots));
+    assertTrue(journal.consumeModifiedElements(KIND, roots).isEmpty());
+
+    // Elements put back in the journal are replayed by the next transition
+    journal.modified(KIND, roots);
+    performIncrementalTransition(roots);
+    assertTrue(journal.consumeModifiedElements(KIND, roots).isEmpty());
+    assertEquals(logicalFunction, mustBeMonoTransitioned(SYSTEMFUNCTION_1));
+
+    // Target elements are not recorded, as they are not in the baseline
+    getExecutionManager(logicalFunction).execute(new AbstractReadWriteCommand() {
+      @Override
+      public void run() {
+        logicalFunction.setSummary("modified"); //$NON-NLS-1$
+      }
+    });
+    assertTrue(journal.consumeModifiedElements(KIND, Collections.singletonList(logicalFunction)).isEmpty());
+
+    // Other kinds of transition are not affected
+    assertFalse(journal.hasBaseline(ITopDownConstants.TRANSITION_TOPDOWN_DATA, roots));
+  }
+
+  private void performIncrementalTransition(Collection<EObject> elements) {
+    IntramodelTransitionCommand command = (IntramodelTransitionCommand) TransitionCommandHelper.getInstance()
+        .getFunctionalTransitionCommand(elements, new NullProgressMonitor());
+    command.setIncremental(true);
+    executeCommand(command);
+  }
+}
@@ -30,6 +30,9 @@ import org.polarsys.capella.test.transition.ju.testcases.ReconciliationCommunica
 import org.polarsys.capella.test.transition.ju.testcases.ReconciliationInterfaceUsesImplements;
 import org.polarsys.capella.test.transition.ju.testcases.RootPropertyValueTestCase;
 import org.polarsys.capella.test.transition.ju.testcases.SkeletonElementsNames;
+import org.polarsys.capella.test.transition.ju.testcases.TopologicalSorterTest;
+import org.polarsys.capella.test.transition.ju.testcases.TraceIndexTest;
+import org.polarsys.capella.test.transition.ju.testcases.TransitionChangeJournalTest;
 import org.polarsys.capella.test.transition.ju.testcases.options.IncrementalModeTest;
 import org.polarsys.capella.test.transition.ju.testcases.options.MergeCategoryManagerTest;
 import org.polarsys.capella.test.transition.ju.testcases.sa.FunctionalTransitionInLib;
@@ -50,6 +53,9 @@ public class TransitionTestSuite extends BasicTestSuite {
     List<BasicTestArtefact> tests = new ArrayList<BasicTestArtefact>();
 
     tests.add(new MergeCategoryManagerTest());
+    tests.add(new TopologicalSorterTest());
+    tests.add(new TraceIndexTest());
+    tests.add(new TransitionChangeJournalTest());
     tests.add(new IncrementalModeTest());
     tests.add(new ReconciliationCommunicationLinks());
     tests.add(new ReconciliationInterfaceUsesImplements());
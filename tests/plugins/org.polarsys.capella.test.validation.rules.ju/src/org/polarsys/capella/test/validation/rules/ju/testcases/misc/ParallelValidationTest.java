@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 THALES GLOBAL SERVICES.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Thales - initial API and implementation
+ *******************************************************************************/
+package org.polarsys.capella.test.validation.rules.ju.testcases.misc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.validation.model.EvaluationMode;
+import org.eclipse.emf.validation.model.IConstraintStatus;
+import org.eclipse.emf.validation.service.IBatchValidator;
+import org.eclipse.emf.validation.service.ModelValidationService;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.libraries.model.ICapellaModel;
+import org.polarsys.capella.core.validation.ParallelBatchValidator;
+import org.polarsys.capella.test.framework.api.BasicTestCase;
+
+/**
+ * Checks that the parallel validation reports the same statuses, in the same order, as the serial one.
+ */
+public class ParallelValidationTest extends BasicTestCase {
+
+  private static final String MODEL_NAME = "NoStackOverflowModel"; //$NON-NLS-1$
+
+  @Override
+  public List<String> getRequiredTestModels() {
+    return Arrays.asList(MODEL_NAME);
+  }
+
+  @Override
+  public void test() throws Exception {
+    ICapellaModel model = getTestModel(MODEL_NAME);
+    Project project = model.getProject(getSessionForTestModel(MODEL_NAME).getTransactionalEditingDomain());
+
+    IBatchValidator validator = (IBatchValidator) ModelValidationService.getInstance()
+        .newValidator(EvaluationMode.BATCH);
+    validator.setIncludeLiveConstraints(true);
+
+    List<String> serial = flatten(validator.validate(project, new NullProgressMonitor()));
+    List<String> parallel = flatten(new ParallelBatchValidator(validator, Collections.emptySet(), 4).validate(project));
+    assertEquals(serial, parallel);
+
+    // Constraints declared as not thread safe are evaluated once, and their statuses are kept in the model order.
+    if (!serial.isEmpty()) {
+      String constraintId = serial.get(0).split("@")[0]; //$NON-NLS-1$
+      List<String> withSerialConstraint = flatten(
+          new ParallelBatchValidator(validator, Collections.singleton(constraintId), 4).validate(project));
+      assertEquals(serial.size(), withSerialConstraint.size());
+      assertTrue(withSerialConstraint.containsAll(serial));
+      assertEquals(getTargets(serial), getTargets(withSerialConstraint));
+    }
+  }
+
+  private List<String> getTargets(List<String> statuses) {
+    List<String> result = new ArrayList<>();
+    for (String status : statuses) {
+      result.add(status.substring(status.indexOf('@') + 1));
+    }
+    return result;
+  }
+
+  private List<String> flatten(IStatus status) {
+    List<String> result = new ArrayList<>();
+    if (status instanceof IConstraintStatus) {
+      IConstraintStatus constraintStatus = (IConstraintStatus) status;
+      result.add(constraintStatus.getConstraint().getDescriptor().getId() + "@" + constraintStatus.getTarget()); //$NON-NLS-1$
+    }
+    if (status.isMultiStatus()) {
+      for (IStatus child : status.getChildren()) {
+        result.addAll(flatten(child));
+      }
+    }
+    return result;
+  }
+}
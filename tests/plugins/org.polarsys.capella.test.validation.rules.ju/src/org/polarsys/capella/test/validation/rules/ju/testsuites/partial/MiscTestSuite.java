@@ -30,6 +30,7 @@ import org.polarsys.capella.test.validation.rules.ju.testcases.misc.PackageCycle
 import org.polarsys.capella.test.validation.rules.ju.testcases.misc.PackageCycle4Test;
 import org.polarsys.capella.test.validation.rules.ju.testcases.misc.PackageCycle5Test;
 import org.polarsys.capella.test.validation.rules.ju.testcases.misc.PackageCycle6Test;
+import org.polarsys.capella.test.validation.rules.ju.testcases.misc.ParallelValidationTest;
 
 import junit.framework.Test;
 
@@ -60,6 +61,7 @@ public class MiscTestSuite extends BasicTestSuite {
     tests.add(new PackageCycle5Test());
     tests.add(new PackageCycle6Test());
     tests.add(new Bug2438TestCase());
+    tests.add(new ParallelValidationTest());
     //tests.add(new RulesCoverageTest());
     return tests;
   }